@@ -0,0 +1,385 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Utility class that compares the results of a candidate benchmark run against
+ * the results of a baseline run, as written by
+ * {@link RandomBenchmark#executeExperiment(RandomBenchmarkConfiguration)}.<br>
+ * <br>
+ * Points of both runs are matched by their tree size and amount of robots. For
+ * each point a one-sided Welch's t-test decides whether the mean running time
+ * of the candidate is significantly higher than the one of the baseline. A
+ * point is reported as regression if the difference is significant and the
+ * relative slowdown exceeds a threshold, which filters out differences that
+ * are significant but too small to matter. Points with less than
+ * {@link #MIN_SAMPLES} samples on either side or without any variance on both
+ * sides can not be tested, they are reported with a warning and never count
+ * as regression. The program exits
+ * with status <tt>1</tt> if at least one regression was found, such that it
+ * can be used to fail a build.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BenchmarkComparison {
+	/**
+	 * The default significance level of the test.
+	 */
+	public static final double DEFAULT_ALPHA = 0.01;
+	/**
+	 * The default relative slowdown a point must exceed to be reported as
+	 * regression.
+	 */
+	public static final double DEFAULT_THRESHOLD = 0.05;
+	/**
+	 * The exit status used if a regression was found.
+	 */
+	public static final int EXIT_REGRESSION = 1;
+	/**
+	 * The minimal amount of samples both runs need for a point to be tested,
+	 * the sample variance is not defined for less samples.
+	 */
+	public static final int MIN_SAMPLES = 2;
+	/**
+	 * Metadata keys that should be equal for both runs, otherwise the results
+	 * are not comparable.
+	 */
+	private static final String[] ENVIRONMENT_KEYS = { "java.version", "java.vm.name", "os.name", "os.arch",
+			"processors", "maxHeapBytes", "experiment", "pulseManager", "parallelism" };
+	/**
+	 * The columns used to match points of both runs.
+	 */
+	private static final String[] KEY_COLUMNS = { "TREE_SIZE", "ROBOTS" };
+	/**
+	 * The maximal amount of iterations of the continued fraction used to
+	 * compute the incomplete beta function.
+	 */
+	private static final int MAX_ITERATIONS = 300;
+	/**
+	 * The precision to which the continued fraction is computed.
+	 */
+	private static final double PRECISION = 1e-14;
+	/**
+	 * A number close to the smallest representable number, used to avoid a
+	 * division by zero in the continued fraction.
+	 */
+	private static final double TINY = 1e-300;
+
+	/**
+	 * Compares the results of a candidate run against a baseline run and
+	 * prints a report.
+	 * 
+	 * @param args
+	 *            The path to the baseline result file, the path to the
+	 *            candidate result file and optionally the significance level
+	 *            and the relative slowdown threshold
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	public static void main(final String[] args) throws IOException {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("Usage: BenchmarkComparison <baseline> <candidate> [alpha] [threshold]");
+			return;
+		}
+		final BenchmarkResults baseline = BenchmarkResults.read(new File(args[0]));
+		final BenchmarkResults candidate = BenchmarkResults.read(new File(args[1]));
+		final double alpha;
+		if (args.length > 2) {
+			alpha = Double.parseDouble(args[2]);
+		} else {
+			alpha = DEFAULT_ALPHA;
+		}
+		final double threshold;
+		if (args.length > 3) {
+			threshold = Double.parseDouble(args[3]);
+		} else {
+			threshold = DEFAULT_THRESHOLD;
+		}
+
+		final int regressions = compare(baseline, candidate, alpha, threshold);
+		if (regressions > 0) {
+			System.out.println(regressions + " regression(s) found");
+			System.exit(EXIT_REGRESSION);
+		}
+		System.out.println("No regressions found");
+	}
+
+	/**
+	 * Compares the results of a candidate run against a baseline run, prints a
+	 * report and counts the regressions.
+	 * 
+	 * @param baseline
+	 *            The results of the baseline run
+	 * @param candidate
+	 *            The results of the candidate run
+	 * @param alpha
+	 *            The significance level of the test, between <tt>0</tt> and
+	 *            <tt>1</tt>
+	 * @param threshold
+	 *            The relative slowdown a significant difference must exceed to
+	 *            be reported as regression, for example <tt>0.05</tt> for 5%
+	 * @return The amount of regressions
+	 * @throws IllegalArgumentException
+	 *             If the results lack columns that are needed for the
+	 *             comparison
+	 */
+	private static int compare(final BenchmarkResults baseline, final BenchmarkResults candidate,
+			final double alpha, final double threshold) throws IllegalArgumentException {
+		for (final String key : ENVIRONMENT_KEYS) {
+			final String baselineValue = baseline.getMetadata().get(key);
+			final String candidateValue = candidate.getMetadata().get(key);
+			if (!Objects.equals(baselineValue, candidateValue)) {
+				System.out.println("Warning: the runs differ in " + key + ", baseline is " + baselineValue
+						+ " but candidate is " + candidateValue);
+			}
+		}
+
+		System.out.println(String.format(Locale.US, "%10s %8s %14s %14s %9s %10s  %s", "TREE_SIZE", "ROBOTS",
+				"BASE_MEAN", "CAND_MEAN", "CHANGE", "P_VALUE", "VERDICT"));
+		int regressions = 0;
+		final double[] keyValues = new double[KEY_COLUMNS.length];
+		for (int baselineRow = 0; baselineRow < baseline.getRowCount(); baselineRow++) {
+			for (int i = 0; i < KEY_COLUMNS.length; i++) {
+				keyValues[i] = baseline.getValue(baselineRow, KEY_COLUMNS[i]);
+			}
+			final int candidateRow = candidate.findRow(KEY_COLUMNS, keyValues);
+			if (candidateRow == -1) {
+				continue;
+			}
+
+			final double baselineMean = baseline.getValue(baselineRow, "MEAN_TIME");
+			final double candidateMean = candidate.getValue(candidateRow, "MEAN_TIME");
+			final double baselineStandardDeviation = baseline.getValue(baselineRow, "STD_DEV_TIME");
+			final double candidateStandardDeviation = candidate.getValue(candidateRow, "STD_DEV_TIME");
+			final double baselineSamples = baseline.getValue(baselineRow, "TREES");
+			final double candidateSamples = candidate.getValue(candidateRow, "TREES");
+			final double change = (candidateMean - baselineMean) / baselineMean;
+
+			final double pValue;
+			final String verdict;
+			if (baselineSamples < MIN_SAMPLES || candidateSamples < MIN_SAMPLES) {
+				System.out.println(String.format(Locale.US,
+						"Warning: the point %.0f/%.0f has %.0f baseline and %.0f candidate samples, at least %d"
+								+ " are needed to test it",
+						Double.valueOf(keyValues[0]), Double.valueOf(keyValues[1]), Double.valueOf(baselineSamples),
+						Double.valueOf(candidateSamples), Integer.valueOf(MIN_SAMPLES)));
+				pValue = Double.NaN;
+				verdict = "UNTESTED";
+			} else if (baselineStandardDeviation == 0.0 && candidateStandardDeviation == 0.0) {
+				// Typically the times are below the resolution of the result files
+				System.out.println(String.format(Locale.US,
+						"Warning: the point %.0f/%.0f has no variance in both runs, it can not be tested",
+						Double.valueOf(keyValues[0]), Double.valueOf(keyValues[1])));
+				pValue = Double.NaN;
+				verdict = "UNTESTED";
+			} else {
+				pValue = computeSlowdownPValue(baselineMean, baselineStandardDeviation, baselineSamples,
+						candidateMean, candidateStandardDeviation, candidateSamples);
+				if (pValue < alpha && change > threshold) {
+					verdict = "REGRESSION";
+					regressions++;
+				} else if (1.0 - pValue < alpha && -change > threshold) {
+					verdict = "IMPROVEMENT";
+				} else {
+					verdict = "-";
+				}
+			}
+			System.out.println(String.format(Locale.US, "%10.0f %8.0f %14.6f %14.6f %+8.1f%% %10.2e  %s",
+					Double.valueOf(keyValues[0]), Double.valueOf(keyValues[1]), Double.valueOf(baselineMean),
+					Double.valueOf(candidateMean), Double.valueOf(change * 100), Double.valueOf(pValue), verdict));
+		}
+		return regressions;
+	}
+
+	/**
+	 * Computes the regularized incomplete beta function <tt>I_x(a, b)</tt>.
+	 * 
+	 * @param x
+	 *            The value to evaluate the function at, between <tt>0</tt> and
+	 *            <tt>1</tt>
+	 * @param a
+	 *            The first shape parameter, positive
+	 * @param b
+	 *            The second shape parameter, positive
+	 * @return The value of the function
+	 */
+	private static double computeRegularizedIncompleteBeta(final double x, final double a, final double b) {
+		if (x <= 0.0) {
+			return 0.0;
+		}
+		if (x >= 1.0) {
+			return 1.0;
+		}
+		final double logFront = logGamma(a + b) - logGamma(a) - logGamma(b) + a * Math.log(x)
+				+ b * Math.log(1.0 - x);
+		// The continued fraction converges quickly only on one side of the mean
+		if (x < (a + 1.0) / (a + b + 2.0)) {
+			return Math.exp(logFront) * evaluateBetaContinuedFraction(x, a, b) / a;
+		}
+		return 1.0 - Math.exp(logFront) * evaluateBetaContinuedFraction(1.0 - x, b, a) / b;
+	}
+
+	/**
+	 * Computes the p-value of a one-sided Welch's t-test for the hypothesis
+	 * that the mean of the candidate is higher than the mean of the baseline.
+	 * A side without variance contributes nothing to the degrees of freedom,
+	 * but at least one side must have variance.
+	 * 
+	 * @param baselineMean
+	 *            The mean of the baseline samples
+	 * @param baselineStandardDeviation
+	 *            The sample standard deviation of the baseline samples
+	 * @param baselineSamples
+	 *            The amount of baseline samples, at least
+	 *            {@link #MIN_SAMPLES}
+	 * @param candidateMean
+	 *            The mean of the candidate samples
+	 * @param candidateStandardDeviation
+	 *            The sample standard deviation of the candidate samples
+	 * @param candidateSamples
+	 *            The amount of candidate samples, at least
+	 *            {@link #MIN_SAMPLES}
+	 * @return The probability to observe a difference at least as high as the
+	 *         given one if the candidate is not slower than the baseline
+	 * @throws IllegalArgumentException
+	 *             If one of the amounts of samples is less than
+	 *             {@link #MIN_SAMPLES} or if both standard deviations are
+	 *             <tt>0</tt>
+	 */
+	private static double computeSlowdownPValue(final double baselineMean, final double baselineStandardDeviation,
+			final double baselineSamples, final double candidateMean, final double candidateStandardDeviation,
+			final double candidateSamples) throws IllegalArgumentException {
+		if (baselineSamples < MIN_SAMPLES || candidateSamples < MIN_SAMPLES) {
+			throw new IllegalArgumentException("At least " + MIN_SAMPLES + " samples are needed, baseline has "
+					+ baselineSamples + " and candidate has " + candidateSamples);
+		}
+		final double baselineVariance = baselineStandardDeviation * baselineStandardDeviation / baselineSamples;
+		final double candidateVariance = candidateStandardDeviation * candidateStandardDeviation / candidateSamples;
+		final double variance = baselineVariance + candidateVariance;
+		if (variance == 0.0) {
+			throw new IllegalArgumentException("The samples have no variance");
+		}
+
+		final double t = (candidateMean - baselineMean) / Math.sqrt(variance);
+		// Welch-Satterthwaite equation for the degrees of freedom, a side without
+		// variance has no term
+		double denominator = 0.0;
+		if (baselineVariance > 0.0) {
+			denominator += baselineVariance * baselineVariance / (baselineSamples - 1);
+		}
+		if (candidateVariance > 0.0) {
+			denominator += candidateVariance * candidateVariance / (candidateSamples - 1);
+		}
+		final double degreesOfFreedom = variance * variance / denominator;
+		return computeStudentTUpperTail(t, degreesOfFreedom);
+	}
+
+	/**
+	 * Computes the upper tail of the Student's t-distribution, i.e. the
+	 * probability that a random variable with the given degrees of freedom is
+	 * greater than the given value.
+	 * 
+	 * @param t
+	 *            The value in question
+	 * @param degreesOfFreedom
+	 *            The degrees of freedom of the distribution, positive
+	 * @return The probability of a value greater than <tt>t</tt>
+	 */
+	private static double computeStudentTUpperTail(final double t, final double degreesOfFreedom) {
+		final double x = degreesOfFreedom / (degreesOfFreedom + t * t);
+		final double tail = 0.5 * computeRegularizedIncompleteBeta(x, degreesOfFreedom / 2, 0.5);
+		if (t > 0) {
+			return tail;
+		}
+		return 1.0 - tail;
+	}
+
+	/**
+	 * Evaluates the continued fraction of the incomplete beta function by
+	 * using the modified Lentz's method.
+	 * 
+	 * @param x
+	 *            The value to evaluate the fraction at
+	 * @param a
+	 *            The first shape parameter
+	 * @param b
+	 *            The second shape parameter
+	 * @return The value of the continued fraction
+	 */
+	private static double evaluateBetaContinuedFraction(final double x, final double a, final double b) {
+		double c = 1.0;
+		double d = 1.0 - (a + b) * x / (a + 1.0);
+		if (Math.abs(d) < TINY) {
+			d = TINY;
+		}
+		d = 1.0 / d;
+		double result = d;
+
+		for (int m = 1; m <= MAX_ITERATIONS; m++) {
+			final int m2 = 2 * m;
+			// Even step of the recurrence
+			double numerator = m * (b - m) * x / ((a + m2 - 1.0) * (a + m2));
+			d = 1.0 + numerator * d;
+			if (Math.abs(d) < TINY) {
+				d = TINY;
+			}
+			c = 1.0 + numerator / c;
+			if (Math.abs(c) < TINY) {
+				c = TINY;
+			}
+			d = 1.0 / d;
+			result *= d * c;
+
+			// Odd step of the recurrence
+			numerator = -(a + m) * (a + b + m) * x / ((a + m2) * (a + m2 + 1.0));
+			d = 1.0 + numerator * d;
+			if (Math.abs(d) < TINY) {
+				d = TINY;
+			}
+			c = 1.0 + numerator / c;
+			if (Math.abs(c) < TINY) {
+				c = TINY;
+			}
+			d = 1.0 / d;
+			final double delta = d * c;
+			result *= delta;
+
+			if (Math.abs(delta - 1.0) < PRECISION) {
+				break;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Computes the natural logarithm of the gamma function by using the
+	 * Lanczos approximation.
+	 * 
+	 * @param x
+	 *            The value to evaluate the function at, positive
+	 * @return The natural logarithm of the gamma function at <tt>x</tt>
+	 */
+	private static double logGamma(final double x) {
+		final double[] coefficients = { 76.18009172947146, -86.50532032941677, 24.01409824083091,
+				-1.231739572450155, 0.1208650973866179e-2, -0.5395239384953e-5 };
+		double y = x;
+		final double tmp = x + 5.5 - (x + 0.5) * Math.log(x + 5.5);
+		double series = 1.000000000190015;
+		for (final double coefficient : coefficients) {
+			y++;
+			series += coefficient / y;
+		}
+		return -tmp + Math.log(2.5066282746310005 * series / x);
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BenchmarkComparison() {
+
+	}
+}
@@ -0,0 +1,111 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+
+/**
+ * Utility class that collects metadata describing the environment of a
+ * benchmark run, like the virtual machine, the hardware, the commit of the
+ * sources and the configuration. Result files contain it such that they are
+ * self-describing and runs can be compared later on.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BenchmarkMetadata {
+	/**
+	 * Name of the system property that can be used to set the commit of the
+	 * sources if it can not be determined by using <tt>git</tt>.
+	 */
+	public static final String COMMIT_PROPERTY = "treeflood.commit";
+	/**
+	 * Value used for metadata that could not be determined.
+	 */
+	public static final String UNKNOWN = "unknown";
+
+	/**
+	 * Collects the metadata of the environment of a benchmark run.
+	 * 
+	 * @return The metadata of the environment, in a fixed order
+	 */
+	public static Map<String, String> collect() {
+		final Map<String, String> metadata = new LinkedHashMap<>();
+		metadata.put("timestamp", new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ssZ").format(new Date()));
+		metadata.put("commit", getCommit());
+		metadata.put("java.version", System.getProperty("java.version", UNKNOWN));
+		metadata.put("java.vm.name", System.getProperty("java.vm.name", UNKNOWN));
+		metadata.put("java.vm.vendor", System.getProperty("java.vm.vendor", UNKNOWN));
+		metadata.put("java.vm.version", System.getProperty("java.vm.version", UNKNOWN));
+		metadata.put("jvm.arguments", String.join(" ", ManagementFactory.getRuntimeMXBean().getInputArguments()));
+		metadata.put("os.name", System.getProperty("os.name", UNKNOWN));
+		metadata.put("os.arch", System.getProperty("os.arch", UNKNOWN));
+		metadata.put("os.version", System.getProperty("os.version", UNKNOWN));
+		metadata.put("processors", Integer.toString(Runtime.getRuntime().availableProcessors()));
+		metadata.put("maxHeapBytes", Long.toString(Runtime.getRuntime().maxMemory()));
+		metadata.put("storage", NodeStorageManager.class.getSimpleName());
+		return metadata;
+	}
+
+	/**
+	 * Collects the metadata of a benchmark run with the given configuration.
+	 * 
+	 * @param configuration
+	 *            The configuration of the run
+	 * @return The metadata of the run, in a fixed order
+	 */
+	public static Map<String, String> collect(final RandomBenchmarkConfiguration configuration) {
+		final Map<String, String> metadata = collect();
+		metadata.putAll(configuration.toMap());
+		return metadata;
+	}
+
+	/**
+	 * Gets the commit of the sources. It is given by the system property
+	 * {@link #COMMIT_PROPERTY} or else determined by using <tt>git</tt> in the
+	 * working directory.
+	 * 
+	 * @return The commit of the sources or {@link #UNKNOWN} if it could not be
+	 *         determined
+	 */
+	private static String getCommit() {
+		final String commitProperty = System.getProperty(COMMIT_PROPERTY);
+		if (commitProperty != null) {
+			return commitProperty;
+		}
+
+		try {
+			final Process process = new ProcessBuilder("git", "rev-parse", "HEAD").redirectErrorStream(true).start();
+			final String commit;
+			try (final BufferedReader reader = new BufferedReader(
+					new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+				commit = reader.readLine();
+			}
+			if (process.waitFor() != 0 || commit == null) {
+				return UNKNOWN;
+			}
+			return commit.trim();
+		} catch (final IOException e) {
+			// Git is not available
+			return UNKNOWN;
+		} catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return UNKNOWN;
+		}
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BenchmarkMetadata() {
+
+	}
+}
@@ -0,0 +1,211 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The results of a benchmark run as written by
+ * {@link RandomBenchmark#executeExperiment(RandomBenchmarkConfiguration)}. A
+ * result file consists of comment lines of the form <tt># key=value</tt> that
+ * contain the metadata of the run, followed by a header line with the names of
+ * the columns and one line of comma separated values per point.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BenchmarkResults {
+	/**
+	 * The prefix of lines that contain metadata.
+	 */
+	public static final String COMMENT_PREFIX = "#";
+	/**
+	 * The separator of values in a line.
+	 */
+	public static final String SEPARATOR = ",";
+
+	/**
+	 * Reads the results from the given file.
+	 * 
+	 * @param file
+	 *            The file to read
+	 * @return The results contained in the file
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 * @throws IllegalArgumentException
+	 *             If the file is no valid result file
+	 */
+	public static BenchmarkResults read(final File file) throws IOException, IllegalArgumentException {
+		final Map<String, String> metadata = new LinkedHashMap<>();
+		List<String> columns = null;
+		final List<double[]> rows = new ArrayList<>();
+
+		for (final String line : Files.readAllLines(file.toPath(), StandardCharsets.UTF_8)) {
+			final String trimmedLine = line.trim();
+			if (trimmedLine.isEmpty()) {
+				continue;
+			}
+			if (trimmedLine.startsWith(COMMENT_PREFIX)) {
+				final String entry = trimmedLine.substring(COMMENT_PREFIX.length()).trim();
+				final int separatorIndex = entry.indexOf('=');
+				if (separatorIndex != -1) {
+					metadata.put(entry.substring(0, separatorIndex), entry.substring(separatorIndex + 1));
+				}
+				continue;
+			}
+
+			final String[] values = trimmedLine.split(SEPARATOR);
+			if (columns == null) {
+				columns = Arrays.asList(values);
+				continue;
+			}
+			if (values.length != columns.size()) {
+				throw new IllegalArgumentException("The line has " + values.length + " values but there are "
+						+ columns.size() + " columns: " + trimmedLine);
+			}
+			final double[] row = new double[values.length];
+			for (int i = 0; i < values.length; i++) {
+				try {
+					row[i] = Double.parseDouble(values[i]);
+				} catch (final NumberFormatException e) {
+					throw new IllegalArgumentException("The line contains a value that is no number: " + trimmedLine,
+							e);
+				}
+			}
+			rows.add(row);
+		}
+
+		if (columns == null) {
+			throw new IllegalArgumentException("The file contains no header: " + file);
+		}
+		return new BenchmarkResults(metadata, columns, rows);
+	}
+
+	/**
+	 * The names of the columns.
+	 */
+	private final List<String> mColumns;
+	/**
+	 * The metadata of the run.
+	 */
+	private final Map<String, String> mMetadata;
+	/**
+	 * The values of each point, ordered by the columns.
+	 */
+	private final List<double[]> mRows;
+
+	/**
+	 * Creates new benchmark results.
+	 * 
+	 * @param metadata
+	 *            The metadata of the run
+	 * @param columns
+	 *            The names of the columns
+	 * @param rows
+	 *            The values of each point, ordered by the columns
+	 */
+	private BenchmarkResults(final Map<String, String> metadata, final List<String> columns,
+			final List<double[]> rows) {
+		this.mMetadata = Collections.unmodifiableMap(metadata);
+		this.mColumns = Collections.unmodifiableList(columns);
+		this.mRows = rows;
+	}
+
+	/**
+	 * Gets the index of the row with the given values in the given columns.
+	 * 
+	 * @param columns
+	 *            The names of the columns to match
+	 * @param values
+	 *            The values to match, ordered by the given columns
+	 * @return The index of the first matching row or <tt>-1</tt> if there is
+	 *         none
+	 * @throws IllegalArgumentException
+	 *             If a column does not exist
+	 */
+	public int findRow(final String[] columns, final double[] values) throws IllegalArgumentException {
+		final int[] columnIndices = new int[columns.length];
+		for (int i = 0; i < columns.length; i++) {
+			columnIndices[i] = getColumnIndex(columns[i]);
+			if (columnIndices[i] == -1) {
+				throw new IllegalArgumentException("The results contain no column: " + columns[i]);
+			}
+		}
+
+		for (int rowIndex = 0; rowIndex < this.mRows.size(); rowIndex++) {
+			final double[] row = this.mRows.get(rowIndex);
+			boolean isMatching = true;
+			for (int i = 0; i < columnIndices.length && isMatching; i++) {
+				isMatching = Double.compare(row[columnIndices[i]], values[i]) == 0;
+			}
+			if (isMatching) {
+				return rowIndex;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Gets the index of the column with the given name.
+	 * 
+	 * @param column
+	 *            The name of the column
+	 * @return The index of the column or <tt>-1</tt> if there is none
+	 */
+	public int getColumnIndex(final String column) {
+		return this.mColumns.indexOf(column);
+	}
+
+	/**
+	 * Gets the names of the columns.
+	 * 
+	 * @return An unmodifiable list of the names of the columns
+	 */
+	public List<String> getColumns() {
+		return this.mColumns;
+	}
+
+	/**
+	 * Gets the metadata of the run.
+	 * 
+	 * @return An unmodifiable map of the metadata of the run
+	 */
+	public Map<String, String> getMetadata() {
+		return this.mMetadata;
+	}
+
+	/**
+	 * Gets the amount of rows, i.e. points.
+	 * 
+	 * @return The amount of rows
+	 */
+	public int getRowCount() {
+		return this.mRows.size();
+	}
+
+	/**
+	 * Gets the value of the given row in the given column.
+	 * 
+	 * @param rowIndex
+	 *            The index of the row
+	 * @param column
+	 *            The name of the column
+	 * @return The value of the row in the column
+	 * @throws IllegalArgumentException
+	 *             If the column does not exist
+	 */
+	public double getValue(final int rowIndex, final String column) throws IllegalArgumentException {
+		final int columnIndex = getColumnIndex(column);
+		if (columnIndex == -1) {
+			throw new IllegalArgumentException("The results contain no column: " + column);
+		}
+		return this.mRows.get(rowIndex)[columnIndex];
+	}
+}
@@ -0,0 +1,24 @@
+package de.zabuza.treeflood.benchmarking;
+
+/**
+ * Experiments that can be executed by the {@link RandomBenchmark}. Each
+ * experiment sweeps one parameter over a range of values.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EExperiment {
+	/**
+	 * Sweeps the tree size while the amount of robots is fixed.
+	 */
+	FIXED_ROBOTS,
+	/**
+	 * Sweeps the amount of robots while the tree size is fixed.
+	 */
+	FIXED_TREE,
+	/**
+	 * Sweeps the tree size while the amount of robots is a fixed percentage of
+	 * the tree size.
+	 */
+	SCALING_ROBOTS
+}
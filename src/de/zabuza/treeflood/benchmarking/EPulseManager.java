@@ -0,0 +1,122 @@
+package de.zabuza.treeflood.benchmarking;
+
+import de.zabuza.treeflood.exploration.localstorage.FixedThreadPoolRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.SequentialRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.ThrowAwayThreadRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.timeline.PulseTracer;
+
+/**
+ * The {@link IRobotPulseManager} implementations a {@link RandomBenchmark} can
+ * use.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EPulseManager {
+	/**
+	 * Uses a {@link FixedThreadPoolRobotPulseManager}. It is the only manager
+	 * whose amount of threads is independent of the amount of robots.
+	 */
+	FIXED_THREAD_POOL,
+	/**
+	 * Uses a {@link OneThreadPerRobotPulseManager}.
+	 */
+	ONE_THREAD_PER_ROBOT,
+	/**
+	 * Uses a {@link SequentialRobotPulseManager}. It is the only manager that
+	 * executes an exploration in a single thread.
+	 */
+	SEQUENTIAL,
+	/**
+	 * Uses a {@link ThrowAwayThreadRobotPulseManager}.
+	 */
+	THROW_AWAY_THREAD;
+
+	/**
+	 * Creates a new pulse manager of this type. A manager of type
+	 * {@link #FIXED_THREAD_POOL} uses one worker per available processor.
+	 * 
+	 * @return A new pulse manager of this type
+	 */
+	public IRobotPulseManager create() {
+		return create(Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Creates a new pulse manager of this type.
+	 * 
+	 * @param amountOfWorkers
+	 *            The amount of worker threads for a manager of type
+	 *            {@link #FIXED_THREAD_POOL}, ignored by the other types
+	 * @return A new pulse manager of this type
+	 */
+	public IRobotPulseManager create(final int amountOfWorkers) {
+		return create(amountOfWorkers, null);
+	}
+
+	/**
+	 * Creates a new pulse manager of this type which records its execution in
+	 * the given tracer if it supports tracing, see {@link #isTraceable()}.
+	 * 
+	 * @param amountOfWorkers
+	 *            The amount of worker threads for a manager of type
+	 *            {@link #FIXED_THREAD_POOL}, ignored by the other types
+	 * @param tracer
+	 *            The tracer to record the execution in or <tt>null</tt> if it
+	 *            should not be traced, ignored by types that do not support
+	 *            tracing
+	 * @return A new pulse manager of this type
+	 */
+	public IRobotPulseManager create(final int amountOfWorkers, final PulseTracer tracer) {
+		switch (this) {
+		case FIXED_THREAD_POOL:
+			return new FixedThreadPoolRobotPulseManager(amountOfWorkers, tracer);
+		case ONE_THREAD_PER_ROBOT:
+			return new OneThreadPerRobotPulseManager(tracer);
+		case SEQUENTIAL:
+			return new SequentialRobotPulseManager();
+		case THROW_AWAY_THREAD:
+			return new ThrowAwayThreadRobotPulseManager();
+		default:
+			throw new AssertionError();
+		}
+	}
+
+	/**
+	 * Gets the amount of threads a manager of this type uses to pulse the
+	 * given amount of robots.
+	 * 
+	 * @param amountOfRobots
+	 *            The amount of robots to pulse
+	 * @param amountOfWorkers
+	 *            The amount of worker threads for a manager of type
+	 *            {@link #FIXED_THREAD_POOL}, ignored by the other types
+	 * @return The amount of threads the manager uses
+	 */
+	public int getAmountOfThreads(final int amountOfRobots, final int amountOfWorkers) {
+		switch (this) {
+		case FIXED_THREAD_POOL:
+			return Math.min(amountOfRobots, amountOfWorkers);
+		case ONE_THREAD_PER_ROBOT:
+		case THROW_AWAY_THREAD:
+			return amountOfRobots;
+		case SEQUENTIAL:
+			return 1;
+		default:
+			throw new AssertionError();
+		}
+	}
+
+	/**
+	 * Whether managers of this type can record their execution in a
+	 * {@link PulseTracer}.
+	 * 
+	 * @return <tt>True</tt> if managers of this type support tracing,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean isTraceable() {
+		return this == FIXED_THREAD_POOL || this == ONE_THREAD_PER_ROBOT;
+	}
+}
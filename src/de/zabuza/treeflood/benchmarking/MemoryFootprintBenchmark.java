@@ -0,0 +1,273 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.Properties;
+
+import de.zabuza.treeflood.exploration.localstorage.ExplorationOptions;
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.SequentialRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.listener.ExplorationTreeBuilder;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Benchmark that measures the memory footprint of explorations as a function
+ * of the tree size and the amount of robots. The footprint is measured as
+ * retained heap, see {@link RuntimeProfiler#getRetainedHeap()}, after the
+ * setup of the exploration and at its peak. The peak is sampled after
+ * exponentially growing amounts of steps and at the end of the exploration.
+ * <br>
+ * <br>
+ * After the exploration the subsystems are released one after another and the
+ * retained heap each of them frees is attributed to it. The robots, including
+ * their knowledge managers, are released first, then the listener, an
+ * {@link ExplorationTreeBuilder}, then the {@link NodeStorageManager} storage
+ * and finally the tree. Objects that are shared by subsystems, like the
+ * information robots write to the storage, are thus attributed to the
+ * subsystem released last.<br>
+ * <br>
+ * The explorations use a {@link SequentialRobotPulseManager} such that no
+ * other threads allocate during the measurement. The parameters are given like
+ * for {@link RandomBenchmark}, by an optional properties file followed by
+ * arguments of the form <tt>key=value</tt>. The keys are <tt>treeSizes</tt>
+ * and <tt>robots</tt>, each taking a comma separated list, as well as
+ * <tt>trees</tt>, the amount of trees the results are averaged over,
+ * <tt>pruningInterval</tt>, the amount of rounds after which the storage is
+ * pruned or <tt>0</tt> to never prune it, see
+ * {@link ExplorationOptions#setPruningInterval(int)}, and
+ * <tt>outputDirectory</tt>.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MemoryFootprintBenchmark {
+	/**
+	 * Index of the exploration, which holds the robots and their knowledge
+	 * managers, in the array of subsystems and of the heap it retains in the
+	 * results.
+	 */
+	private static final int EXPLORATION = 0;
+	/**
+	 * Index of the listener in the array of subsystems and of the heap it
+	 * retains in the results.
+	 */
+	private static final int LISTENER = 1;
+	/**
+	 * Index of the retained heap at the peak of the exploration in the
+	 * results.
+	 */
+	private static final int PEAK = 5;
+	/**
+	 * The amount of results of one measurement.
+	 */
+	private static final int RESULTS = 7;
+	/**
+	 * Index of the retained heap after the setup of the exploration in the
+	 * results.
+	 */
+	private static final int SETUP = 4;
+	/**
+	 * Index of the amount of steps of the exploration in the results.
+	 */
+	private static final int STEPS = 6;
+	/**
+	 * Index of the storage in the array of subsystems and of the heap it
+	 * retains in the results.
+	 */
+	private static final int STORAGE = 2;
+	/**
+	 * The amount of subsystems. They are released in the order of their
+	 * indices.
+	 */
+	private static final int SUBSYSTEMS = 4;
+	/**
+	 * Index of the tree in the array of subsystems and of the heap it retains
+	 * in the results.
+	 */
+	private static final int TREE = 3;
+
+	/**
+	 * Executes the benchmark given by the arguments. The results are printed
+	 * and written as comma separated values into a new file in the output
+	 * directory, one line per combination, preceded by the metadata of the
+	 * environment, see {@link BenchmarkResults}. Sizes are given in bytes.
+	 * 
+	 * @param args
+	 *            An optional path to a properties file followed by arguments
+	 *            of the form <tt>key=value</tt>, see the class description
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 * @throws IllegalArgumentException
+	 *             If a parameter is malformed or out of its range
+	 */
+	public static void main(final String[] args) throws IOException, IllegalArgumentException {
+		final Properties properties = RandomBenchmarkConfiguration.readProperties(args);
+		final int[] treeSizes = RandomBenchmarkConfiguration.readIntList(properties, "treeSizes", "1000,10000,50000");
+		final int[] robotCounts = RandomBenchmarkConfiguration.readIntList(properties, "robots", "1,10,100");
+		final int trees = RandomBenchmarkConfiguration.readInt(properties, "trees", 3, 1);
+		final int pruningInterval = RandomBenchmarkConfiguration.readInt(properties, "pruningInterval", 0, 0);
+
+		final File outputDirectory = new File(
+				properties.getProperty("outputDirectory", RandomBenchmarkConfiguration.DEFAULT_OUTPUT_DIRECTORY));
+		if (!outputDirectory.exists()) {
+			outputDirectory.mkdirs();
+		} else if (!outputDirectory.isDirectory()) {
+			throw new IllegalArgumentException("The provided path exists but is no directory: " + outputDirectory);
+		}
+		final String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+		final File dataFile = new File(outputDirectory, "memory_" + timeStamp + ".csv");
+
+		try (final FileWriter fw = new FileWriter(dataFile)) {
+			final String lineSeparator = System.lineSeparator();
+			for (final Entry<String, String> entry : BenchmarkMetadata.collect().entrySet()) {
+				fw.write(BenchmarkResults.COMMENT_PREFIX + " " + entry.getKey() + "=" + entry.getValue());
+				fw.write(lineSeparator);
+			}
+			writeLine(fw, "TREE_SIZE,ROBOTS,TREES,STEPS,SETUP_BYTES,PEAK_BYTES,TREE_BYTES,STORAGE_BYTES,ROBOT_BYTES,"
+					+ "LISTENER_BYTES,TREE_BYTES_PER_NODE,STORAGE_BYTES_PER_NODE,BYTES_PER_ROBOT,"
+					+ "LISTENER_BYTES_PER_NODE");
+
+			for (final int treeSize : treeSizes) {
+				final RandomTreeGenerator generator = new RandomTreeGenerator(treeSize);
+				for (final int amountOfRobots : robotCounts) {
+					final double[] meanResults = new double[RESULTS];
+					for (int i = 0; i < trees; i++) {
+						final long[] results = measure(generator, i, amountOfRobots, pruningInterval);
+						for (int j = 0; j < RESULTS; j++) {
+							meanResults[j] += (double) results[j] / trees;
+						}
+					}
+					writeLine(fw,
+							String.format(Locale.US, "%d,%d,%d,%.1f,%.0f,%.0f,%.0f,%.0f,%.0f,%.0f,%.1f,%.1f,%.1f,%.1f",
+									Integer.valueOf(treeSize), Integer.valueOf(amountOfRobots),
+									Integer.valueOf(trees), Double.valueOf(meanResults[STEPS]),
+									Double.valueOf(meanResults[SETUP]), Double.valueOf(meanResults[PEAK]),
+									Double.valueOf(meanResults[TREE]), Double.valueOf(meanResults[STORAGE]),
+									Double.valueOf(meanResults[EXPLORATION]), Double.valueOf(meanResults[LISTENER]),
+									Double.valueOf(meanResults[TREE] / treeSize),
+									Double.valueOf(meanResults[STORAGE] / treeSize),
+									Double.valueOf(meanResults[EXPLORATION] / amountOfRobots),
+									Double.valueOf(meanResults[LISTENER] / treeSize)));
+				}
+			}
+		}
+		System.out.println("--Finished, results written to " + dataFile);
+	}
+
+	/**
+	 * Creates the subsystems of an exploration of a random tree. The
+	 * subsystems are only referenced by the given array such that they can be
+	 * released one by one.
+	 * 
+	 * @param subsystems
+	 *            The array to store the subsystems in, indexed by the subsystem
+	 *            constants of this class
+	 * @param generator
+	 *            The generator to use for creating the tree
+	 * @param seed
+	 *            The seed of the tree
+	 * @param amountOfRobots
+	 *            The amount of robots to use
+	 * @param pruningInterval
+	 *            The amount of rounds after which the storage is pruned or
+	 *            <tt>0</tt> if it should never be pruned
+	 */
+	private static void createSubsystems(final Object[] subsystems, final RandomTreeGenerator generator,
+			final long seed, final int amountOfRobots, final int pruningInterval) {
+		final ITree tree = generator.generateRandomTree(seed);
+		final NodeStorageManager storage = new NodeStorageManager();
+		final ExplorationTreeBuilder listener = new ExplorationTreeBuilder(tree.getRoot());
+		subsystems[TREE] = tree;
+		subsystems[STORAGE] = storage;
+		subsystems[LISTENER] = listener;
+		final LocalStorageExploration exploration = new LocalStorageExploration(tree.getRoot(), amountOfRobots,
+				storage, new SequentialRobotPulseManager(), new ExplorationOptions()
+						.setRobotMovedListeners(Collections.<IRobotMovedListener> singletonList(listener))
+						.setPruningInterval(pruningInterval));
+		subsystems[EXPLORATION] = exploration;
+	}
+
+	/**
+	 * Measures the memory footprint of exploring a random tree.
+	 * 
+	 * @param generator
+	 *            The generator to use for creating the tree
+	 * @param seed
+	 *            The seed of the tree
+	 * @param amountOfRobots
+	 *            The amount of robots to use
+	 * @param pruningInterval
+	 *            The amount of rounds after which the storage is pruned or
+	 *            <tt>0</tt> if it should never be pruned
+	 * @return The results of the measurement, indexed by the constants of this
+	 *         class. Sizes are given in bytes relative to the retained heap
+	 *         before the tree was created.
+	 */
+	private static long[] measure(final RandomTreeGenerator generator, final long seed, final int amountOfRobots,
+			final int pruningInterval) {
+		final long[] results = new long[RESULTS];
+		final Object[] subsystems = new Object[SUBSYSTEMS];
+		final long initialHeap = RuntimeProfiler.getRetainedHeap();
+		createSubsystems(subsystems, generator, seed, amountOfRobots, pruningInterval);
+		results[SETUP] = RuntimeProfiler.getRetainedHeap() - initialHeap;
+
+		// Sample the retained heap after exponentially growing amounts of steps
+		long peakHeap = 0L;
+		long nextSample = 1L;
+		long steps = 0L;
+		boolean finished = false;
+		while (!finished) {
+			finished = ((LocalStorageExploration) subsystems[EXPLORATION]).exploreOneStep();
+			steps++;
+			if (steps == nextSample || finished) {
+				peakHeap = Math.max(peakHeap, RuntimeProfiler.getRetainedHeap());
+				nextSample *= 2;
+			}
+		}
+		results[PEAK] = peakHeap - initialHeap;
+		results[STEPS] = steps;
+
+		// Release the subsystems one by one and attribute the freed heap
+		long currentHeap = RuntimeProfiler.getRetainedHeap();
+		for (int i = 0; i < SUBSYSTEMS; i++) {
+			subsystems[i] = null;
+			final long heap = RuntimeProfiler.getRetainedHeap();
+			results[i] = currentHeap - heap;
+			currentHeap = heap;
+		}
+		return results;
+	}
+
+	/**
+	 * Writes the given line followed by a line separator and prints it.
+	 * 
+	 * @param writer
+	 *            The writer to write to
+	 * @param line
+	 *            The line to write
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void writeLine(final Writer writer, final String line) throws IOException {
+		writer.write(line + System.lineSeparator());
+		writer.flush();
+		System.out.println(line);
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private MemoryFootprintBenchmark() {
+
+	}
+}
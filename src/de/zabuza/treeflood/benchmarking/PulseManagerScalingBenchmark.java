@@ -0,0 +1,263 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Properties;
+
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.exploration.localstorage.timeline.PulseTracer;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Benchmark that compares how the pulse managers scale with the amount of
+ * threads. It sweeps the pulse manager, the amount of workers, the amount of
+ * robots and the tree size. Each combination explores the same random trees,
+ * its mean running time is compared to a {@link EPulseManager#SEQUENTIAL}
+ * baseline which gives the speedup and the efficiency, i.e. the speedup per
+ * used thread.<br>
+ * <br>
+ * The parameters are given like for {@link RandomBenchmark}, by an optional
+ * properties file followed by arguments of the form <tt>key=value</tt>. The
+ * keys are <tt>treeSizes</tt>, <tt>robots</tt>, <tt>workers</tt> and
+ * <tt>managers</tt>, each taking a comma separated list, as well as
+ * <tt>trees</tt>, <tt>warmupTrees</tt> and <tt>outputDirectory</tt>. The
+ * amount of workers only applies to {@link EPulseManager#FIXED_THREAD_POOL},
+ * the other managers use a fixed amount of threads per robot.<br>
+ * <br>
+ * If the key <tt>traceDirectory</tt> is given, the first tree of each
+ * combination is explored once more with a {@link PulseTracer} for the
+ * managers that support it. The timeline is written into the directory as
+ * trace event JSON that can be opened with Chrome or Perfetto.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PulseManagerScalingBenchmark {
+	/**
+	 * The amount of nanoseconds per millisecond.
+	 */
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+	/**
+	 * Executes the benchmark given by the arguments. The results are printed
+	 * and written as tab separated values into a new file in the output
+	 * directory, one line per combination. Times are given in milliseconds.
+	 * 
+	 * @param args
+	 *            An optional path to a properties file followed by arguments
+	 *            of the form <tt>key=value</tt>, see the class description
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 * @throws IllegalArgumentException
+	 *             If a parameter is malformed or out of its range
+	 */
+	public static void main(final String[] args) throws IOException, IllegalArgumentException {
+		final Properties properties = RandomBenchmarkConfiguration.readProperties(args);
+		final int[] treeSizes = RandomBenchmarkConfiguration.readIntList(properties, "treeSizes", "100,1000");
+		final int[] robotCounts = RandomBenchmarkConfiguration.readIntList(properties, "robots", "1,4,16,64");
+		final int[] workerCounts = RandomBenchmarkConfiguration.readIntList(properties, "workers", "1,2,4,8");
+		final int trees = RandomBenchmarkConfiguration.readInt(properties, "trees", 20, 1);
+		final int warmupTrees = RandomBenchmarkConfiguration.readInt(properties, "warmupTrees", 5, 0);
+		final List<EPulseManager> managers = new ArrayList<>();
+		for (final String manager : properties
+				.getProperty("managers", "FIXED_THREAD_POOL,ONE_THREAD_PER_ROBOT,THROW_AWAY_THREAD").split(",")) {
+			managers.add(EPulseManager.valueOf(manager.trim().toUpperCase(Locale.ROOT)));
+		}
+
+		final File outputDirectory = new File(
+				properties.getProperty("outputDirectory", RandomBenchmarkConfiguration.DEFAULT_OUTPUT_DIRECTORY));
+		if (!outputDirectory.exists()) {
+			outputDirectory.mkdirs();
+		} else if (!outputDirectory.isDirectory()) {
+			throw new IllegalArgumentException("The provided path exists but is no directory: " + outputDirectory);
+		}
+		final String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
+		final File dataFile = new File(outputDirectory, "scaling_" + timeStamp + ".tsv");
+		final String traceDirectoryPath = properties.getProperty("traceDirectory");
+		final File traceDirectory;
+		if (traceDirectoryPath == null) {
+			traceDirectory = null;
+		} else {
+			traceDirectory = new File(traceDirectoryPath);
+			traceDirectory.mkdirs();
+		}
+
+		try (final FileWriter fw = new FileWriter(dataFile)) {
+			writeLine(fw, "MANAGER\tTREE_SIZE\tROBOTS\tWORKERS\tTHREADS\tMEAN_TIME\tSPEEDUP\tEFFICIENCY");
+			for (final int treeSize : treeSizes) {
+				// All combinations explore the same trees
+				final RandomTreeGenerator generator = new RandomTreeGenerator(treeSize);
+				final ITree[] treesToExplore = new ITree[trees];
+				for (int i = 0; i < trees; i++) {
+					treesToExplore[i] = generator.generateRandomTree(i);
+				}
+
+				for (final int amountOfRobots : robotCounts) {
+					final double baseline = measure(treesToExplore, warmupTrees, amountOfRobots,
+							EPulseManager.SEQUENTIAL, 1);
+					writeResult(fw, EPulseManager.SEQUENTIAL, treeSize, amountOfRobots, 1, baseline, baseline);
+
+					for (final EPulseManager manager : managers) {
+						if (manager == EPulseManager.SEQUENTIAL) {
+							continue;
+						}
+						if (manager != EPulseManager.FIXED_THREAD_POOL) {
+							// The amount of workers does not apply
+							final int amountOfWorkers = manager.getAmountOfThreads(amountOfRobots, 1);
+							final double meanTime = measure(treesToExplore, warmupTrees, amountOfRobots, manager,
+									amountOfWorkers);
+							writeResult(fw, manager, treeSize, amountOfRobots, amountOfWorkers, meanTime, baseline);
+							trace(traceDirectory, treesToExplore[0], amountOfRobots, manager, amountOfWorkers);
+							continue;
+						}
+						for (final int amountOfWorkers : workerCounts) {
+							final double meanTime = measure(treesToExplore, warmupTrees, amountOfRobots, manager,
+									amountOfWorkers);
+							writeResult(fw, manager, treeSize, amountOfRobots, amountOfWorkers, meanTime, baseline);
+							trace(traceDirectory, treesToExplore[0], amountOfRobots, manager, amountOfWorkers);
+						}
+					}
+				}
+			}
+		}
+		System.out.println("--Finished, results written to " + dataFile);
+	}
+
+	/**
+	 * Measures the mean running time of exploring the given trees with the
+	 * given pulse manager. The first trees are explored additionally before
+	 * the measurement to warm up the virtual machine.
+	 * 
+	 * @param trees
+	 *            The trees to explore
+	 * @param warmupTrees
+	 *            The amount of trees to explore before the measurement
+	 * @param amountOfRobots
+	 *            The amount of robots to use
+	 * @param manager
+	 *            The pulse manager to use
+	 * @param amountOfWorkers
+	 *            The amount of workers of the pulse manager
+	 * @return The mean running time of an exploration in nanoseconds
+	 */
+	private static double measure(final ITree[] trees, final int warmupTrees, final int amountOfRobots,
+			final EPulseManager manager, final int amountOfWorkers) {
+		for (int i = 0; i < warmupTrees; i++) {
+			new LocalStorageExploration(trees[i % trees.length].getRoot(), amountOfRobots, new NodeStorageManager(),
+					manager.create(amountOfWorkers)).explore();
+		}
+
+		long sumOfDurations = 0L;
+		for (final ITree tree : trees) {
+			final LocalStorageExploration exploration = new LocalStorageExploration(tree.getRoot(), amountOfRobots,
+					new NodeStorageManager(), manager.create(amountOfWorkers));
+			final long startTime = System.nanoTime();
+			exploration.explore();
+			sumOfDurations += System.nanoTime() - startTime;
+		}
+		return (double) sumOfDurations / trees.length;
+	}
+
+	/**
+	 * Explores the given tree with the given pulse manager and writes the
+	 * timeline of the execution as trace event JSON into the given directory.
+	 * Nothing is done if no directory is given or the manager does not support
+	 * tracing.
+	 * 
+	 * @param traceDirectory
+	 *            The directory to write the trace into or <tt>null</tt> if
+	 *            nothing should be traced
+	 * @param tree
+	 *            The tree to explore
+	 * @param amountOfRobots
+	 *            The amount of robots to use
+	 * @param manager
+	 *            The pulse manager to use
+	 * @param amountOfWorkers
+	 *            The amount of workers of the pulse manager
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void trace(final File traceDirectory, final ITree tree, final int amountOfRobots,
+			final EPulseManager manager, final int amountOfWorkers) throws IOException {
+		if (traceDirectory == null || !manager.isTraceable()) {
+			return;
+		}
+		final PulseTracer tracer = new PulseTracer();
+		new LocalStorageExploration(tree.getRoot(), amountOfRobots, new NodeStorageManager(),
+				manager.create(amountOfWorkers, tracer)).explore();
+
+		final File traceFile = new File(traceDirectory,
+				"trace_" + manager + "_" + tree.getSize() + "_" + amountOfRobots + "_" + amountOfWorkers + ".json");
+		try (final Writer writer = new BufferedWriter(new FileWriter(traceFile))) {
+			tracer.write(writer);
+		}
+	}
+
+	/**
+	 * Writes the given line followed by a line separator and prints it.
+	 * 
+	 * @param writer
+	 *            The writer to write to
+	 * @param line
+	 *            The line to write
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void writeLine(final Writer writer, final String line) throws IOException {
+		writer.write(line + System.lineSeparator());
+		writer.flush();
+		System.out.println(line);
+	}
+
+	/**
+	 * Writes the result of a combination.
+	 * 
+	 * @param writer
+	 *            The writer to write to
+	 * @param manager
+	 *            The pulse manager of the combination
+	 * @param treeSize
+	 *            The tree size of the combination
+	 * @param amountOfRobots
+	 *            The amount of robots of the combination
+	 * @param amountOfWorkers
+	 *            The amount of workers of the combination
+	 * @param meanTime
+	 *            The mean running time of the combination in nanoseconds
+	 * @param baseline
+	 *            The mean running time of the sequential baseline in
+	 *            nanoseconds
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void writeResult(final Writer writer, final EPulseManager manager, final int treeSize,
+			final int amountOfRobots, final int amountOfWorkers, final double meanTime, final double baseline)
+			throws IOException {
+		final int amountOfThreads = manager.getAmountOfThreads(amountOfRobots, amountOfWorkers);
+		final double speedup = baseline / meanTime;
+		final double efficiency = speedup / amountOfThreads;
+		writeLine(writer,
+				String.format(Locale.US, "%s\t%d\t%d\t%d\t%d\t%.3f\t%.3f\t%.3f", manager, Integer.valueOf(treeSize),
+						Integer.valueOf(amountOfRobots), Integer.valueOf(amountOfWorkers),
+						Integer.valueOf(amountOfThreads), Double.valueOf(meanTime / NANOS_PER_MILLI),
+						Double.valueOf(speedup), Double.valueOf(efficiency)));
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private PulseManagerScalingBenchmark() {
+
+	}
+}
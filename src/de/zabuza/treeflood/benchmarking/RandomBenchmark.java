@@ -4,237 +4,233 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
-import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
 import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
 import de.zabuza.treeflood.tree.ITree;
 import de.zabuza.treeflood.tree.RandomTreeGenerator;
 
 /**
- * Used to create benchmarks with random trees.
+ * Used to create benchmarks with random trees. The experiment to execute is
+ * given by a {@link RandomBenchmarkConfiguration}, see its description for the
+ * supported parameters.<br>
+ * <br>
+ * The explorations of a benchmark are independent of each other. They can be
+ * executed concurrently on a bounded pool of threads if each exploration runs
+ * in a single thread, i.e. uses a
+ * {@link de.zabuza.treeflood.exploration.localstorage.SequentialRobotPulseManager
+ * SequentialRobotPulseManager}. The running time of each exploration is still
+ * measured in isolation by the thread executing it.<br>
+ * <br>
+ * If allocations are profiled the benchmark additionally records the bytes
+ * each exploration allocated and the garbage collections during the
+ * measurement, see {@link RuntimeProfiler}.<br>
+ * <br>
+ * The result files are self-describing, they start with the metadata of the
+ * run given by {@link BenchmarkMetadata}. Results of different runs can be
+ * compared with {@link BenchmarkComparison} to detect regressions.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class RandomBenchmark {
-	/**
-	 * Default path where the benchmark data gets saved to.
-	 */
-	public static final File DATA_PATH = new File(new File(System.getProperty("user.home"), "Desktop"),
-			"treeFloodBenchmarkData");
 	/**
 	 * Determines after how many finished trees the benchmark will print a
 	 * logging information.
 	 */
 	private static final int LOG_EVERY = 100;
-
 	/**
-	 * Creates and executes a benchmark with a fixed size of robots.
-	 * 
-	 * @param amountOfRobots
-	 *            The amount of robots to use
-	 * 
-	 * @throws IOException
-	 *             If an I/O-Exception occurs
+	 * The amount of nanoseconds per millisecond.
 	 */
-	public static void executeBenchmarkFixedRobots(final int amountOfRobots) throws IOException {
-		// Create a file for the results
-		final String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-		final String fileName = "fixedRobotsBenchmark_" + amountOfRobots + "_" + timeStamp;
-		final String fileFormat = ".tsv";
-
-		if (!DATA_PATH.exists()) {
-			DATA_PATH.mkdirs();
-		} else if (!DATA_PATH.isDirectory()) {
-			throw new IllegalArgumentException("The provided path exists but is no directory: " + DATA_PATH);
-		}
-
-		final File dataFile = new File(DATA_PATH, fileName + fileFormat);
-		try (final FileWriter fw = new FileWriter(dataFile)) {
-			final String lineSeparator = System.lineSeparator();
-			// Write header
-			fw.write("TREE_SIZE\tROBOTS\tTIME\tSTEPS" + lineSeparator);
-
-			final int benchmarkDensity = 200;
-			final int minTreeSize = 0;
-			final int maxTreeSize = 3_500;
-			final int stepWidth = 100;
-
-			for (int treeSize = minTreeSize; treeSize <= maxTreeSize; treeSize += stepWidth) {
-				final int treeSizeToUse;
-				if (treeSize == 0) {
-					treeSizeToUse = 1;
-				} else {
-					treeSizeToUse = treeSize;
-				}
-				final RandomBenchmark benchmark = new RandomBenchmark(benchmarkDensity, treeSizeToUse, amountOfRobots);
-				benchmark.executeMeasuring();
-				final long overalTime = benchmark.getAverageOverallTime();
-				final int amountOfSteps = benchmark.getAverageAmountOfSteps();
-
-				// Log the data in a file
-				fw.write(treeSizeToUse + "\t" + amountOfRobots + "\t" + overalTime + "\t" + amountOfSteps
-						+ lineSeparator);
-				fw.flush();
-
-				System.out.println("From size " + minTreeSize + " to " + maxTreeSize + ", at " + treeSizeToUse);
-			}
-		}
-	}
-
+	private static final double NANOS_PER_MILLI = 1_000_000.0;
 	/**
-	 * Creates and executes a benchmark with a fixed tree size.
-	 * 
-	 * @param treeSize
-	 *            The tree size to use
-	 * 
-	 * @throws IOException
-	 *             If an I/O-Exception occurs
+	 * The amount of nanoseconds per second.
 	 */
-	public static void executeBenchmarkFixedTree(final int treeSize) throws IOException {
-		// Create a file for the results
-		final String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-		final String fileName = "fixedTreeBenchmark_" + treeSize + "_" + timeStamp;
-		final String fileFormat = ".tsv";
-
-		if (!DATA_PATH.exists()) {
-			DATA_PATH.mkdirs();
-		} else if (!DATA_PATH.isDirectory()) {
-			throw new IllegalArgumentException("The provided path exists but is no directory: " + DATA_PATH);
-		}
-
-		final File dataFile = new File(DATA_PATH, fileName + fileFormat);
-		try (final FileWriter fw = new FileWriter(dataFile)) {
-			final String lineSeparator = System.lineSeparator();
-			// Write header
-			fw.write("TREE_SIZE\tROBOTS\tTIME\tSTEPS" + lineSeparator);
-
-			final int benchmarkDensity = 200;
-			final int minAmountOfRobots = 0;
-			final int maxAmountOfRobots = 1_000;
-			final int stepWidth = 50;
-
-			for (int amountOfRobots = minAmountOfRobots; amountOfRobots <= maxAmountOfRobots; amountOfRobots += stepWidth) {
-				final int amountOfRobotsToUse;
-				if (amountOfRobots == 0) {
-					amountOfRobotsToUse = 1;
-				} else {
-					amountOfRobotsToUse = amountOfRobots;
-				}
-				final RandomBenchmark benchmark = new RandomBenchmark(benchmarkDensity, treeSize, amountOfRobotsToUse);
-				benchmark.executeMeasuring();
-				final long overalTime = benchmark.getAverageOverallTime();
-				final int amountOfSteps = benchmark.getAverageAmountOfSteps();
-
-				// Log the data in a file
-				fw.write(treeSize + "\t" + amountOfRobotsToUse + "\t" + overalTime + "\t" + amountOfSteps
-						+ lineSeparator);
-				fw.flush();
-
-				System.out.println("From robots " + minAmountOfRobots + " to " + maxAmountOfRobots + ", at "
-						+ amountOfRobotsToUse);
-			}
-		}
-	}
+	private static final double NANOS_PER_SECOND = 1_000_000_000.0;
 
 	/**
-	 * Creates and executes a benchmark with a scaling amount of robots.
+	 * Executes the experiment given by the configuration. The results are
+	 * written as comma separated values into a new file in the output
+	 * directory of the configuration, one line per point. The file starts with
+	 * the metadata of the run as comment lines of the form
+	 * <tt># key=value</tt>, see {@link BenchmarkResults}. Times are given in
+	 * milliseconds with six decimal places, i.e. to the nanosecond, such that
+	 * the deviation of fast points is not rounded to zero. If allocations are
+	 * profiled the lines contain additional columns for the allocated bytes
+	 * and the garbage collections.
 	 * 
-	 * @param robotCoverage
-	 *            Percentage of the robot coverage
+	 * @param configuration
+	 *            The configuration of the experiment
+	 * @return The file the results were written to
 	 * @throws IOException
 	 *             If an I/O-Exception occurs
 	 */
-	public static void executeBenchmarkScalingRobots(final float robotCoverage) throws IOException {
+	public static File executeExperiment(final RandomBenchmarkConfiguration configuration) throws IOException {
 		// Create a file for the results
+		final File outputDirectory = configuration.getOutputDirectory();
+		if (!outputDirectory.exists()) {
+			outputDirectory.mkdirs();
+		} else if (!outputDirectory.isDirectory()) {
+			throw new IllegalArgumentException("The provided path exists but is no directory: " + outputDirectory);
+		}
 		final String timeStamp = new SimpleDateFormat("yyyyMMddHHmmss").format(new Date());
-		final String fileName = "scalingRobotsBenchmark_" + robotCoverage + "_" + timeStamp;
-		final String fileFormat = ".tsv";
-
-		if (!DATA_PATH.exists()) {
-			DATA_PATH.mkdirs();
-		} else if (!DATA_PATH.isDirectory()) {
-			throw new IllegalArgumentException("The provided path exists but is no directory: " + DATA_PATH);
+		final String fileName = "benchmark_" + configuration.getExperiment().name().toLowerCase(Locale.ROOT) + "_"
+				+ timeStamp;
+		final String fileFormat = ".csv";
+		final File dataFile = new File(outputDirectory, fileName + fileFormat);
+
+		// Explorations of all points share one bounded pool of threads
+		final ExecutorService executor;
+		if (configuration.getParallelism() > 1) {
+			executor = Executors.newFixedThreadPool(configuration.getParallelism());
+		} else {
+			executor = null;
 		}
 
-		final File dataFile = new File(DATA_PATH, fileName + fileFormat);
 		try (final FileWriter fw = new FileWriter(dataFile)) {
 			final String lineSeparator = System.lineSeparator();
-			// Write header
-			fw.write("TREE_SIZE\tROBOTS\tTIME\tSTEPS" + lineSeparator);
-
-			final int benchmarkDensity = 200;
-			final int minTreeSize = 0;
-			final int maxTreeSize = 3_500;
-			final int stepWidth = 100;
-
-			for (int treeSize = minTreeSize; treeSize <= maxTreeSize; treeSize += stepWidth) {
-				final int treeSizeToUse;
-				if (treeSize == 0) {
-					treeSizeToUse = 1;
-				} else {
-					treeSizeToUse = treeSize;
+			// Write metadata and header
+			for (final Entry<String, String> entry : BenchmarkMetadata.collect(configuration).entrySet()) {
+				fw.write(BenchmarkResults.COMMENT_PREFIX + " " + entry.getKey() + "=" + entry.getValue());
+				fw.write(lineSeparator);
+			}
+			fw.write("TREE_SIZE,ROBOTS,TREES,MEAN_TIME,MEDIAN_TIME,P90_TIME,P99_TIME,STD_DEV_TIME,STEPS,STEPS_PER_SECOND");
+			if (configuration.isProfilingAllocations()) {
+				fw.write(",ALLOCATED_BYTES,ALLOCATED_BYTES_PER_STEP,GC_COUNT,GC_TIME");
+			}
+			fw.write(lineSeparator);
+
+			final int from = configuration.getFrom();
+			final int to = configuration.getTo();
+			for (int value = from; value <= to; value += configuration.getStepWidth()) {
+				// Trees and robot groups can not be empty
+				final int valueToUse = Math.max(1, value);
+				final int treeSize;
+				final int amountOfRobots;
+				switch (configuration.getExperiment()) {
+				case FIXED_ROBOTS:
+					treeSize = valueToUse;
+					amountOfRobots = configuration.getRobots();
+					break;
+				case FIXED_TREE:
+					treeSize = configuration.getTreeSize();
+					amountOfRobots = valueToUse;
+					break;
+				case SCALING_ROBOTS:
+					treeSize = valueToUse;
+					amountOfRobots = (int) Math.ceil(treeSize * configuration.getRobotCoverage());
+					break;
+				default:
+					throw new AssertionError();
 				}
 
-				final int amountOfRobots = (int) Math.ceil(treeSizeToUse * robotCoverage);
-				final RandomBenchmark benchmark = new RandomBenchmark(benchmarkDensity, treeSizeToUse, amountOfRobots);
+				final RandomBenchmark benchmark = new RandomBenchmark(configuration.getTrees(),
+						configuration.getWarmupTrees(), treeSize, amountOfRobots, configuration.getPulseManager(),
+						executor, configuration.isProfilingAllocations());
 				benchmark.executeMeasuring();
-				final long overalTime = benchmark.getAverageOverallTime();
-				final int amountOfSteps = benchmark.getAverageAmountOfSteps();
 
 				// Log the data in a file
-				fw.write(treeSizeToUse + "\t" + amountOfRobots + "\t" + overalTime + "\t" + amountOfSteps
-						+ lineSeparator);
+				fw.write(String.format(Locale.US, "%d,%d,%d,%.6f,%.6f,%.6f,%.6f,%.6f,%.1f,%.1f",
+						Integer.valueOf(treeSize), Integer.valueOf(amountOfRobots),
+						Integer.valueOf(configuration.getTrees()),
+						Double.valueOf(benchmark.getMeanTime() / NANOS_PER_MILLI),
+						Double.valueOf(benchmark.getPercentileTime(50) / NANOS_PER_MILLI),
+						Double.valueOf(benchmark.getPercentileTime(90) / NANOS_PER_MILLI),
+						Double.valueOf(benchmark.getPercentileTime(99) / NANOS_PER_MILLI),
+						Double.valueOf(benchmark.getStandardDeviationOfTime() / NANOS_PER_MILLI),
+						Double.valueOf(benchmark.getMeanAmountOfSteps()), Double.valueOf(benchmark.getStepsPerSecond())));
+				if (configuration.isProfilingAllocations()) {
+					fw.write(String.format(Locale.US, ",%.1f,%.1f,%d,%d",
+							Double.valueOf(benchmark.getMeanAllocatedBytes()),
+							Double.valueOf(benchmark.getAllocatedBytesPerStep()),
+							Long.valueOf(benchmark.getGarbageCollectionCount()),
+							Long.valueOf(benchmark.getGarbageCollectionTime())));
+				}
+				fw.write(lineSeparator);
 				fw.flush();
 
-				System.out.println("From size " + minTreeSize + " to " + maxTreeSize + ", at " + treeSizeToUse);
+				System.out.println("From " + from + " to " + to + ", at " + valueToUse);
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
 			}
 		}
+		return dataFile;
 	}
 
 	/**
-	 * Executes benchmarks.
+	 * Executes the experiment given by the arguments.
 	 * 
 	 * @param args
-	 *            Not supported
+	 *            An optional path to a properties file followed by arguments
+	 *            of the form <tt>key=value</tt>, see
+	 *            {@link RandomBenchmarkConfiguration#fromArguments(String[])}
 	 * @throws IOException
 	 *             If an I/O-Exception occurs
 	 */
 	public static void main(final String[] args) throws IOException {
-		// executeBenchmarkFixedRobots(1);
-		// System.out.println("--Finished fixed 1");
-		// executeBenchmarkFixedRobots(5);
-		// System.out.println("--Finished fixed 5");
-		// executeBenchmarkFixedRobots(10);
-		// System.out.println("--Finished fixed 10");
-		// executeBenchmarkScalingRobots(0.05f);
-		// System.out.println("--Finished scaling 5%");
-		// executeBenchmarkScalingRobots(0.1f);
-		// System.out.println("--Finished scaling 10%");
-		// executeBenchmarkScalingRobots(1f);
-		// System.out.println("--Finished scaling 100%");
-		executeBenchmarkFixedTree(1_000);
-		System.out.println("--Finished fixed tree 1_000");
+		final RandomBenchmarkConfiguration configuration = RandomBenchmarkConfiguration.fromArguments(args);
+		System.out.println("Executing " + configuration);
+		final File dataFile = executeExperiment(configuration);
+		System.out.println("--Finished, results written to " + dataFile);
 	}
 
+	/**
+	 * The bytes each measured exploration allocated or <tt>null</tt> if
+	 * allocations are not profiled.
+	 */
+	private final long[] mAllocatedBytes;
 	/**
 	 * The amount of robots to use in this benchmark.
 	 */
 	private final int mAmountOfRobots;
 	/**
-	 * The amount of trees used in this benchmark.
+	 * The amount of trees measured in this benchmark.
 	 */
 	private final int mAmountOfTrees;
 	/**
-	 * The total sum of the overall running time.
+	 * The amount of trees explored before the measurement starts.
+	 */
+	private final int mAmountOfWarmupTrees;
+	/**
+	 * The running time of each measured tree in nanoseconds, sorted ascending
+	 * once the measuring has finished.
 	 */
-	private long mSumOfOverallTime;
+	private final long[] mDurations;
 	/**
-	 * The total sum of the steps used by the algorithm.
+	 * The executor used to explore trees concurrently or <tt>null</tt> if they
+	 * are explored one after another in the calling thread.
 	 */
-	private int mSumOfSteps;
+	private final ExecutorService mExecutor;
+	/**
+	 * The amount of garbage collections during the measured explorations.
+	 */
+	private long mGarbageCollectionCount;
+	/**
+	 * The time spent in garbage collections during the measured explorations
+	 * in milliseconds.
+	 */
+	private long mGarbageCollectionTime;
+	/**
+	 * The pulse manager to use for the explorations.
+	 */
+	private final EPulseManager mPulseManager;
+	/**
+	 * The amount of steps the algorithm used for each measured tree.
+	 */
+	private final int[] mSteps;
 	/**
 	 * The size of the trees to use for this benchmark.
 	 */
@@ -244,50 +240,145 @@ public final class RandomBenchmark {
 	 * Creates a new benchmark with given arguments that uses random trees.
 	 * 
 	 * @param amountOfTrees
-	 *            The amount of trees to use
+	 *            The amount of trees to measure, at least <tt>1</tt>
+	 * @param amountOfWarmupTrees
+	 *            The amount of trees to explore before the measurement starts
 	 * @param treeSize
 	 *            The size of the trees to use
 	 * @param amountOfRobots
 	 *            The amount of robots to use
+	 * @param pulseManager
+	 *            The pulse manager to use for the explorations
+	 * @param executor
+	 *            The executor used to explore trees concurrently or
+	 *            <tt>null</tt> if they should be explored one after another in
+	 *            the calling thread. Concurrent explorations must use the pulse
+	 *            manager {@link EPulseManager#SEQUENTIAL}, otherwise their
+	 *            timings influence each other.
+	 * @param profileAllocations
+	 *            Whether allocations and garbage collections should be
+	 *            recorded. Requires the pulse manager
+	 *            {@link EPulseManager#SEQUENTIAL} as allocations are counted
+	 *            for the exploring thread only.
+	 * @throws IllegalArgumentException
+	 *             If the amount of trees is not positive
 	 */
-	public RandomBenchmark(final int amountOfTrees, final int treeSize, final int amountOfRobots) {
+	public RandomBenchmark(final int amountOfTrees, final int amountOfWarmupTrees, final int treeSize,
+			final int amountOfRobots, final EPulseManager pulseManager, final ExecutorService executor,
+			final boolean profileAllocations) throws IllegalArgumentException {
+		if (amountOfTrees <= 0) {
+			throw new IllegalArgumentException("The amount of trees must be positive, was: " + amountOfTrees);
+		}
 		this.mAmountOfTrees = amountOfTrees;
+		this.mAmountOfWarmupTrees = amountOfWarmupTrees;
 		this.mTreeSize = treeSize;
 		this.mAmountOfRobots = amountOfRobots;
+		this.mPulseManager = pulseManager;
+		this.mExecutor = executor;
+		this.mDurations = new long[amountOfTrees];
+		this.mSteps = new int[amountOfTrees];
+		if (profileAllocations) {
+			this.mAllocatedBytes = new long[amountOfTrees];
+		} else {
+			this.mAllocatedBytes = null;
+		}
 		reset();
 	}
 
 	/**
-	 * Executes the measuring of this benchmark.
+	 * Executes the measuring of this benchmark. The warmup trees are explored
+	 * first, their results are discarded.
 	 */
 	public void executeMeasuring() {
 		reset();
-		final RandomTreeGenerator generator = new RandomTreeGenerator(this.mTreeSize);
-
-		for (int i = 1; i <= this.mAmountOfTrees; i++) {
-			// Generate a random tree and prepare the task
-			final ITree treeToExplore = generator.generateRandomTree();
-			final LocalStorageExploration algorithm = new LocalStorageExploration(treeToExplore.getRoot(),
-					this.mAmountOfRobots, new NodeStorageManager(), new OneThreadPerRobotPulseManager());
-
-			// Start measurement
-			final long startTime = System.currentTimeMillis();
-
-			// Execute the task step by step
-			boolean finished = false;
-			while (!finished) {
-				finished = algorithm.exploreOneStep();
-				this.mSumOfSteps++;
+		// Draw the seeds up front, trees generated at the same time must
+		// differ
+		final Random seeds = new Random();
+
+		final long garbageCollectionCountBefore;
+		final long garbageCollectionTimeBefore;
+		if (this.mExecutor == null) {
+			for (int i = 1; i <= this.mAmountOfWarmupTrees; i++) {
+				measureRandomTree(-1, seeds.nextLong());
 			}
-
-			// Stop measurement
-			final long stopTime = System.currentTimeMillis();
-			final long duration = stopTime - startTime;
-			this.mSumOfOverallTime += duration;
-			if (i % LOG_EVERY == 0) {
-				System.out.println("\tFinished " + i + " of " + this.mAmountOfTrees);
+			garbageCollectionCountBefore = RuntimeProfiler.getGarbageCollectionCount();
+			garbageCollectionTimeBefore = RuntimeProfiler.getGarbageCollectionTime();
+			for (int i = 1; i <= this.mAmountOfTrees; i++) {
+				measureRandomTree(i - 1, seeds.nextLong());
+				if (i % LOG_EVERY == 0) {
+					System.out.println("\tFinished " + i + " of " + this.mAmountOfTrees);
+				}
+			}
+		} else {
+			final List<Future<?>> warmupRuns = new ArrayList<>(this.mAmountOfWarmupTrees);
+			for (int i = 1; i <= this.mAmountOfWarmupTrees; i++) {
+				final long seed = seeds.nextLong();
+				warmupRuns.add(this.mExecutor.submit(() -> measureRandomTree(-1, seed)));
 			}
+			awaitAll(warmupRuns, false);
+
+			garbageCollectionCountBefore = RuntimeProfiler.getGarbageCollectionCount();
+			garbageCollectionTimeBefore = RuntimeProfiler.getGarbageCollectionTime();
+			final List<Future<?>> runs = new ArrayList<>(this.mAmountOfTrees);
+			for (int i = 1; i <= this.mAmountOfTrees; i++) {
+				final int index = i - 1;
+				final long seed = seeds.nextLong();
+				runs.add(this.mExecutor.submit(() -> measureRandomTree(index, seed)));
+			}
+			awaitAll(runs, true);
+		}
+		this.mGarbageCollectionCount = RuntimeProfiler.getGarbageCollectionCount() - garbageCollectionCountBefore;
+		this.mGarbageCollectionTime = RuntimeProfiler.getGarbageCollectionTime() - garbageCollectionTimeBefore;
+
+		Arrays.sort(this.mDurations);
+	}
+
+	/**
+	 * Gets the average amount of bytes allocated per step of the algorithm.
+	 * 
+	 * @return The average amount of bytes allocated per step
+	 * @throws IllegalStateException
+	 *             If allocations are not profiled
+	 */
+	public double getAllocatedBytesPerStep() throws IllegalStateException {
+		final long sumOfSteps = getSumOfSteps();
+		if (sumOfSteps == 0L) {
+			return 0.0;
 		}
+		return (double) getSumOfAllocatedBytes() / sumOfSteps;
+	}
+
+	/**
+	 * Gets the amount of garbage collections of the virtual machine during the
+	 * measured explorations. The count includes collections caused by other
+	 * threads.
+	 * 
+	 * @return The amount of garbage collections
+	 */
+	public long getGarbageCollectionCount() {
+		return this.mGarbageCollectionCount;
+	}
+
+	/**
+	 * Gets the time the virtual machine spent in garbage collections during
+	 * the measured explorations. The time includes collections caused by other
+	 * threads.
+	 * 
+	 * @return The time spent in garbage collections in milliseconds
+	 */
+	public long getGarbageCollectionTime() {
+		return this.mGarbageCollectionTime;
+	}
+
+	/**
+	 * Gets the average amount of bytes a measured exploration allocated.
+	 * 
+	 * @return The average amount of bytes a measured exploration allocated
+	 * @throws IllegalStateException
+	 *             If allocations are not profiled
+	 */
+	public double getMeanAllocatedBytes() throws IllegalStateException {
+		return (double) getSumOfAllocatedBytes() / this.mAmountOfTrees;
 	}
 
 	/**
@@ -295,24 +386,206 @@ public final class RandomBenchmark {
 	 * 
 	 * @return The average amount of steps that was needed in this benchmark
 	 */
-	public int getAverageAmountOfSteps() {
-		return this.mSumOfSteps / this.mAmountOfTrees;
+	public double getMeanAmountOfSteps() {
+		return (double) getSumOfSteps() / this.mAmountOfTrees;
+	}
+
+	/**
+	 * Gets the average running time of this benchmark.
+	 * 
+	 * @return The average running time of this benchmark in nanoseconds
+	 */
+	public double getMeanTime() {
+		return (double) getSumOfDurations() / this.mAmountOfTrees;
+	}
+
+	/**
+	 * Gets the given percentile of the running times of this benchmark, by
+	 * using the nearest-rank method.
+	 * 
+	 * @param percentile
+	 *            The percentile to get, between <tt>0</tt> (exclusive) and
+	 *            <tt>100</tt> (inclusive). The value <tt>50</tt> gives the
+	 *            median.
+	 * @return The percentile of the running times in nanoseconds
+	 * @throws IllegalArgumentException
+	 *             If the percentile is out of range
+	 */
+	public long getPercentileTime(final double percentile) throws IllegalArgumentException {
+		if (!(percentile > 0.0 && percentile <= 100.0)) {
+			throw new IllegalArgumentException("The percentile must be in (0, 100], was: " + percentile);
+		}
+		final int rank = (int) Math.ceil(percentile / 100.0 * this.mAmountOfTrees);
+		return this.mDurations[Math.max(rank, 1) - 1];
+	}
+
+	/**
+	 * Gets the sample standard deviation of the running times of this
+	 * benchmark.
+	 * 
+	 * @return The standard deviation of the running times in nanoseconds or
+	 *         <tt>0</tt> if only one tree was measured
+	 */
+	public double getStandardDeviationOfTime() {
+		if (this.mAmountOfTrees < 2) {
+			return 0.0;
+		}
+		final double mean = getMeanTime();
+		double sumOfSquares = 0.0;
+		for (final long duration : this.mDurations) {
+			final double deviation = duration - mean;
+			sumOfSquares += deviation * deviation;
+		}
+		return Math.sqrt(sumOfSquares / (this.mAmountOfTrees - 1));
+	}
+
+	/**
+	 * Gets the amount of steps the algorithm executed per second, over all
+	 * measured trees.
+	 * 
+	 * @return The amount of steps per second
+	 */
+	public double getStepsPerSecond() {
+		final long sumOfDurations = getSumOfDurations();
+		if (sumOfDurations == 0L) {
+			return 0.0;
+		}
+		return getSumOfSteps() * NANOS_PER_SECOND / sumOfDurations;
+	}
+
+	/**
+	 * Waits until all given explorations have finished.
+	 * 
+	 * @param runs
+	 *            The explorations to wait for, in the order they were
+	 *            submitted
+	 * @param logProgress
+	 *            Whether the progress should be logged
+	 * @throws IllegalStateException
+	 *             If an exploration failed
+	 */
+	private void awaitAll(final List<Future<?>> runs, final boolean logProgress) throws IllegalStateException {
+		int amountOfFinishedRuns = 0;
+		for (final Future<?> run : runs) {
+			boolean hasFinished = false;
+			while (!hasFinished) {
+				try {
+					run.get();
+					hasFinished = true;
+				} catch (final InterruptedException e) {
+					// Simply ignore the interrupt and continue
+				} catch (final ExecutionException e) {
+					throw new IllegalStateException("An exploration of the benchmark failed", e.getCause());
+				}
+			}
+
+			amountOfFinishedRuns++;
+			if (logProgress && amountOfFinishedRuns % LOG_EVERY == 0) {
+				System.out.println("\tFinished " + amountOfFinishedRuns + " of " + runs.size());
+			}
+		}
+	}
+
+	/**
+	 * Gets the sum of the bytes all measured explorations allocated.
+	 * 
+	 * @return The sum of the allocated bytes
+	 * @throws IllegalStateException
+	 *             If allocations are not profiled
+	 */
+	private long getSumOfAllocatedBytes() throws IllegalStateException {
+		if (this.mAllocatedBytes == null) {
+			throw new IllegalStateException("Allocations are not profiled by this benchmark");
+		}
+		long sum = 0L;
+		for (final long allocatedBytes : this.mAllocatedBytes) {
+			sum += allocatedBytes;
+		}
+		return sum;
+	}
+
+	/**
+	 * Gets the sum of the running times of all measured trees.
+	 * 
+	 * @return The sum of the running times in nanoseconds
+	 */
+	private long getSumOfDurations() {
+		long sum = 0L;
+		for (final long duration : this.mDurations) {
+			sum += duration;
+		}
+		return sum;
 	}
 
 	/**
-	 * Gets the average overall running time of this benchmark.
+	 * Gets the sum of the steps the algorithm used for all measured trees.
 	 * 
-	 * @return The average overall running time of this benchmark.
+	 * @return The sum of the steps
 	 */
-	public long getAverageOverallTime() {
-		return this.mSumOfOverallTime / this.mAmountOfTrees;
+	private long getSumOfSteps() {
+		long sum = 0L;
+		for (final int steps : this.mSteps) {
+			sum += steps;
+		}
+		return sum;
+	}
+
+	/**
+	 * Generates a random tree with the given seed, explores it step by step
+	 * and measures the running time. The generation of the tree is not
+	 * measured. This method may be called concurrently for different indices.
+	 * 
+	 * @param index
+	 *            The index of the measured tree the results are stored at or
+	 *            <tt>-1</tt> if the results should be discarded
+	 * @param seed
+	 *            The seed to generate the tree with
+	 */
+	private void measureRandomTree(final int index, final long seed) {
+		// Generate a random tree and prepare the task
+		final ITree treeToExplore = new RandomTreeGenerator(this.mTreeSize).generateRandomTree(seed);
+		final LocalStorageExploration algorithm = new LocalStorageExploration(treeToExplore.getRoot(),
+				this.mAmountOfRobots, new NodeStorageManager(), this.mPulseManager.create());
+
+		// Start measurement
+		final long allocatedBytesBefore;
+		if (this.mAllocatedBytes != null) {
+			allocatedBytesBefore = RuntimeProfiler.getAllocatedBytesOfCurrentThread();
+		} else {
+			allocatedBytesBefore = 0L;
+		}
+		final long startTime = System.nanoTime();
+
+		// Execute the task step by step
+		int amountOfSteps = 0;
+		boolean finished = false;
+		while (!finished) {
+			finished = algorithm.exploreOneStep();
+			amountOfSteps++;
+		}
+
+		// Stop measurement
+		final long duration = System.nanoTime() - startTime;
+		if (index == -1) {
+			return;
+		}
+		this.mDurations[index] = duration;
+		this.mSteps[index] = amountOfSteps;
+		if (this.mAllocatedBytes != null) {
+			this.mAllocatedBytes[index] = RuntimeProfiler.getAllocatedBytesOfCurrentThread() - allocatedBytesBefore;
+		}
 	}
 
 	/**
 	 * Resets the results of the last executed measuring.
 	 */
 	private void reset() {
-		this.mSumOfOverallTime = 0L;
-		this.mSumOfSteps = 0;
+		Arrays.fill(this.mDurations, 0L);
+		Arrays.fill(this.mSteps, 0);
+		if (this.mAllocatedBytes != null) {
+			Arrays.fill(this.mAllocatedBytes, 0L);
+		}
+		this.mGarbageCollectionCount = 0L;
+		this.mGarbageCollectionTime = 0L;
 	}
 }
@@ -0,0 +1,509 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Configuration of a {@link RandomBenchmark} experiment. It is read from an
+ * optional properties file whose values can be overridden by command-line
+ * arguments of the form <tt>key=value</tt>. The keys are:
+ * <ul>
+ * <li><tt>experiment</tt> - The experiment to execute, see
+ * {@link EExperiment}</li>
+ * <li><tt>trees</tt> - The amount of measured trees per point</li>
+ * <li><tt>warmupTrees</tt> - The amount of trees explored before the
+ * measurement of each point</li>
+ * <li><tt>from</tt>, <tt>to</tt>, <tt>stepWidth</tt> - The range of the swept
+ * parameter, the bounds are inclusive</li>
+ * <li><tt>robots</tt> - The amount of robots for
+ * {@link EExperiment#FIXED_ROBOTS}</li>
+ * <li><tt>treeSize</tt> - The tree size for {@link EExperiment#FIXED_TREE}</li>
+ * <li><tt>robotCoverage</tt> - The amount of robots per node for
+ * {@link EExperiment#SCALING_ROBOTS}</li>
+ * <li><tt>outputDirectory</tt> - The directory the results are written to</li>
+ * <li><tt>parallelism</tt> - The amount of trees that are explored
+ * concurrently, each exploration runs in its own thread</li>
+ * <li><tt>profileAllocations</tt> - Whether allocated bytes and garbage
+ * collections are recorded, see {@link RuntimeProfiler}</li>
+ * <li><tt>pulseManager</tt> - The pulse manager to use, see
+ * {@link EPulseManager}. Defaults to {@link EPulseManager#SEQUENTIAL} if
+ * trees are explored concurrently or allocations are profiled, which is the
+ * only supported manager in these cases.</li>
+ * </ul>
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RandomBenchmarkConfiguration {
+	/**
+	 * The default directory the results are written to.
+	 */
+	public static final String DEFAULT_OUTPUT_DIRECTORY = "treeFloodBenchmarkData";
+	/**
+	 * Key of the experiment to execute.
+	 */
+	public static final String KEY_EXPERIMENT = "experiment";
+	/**
+	 * Key of the lower bound of the swept parameter.
+	 */
+	public static final String KEY_FROM = "from";
+	/**
+	 * Key of the directory the results are written to.
+	 */
+	public static final String KEY_OUTPUT_DIRECTORY = "outputDirectory";
+	/**
+	 * Key of the amount of trees that are explored concurrently.
+	 */
+	public static final String KEY_PARALLELISM = "parallelism";
+	/**
+	 * Key of whether allocations and garbage collections are recorded.
+	 */
+	public static final String KEY_PROFILE_ALLOCATIONS = "profileAllocations";
+	/**
+	 * Key of the pulse manager to use.
+	 */
+	public static final String KEY_PULSE_MANAGER = "pulseManager";
+	/**
+	 * Key of the amount of robots per node.
+	 */
+	public static final String KEY_ROBOT_COVERAGE = "robotCoverage";
+	/**
+	 * Key of the fixed amount of robots.
+	 */
+	public static final String KEY_ROBOTS = "robots";
+	/**
+	 * Key of the step width of the swept parameter.
+	 */
+	public static final String KEY_STEP_WIDTH = "stepWidth";
+	/**
+	 * Key of the upper bound of the swept parameter.
+	 */
+	public static final String KEY_TO = "to";
+	/**
+	 * Key of the fixed tree size.
+	 */
+	public static final String KEY_TREE_SIZE = "treeSize";
+	/**
+	 * Key of the amount of measured trees per point.
+	 */
+	public static final String KEY_TREES = "trees";
+	/**
+	 * Key of the amount of warmup trees per point.
+	 */
+	public static final String KEY_WARMUP_TREES = "warmupTrees";
+
+	/**
+	 * Creates the configuration given by the command-line arguments. An
+	 * argument without <tt>=</tt> is the path to a properties file that is
+	 * read first, all other arguments are of the form <tt>key=value</tt> and
+	 * override the values of the file. Missing values use their defaults.
+	 * 
+	 * @param args
+	 *            The command-line arguments
+	 * @return The configuration given by the arguments
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while reading the properties
+	 *             file
+	 * @throws IllegalArgumentException
+	 *             If a value is malformed or out of its range
+	 */
+	public static RandomBenchmarkConfiguration fromArguments(final String[] args)
+			throws IOException, IllegalArgumentException {
+		return new RandomBenchmarkConfiguration(readProperties(args));
+	}
+
+	/**
+	 * Gets the single integer value of the given key.
+	 * 
+	 * @param properties
+	 *            The properties to get the value from
+	 * @param key
+	 *            The key of the value
+	 * @param defaultValue
+	 *            The value to use if the key is not present
+	 * @param minValue
+	 *            The smallest allowed value
+	 * @return The value of the key
+	 * @throws IllegalArgumentException
+	 *             If the value is no single integer or smaller than the
+	 *             allowed value
+	 */
+	static int readInt(final Properties properties, final String key, final int defaultValue, final int minValue)
+			throws IllegalArgumentException {
+		final String text = properties.getProperty(key);
+		if (text == null) {
+			return defaultValue;
+		}
+		final int value;
+		try {
+			value = Integer.parseInt(text.trim());
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException("The value of '" + key + "' is no single integer: " + text, e);
+		}
+		if (value < minValue) {
+			throw new IllegalArgumentException(
+					"The value of '" + key + "' must be at least " + minValue + ", was: " + value);
+		}
+		return value;
+	}
+
+	/**
+	 * Gets the comma separated list of positive integers of the given key.
+	 * 
+	 * @param properties
+	 *            The properties to get the list from
+	 * @param key
+	 *            The key of the list
+	 * @param defaultValue
+	 *            The list to use if the key is not present
+	 * @return The integers of the list
+	 * @throws IllegalArgumentException
+	 *             If an element is no positive integer
+	 */
+	static int[] readIntList(final Properties properties, final String key, final String defaultValue)
+			throws IllegalArgumentException {
+		final String[] elements = properties.getProperty(key, defaultValue).split(",");
+		final int[] values = new int[elements.length];
+		for (int i = 0; i < elements.length; i++) {
+			try {
+				values[i] = Integer.parseInt(elements[i].trim());
+			} catch (final NumberFormatException e) {
+				throw new IllegalArgumentException("The value of '" + key + "' is no list of integers: "
+						+ properties.getProperty(key), e);
+			}
+			if (values[i] <= 0) {
+				throw new IllegalArgumentException("The values of '" + key + "' must be positive, was: " + values[i]);
+			}
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the properties given by the command-line arguments. An argument
+	 * without <tt>=</tt> is the path to a properties file that is read first,
+	 * all other arguments are of the form <tt>key=value</tt> and override the
+	 * values of the file.
+	 * 
+	 * @param args
+	 *            The command-line arguments
+	 * @return The properties given by the arguments
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while reading the properties
+	 *             file
+	 */
+	static Properties readProperties(final String[] args) throws IOException {
+		final Properties properties = new Properties();
+		final Properties overrides = new Properties();
+		for (final String arg : args) {
+			final int separatorIndex = arg.indexOf('=');
+			if (separatorIndex == -1) {
+				try (final InputStream input = Files.newInputStream(new File(arg).toPath())) {
+					properties.load(input);
+				}
+			} else {
+				overrides.setProperty(arg.substring(0, separatorIndex).trim(), arg.substring(separatorIndex + 1).trim());
+			}
+		}
+		properties.putAll(overrides);
+		return properties;
+	}
+
+	/**
+	 * The experiment to execute.
+	 */
+	private final EExperiment mExperiment;
+	/**
+	 * The lower bound of the swept parameter, inclusive.
+	 */
+	private final int mFrom;
+	/**
+	 * The directory the results are written to.
+	 */
+	private final File mOutputDirectory;
+	/**
+	 * The amount of trees that are explored concurrently.
+	 */
+	private final int mParallelism;
+	/**
+	 * Whether allocations and garbage collections are recorded.
+	 */
+	private final boolean mProfileAllocations;
+	/**
+	 * The pulse manager to use.
+	 */
+	private final EPulseManager mPulseManager;
+	/**
+	 * The amount of robots per node, used by
+	 * {@link EExperiment#SCALING_ROBOTS}.
+	 */
+	private final float mRobotCoverage;
+	/**
+	 * The fixed amount of robots, used by {@link EExperiment#FIXED_ROBOTS}.
+	 */
+	private final int mRobots;
+	/**
+	 * The step width of the swept parameter.
+	 */
+	private final int mStepWidth;
+	/**
+	 * The upper bound of the swept parameter, inclusive.
+	 */
+	private final int mTo;
+	/**
+	 * The amount of measured trees per point.
+	 */
+	private final int mTrees;
+	/**
+	 * The fixed tree size, used by {@link EExperiment#FIXED_TREE}.
+	 */
+	private final int mTreeSize;
+	/**
+	 * The amount of trees explored before the measurement of each point.
+	 */
+	private final int mWarmupTrees;
+
+	/**
+	 * Creates a configuration out of the given properties. Missing values use
+	 * their defaults.
+	 * 
+	 * @param properties
+	 *            The properties to create the configuration of
+	 * @throws IllegalArgumentException
+	 *             If a value is malformed or out of its range
+	 */
+	public RandomBenchmarkConfiguration(final Properties properties) throws IllegalArgumentException {
+		final String experiment = properties.getProperty(KEY_EXPERIMENT, EExperiment.FIXED_TREE.name());
+		try {
+			this.mExperiment = EExperiment.valueOf(experiment.toUpperCase(Locale.ROOT));
+		} catch (final IllegalArgumentException e) {
+			throw new IllegalArgumentException("Unknown experiment: " + experiment, e);
+		}
+
+		this.mTrees = readInt(properties, KEY_TREES, 200, 1);
+		this.mWarmupTrees = readInt(properties, KEY_WARMUP_TREES, 20, 0);
+		// The defaults of the range depend on the swept parameter
+		if (this.mExperiment == EExperiment.FIXED_TREE) {
+			this.mFrom = readInt(properties, KEY_FROM, 0, 0);
+			this.mTo = readInt(properties, KEY_TO, 1_000, 0);
+			this.mStepWidth = readInt(properties, KEY_STEP_WIDTH, 50, 1);
+		} else {
+			this.mFrom = readInt(properties, KEY_FROM, 0, 0);
+			this.mTo = readInt(properties, KEY_TO, 3_500, 0);
+			this.mStepWidth = readInt(properties, KEY_STEP_WIDTH, 100, 1);
+		}
+		this.mRobots = readInt(properties, KEY_ROBOTS, 1, 1);
+		this.mTreeSize = readInt(properties, KEY_TREE_SIZE, 1_000, 1);
+
+		final String robotCoverage = properties.getProperty(KEY_ROBOT_COVERAGE, "0.1");
+		try {
+			this.mRobotCoverage = Float.parseFloat(robotCoverage);
+		} catch (final NumberFormatException e) {
+			throw new IllegalArgumentException("The value of '" + KEY_ROBOT_COVERAGE + "' is no number: " + robotCoverage,
+					e);
+		}
+		if (!(this.mRobotCoverage > 0.0f)) {
+			throw new IllegalArgumentException(
+					"The value of '" + KEY_ROBOT_COVERAGE + "' must be positive, was: " + this.mRobotCoverage);
+		}
+
+		this.mOutputDirectory = new File(properties.getProperty(KEY_OUTPUT_DIRECTORY, DEFAULT_OUTPUT_DIRECTORY));
+
+		this.mParallelism = readInt(properties, KEY_PARALLELISM, 1, 1);
+		this.mProfileAllocations = Boolean.parseBoolean(properties.getProperty(KEY_PROFILE_ALLOCATIONS, "false"));
+		final String pulseManager = properties.getProperty(KEY_PULSE_MANAGER);
+		if (pulseManager == null) {
+			if (this.mParallelism > 1 || this.mProfileAllocations) {
+				this.mPulseManager = EPulseManager.SEQUENTIAL;
+			} else {
+				this.mPulseManager = EPulseManager.ONE_THREAD_PER_ROBOT;
+			}
+		} else {
+			try {
+				this.mPulseManager = EPulseManager.valueOf(pulseManager.toUpperCase(Locale.ROOT));
+			} catch (final IllegalArgumentException e) {
+				throw new IllegalArgumentException("Unknown pulse manager: " + pulseManager, e);
+			}
+		}
+		// Threaded managers of concurrent explorations would compete for the
+		// cores and distort the timings of each other
+		if (this.mParallelism > 1 && this.mPulseManager != EPulseManager.SEQUENTIAL) {
+			throw new IllegalArgumentException("Concurrent explorations require the pulse manager "
+					+ EPulseManager.SEQUENTIAL + ", was: " + this.mPulseManager);
+		}
+		// Allocation counters are per thread, only allocations of the
+		// exploring thread are counted
+		if (this.mProfileAllocations && this.mPulseManager != EPulseManager.SEQUENTIAL) {
+			throw new IllegalArgumentException("Profiling allocations requires the pulse manager "
+					+ EPulseManager.SEQUENTIAL + ", was: " + this.mPulseManager);
+		}
+		if (this.mProfileAllocations && !RuntimeProfiler.isAllocationProfilingSupported()) {
+			throw new IllegalArgumentException("The virtual machine does not support profiling allocations");
+		}
+	}
+
+	/**
+	 * Gets the experiment to execute.
+	 * 
+	 * @return The experiment to execute
+	 */
+	public EExperiment getExperiment() {
+		return this.mExperiment;
+	}
+
+	/**
+	 * Gets the lower bound of the swept parameter.
+	 * 
+	 * @return The lower bound of the swept parameter, inclusive
+	 */
+	public int getFrom() {
+		return this.mFrom;
+	}
+
+	/**
+	 * Gets the directory the results are written to.
+	 * 
+	 * @return The directory the results are written to
+	 */
+	public File getOutputDirectory() {
+		return this.mOutputDirectory;
+	}
+
+	/**
+	 * Gets the amount of trees that are explored concurrently.
+	 * 
+	 * @return The amount of trees that are explored concurrently
+	 */
+	public int getParallelism() {
+		return this.mParallelism;
+	}
+
+	/**
+	 * Gets the pulse manager to use.
+	 * 
+	 * @return The pulse manager to use
+	 */
+	public EPulseManager getPulseManager() {
+		return this.mPulseManager;
+	}
+
+	/**
+	 * Gets the amount of robots per node, used by
+	 * {@link EExperiment#SCALING_ROBOTS}.
+	 * 
+	 * @return The amount of robots per node
+	 */
+	public float getRobotCoverage() {
+		return this.mRobotCoverage;
+	}
+
+	/**
+	 * Gets the fixed amount of robots, used by
+	 * {@link EExperiment#FIXED_ROBOTS}.
+	 * 
+	 * @return The fixed amount of robots
+	 */
+	public int getRobots() {
+		return this.mRobots;
+	}
+
+	/**
+	 * Gets the step width of the swept parameter.
+	 * 
+	 * @return The step width of the swept parameter
+	 */
+	public int getStepWidth() {
+		return this.mStepWidth;
+	}
+
+	/**
+	 * Gets the upper bound of the swept parameter.
+	 * 
+	 * @return The upper bound of the swept parameter, inclusive
+	 */
+	public int getTo() {
+		return this.mTo;
+	}
+
+	/**
+	 * Gets the amount of measured trees per point.
+	 * 
+	 * @return The amount of measured trees per point
+	 */
+	public int getTrees() {
+		return this.mTrees;
+	}
+
+	/**
+	 * Gets the fixed tree size, used by {@link EExperiment#FIXED_TREE}.
+	 * 
+	 * @return The fixed tree size
+	 */
+	public int getTreeSize() {
+		return this.mTreeSize;
+	}
+
+	/**
+	 * Gets the amount of trees explored before the measurement of each point.
+	 * 
+	 * @return The amount of warmup trees per point
+	 */
+	public int getWarmupTrees() {
+		return this.mWarmupTrees;
+	}
+
+	/**
+	 * Whether allocations and garbage collections are recorded.
+	 * 
+	 * @return <tt>True</tt> if allocations and garbage collections are
+	 *         recorded, <tt>false</tt> otherwise
+	 */
+	public boolean isProfilingAllocations() {
+		return this.mProfileAllocations;
+	}
+
+	/**
+	 * Gets all values of this configuration, including defaulted values, keyed
+	 * by their property keys.
+	 * 
+	 * @return A map of all values keyed by their property keys, in a fixed
+	 *         order
+	 */
+	public Map<String, String> toMap() {
+		final Map<String, String> values = new LinkedHashMap<>();
+		values.put(KEY_EXPERIMENT, this.mExperiment.name());
+		values.put(KEY_TREES, Integer.toString(this.mTrees));
+		values.put(KEY_WARMUP_TREES, Integer.toString(this.mWarmupTrees));
+		values.put(KEY_FROM, Integer.toString(this.mFrom));
+		values.put(KEY_TO, Integer.toString(this.mTo));
+		values.put(KEY_STEP_WIDTH, Integer.toString(this.mStepWidth));
+		values.put(KEY_ROBOTS, Integer.toString(this.mRobots));
+		values.put(KEY_TREE_SIZE, Integer.toString(this.mTreeSize));
+		values.put(KEY_ROBOT_COVERAGE, Float.toString(this.mRobotCoverage));
+		values.put(KEY_OUTPUT_DIRECTORY, this.mOutputDirectory.getPath());
+		values.put(KEY_PARALLELISM, Integer.toString(this.mParallelism));
+		values.put(KEY_PULSE_MANAGER, this.mPulseManager.name());
+		values.put(KEY_PROFILE_ALLOCATIONS, Boolean.toString(this.mProfileAllocations));
+		return values;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RandomBenchmarkConfiguration [experiment=" + this.mExperiment + ", trees=" + this.mTrees
+				+ ", warmupTrees=" + this.mWarmupTrees + ", from=" + this.mFrom + ", to=" + this.mTo + ", stepWidth="
+				+ this.mStepWidth + ", robots=" + this.mRobots + ", treeSize=" + this.mTreeSize + ", robotCoverage="
+				+ this.mRobotCoverage + ", outputDirectory=" + this.mOutputDirectory + ", parallelism="
+				+ this.mParallelism + ", pulseManager=" + this.mPulseManager + ", profileAllocations="
+				+ this.mProfileAllocations + "]";
+	}
+}
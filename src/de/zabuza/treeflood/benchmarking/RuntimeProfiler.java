@@ -0,0 +1,119 @@
+package de.zabuza.treeflood.benchmarking;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Utility class that reads the allocation and garbage collection counters of
+ * the virtual machine. Allocation counters are maintained per thread, garbage
+ * collection counters for the whole virtual machine. It also measures the
+ * retained heap, i.e. the heap that is used after a garbage collection.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RuntimeProfiler {
+	/**
+	 * The amount of garbage collections that are requested to measure the
+	 * retained heap.
+	 */
+	private static final int GARBAGE_COLLECTIONS = 5;
+
+	/**
+	 * Gets the amount of bytes the current thread allocated since it was
+	 * started.
+	 * 
+	 * @return The amount of bytes the current thread allocated
+	 * @throws UnsupportedOperationException
+	 *             If the virtual machine does not support allocation counters,
+	 *             see {@link #isAllocationProfilingSupported()}
+	 */
+	public static long getAllocatedBytesOfCurrentThread() throws UnsupportedOperationException {
+		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+			throw new UnsupportedOperationException("The virtual machine does not support allocation counters");
+		}
+		return ((com.sun.management.ThreadMXBean) threadBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * Gets the total amount of garbage collections of all collectors since the
+	 * virtual machine was started.
+	 * 
+	 * @return The total amount of garbage collections
+	 */
+	public static long getGarbageCollectionCount() {
+		long count = 0L;
+		for (final GarbageCollectorMXBean collectorBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			// Collectors that do not report their count return -1
+			count += Math.max(0L, collectorBean.getCollectionCount());
+		}
+		return count;
+	}
+
+	/**
+	 * Gets the total time all collectors spent in garbage collections since
+	 * the virtual machine was started. The time includes pauses as well as
+	 * concurrent phases, depending on the collector.
+	 * 
+	 * @return The total time of garbage collections in milliseconds
+	 */
+	public static long getGarbageCollectionTime() {
+		long time = 0L;
+		for (final GarbageCollectorMXBean collectorBean : ManagementFactory.getGarbageCollectorMXBeans()) {
+			// Collectors that do not report their time return -1
+			time += Math.max(0L, collectorBean.getCollectionTime());
+		}
+		return time;
+	}
+
+	/**
+	 * Gets the amount of bytes of the heap that are retained, i.e. still used
+	 * after a garbage collection. Some collectors do not free all garbage on
+	 * each collection, for example to avoid compacting, thus multiple
+	 * collections are requested and the minimal used heap is taken. Other
+	 * threads that allocate concurrently falsify the measurement.
+	 * 
+	 * @return The amount of retained bytes of the heap
+	 */
+	public static long getRetainedHeap() {
+		final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+		long retainedHeap = Long.MAX_VALUE;
+		for (int i = 0; i < GARBAGE_COLLECTIONS; i++) {
+			System.gc();
+			retainedHeap = Math.min(retainedHeap, memoryBean.getHeapMemoryUsage().getUsed());
+		}
+		return retainedHeap;
+	}
+
+	/**
+	 * Whether the virtual machine supports allocation counters per thread. If
+	 * they are supported but disabled they get enabled.
+	 * 
+	 * @return <tt>True</tt> if allocation counters are supported,
+	 *         <tt>false</tt> otherwise
+	 */
+	public static boolean isAllocationProfilingSupported() {
+		final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+			return false;
+		}
+		final com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		if (!allocationBean.isThreadAllocatedMemorySupported()) {
+			return false;
+		}
+		if (!allocationBean.isThreadAllocatedMemoryEnabled()) {
+			allocationBean.setThreadAllocatedMemoryEnabled(true);
+		}
+		return true;
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private RuntimeProfiler() {
+
+	}
+}
@@ -0,0 +1,92 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+/**
+ * Consumes the results of benchmark operations such that the just-in-time
+ * compiler can not eliminate their computation as dead code. Each benchmark
+ * thread uses its own blackhole, thus it is not thread safe.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class Blackhole {
+	/**
+	 * Sink that accumulates all consumed primitive values.
+	 */
+	private long mLongSink;
+	/**
+	 * Sink for objects that is only written if an object equals the trap,
+	 * which never happens.
+	 */
+	private Object mObjectSink;
+	/**
+	 * Object that is never consumed. As the field is volatile the compiler can
+	 * not know that and has to keep the consumed objects alive.
+	 */
+	private volatile Object mObjectTrap;
+
+	/**
+	 * Creates a new empty blackhole.
+	 */
+	public Blackhole() {
+		this.mLongSink = 0L;
+		this.mObjectSink = null;
+		this.mObjectTrap = new Object();
+	}
+
+	/**
+	 * Consumes the given value.
+	 * 
+	 * @param value
+	 *            The value to consume
+	 */
+	public void consume(final boolean value) {
+		if (value) {
+			this.mLongSink++;
+		}
+	}
+
+	/**
+	 * Consumes the given value.
+	 * 
+	 * @param value
+	 *            The value to consume
+	 */
+	public void consume(final int value) {
+		this.mLongSink ^= value;
+	}
+
+	/**
+	 * Consumes the given value.
+	 * 
+	 * @param value
+	 *            The value to consume
+	 */
+	public void consume(final long value) {
+		this.mLongSink ^= value;
+	}
+
+	/**
+	 * Consumes the given object.
+	 * 
+	 * @param object
+	 *            The object to consume
+	 */
+	public void consume(final Object object) {
+		if (object == this.mObjectTrap) {
+			this.mObjectSink = object;
+		}
+	}
+
+	/**
+	 * Gets a value that depends on everything consumed so far. The runner
+	 * publishes it after each iteration which keeps the sinks observable.
+	 * 
+	 * @return A value that depends on everything consumed so far
+	 */
+	public long getSinkValue() {
+		if (this.mObjectSink != null) {
+			return this.mLongSink + 1;
+		}
+		return this.mLongSink;
+	}
+}
@@ -0,0 +1,115 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.KnowledgeManager;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Benchmarks
+ * {@link KnowledgeManager#constructKnowledge(int, ITreeNode, InformationTable)}
+ * without a cache. Each operation builds the knowledge of the next node of an
+ * explored tree for the final round, i.e. out of all entries of its local
+ * storage.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ConstructKnowledgeBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 10;
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+	/**
+	 * The size of the explored tree.
+	 */
+	private static final int TREE_SIZE = 500;
+
+	/**
+	 * The explored tree, <tt>null</tt> if the benchmark is not set up.
+	 */
+	private ExploredTreeFixture mFixture;
+	/**
+	 * The id of the node to build the knowledge of next.
+	 */
+	private int mNextId;
+	/**
+	 * The nodes of the explored tree, indexed by their id.
+	 */
+	private ITreeNode[] mNodes;
+	/**
+	 * The local storage data of the nodes, indexed by their id.
+	 */
+	private List<InformationTable> mStorageData;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		return "knowledge.constructKnowledge";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final int id = this.mNextId;
+		blackhole.consume(new KnowledgeManager().constructKnowledge(this.mFixture.getFinalRound(), this.mNodes[id],
+				this.mStorageData.get(id)));
+		this.mNextId = (id + 1) % this.mNodes.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		this.mFixture = new ExploredTreeFixture(TREE_SIZE, AMOUNT_OF_ROBOTS, SEED);
+		this.mNodes = new ITreeNode[TREE_SIZE];
+		this.mStorageData = new ArrayList<>(TREE_SIZE);
+		for (int id = 0; id < TREE_SIZE; id++) {
+			this.mNodes[id] = this.mFixture.getTree().getNode(id);
+			this.mStorageData.add(this.mFixture.getStorageData(id));
+		}
+		this.mNextId = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mFixture = null;
+		this.mNodes = null;
+		this.mStorageData = null;
+	}
+}
@@ -0,0 +1,104 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Macro benchmark of complete explorations. Each operation explores the same
+ * random tree from scratch by using {@link LocalStorageExploration#explore()}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ExplorationBenchmark implements IMicroBenchmark {
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private final int mAmountOfRobots;
+	/**
+	 * The tree to explore.
+	 */
+	private ITree mTree;
+	/**
+	 * The size of the tree to explore.
+	 */
+	private final int mTreeSize;
+
+	/**
+	 * Creates a new benchmark that explores a random tree of the given size
+	 * with the given amount of robots.
+	 * 
+	 * @param treeSize
+	 *            The size of the tree to explore
+	 * @param amountOfRobots
+	 *            The amount of robots that explore the tree
+	 */
+	public ExplorationBenchmark(final int treeSize, final int amountOfRobots) {
+		this.mTreeSize = treeSize;
+		this.mAmountOfRobots = amountOfRobots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		return "exploration.explore." + this.mTreeSize + "x" + this.mAmountOfRobots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final LocalStorageExploration exploration = new LocalStorageExploration(this.mTree.getRoot(),
+				this.mAmountOfRobots, new NodeStorageManager(), new OneThreadPerRobotPulseManager());
+		exploration.explore();
+		blackhole.consume(exploration);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		this.mTree = new RandomTreeGenerator(this.mTreeSize).generateRandomTree(SEED);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mTree = null;
+	}
+}
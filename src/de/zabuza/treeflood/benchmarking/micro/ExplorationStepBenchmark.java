@@ -0,0 +1,149 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.function.Supplier;
+
+import de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Benchmarks the latency of one step of an exploration driven by a given
+ * {@link IRobotPulseManager}. Each operation executes one step of an
+ * exploration of a random tree, that are the pulses of its stages together
+ * with the work of the robots and the bookkeeping of the exploration. Thus it
+ * measures the overhead of a pulse manager only relative to the other
+ * managers. Once the exploration has finished the next operation starts a new
+ * one, the tree is large enough such that this happens rarely.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ExplorationStepBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 16;
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+	/**
+	 * The size of the explored tree.
+	 */
+	private static final int TREE_SIZE = 2_000;
+
+	/**
+	 * The current exploration.
+	 */
+	private LocalStorageExploration mExploration;
+	/**
+	 * Whether the current exploration has finished.
+	 */
+	private boolean mIsFinished;
+	/**
+	 * The name of the benchmark.
+	 */
+	private final String mName;
+	/**
+	 * The pulse manager of the current exploration.
+	 */
+	private IRobotPulseManager mPulseManager;
+	/**
+	 * Factory that creates the pulse manager of each exploration.
+	 */
+	private final Supplier<IRobotPulseManager> mPulseManagerFactory;
+	/**
+	 * The tree to explore.
+	 */
+	private ITree mTree;
+
+	/**
+	 * Creates a new benchmark for explorations driven by the pulse managers
+	 * created by the given factory.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @param pulseManagerFactory
+	 *            Factory that creates the pulse manager of each exploration
+	 */
+	public ExplorationStepBenchmark(final String name, final Supplier<IRobotPulseManager> pulseManagerFactory) {
+		this.mName = name;
+		this.mPulseManagerFactory = pulseManagerFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		return this.mName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		if (this.mIsFinished) {
+			startExploration();
+		}
+		this.mIsFinished = this.mExploration.exploreOneStep();
+		blackhole.consume(this.mIsFinished);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		this.mTree = new RandomTreeGenerator(TREE_SIZE).generateRandomTree(SEED);
+		startExploration();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		// Stop the threads of the manager if the exploration is still running
+		if (!this.mIsFinished) {
+			this.mPulseManager.abort();
+		}
+		this.mExploration = null;
+		this.mPulseManager = null;
+		this.mTree = null;
+	}
+
+	/**
+	 * Starts a new exploration of the tree.
+	 */
+	private void startExploration() {
+		this.mPulseManager = this.mPulseManagerFactory.get();
+		this.mExploration = new LocalStorageExploration(this.mTree.getRoot(), AMOUNT_OF_ROBOTS,
+				new NodeStorageManager(), this.mPulseManager);
+		this.mIsFinished = false;
+	}
+}
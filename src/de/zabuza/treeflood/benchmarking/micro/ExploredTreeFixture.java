@@ -0,0 +1,99 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Random tree that was completely explored, together with the local storage
+ * the robots filled during the exploration. Benchmarks use it as realistic
+ * input for the components of the algorithm.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ExploredTreeFixture {
+	/**
+	 * The round after the last round of the exploration. Knowledge for this
+	 * round is built out of all entries of the local storage.
+	 */
+	private final int mFinalRound;
+	/**
+	 * The local storage the robots filled during the exploration.
+	 */
+	private final NodeStorageManager mStorage;
+	/**
+	 * The explored tree.
+	 */
+	private final ITree mTree;
+
+	/**
+	 * Generates a random tree with the given seed and explores it completely.
+	 * 
+	 * @param treeSize
+	 *            The size of the tree
+	 * @param amountOfRobots
+	 *            The amount of robots that explore the tree
+	 * @param seed
+	 *            The seed of the random tree
+	 */
+	public ExploredTreeFixture(final int treeSize, final int amountOfRobots, final long seed) {
+		this.mTree = new RandomTreeGenerator(treeSize).generateRandomTree(seed);
+		this.mStorage = new NodeStorageManager();
+		new LocalStorageExploration(this.mTree.getRoot(), amountOfRobots, this.mStorage,
+				new OneThreadPerRobotPulseManager()).explore();
+
+		int lastStep = 0;
+		for (int id = 0; id < treeSize; id++) {
+			// Entries are sorted by their step
+			final InformationTable storageData = this.mStorage.read(this.mTree.getNode(id));
+			if (storageData.size() != 0) {
+				lastStep = Math.max(lastStep, storageData.getStep(storageData.size() - 1));
+			}
+		}
+		// Regular entries of a round are written in the step '3 * round'
+		this.mFinalRound = lastStep / 3 + 1;
+	}
+
+	/**
+	 * Gets the round after the last round of the exploration. Knowledge for
+	 * this round is built out of all entries of the local storage.
+	 * 
+	 * @return The round after the last round of the exploration
+	 */
+	public int getFinalRound() {
+		return this.mFinalRound;
+	}
+
+	/**
+	 * Gets the local storage the robots filled during the exploration.
+	 * 
+	 * @return The local storage of the exploration
+	 */
+	public NodeStorageManager getStorage() {
+		return this.mStorage;
+	}
+
+	/**
+	 * Gets the local storage data of the node with the given id.
+	 * 
+	 * @param id
+	 *            The id of the node
+	 * @return The local storage data of the node
+	 */
+	public InformationTable getStorageData(final int id) {
+		return this.mStorage.read(this.mTree.getNode(id));
+	}
+
+	/**
+	 * Gets the explored tree.
+	 * 
+	 * @return The explored tree
+	 */
+	public ITree getTree() {
+		return this.mTree;
+	}
+}
@@ -0,0 +1,55 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+/**
+ * Interface for benchmarks that can be executed by a
+ * {@link MicroBenchmarkRunner}. The runner calls {@link #setUp()} once, then
+ * repeatedly calls {@link #invoke(int, Blackhole)} from the amount of threads
+ * given by {@link #getAmountOfThreads()} and finally calls {@link #tearDown()}.
+ * The time of {@link #invoke(int, Blackhole)} is measured, the time of the
+ * other methods is not.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface IMicroBenchmark {
+	/**
+	 * Gets the amount of threads that invoke the operation concurrently. If
+	 * more than one thread is used the operation must be thread safe.
+	 * 
+	 * @return The amount of threads that invoke the operation, at least
+	 *         <tt>1</tt>
+	 */
+	public int getAmountOfThreads();
+
+	/**
+	 * Gets the unique name of the benchmark.
+	 * 
+	 * @return The unique name of the benchmark
+	 */
+	public String getName();
+
+	/**
+	 * Executes the measured operation once.
+	 * 
+	 * @param threadIndex
+	 *            The index of the calling thread, between <tt>0</tt>
+	 *            (inclusive) and {@link #getAmountOfThreads()} (exclusive). It
+	 *            can be used to access state that is owned by the thread.
+	 * @param blackhole
+	 *            The blackhole of the calling thread, the results of the
+	 *            operation should be consumed by it
+	 */
+	public void invoke(int threadIndex, Blackhole blackhole);
+
+	/**
+	 * Prepares the state of the benchmark. The time of this method is not
+	 * measured.
+	 */
+	public void setUp();
+
+	/**
+	 * Releases the state of the benchmark. The time of this method is not
+	 * measured.
+	 */
+	public void tearDown();
+}
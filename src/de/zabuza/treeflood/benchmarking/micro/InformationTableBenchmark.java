@@ -0,0 +1,133 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+
+/**
+ * Benchmarks lookups or insertions of an {@link InformationTable} that is
+ * filled like the local storage of a node. It uses the same keys as
+ * {@link NestedMap2Benchmark}, thus the results of both are comparable. Each
+ * operation accesses the next pair of keys, insertions replace existing
+ * entries such that the size of the table stays constant.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class InformationTableBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robot ids per step.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 16;
+	/**
+	 * The amount of steps.
+	 */
+	private static final int AMOUNT_OF_STEPS = 256;
+
+	/**
+	 * Whether the operation inserts into the table instead of looking up
+	 * entries.
+	 */
+	private final boolean mIsInserting;
+	/**
+	 * The index of the pair of keys to access next.
+	 */
+	private int mNextIndex;
+	/**
+	 * The table to access.
+	 */
+	private InformationTable mTable;
+	/**
+	 * The packed information that are inserted for all pairs of keys.
+	 */
+	private long[] mValues;
+
+	/**
+	 * Creates a new benchmark for lookups or insertions of an information
+	 * table.
+	 * 
+	 * @param isInserting
+	 *            <tt>True</tt> if the operation inserts into the table,
+	 *            <tt>false</tt> if it looks up entries
+	 */
+	public InformationTableBenchmark(final boolean isInserting) {
+		this.mIsInserting = isInserting;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		if (this.mIsInserting) {
+			return "informationTable.put";
+		}
+		return "informationTable.get";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final int index = this.mNextIndex;
+		final int step = index / AMOUNT_OF_ROBOTS + 1;
+		final int robotId = index % AMOUNT_OF_ROBOTS;
+		if (this.mIsInserting) {
+			this.mTable.put(this.mValues[index]);
+			blackhole.consume(this.mTable.size());
+		} else {
+			blackhole.consume(this.mTable.indexOf(step, robotId));
+		}
+		this.mNextIndex = (index + 1) % this.mValues.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		this.mTable = new InformationTable();
+		this.mValues = new long[AMOUNT_OF_STEPS * AMOUNT_OF_ROBOTS];
+
+		int index = 0;
+		for (int step = 1; step <= AMOUNT_OF_STEPS; step++) {
+			for (int robotId = 0; robotId < AMOUNT_OF_ROBOTS; robotId++) {
+				this.mValues[index] = PackedInformation.pack(step, robotId, Information.PARENT_PORT, false);
+				this.mTable.put(this.mValues[index]);
+				index++;
+			}
+		}
+		this.mNextIndex = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mTable = null;
+		this.mValues = null;
+	}
+}
@@ -0,0 +1,134 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.Arrays;
+
+/**
+ * The result of a benchmark, i.e. the average time per operation of each
+ * measurement iteration of all forks.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MicroBenchmarkResult {
+	/**
+	 * The name of the benchmark.
+	 */
+	private final String mName;
+	/**
+	 * The average time per operation of each measurement iteration in
+	 * nanoseconds.
+	 */
+	private final double[] mNanosPerOperation;
+
+	/**
+	 * Creates a new result of the benchmark with the given name.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @param nanosPerOperation
+	 *            The average time per operation of each measurement iteration
+	 *            in nanoseconds, must not be empty. An iteration that completed
+	 *            no operation is <tt>NaN</tt>, which carries over to all
+	 *            statistics of the result.
+	 * @throws IllegalArgumentException
+	 *             If no iteration is given
+	 */
+	public MicroBenchmarkResult(final String name, final double[] nanosPerOperation)
+			throws IllegalArgumentException {
+		if (nanosPerOperation.length == 0) {
+			throw new IllegalArgumentException("At least one iteration is required");
+		}
+		this.mName = name;
+		this.mNanosPerOperation = nanosPerOperation.clone();
+	}
+
+	/**
+	 * Gets the highest average time per operation of all iterations.
+	 * 
+	 * @return The highest average time per operation in nanoseconds
+	 */
+	public double getMax() {
+		double max = Double.NEGATIVE_INFINITY;
+		for (final double value : this.mNanosPerOperation) {
+			max = Math.max(max, value);
+		}
+		return max;
+	}
+
+	/**
+	 * Gets the mean of the average time per operation of all iterations.
+	 * 
+	 * @return The mean time per operation in nanoseconds
+	 */
+	public double getMean() {
+		double sum = 0.0;
+		for (final double value : this.mNanosPerOperation) {
+			sum += value;
+		}
+		return sum / this.mNanosPerOperation.length;
+	}
+
+	/**
+	 * Gets the lowest average time per operation of all iterations.
+	 * 
+	 * @return The lowest average time per operation in nanoseconds
+	 */
+	public double getMin() {
+		double min = Double.POSITIVE_INFINITY;
+		for (final double value : this.mNanosPerOperation) {
+			min = Math.min(min, value);
+		}
+		return min;
+	}
+
+	/**
+	 * Gets the name of the benchmark.
+	 * 
+	 * @return The name of the benchmark
+	 */
+	public String getName() {
+		return this.mName;
+	}
+
+	/**
+	 * Gets the average time per operation of each measurement iteration.
+	 * 
+	 * @return A copy of the average time per operation of each iteration in
+	 *         nanoseconds
+	 */
+	public double[] getNanosPerOperation() {
+		return this.mNanosPerOperation.clone();
+	}
+
+	/**
+	 * Gets the sample standard deviation of the average time per operation of
+	 * all iterations.
+	 * 
+	 * @return The standard deviation in nanoseconds or <tt>0</tt> if there is
+	 *         only one iteration
+	 */
+	public double getStandardDeviation() {
+		final int amount = this.mNanosPerOperation.length;
+		if (amount < 2) {
+			return 0.0;
+		}
+		final double mean = getMean();
+		double sumOfSquares = 0.0;
+		for (final double value : this.mNanosPerOperation) {
+			final double deviation = value - mean;
+			sumOfSquares += deviation * deviation;
+		}
+		return Math.sqrt(sumOfSquares / (amount - 1));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "MicroBenchmarkResult [name=" + this.mName + ", nanosPerOperation="
+				+ Arrays.toString(this.mNanosPerOperation) + "]";
+	}
+}
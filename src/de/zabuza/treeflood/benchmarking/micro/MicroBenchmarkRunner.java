@@ -0,0 +1,386 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.regex.Pattern;
+
+/**
+ * Executes benchmarks and reports the average time per operation. Each
+ * benchmark is executed in a given amount of freshly forked virtual machines
+ * such that the benchmarks do not influence each other by their compilation
+ * profiles or garbage. In each fork the benchmark first executes warmup
+ * iterations whose results are discarded, followed by the measurement
+ * iterations. Each iteration invokes the operation of the benchmark
+ * repeatedly for a fixed amount of time.<br>
+ * <br>
+ * Usage:
+ * <tt>MicroBenchmarkRunner [-f forks] [-wi warmupIterations] [-i measurementIterations] [-r iterationTimeMillis] [regex]</tt>
+ * where the regular expression selects the benchmarks by their name.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MicroBenchmarkRunner {
+	/**
+	 * The default amount of forks per benchmark.
+	 */
+	public static final int DEFAULT_FORKS = 2;
+	/**
+	 * The default duration of one iteration in milliseconds.
+	 */
+	public static final long DEFAULT_ITERATION_TIME = 1_000L;
+	/**
+	 * The default amount of measurement iterations per fork.
+	 */
+	public static final int DEFAULT_MEASUREMENT_ITERATIONS = 5;
+	/**
+	 * The default amount of warmup iterations per fork.
+	 */
+	public static final int DEFAULT_WARMUP_ITERATIONS = 5;
+	/**
+	 * Option that tells the virtual machine that it is a fork which executes
+	 * the benchmark with the name given as next argument.
+	 */
+	private static final String FORKED_OPTION = "--forked";
+	/**
+	 * Prefix of lines a fork uses to report the result of a measurement
+	 * iteration to the parent.
+	 */
+	private static final String RESULT_PREFIX = "RESULT ";
+
+	/**
+	 * Executes the benchmarks selected by the given arguments and prints their
+	 * results.
+	 * 
+	 * @param args
+	 *            The options of the runner followed by an optional regular
+	 *            expression that selects the benchmarks by their name, see
+	 *            the class description
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while communicating with a fork
+	 * @throws IllegalArgumentException
+	 *             If the arguments are malformed
+	 */
+	public static void main(final String[] args) throws IOException, IllegalArgumentException {
+		int forks = DEFAULT_FORKS;
+		int warmupIterations = DEFAULT_WARMUP_ITERATIONS;
+		int measurementIterations = DEFAULT_MEASUREMENT_ITERATIONS;
+		long iterationTime = DEFAULT_ITERATION_TIME;
+		String forkedBenchmark = null;
+		Pattern filter = Pattern.compile(".*");
+
+		for (int i = 0; i < args.length; i++) {
+			final String option = args[i];
+			if (i == args.length - 1 && !option.startsWith("-")) {
+				filter = Pattern.compile(option);
+				continue;
+			}
+			if (i == args.length - 1) {
+				throw new IllegalArgumentException("Missing the value of the option: " + option);
+			}
+			i++;
+			final String value = args[i];
+			if (option.equals("-f")) {
+				forks = Integer.parseInt(value);
+			} else if (option.equals("-wi")) {
+				warmupIterations = Integer.parseInt(value);
+			} else if (option.equals("-i")) {
+				measurementIterations = Integer.parseInt(value);
+			} else if (option.equals("-r")) {
+				iterationTime = Long.parseLong(value);
+			} else if (option.equals(FORKED_OPTION)) {
+				forkedBenchmark = value;
+			} else {
+				throw new IllegalArgumentException("Unknown option: " + option);
+			}
+		}
+
+		final MicroBenchmarkRunner runner = new MicroBenchmarkRunner(forks, warmupIterations, measurementIterations,
+				iterationTime);
+		if (forkedBenchmark != null) {
+			// This virtual machine is a fork, report the results to the parent
+			runner.runInProcess(MicroBenchmarks.create(forkedBenchmark), System.out);
+			return;
+		}
+
+		final List<MicroBenchmarkResult> results = new ArrayList<>();
+		for (final IMicroBenchmark benchmark : MicroBenchmarks.createAll()) {
+			if (!filter.matcher(benchmark.getName()).matches()) {
+				continue;
+			}
+			System.out.println("Executing " + benchmark.getName());
+			results.add(runner.run(benchmark.getName()));
+		}
+
+		System.out.println();
+		System.out.println(String.format(Locale.US, "%-32s %8s %16s %16s", "BENCHMARK", "SAMPLES", "NS/OP", "ERROR"));
+		for (final MicroBenchmarkResult result : results) {
+			System.out.println(String.format(Locale.US, "%-32s %8d %16.3f %16.3f", result.getName(),
+					Integer.valueOf(result.getNanosPerOperation().length), Double.valueOf(result.getMean()),
+					Double.valueOf(result.getStandardDeviation())));
+		}
+	}
+
+	/**
+	 * The amount of forks per benchmark. If <tt>0</tt> the benchmark is
+	 * executed in the current virtual machine.
+	 */
+	private final int mForks;
+	/**
+	 * The duration of one iteration in milliseconds.
+	 */
+	private final long mIterationTime;
+	/**
+	 * The amount of measurement iterations per fork.
+	 */
+	private final int mMeasurementIterations;
+	/**
+	 * Sink where the values of the blackholes are published after each
+	 * iteration.
+	 */
+	private volatile long mSink;
+	/**
+	 * The amount of warmup iterations per fork.
+	 */
+	private final int mWarmupIterations;
+
+	/**
+	 * Creates a new runner with the given configuration.
+	 * 
+	 * @param forks
+	 *            The amount of forks per benchmark. If <tt>0</tt> the benchmark
+	 *            is executed in the current virtual machine.
+	 * @param warmupIterations
+	 *            The amount of warmup iterations per fork
+	 * @param measurementIterations
+	 *            The amount of measurement iterations per fork, at least
+	 *            <tt>1</tt>
+	 * @param iterationTime
+	 *            The duration of one iteration in milliseconds
+	 * @throws IllegalArgumentException
+	 *             If a value is out of its range
+	 */
+	public MicroBenchmarkRunner(final int forks, final int warmupIterations, final int measurementIterations,
+			final long iterationTime) throws IllegalArgumentException {
+		if (forks < 0 || warmupIterations < 0 || measurementIterations < 1 || iterationTime <= 0) {
+			throw new IllegalArgumentException("Invalid configuration, forks: " + forks + ", warmup iterations: "
+					+ warmupIterations + ", measurement iterations: " + measurementIterations + ", iteration time: "
+					+ iterationTime);
+		}
+		this.mForks = forks;
+		this.mWarmupIterations = warmupIterations;
+		this.mMeasurementIterations = measurementIterations;
+		this.mIterationTime = iterationTime;
+		this.mSink = 0L;
+	}
+
+	/**
+	 * Executes the benchmark with the given name in the configured amount of
+	 * forks.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @return The result of the measurement iterations of all forks
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while communicating with a fork
+	 *             or a fork failed
+	 * @throws IllegalArgumentException
+	 *             If there is no benchmark with the given name
+	 */
+	public MicroBenchmarkResult run(final String name) throws IOException, IllegalArgumentException {
+		if (this.mForks == 0) {
+			return new MicroBenchmarkResult(name, runInProcess(MicroBenchmarks.create(name), null));
+		}
+
+		final double[] nanosPerOperation = new double[this.mForks * this.mMeasurementIterations];
+		for (int fork = 0; fork < this.mForks; fork++) {
+			final double[] forkResult = runForked(name);
+			System.arraycopy(forkResult, 0, nanosPerOperation, fork * this.mMeasurementIterations,
+					this.mMeasurementIterations);
+		}
+		return new MicroBenchmarkResult(name, nanosPerOperation);
+	}
+
+	/**
+	 * Executes the benchmark with the given name in a freshly forked virtual
+	 * machine that uses the same class path and arguments as the current one.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @return The average time per operation of each measurement iteration in
+	 *         nanoseconds
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while communicating with the
+	 *             fork or the fork failed
+	 */
+	private double[] runForked(final String name) throws IOException {
+		final List<String> command = new ArrayList<>();
+		command.add(new File(new File(System.getProperty("java.home"), "bin"), "java").getPath());
+		for (final String argument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+			// A debugger can not be attached to two virtual machines at once
+			if (!argument.startsWith("-agentlib:jdwp")) {
+				command.add(argument);
+			}
+		}
+		command.add("-cp");
+		command.add(System.getProperty("java.class.path"));
+		command.add(MicroBenchmarkRunner.class.getName());
+		command.add("-wi");
+		command.add(Integer.toString(this.mWarmupIterations));
+		command.add("-i");
+		command.add(Integer.toString(this.mMeasurementIterations));
+		command.add("-r");
+		command.add(Long.toString(this.mIterationTime));
+		command.add(FORKED_OPTION);
+		command.add(name);
+
+		final Process process = new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		final List<Double> results = new ArrayList<>();
+		try (final BufferedReader reader = new BufferedReader(
+				new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+			while (true) {
+				final String line = reader.readLine();
+				if (line == null) {
+					break;
+				}
+				if (line.startsWith(RESULT_PREFIX)) {
+					results.add(Double.valueOf(line.substring(RESULT_PREFIX.length())));
+				}
+			}
+		}
+
+		int exitCode = -1;
+		boolean hasTerminated = false;
+		while (!hasTerminated) {
+			try {
+				exitCode = process.waitFor();
+				hasTerminated = true;
+			} catch (final InterruptedException e) {
+				// Simply ignore the interrupt and continue
+			}
+		}
+		if (exitCode != 0 || results.size() != this.mMeasurementIterations) {
+			throw new IOException("The fork of the benchmark " + name + " failed with exit code " + exitCode
+					+ " after reporting " + results.size() + " results");
+		}
+
+		final double[] nanosPerOperation = new double[results.size()];
+		for (int i = 0; i < nanosPerOperation.length; i++) {
+			nanosPerOperation[i] = results.get(i).doubleValue();
+		}
+		return nanosPerOperation;
+	}
+
+	/**
+	 * Executes the given benchmark in the current virtual machine.
+	 * 
+	 * @param benchmark
+	 *            The benchmark to execute
+	 * @param resultOutput
+	 *            Stream to report the result of each measurement iteration to
+	 *            or <tt>null</tt> if they should not be reported
+	 * @return The average time per operation of each measurement iteration in
+	 *         nanoseconds
+	 */
+	private double[] runInProcess(final IMicroBenchmark benchmark, final PrintStream resultOutput) {
+		final int amountOfThreads = benchmark.getAmountOfThreads();
+		final Blackhole[] blackholes = new Blackhole[amountOfThreads];
+		for (int i = 0; i < amountOfThreads; i++) {
+			blackholes[i] = new Blackhole();
+		}
+
+		final double[] nanosPerOperation = new double[this.mMeasurementIterations];
+		benchmark.setUp();
+		try {
+			for (int i = 0; i < this.mWarmupIterations; i++) {
+				runIteration(benchmark, blackholes);
+			}
+			for (int i = 0; i < this.mMeasurementIterations; i++) {
+				nanosPerOperation[i] = runIteration(benchmark, blackholes);
+				if (resultOutput != null) {
+					resultOutput.println(RESULT_PREFIX + nanosPerOperation[i]);
+					resultOutput.flush();
+				}
+			}
+		} finally {
+			benchmark.tearDown();
+		}
+		return nanosPerOperation;
+	}
+
+	/**
+	 * Executes one iteration of the given benchmark. All threads start to
+	 * invoke the operation at the same time and stop once the iteration time
+	 * has passed.
+	 * 
+	 * @param benchmark
+	 *            The benchmark to execute
+	 * @param blackholes
+	 *            The blackholes to use, one for each thread
+	 * @return The average time per operation in nanoseconds, over all threads,
+	 *         or <tt>NaN</tt> if no operation completed within the iteration
+	 * @throws IllegalStateException
+	 *             If the operation of the benchmark threw an exception
+	 */
+	private double runIteration(final IMicroBenchmark benchmark, final Blackhole[] blackholes)
+			throws IllegalStateException {
+		final CountDownLatch startSignal = new CountDownLatch(1);
+		final MicroBenchmarkWorker[] workers = new MicroBenchmarkWorker[blackholes.length];
+		for (int i = 0; i < workers.length; i++) {
+			workers[i] = new MicroBenchmarkWorker(benchmark, i, blackholes[i], startSignal);
+			workers[i].start();
+		}
+
+		startSignal.countDown();
+		final long stopTime = System.nanoTime() + this.mIterationTime * 1_000_000L;
+		long remainingTime = this.mIterationTime;
+		while (remainingTime > 0) {
+			try {
+				Thread.sleep(remainingTime);
+			} catch (final InterruptedException e) {
+				// Simply ignore the interrupt and continue
+			}
+			remainingTime = (stopTime - System.nanoTime()) / 1_000_000L;
+		}
+
+		long totalDuration = 0L;
+		long totalInvocations = 0L;
+		for (final MicroBenchmarkWorker worker : workers) {
+			worker.terminate();
+		}
+		for (final MicroBenchmarkWorker worker : workers) {
+			while (worker.isAlive()) {
+				try {
+					worker.join();
+				} catch (final InterruptedException e) {
+					// Simply ignore the interrupt and continue
+				}
+			}
+			if (worker.getEncounteredException() != null) {
+				throw new IllegalStateException("The benchmark " + benchmark.getName() + " failed",
+						worker.getEncounteredException());
+			}
+			totalDuration += worker.getDuration();
+			totalInvocations += worker.getInvocations();
+		}
+		for (final Blackhole blackhole : blackholes) {
+			this.mSink ^= blackhole.getSinkValue();
+		}
+
+		// The time of an iteration without any completed operation is no time
+		// per operation, report it as undefined instead
+		if (totalInvocations == 0) {
+			return Double.NaN;
+		}
+		return (double) totalDuration / totalInvocations;
+	}
+}
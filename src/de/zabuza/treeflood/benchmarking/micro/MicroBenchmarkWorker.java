@@ -0,0 +1,141 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Thread that repeatedly invokes the operation of a benchmark during one
+ * iteration of a {@link MicroBenchmarkRunner} and measures the time it took.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class MicroBenchmarkWorker extends Thread {
+	/**
+	 * The benchmark whose operation to invoke.
+	 */
+	private final IMicroBenchmark mBenchmark;
+	/**
+	 * The blackhole that consumes the results of the operation.
+	 */
+	private final Blackhole mBlackhole;
+	/**
+	 * The time the invocations took in nanoseconds.
+	 */
+	private long mDuration;
+	/**
+	 * The exception the operation threw or <tt>null</tt> if there was none.
+	 */
+	private Throwable mEncounteredException;
+	/**
+	 * The amount of invocations executed.
+	 */
+	private long mInvocations;
+	/**
+	 * Whether the worker should stop.
+	 */
+	private volatile boolean mShouldStop;
+	/**
+	 * Signal the worker waits for before starting to invoke the operation.
+	 */
+	private final CountDownLatch mStartSignal;
+	/**
+	 * The index of the worker, passed to the operation.
+	 */
+	private final int mThreadIndex;
+
+	/**
+	 * Creates a new worker that invokes the operation of the given benchmark
+	 * once the start signal is given.
+	 * 
+	 * @param benchmark
+	 *            The benchmark whose operation to invoke
+	 * @param threadIndex
+	 *            The index of the worker, passed to the operation
+	 * @param blackhole
+	 *            The blackhole that consumes the results of the operation
+	 * @param startSignal
+	 *            Signal the worker waits for before starting to invoke the
+	 *            operation
+	 */
+	public MicroBenchmarkWorker(final IMicroBenchmark benchmark, final int threadIndex, final Blackhole blackhole,
+			final CountDownLatch startSignal) {
+		this.mBenchmark = benchmark;
+		this.mThreadIndex = threadIndex;
+		this.mBlackhole = blackhole;
+		this.mStartSignal = startSignal;
+		this.mShouldStop = false;
+		this.mDuration = 0L;
+		this.mInvocations = 0L;
+		this.mEncounteredException = null;
+	}
+
+	/**
+	 * Gets the time the invocations took. Must only be called after the worker
+	 * has terminated.
+	 * 
+	 * @return The time the invocations took in nanoseconds
+	 */
+	public long getDuration() {
+		return this.mDuration;
+	}
+
+	/**
+	 * Gets the exception the operation threw. Must only be called after the
+	 * worker has terminated.
+	 * 
+	 * @return The exception the operation threw or <tt>null</tt> if there was
+	 *         none
+	 */
+	public Throwable getEncounteredException() {
+		return this.mEncounteredException;
+	}
+
+	/**
+	 * Gets the amount of invocations executed. Must only be called after the
+	 * worker has terminated.
+	 * 
+	 * @return The amount of invocations executed
+	 */
+	public long getInvocations() {
+		return this.mInvocations;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Thread#run()
+	 */
+	@Override
+	public void run() {
+		while (this.mStartSignal.getCount() > 0) {
+			try {
+				this.mStartSignal.await();
+			} catch (final InterruptedException e) {
+				// Simply ignore the interrupt and continue
+			}
+		}
+
+		final IMicroBenchmark benchmark = this.mBenchmark;
+		final Blackhole blackhole = this.mBlackhole;
+		final int threadIndex = this.mThreadIndex;
+		long invocations = 0L;
+		final long startTime = System.nanoTime();
+		try {
+			while (!this.mShouldStop) {
+				benchmark.invoke(threadIndex, blackhole);
+				invocations++;
+			}
+		} catch (final Throwable e) {
+			this.mEncounteredException = e;
+		}
+		this.mDuration = System.nanoTime() - startTime;
+		this.mInvocations = invocations;
+	}
+
+	/**
+	 * Demands the worker to stop after the current invocation.
+	 */
+	public void terminate() {
+		this.mShouldStop = true;
+	}
+}
@@ -0,0 +1,75 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.FixedThreadPoolRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.SequentialRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.ThrowAwayThreadRobotPulseManager;
+
+/**
+ * Registry of all benchmarks that can be executed by the
+ * {@link MicroBenchmarkRunner}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class MicroBenchmarks {
+	/**
+	 * Creates the benchmark with the given name.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @return The benchmark with the given name
+	 * @throws IllegalArgumentException
+	 *             If there is no benchmark with the given name
+	 */
+	public static IMicroBenchmark create(final String name) throws IllegalArgumentException {
+		for (final IMicroBenchmark benchmark : createAll()) {
+			if (benchmark.getName().equals(name)) {
+				return benchmark;
+			}
+		}
+		throw new IllegalArgumentException("There is no benchmark with the name: " + name);
+	}
+
+	/**
+	 * Creates all registered benchmarks. The benchmarks are not set up, thus
+	 * creating them is cheap.
+	 * 
+	 * @return A list of all registered benchmarks
+	 */
+	public static List<IMicroBenchmark> createAll() {
+		final List<IMicroBenchmark> benchmarks = new ArrayList<>();
+		// Micro benchmarks
+		benchmarks.add(new ConstructKnowledgeBenchmark());
+		benchmarks.add(new RobotActionBenchmark());
+		benchmarks.add(new NodeStorageBenchmark(false));
+		benchmarks.add(new NodeStorageBenchmark(true));
+		benchmarks.add(new NestedMap2Benchmark(false));
+		benchmarks.add(new NestedMap2Benchmark(true));
+		benchmarks.add(new InformationTableBenchmark(false));
+		benchmarks.add(new InformationTableBenchmark(true));
+		benchmarks.add(new ExplorationStepBenchmark("step.oneThreadPerRobot", OneThreadPerRobotPulseManager::new));
+		benchmarks.add(new ExplorationStepBenchmark("step.throwAwayThread", ThrowAwayThreadRobotPulseManager::new));
+		benchmarks.add(new ExplorationStepBenchmark("step.sequential", SequentialRobotPulseManager::new));
+		benchmarks.add(new RobotPulseBenchmark("pulse.fixedThreadPool",
+				() -> new FixedThreadPoolRobotPulseManager(Runtime.getRuntime().availableProcessors())));
+		benchmarks.add(new RobotPulseBenchmark("pulse.oneThreadPerRobot", OneThreadPerRobotPulseManager::new));
+		benchmarks.add(new RobotPulseBenchmark("pulse.throwAwayThread", ThrowAwayThreadRobotPulseManager::new));
+		benchmarks.add(new RobotPulseBenchmark("pulse.sequential", SequentialRobotPulseManager::new));
+
+		// Macro benchmarks
+		benchmarks.add(new ExplorationBenchmark(100, 5));
+		benchmarks.add(new ExplorationBenchmark(1_000, 20));
+		return benchmarks;
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private MicroBenchmarks() {
+
+	}
+}
@@ -0,0 +1,141 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.util.NestedMap2;
+
+/**
+ * Benchmarks lookups or insertions of a {@link NestedMap2} that is used like
+ * the local storage of a node, i.e. it maps steps and robot ids to
+ * information. Each operation accesses the next pair of keys, insertions
+ * replace existing values such that the size of the map stays constant.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class NestedMap2Benchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robot ids used as second key.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 16;
+	/**
+	 * The amount of steps used as first key.
+	 */
+	private static final int AMOUNT_OF_STEPS = 256;
+
+	/**
+	 * Whether the operation inserts into the map instead of looking up values.
+	 */
+	private final boolean mIsInserting;
+	/**
+	 * The map to access.
+	 */
+	private NestedMap2<Integer, Integer, Information> mMap;
+	/**
+	 * The index of the pair of keys to access next.
+	 */
+	private int mNextIndex;
+	/**
+	 * The second keys of all pairs of keys, the robot ids.
+	 */
+	private Integer[] mRobotKeys;
+	/**
+	 * The first keys of all pairs of keys, the steps.
+	 */
+	private Integer[] mStepKeys;
+	/**
+	 * The values that are inserted for all pairs of keys.
+	 */
+	private Information[] mValues;
+
+	/**
+	 * Creates a new benchmark for lookups or insertions of a nested map.
+	 * 
+	 * @param isInserting
+	 *            <tt>True</tt> if the operation inserts into the map,
+	 *            <tt>false</tt> if it looks up values
+	 */
+	public NestedMap2Benchmark(final boolean isInserting) {
+		this.mIsInserting = isInserting;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		if (this.mIsInserting) {
+			return "nestedMap.put";
+		}
+		return "nestedMap.get";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final int index = this.mNextIndex;
+		if (this.mIsInserting) {
+			blackhole.consume(this.mMap.put(this.mStepKeys[index], this.mRobotKeys[index], this.mValues[index]));
+		} else {
+			blackhole.consume(this.mMap.get(this.mStepKeys[index], this.mRobotKeys[index]));
+		}
+		this.mNextIndex = (index + 1) % this.mValues.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		final int amountOfEntries = AMOUNT_OF_STEPS * AMOUNT_OF_ROBOTS;
+		this.mMap = new NestedMap2<>();
+		this.mStepKeys = new Integer[amountOfEntries];
+		this.mRobotKeys = new Integer[amountOfEntries];
+		this.mValues = new Information[amountOfEntries];
+
+		int index = 0;
+		for (int step = 1; step <= AMOUNT_OF_STEPS; step++) {
+			for (int robotId = 0; robotId < AMOUNT_OF_ROBOTS; robotId++) {
+				this.mStepKeys[index] = Integer.valueOf(step);
+				this.mRobotKeys[index] = Integer.valueOf(robotId);
+				this.mValues[index] = new Information(step, robotId, Information.PARENT_PORT, false);
+				this.mMap.put(this.mStepKeys[index], this.mRobotKeys[index], this.mValues[index]);
+				index++;
+			}
+		}
+		this.mNextIndex = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mMap = null;
+		this.mStepKeys = null;
+		this.mRobotKeys = null;
+		this.mValues = null;
+	}
+}
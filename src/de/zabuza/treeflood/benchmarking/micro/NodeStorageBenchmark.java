@@ -0,0 +1,167 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Benchmarks reads or writes of a {@link NodeStorageManager} under contention.
+ * Multiple threads access the storage of the nodes of an explored tree
+ * concurrently, each operation accesses the next node. Reads are step scoped
+ * like the reads of robots, each reads the regular and update step of one
+ * round.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class NodeStorageBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 10;
+	/**
+	 * The amount of threads that access the storage concurrently.
+	 */
+	private static final int AMOUNT_OF_THREADS = 4;
+	/**
+	 * The amount of steps the writing threads cycle through. It bounds the
+	 * amount of entries that are added to the storage.
+	 */
+	private static final int AMOUNT_OF_WRITE_STEPS = 64;
+	/**
+	 * The amount of rounds the reading threads cycle through.
+	 */
+	private static final int AMOUNT_OF_READ_ROUNDS = 64;
+	/**
+	 * The distance between the states of two threads in the state array, used
+	 * to avoid false sharing of cache lines.
+	 */
+	private static final int PADDING = 16;
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+	/**
+	 * The size of the explored tree.
+	 */
+	private static final int TREE_SIZE = 500;
+
+	/**
+	 * Whether the operation writes to the storage instead of reading from it.
+	 */
+	private final boolean mIsWriting;
+	/**
+	 * For each thread the amount of operations it executed, the state of a
+	 * thread is located at the index <tt>threadIndex * PADDING</tt>.
+	 */
+	private int[] mInvocations;
+	/**
+	 * The nodes of the explored tree, indexed by their id.
+	 */
+	private ITreeNode[] mNodes;
+	/**
+	 * The storage to access.
+	 */
+	private NodeStorageManager mStorage;
+	/**
+	 * For each thread the table it reads entries into, indexed by the index of
+	 * the thread.
+	 */
+	private InformationTable[] mTargets;
+
+	/**
+	 * Creates a new benchmark for reads or writes of the storage.
+	 * 
+	 * @param isWriting
+	 *            <tt>True</tt> if the operation writes to the storage,
+	 *            <tt>false</tt> if it reads from it
+	 */
+	public NodeStorageBenchmark(final boolean isWriting) {
+		this.mIsWriting = isWriting;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return AMOUNT_OF_THREADS;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		if (this.mIsWriting) {
+			return "storage.write";
+		}
+		return "storage.read";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final int stateIndex = threadIndex * PADDING;
+		final int invocation = this.mInvocations[stateIndex];
+		this.mInvocations[stateIndex] = invocation + 1;
+		// Threads start at different nodes and then visit all nodes in order
+		final ITreeNode node = this.mNodes[(invocation + threadIndex * TREE_SIZE / AMOUNT_OF_THREADS) % TREE_SIZE];
+
+		if (this.mIsWriting) {
+			final int step = invocation % AMOUNT_OF_WRITE_STEPS + 1;
+			this.mStorage.write(PackedInformation.pack(step, threadIndex, Information.PARENT_PORT, false), node);
+		} else {
+			final InformationTable target = this.mTargets[threadIndex];
+			final int step = 3 * (invocation % AMOUNT_OF_READ_ROUNDS + 1);
+			this.mStorage.readSteps(node, step, step + 1, target);
+			blackhole.consume(target.size());
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		final ExploredTreeFixture fixture = new ExploredTreeFixture(TREE_SIZE, AMOUNT_OF_ROBOTS, SEED);
+		this.mStorage = fixture.getStorage();
+		this.mNodes = new ITreeNode[TREE_SIZE];
+		for (int id = 0; id < TREE_SIZE; id++) {
+			this.mNodes[id] = fixture.getTree().getNode(id);
+		}
+		this.mInvocations = new int[AMOUNT_OF_THREADS * PADDING];
+		this.mTargets = new InformationTable[AMOUNT_OF_THREADS];
+		for (int i = 0; i < AMOUNT_OF_THREADS; i++) {
+			this.mTargets[i] = new InformationTable();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mStorage = null;
+		this.mNodes = null;
+		this.mInvocations = null;
+		this.mTargets = null;
+	}
+}
@@ -0,0 +1,157 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.Knowledge;
+import de.zabuza.treeflood.exploration.localstorage.KnowledgeManager;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Benchmarks {@link KnowledgeManager#robotAction(int, Knowledge, ITreeNode)}.
+ * The inputs are the knowledge of each node of an explored tree in the round
+ * it was discovered, together with each robot that discovered it. Each
+ * operation determines the action of the next robot.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class RobotActionBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 10;
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+	/**
+	 * The size of the explored tree.
+	 */
+	private static final int TREE_SIZE = 500;
+
+	/**
+	 * Gets the round in which the node with the given local storage data was
+	 * discovered.
+	 * 
+	 * @param storageData
+	 *            The local storage data of the node
+	 * @return The round in which the node was discovered
+	 */
+	private static int getDiscoveryRound(final InformationTable storageData) {
+		// The starting node of the robots is a special case
+		if (storageData.containsStep(1)) {
+			return 1;
+		}
+		// Regular entries of a round are written in the step '3 * round',
+		// entries are sorted by their step
+		int firstStep = Integer.MAX_VALUE;
+		for (int i = 0; i < storageData.size(); i++) {
+			if (storageData.getStep(i) % 3 == 0) {
+				firstStep = storageData.getStep(i);
+				break;
+			}
+		}
+		return firstStep / 3;
+	}
+
+	/**
+	 * The knowledge to determine the action on, one entry per input.
+	 */
+	private Knowledge[] mKnowledge;
+	/**
+	 * The index of the input to use next.
+	 */
+	private int mNextIndex;
+	/**
+	 * The nodes the knowledge belongs to, one entry per input.
+	 */
+	private ITreeNode[] mNodes;
+	/**
+	 * The ids of the robots to determine the action of, one entry per input.
+	 */
+	private int[] mRobotIds;
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		return "knowledge.robotAction";
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		final int index = this.mNextIndex;
+		blackhole.consume(
+				KnowledgeManager.robotAction(this.mRobotIds[index], this.mKnowledge[index], this.mNodes[index]));
+		this.mNextIndex = (index + 1) % this.mRobotIds.length;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		final ExploredTreeFixture fixture = new ExploredTreeFixture(TREE_SIZE, AMOUNT_OF_ROBOTS, SEED);
+		final List<Knowledge> knowledgeOfInputs = new ArrayList<>();
+		final List<Integer> robotIdsOfInputs = new ArrayList<>();
+		for (int id = 0; id < TREE_SIZE; id++) {
+			final ITreeNode node = fixture.getTree().getNode(id);
+			final InformationTable storageData = fixture.getStorageData(id);
+			// Knowledge objects share their sets with the knowledge of later
+			// rounds, thus a fresh manager is used for each node
+			final Knowledge knowledge = new KnowledgeManager().constructKnowledge(getDiscoveryRound(storageData),
+					node, storageData);
+			for (final Integer robotId : knowledge.getRobotsAtLocation()) {
+				knowledgeOfInputs.add(knowledge);
+				robotIdsOfInputs.add(robotId);
+			}
+		}
+
+		final int amountOfInputs = knowledgeOfInputs.size();
+		this.mKnowledge = knowledgeOfInputs.toArray(new Knowledge[amountOfInputs]);
+		this.mNodes = new ITreeNode[amountOfInputs];
+		this.mRobotIds = new int[amountOfInputs];
+		for (int i = 0; i < amountOfInputs; i++) {
+			this.mNodes[i] = this.mKnowledge[i].getNode();
+			this.mRobotIds[i] = robotIdsOfInputs.get(i).intValue();
+		}
+		this.mNextIndex = 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		this.mKnowledge = null;
+		this.mNodes = null;
+		this.mRobotIds = null;
+	}
+}
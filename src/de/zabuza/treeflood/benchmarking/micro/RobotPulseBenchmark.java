@@ -0,0 +1,154 @@
+package de.zabuza.treeflood.benchmarking.micro;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager;
+import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.RandomTreeGenerator;
+
+/**
+ * Benchmarks {@link IRobotPulseManager#pulse()} of a given pulse manager. The
+ * manager directly pulses a fixed set of robots that explore a random tree,
+ * without a {@link LocalStorageExploration} around it. Thus, unlike the
+ * {@link ExplorationStepBenchmark}, an operation contains no bookkeeping of
+ * an exploration but only the work of the robots in one stage, which is the
+ * same for all managers, and the overhead of the manager. Once the robots
+ * have finished the next operation starts over with a new set of robots, the
+ * tree is large enough such that this happens rarely.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class RobotPulseBenchmark implements IMicroBenchmark {
+	/**
+	 * The amount of robots that explore the tree.
+	 */
+	private static final int AMOUNT_OF_ROBOTS = 16;
+	/**
+	 * The seed of the explored tree.
+	 */
+	private static final long SEED = 1L;
+	/**
+	 * The size of the explored tree.
+	 */
+	private static final int TREE_SIZE = 2_000;
+
+	/**
+	 * Whether all robots of the current set have finished.
+	 */
+	private boolean mIsFinished;
+	/**
+	 * The name of the benchmark.
+	 */
+	private final String mName;
+	/**
+	 * The pulse manager of the current set of robots.
+	 */
+	private IRobotPulseManager mPulseManager;
+	/**
+	 * Factory that creates the pulse manager of each set of robots.
+	 */
+	private final Supplier<IRobotPulseManager> mPulseManagerFactory;
+	/**
+	 * The tree to explore.
+	 */
+	private ITree mTree;
+
+	/**
+	 * Creates a new benchmark for the pulses of the pulse managers created by
+	 * the given factory.
+	 * 
+	 * @param name
+	 *            The name of the benchmark
+	 * @param pulseManagerFactory
+	 *            Factory that creates the pulse manager of each set of robots
+	 */
+	public RobotPulseBenchmark(final String name, final Supplier<IRobotPulseManager> pulseManagerFactory) {
+		this.mName = name;
+		this.mPulseManagerFactory = pulseManagerFactory;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#
+	 * getAmountOfThreads()
+	 */
+	@Override
+	public int getAmountOfThreads() {
+		return 1;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#getName()
+	 */
+	@Override
+	public String getName() {
+		return this.mName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#invoke(int,
+	 * de.zabuza.treeflood.benchmarking.micro.Blackhole)
+	 */
+	@Override
+	public void invoke(final int threadIndex, final Blackhole blackhole) {
+		if (this.mIsFinished) {
+			startRobots();
+		}
+		this.mIsFinished = this.mPulseManager.pulse();
+		blackhole.consume(this.mIsFinished);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#setUp()
+	 */
+	@Override
+	public void setUp() {
+		this.mTree = new RandomTreeGenerator(TREE_SIZE).generateRandomTree(SEED);
+		startRobots();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.benchmarking.micro.IMicroBenchmark#tearDown()
+	 */
+	@Override
+	public void tearDown() {
+		// Stop the threads of the manager if the robots are still running
+		if (!this.mIsFinished) {
+			this.mPulseManager.abort();
+		}
+		this.mPulseManager = null;
+		this.mTree = null;
+	}
+
+	/**
+	 * Starts a new set of robots at the root of the tree.
+	 */
+	private void startRobots() {
+		final NodeStorageManager localStorage = new NodeStorageManager();
+		final List<Robot> robots = new ArrayList<>(AMOUNT_OF_ROBOTS);
+		for (int i = 0; i < AMOUNT_OF_ROBOTS; i++) {
+			robots.add(new Robot(i, this.mTree.getRoot(), localStorage, Collections.emptyList(),
+					Collections.emptyList()));
+		}
+		this.mPulseManager = this.mPulseManagerFactory.get();
+		this.mPulseManager.setRobots(robots);
+		this.mIsFinished = false;
+	}
+}
@@ -0,0 +1,6 @@
+/**
+ * This package contains a harness for micro and macro benchmarks of the
+ * exploration. It executes benchmarks with warmup iterations in forked virtual
+ * machines and protects the results of benchmarks from dead-code elimination.
+ */
+package de.zabuza.treeflood.benchmarking.micro;
\ No newline at end of file
@@ -1,15 +1,21 @@
 package de.zabuza.treeflood.demo;
 
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Scanner;
 
+import javax.management.JMException;
+
+import de.zabuza.treeflood.exploration.localstorage.ExplorationOptions;
 import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
 import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
 import de.zabuza.treeflood.exploration.localstorage.listener.ExplorationTreeBuilder;
-import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.INodeDiscoveredListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
 import de.zabuza.treeflood.exploration.localstorage.listener.RobotNodeStringifier;
+import de.zabuza.treeflood.exploration.localstorage.metrics.ExplorationMetrics;
 import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
 import de.zabuza.treeflood.tree.ITree;
 import de.zabuza.treeflood.tree.ITreeNode;
@@ -20,7 +26,8 @@ import de.zabuza.treeflood.util.MapUtil;
 
 /**
  * Command line tool that demonstrates the execution of the algorithm
- * {@link LocalStorageExploration} step by step.
+ * {@link LocalStorageExploration} step by step. The metrics of the exploration
+ * are exposed via JMX, see {@link ExplorationMetrics}.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
@@ -52,18 +59,29 @@ public final class LocalStorageExplorationDemo {
 			}
 
 			// Create event listeners
-			final List<IRobotMovedListener> robotMovedListener = new LinkedList<>();
+			final List<IRobotMovedBatchListener> robotMovedListener = new LinkedList<>();
 			final ExplorationTreeBuilder explorationTreeBuilder = new ExplorationTreeBuilder(treeToExplore.getRoot());
-			robotMovedListener.add(explorationTreeBuilder);
+			final List<INodeDiscoveredListener> nodeDiscoveredListener = Collections
+					.singletonList(explorationTreeBuilder);
 
 			final RobotNodeStringifier robotNodeStringifier = new RobotNodeStringifier();
 			robotMovedListener.add(robotNodeStringifier);
 
+			// Expose metrics via JMX
+			final ExplorationMetrics metrics = new ExplorationMetrics();
+			try {
+				System.out.println("Metrics are exposed via JMX as " + metrics.register("demo"));
+			} catch (final JMException e) {
+				System.out.println("Metrics could not be exposed via JMX: " + e);
+			}
+
 			// Create an instance of the algorithm
 			System.out.println("Enter a number for the amount of robots:");
 			final int robots = Integer.parseInt(scanner.nextLine());
 			final LocalStorageExploration algorithm = new LocalStorageExploration(treeToExplore.getRoot(), robots,
-					new NodeStorageManager(), new OneThreadPerRobotPulseManager(), robotMovedListener);
+					new NodeStorageManager(), new OneThreadPerRobotPulseManager(),
+					new ExplorationOptions().setRobotMovedBatchListeners(robotMovedListener)
+							.setNodeDiscoveredListeners(nodeDiscoveredListener).setMetrics(metrics));
 
 			// Initialize objects
 			robotNodeStringifier.setInitialLocation(algorithm.getRobots());
@@ -120,6 +138,8 @@ public final class LocalStorageExplorationDemo {
 					System.out.println();
 					System.out.println("After step " + step + ":");
 					System.out.println("Time was " + (endTime - startTime) + "ms");
+					System.out.println("Mean latencies were " + metrics.getStepLatency().getMean() + "ns per step, "
+							+ metrics.getCoordinationLatency().getMean() + "ns coordination per pulse");
 					System.out.flush();
 					final ITree explorationTree = explorationTreeBuilder.getExploredTree();
 
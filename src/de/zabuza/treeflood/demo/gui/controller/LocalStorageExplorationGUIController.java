@@ -7,6 +7,7 @@ import java.awt.event.ItemListener;
 import java.awt.event.WindowEvent;
 import java.awt.event.WindowListener;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -26,12 +27,15 @@ import de.zabuza.treeflood.demo.gui.view.OptionPanel;
 import de.zabuza.treeflood.demo.gui.view.properties.EStyle;
 import de.zabuza.treeflood.exploration.localstorage.EStep;
 import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.ExplorationOptions;
 import de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration;
 import de.zabuza.treeflood.exploration.localstorage.OneThreadPerRobotPulseManager;
-import de.zabuza.treeflood.exploration.localstorage.Robot;
 import de.zabuza.treeflood.exploration.localstorage.listener.ExplorationTreeBuilder;
-import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.INodeDiscoveredListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.RobotMove;
 import de.zabuza.treeflood.exploration.localstorage.listener.RobotNodeStringifier;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
 import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
 import de.zabuza.treeflood.tree.ITreeNode;
 import de.zabuza.treeflood.tree.RandomTreeGenerator;
@@ -41,12 +45,12 @@ import de.zabuza.treeflood.util.NestedMap2;
 /**
  * A controller which handles the communication between {@link MainFrame} and
  * {@link LocalStorageExploration}.
- *
+ * 
  * @author Ativelox {@literal <ativelox.dev@web.de>}
  *
  */
-public final class LocalStorageExplorationGUIController implements WindowListener, ActionListener, IRobotMovedListener,
-		INodeHoverListener, ChangeListener, ItemListener {
+public final class LocalStorageExplorationGUIController implements WindowListener, ActionListener,
+		IRobotMovedBatchListener, INodeHoverListener, ChangeListener, ItemListener {
 
 	/**
 	 * Gets the step type by the current step.
@@ -301,21 +305,25 @@ public final class LocalStorageExplorationGUIController implements WindowListene
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see
-	 * de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener
-	 * #movedTo(de.zabuza.treeflood.exploration.localstorage.Robot,
-	 * de.zabuza.treeflood.tree.ITreeNode, de.zabuza.treeflood.tree.ITreeNode)
+	 * @see de.zabuza.treeflood.exploration.localstorage.listener.
+	 * IRobotMovedBatchListener#movedBatch(de.zabuza.treeflood.exploration.
+	 * localstorage.listener.RobotMove[])
 	 */
 	@Override
-	public synchronized void movedTo(final Robot robot, final ITreeNode source, final ITreeNode destination) {
-		final DrawableNodeData sourceData = this.mNodeMapping.get(source);
-		final DrawableNodeData destinationData = this.mNodeMapping.get(destination);
+	public synchronized void movedBatch(final RobotMove[] moves) {
+		for (final RobotMove move : moves) {
+			final ITreeNode source = move.getSource();
+			final ITreeNode destination = move.getDestination();
 
-		sourceData.setDescription(Integer.parseInt(sourceData.getDescription()) - 1 + "");
-		destinationData.setDescription(Integer.parseInt(destinationData.getDescription()) + 1 + "");
+			final DrawableNodeData sourceData = this.mNodeMapping.get(source);
+			final DrawableNodeData destinationData = this.mNodeMapping.get(destination);
 
-		this.paintNode(destination);
-		LocalStorageExplorationGUIController.setEdgeVisited(this.mEdgeMapping.get(source, destination));
+			sourceData.setDescription(Integer.parseInt(sourceData.getDescription()) - 1 + "");
+			destinationData.setDescription(Integer.parseInt(destinationData.getDescription()) + 1 + "");
+
+			this.paintNode(destination);
+			LocalStorageExplorationGUIController.setEdgeVisited(this.mEdgeMapping.get(source, destination));
+		}
 	}
 
 	/*
@@ -516,9 +524,10 @@ public final class LocalStorageExplorationGUIController implements WindowListene
 	 * running, otherwise this method may not work as expected.
 	 */
 	private void startAlgorithm() {
-		final List<IRobotMovedListener> robotMovedListener = new LinkedList<>();
+		final List<IRobotMovedBatchListener> robotMovedListener = new LinkedList<>();
 		this.mExplorationTreeBuilder = new ExplorationTreeBuilder(this.mTree.getRoot());
-		robotMovedListener.add(this.mExplorationTreeBuilder);
+		final List<INodeDiscoveredListener> nodeDiscoveredListener = Collections
+				.singletonList(this.mExplorationTreeBuilder);
 
 		this.mRobotNodeStringifier = new RobotNodeStringifier();
 		robotMovedListener.add(this.mRobotNodeStringifier);
@@ -527,7 +536,9 @@ public final class LocalStorageExplorationGUIController implements WindowListene
 		this.mNodeStorageManager = new NodeStorageManager();
 
 		this.mAlgorithm = new LocalStorageExploration(this.mTree.getRoot(), this.mView.getAmountOfRobots(),
-				this.mNodeStorageManager, new OneThreadPerRobotPulseManager(), robotMovedListener);
+				this.mNodeStorageManager, new OneThreadPerRobotPulseManager(),
+				new ExplorationOptions().setRobotMovedBatchListeners(robotMovedListener)
+						.setNodeDiscoveredListeners(nodeDiscoveredListener));
 
 		this.paintNode(this.mTree.getRoot());
 
@@ -547,23 +558,21 @@ public final class LocalStorageExplorationGUIController implements WindowListene
 	 */
 	private synchronized void updateKnowledge() {
 		for (final ITreeNode node : this.mTree.getNodes()) {
-			final NestedMap2<Integer, Integer, Information> map = this.mNodeStorageManager.read(node);
-
-			for (int stepsToCount = 0; stepsToCount <= this.mStep; stepsToCount++) {
-				for (int i = 0; i < this.mAlgorithm.getRobots().size(); i++) {
-					final Information currentNodeInformation = map.get(Integer.valueOf(stepsToCount),
-							Integer.valueOf(i));
-
-					if (currentNodeInformation != null) {
-						if (this.mNodeInformationMapping.get(node) == null) {
-							this.mNodeInformationMapping.put(node, new ArrayList<>());
-						}
-						if (this.mNodeInformationMapping.get(node).contains(currentNodeInformation)) {
-							continue;
-						}
-						this.mNodeInformationMapping.get(node).add(currentNodeInformation);
-					}
-				}
+			final InformationTable table = this.mNodeStorageManager.read(node);
+			// Entries are sorted by their step and then by the robot id
+			final int amountOfEntriesToCount = table.getEndIndexOfStep(this.mStep);
+			if (amountOfEntriesToCount == 0) {
+				continue;
+			}
+
+			List<Information> informationOfNode = this.mNodeInformationMapping.get(node);
+			if (informationOfNode == null) {
+				informationOfNode = new ArrayList<>();
+				this.mNodeInformationMapping.put(node, informationOfNode);
+			}
+			informationOfNode.clear();
+			for (int i = 0; i < amountOfEntriesToCount; i++) {
+				informationOfNode.add(table.getInformation(i));
 			}
 		}
 	}
@@ -15,6 +15,7 @@ import de.zabuza.treeflood.demo.gui.model.properties.INodeHoverListener;
 import de.zabuza.treeflood.demo.gui.view.util.Window;
 import de.zabuza.treeflood.tree.ITree;
 import de.zabuza.treeflood.tree.ITreeNode;
+import de.zabuza.treeflood.tree.TreeStatistics;
 import de.zabuza.treeflood.util.NestedMap2;
 
 /**
@@ -269,6 +270,16 @@ public final class CoordinateTree implements ITree {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getNode(int)
+	 */
+	@Override
+	public ITreeNode getNode(final int id) throws IllegalArgumentException {
+		return this.mTree.getNode(id);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -300,6 +311,16 @@ public final class CoordinateTree implements ITree {
 
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getStatistics()
+	 */
+	@Override
+	public TreeStatistics getStatistics() {
+		return this.mTree.getStatistics();
+	}
+
 	/**
 	 * Calls {@link DrawableNodeData#checkHover(Point, List)} for every node
 	 * contained in this tree.
@@ -322,6 +343,9 @@ public final class CoordinateTree implements ITree {
 	 *            the window object used for position related values.
 	 */
 	private void initializeData(final Window window) {
+		final TreeStatistics statistics = this.mTree.getStatistics();
+		this.mMaxDepth = statistics.getHeight();
+
 		final Queue<ITreeNode> queue = new LinkedList<>();
 		queue.add(this.mTree.getRoot());
 
@@ -340,23 +364,13 @@ public final class CoordinateTree implements ITree {
 				queue.add(child);
 			}
 
-			int depth = 0;
-			if (!node.isRoot()) {
-				// It is a given that the parent of a node is included in the
-				// tree, otherwise the tree couldn't have been generated, so
-				// this is safe.
-				depth = this.mNodeMapping.get(node.getParent().get()).getDepth() + 1;
-			}
+			final int depth = statistics.getDepth(node);
 			this.mNodeMapping.put(node, new DrawableNodeData(depth, node, window));
 
 			if (this.mDepthToNodes.get(Integer.valueOf(depth)) == null) {
 				this.mDepthToNodes.put(Integer.valueOf(depth), new HashSet<>());
 			}
 			this.mDepthToNodes.get(Integer.valueOf(depth)).add(node);
-
-			if (this.mMaxDepth < depth) {
-				this.mMaxDepth = depth;
-			}
 		}
 	}
 }
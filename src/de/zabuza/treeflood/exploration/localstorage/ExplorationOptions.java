@@ -0,0 +1,212 @@
+package de.zabuza.treeflood.exploration.localstorage;
+
+import java.util.Collections;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.listener.INodeDiscoveredListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.metrics.ExplorationMetrics;
+import de.zabuza.treeflood.exploration.localstorage.statistics.IExplorationStatisticsSink;
+
+/**
+ * Optional settings of a {@link LocalStorageExploration}, like its listeners,
+ * statistics sinks, metrics and the pruning of the local storage. By default
+ * there are no listeners and sinks, the exploration is not instrumented and
+ * the storage is never pruned. The setters return the options such that calls
+ * can be chained. The options are read once when the exploration is created,
+ * later changes do not affect it.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationOptions {
+	/**
+	 * The metrics to record the latencies in or <tt>null</tt> if the
+	 * exploration should not be instrumented.
+	 */
+	private ExplorationMetrics mMetrics;
+	/**
+	 * The objects that want to receive events each time a robot enters a node
+	 * for the first time.
+	 */
+	private List<INodeDiscoveredListener> mNodeDiscoveredListeners;
+	/**
+	 * The amount of rounds after which the local storage is pruned or
+	 * <tt>0</tt> if it is never pruned.
+	 */
+	private int mPruningInterval;
+	/**
+	 * The objects that want to receive the moves of all robots once per pulse.
+	 */
+	private List<IRobotMovedBatchListener> mRobotMovedBatchListeners;
+	/**
+	 * The objects that want to receive events each time a robot moves.
+	 */
+	private List<IRobotMovedListener> mRobotMovedListeners;
+	/**
+	 * The objects that want to receive the statistics after each round.
+	 */
+	private List<IExplorationStatisticsSink> mStatisticsSinks;
+
+	/**
+	 * Creates new default options.
+	 */
+	public ExplorationOptions() {
+		this.mRobotMovedListeners = Collections.emptyList();
+		this.mRobotMovedBatchListeners = Collections.emptyList();
+		this.mNodeDiscoveredListeners = Collections.emptyList();
+		this.mStatisticsSinks = Collections.emptyList();
+		this.mMetrics = null;
+		this.mPruningInterval = 0;
+	}
+
+	/**
+	 * Gets the metrics to record the latencies in.
+	 * 
+	 * @return The metrics to record the latencies in or <tt>null</tt> if the
+	 *         exploration should not be instrumented
+	 */
+	public ExplorationMetrics getMetrics() {
+		return this.mMetrics;
+	}
+
+	/**
+	 * Gets the objects that want to receive events each time a robot enters a
+	 * node for the first time.
+	 * 
+	 * @return The node discovered listeners
+	 */
+	public List<INodeDiscoveredListener> getNodeDiscoveredListeners() {
+		return this.mNodeDiscoveredListeners;
+	}
+
+	/**
+	 * Gets the amount of rounds after which the local storage is pruned.
+	 * 
+	 * @return The amount of rounds after which the local storage is pruned or
+	 *         <tt>0</tt> if it is never pruned
+	 */
+	public int getPruningInterval() {
+		return this.mPruningInterval;
+	}
+
+	/**
+	 * Gets the objects that want to receive the moves of all robots once per
+	 * pulse.
+	 * 
+	 * @return The robot moved batch listeners
+	 */
+	public List<IRobotMovedBatchListener> getRobotMovedBatchListeners() {
+		return this.mRobotMovedBatchListeners;
+	}
+
+	/**
+	 * Gets the objects that want to receive events each time a robot moves.
+	 * 
+	 * @return The robot moved listeners
+	 */
+	public List<IRobotMovedListener> getRobotMovedListeners() {
+		return this.mRobotMovedListeners;
+	}
+
+	/**
+	 * Gets the objects that want to receive the statistics of the exploration
+	 * after each round.
+	 * 
+	 * @return The statistics sinks
+	 */
+	public List<IExplorationStatisticsSink> getStatisticsSinks() {
+		return this.mStatisticsSinks;
+	}
+
+	/**
+	 * Sets the metrics to record the latencies of stages, steps and robots in.
+	 * 
+	 * @param metrics
+	 *            The metrics to record the latencies in or <tt>null</tt> if
+	 *            the exploration should not be instrumented
+	 * @return These options
+	 */
+	public ExplorationOptions setMetrics(final ExplorationMetrics metrics) {
+		this.mMetrics = metrics;
+		return this;
+	}
+
+	/**
+	 * Sets the objects that want to receive events only each time a robot
+	 * enters a node for the first time. They are notified after each pulse.
+	 * 
+	 * @param nodeDiscoveredListeners
+	 *            The node discovered listeners
+	 * @return These options
+	 */
+	public ExplorationOptions setNodeDiscoveredListeners(final List<INodeDiscoveredListener> nodeDiscoveredListeners) {
+		this.mNodeDiscoveredListeners = nodeDiscoveredListeners;
+		return this;
+	}
+
+	/**
+	 * Sets the amount of rounds after which the local storage is pruned. The
+	 * storage of a node is pruned only if every robot that has not stopped
+	 * has cached knowledge of the node, as a robot without cached knowledge
+	 * constructs it out of all entries since the discovery of the node. All
+	 * entries older than the earliest round cached by a robot are then
+	 * discarded.
+	 * 
+	 * @param amountOfRounds
+	 *            The amount of rounds after which the local storage is pruned
+	 *            or <tt>0</tt> if it should never be pruned
+	 * @return These options
+	 * @throws IllegalArgumentException
+	 *             If the amount of rounds is negative
+	 */
+	public ExplorationOptions setPruningInterval(final int amountOfRounds) throws IllegalArgumentException {
+		if (amountOfRounds < 0) {
+			throw new IllegalArgumentException("The pruning interval must not be negative, was: " + amountOfRounds);
+		}
+		this.mPruningInterval = amountOfRounds;
+		return this;
+	}
+
+	/**
+	 * Sets the objects that want to receive the moves of all robots at once
+	 * after each pulse.
+	 * 
+	 * @param robotMovedBatchListeners
+	 *            The robot moved batch listeners
+	 * @return These options
+	 */
+	public ExplorationOptions setRobotMovedBatchListeners(
+			final List<IRobotMovedBatchListener> robotMovedBatchListeners) {
+		this.mRobotMovedBatchListeners = robotMovedBatchListeners;
+		return this;
+	}
+
+	/**
+	 * Sets the objects that want to receive events each time a robot moves to
+	 * another node. They are notified by the robots while the pulse is
+	 * executed.
+	 * 
+	 * @param robotMovedListeners
+	 *            The robot moved listeners
+	 * @return These options
+	 */
+	public ExplorationOptions setRobotMovedListeners(final List<IRobotMovedListener> robotMovedListeners) {
+		this.mRobotMovedListeners = robotMovedListeners;
+		return this;
+	}
+
+	/**
+	 * Sets the objects that want to receive the statistics of the exploration
+	 * after each round. The statistics object is reused for all rounds.
+	 * 
+	 * @param statisticsSinks
+	 *            The statistics sinks
+	 * @return These options
+	 */
+	public ExplorationOptions setStatisticsSinks(final List<IExplorationStatisticsSink> statisticsSinks) {
+		this.mStatisticsSinks = statisticsSinks;
+		return this;
+	}
+}
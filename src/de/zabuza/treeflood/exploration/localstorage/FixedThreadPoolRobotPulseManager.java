@@ -0,0 +1,245 @@
+package de.zabuza.treeflood.exploration.localstorage;
+
+import java.util.Collection;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import de.zabuza.treeflood.exploration.localstorage.timeline.PulseTracer;
+
+/**
+ * Implementation of a robot pulse manager that uses a fixed amount of worker
+ * threads for all pulses. The robots are split into one contiguous group per
+ * worker, each worker pulses the robots of its group one after another. The
+ * workers are stopped once all robots have stopped.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class FixedThreadPoolRobotPulseManager implements IRobotPulseManager {
+	/**
+	 * The time to wait for the workers before checking whether the execution
+	 * was aborted, in milliseconds.
+	 */
+	private static final long ABORT_CHECK_INTERVAL = 10L;
+
+	/**
+	 * The amount of worker threads to use.
+	 */
+	private final int mAmountOfWorkers;
+	/**
+	 * The executor that holds the workers or <tt>null</tt> if the robots were
+	 * not set yet.
+	 */
+	private volatile ExecutorService mExecutor;
+	/**
+	 * Whether the execution was aborted.
+	 */
+	private volatile boolean mIsAborted;
+	/**
+	 * The robots to manage or <tt>null</tt> if they were not set yet.
+	 */
+	private Robot[] mRobots;
+	/**
+	 * The tracer to record the pulses and waits in or <tt>null</tt> if the
+	 * execution is not traced.
+	 */
+	private final PulseTracer mTracer;
+
+	/**
+	 * Creates a new fixed thread pool robot pulse manager with initially no
+	 * robots. Use {@link #setRobots(Collection)} to set the robots to manage.
+	 * 
+	 * @param amountOfWorkers
+	 *            The amount of worker threads to use, at least <tt>1</tt>. If
+	 *            there are less robots only one worker per robot is used.
+	 * @throws IllegalArgumentException
+	 *             If the amount of workers is not positive
+	 */
+	public FixedThreadPoolRobotPulseManager(final int amountOfWorkers) throws IllegalArgumentException {
+		this(amountOfWorkers, null);
+	}
+
+	/**
+	 * Creates a new fixed thread pool robot pulse manager with initially no
+	 * robots which records its execution in the given tracer. Use
+	 * {@link #setRobots(Collection)} to set the robots to manage.
+	 * 
+	 * @param amountOfWorkers
+	 *            The amount of worker threads to use, at least <tt>1</tt>. If
+	 *            there are less robots only one worker per robot is used.
+	 * @param tracer
+	 *            The tracer to record the pulses of the robots and the waits
+	 *            of the manager in or <tt>null</tt> if the execution should
+	 *            not be traced
+	 * @throws IllegalArgumentException
+	 *             If the amount of workers is not positive
+	 */
+	public FixedThreadPoolRobotPulseManager(final int amountOfWorkers, final PulseTracer tracer)
+			throws IllegalArgumentException {
+		if (amountOfWorkers <= 0) {
+			throw new IllegalArgumentException("The amount of workers must be positive, was: " + amountOfWorkers);
+		}
+		this.mAmountOfWorkers = amountOfWorkers;
+		this.mTracer = tracer;
+		this.mRobots = null;
+		this.mExecutor = null;
+		this.mIsAborted = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#abort()
+	 */
+	@Override
+	public void abort() {
+		this.mIsAborted = true;
+		final ExecutorService executor = this.mExecutor;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#pulse()
+	 */
+	@Override
+	public boolean pulse() {
+		if (this.mIsAborted) {
+			return true;
+		}
+
+		final Robot[] robots = this.mRobots;
+		final int amountOfGroups = Math.min(this.mAmountOfWorkers, robots.length);
+		final CountDownLatch finishedGroups = new CountDownLatch(amountOfGroups);
+		final AtomicBoolean haveAllRobotsStopped = new AtomicBoolean(true);
+
+		// Distribute the robots evenly, the first groups get one robot more
+		// if the robots can not be split equally
+		int groupStart = 0;
+		for (int group = 0; group < amountOfGroups; group++) {
+			final int from = groupStart;
+			final int to = from + robots.length / amountOfGroups + (group < robots.length % amountOfGroups ? 1 : 0);
+			groupStart = to;
+			try {
+				this.mExecutor.execute(() -> {
+					try {
+						if (!pulseRobots(robots, from, to)) {
+							haveAllRobotsStopped.set(false);
+						}
+					} finally {
+						finishedGroups.countDown();
+					}
+				});
+			} catch (final RejectedExecutionException e) {
+				// The execution was aborted concurrently, skip the remaining
+				// robots
+				return true;
+			}
+		}
+
+		// Wait until all groups have finished
+		final long startTime;
+		if (this.mTracer != null) {
+			startTime = this.mTracer.now();
+		} else {
+			startTime = 0L;
+		}
+		boolean haveAllGroupsFinished = false;
+		while (!haveAllGroupsFinished) {
+			// Do not wait for the remaining robots if the execution was aborted
+			if (this.mIsAborted) {
+				return true;
+			}
+			try {
+				haveAllGroupsFinished = finishedGroups.await(ABORT_CHECK_INTERVAL, TimeUnit.MILLISECONDS);
+			} catch (final InterruptedException e) {
+				// Simply ignore the interrupt and continue
+			}
+		}
+		if (this.mTracer != null) {
+			this.mTracer.recordWait(startTime, this.mTracer.now());
+		}
+
+		if (haveAllRobotsStopped.get()) {
+			// The workers are not needed anymore
+			this.mExecutor.shutdown();
+			return true;
+		}
+		return false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#setRobots
+	 * (java.util.Collection)
+	 */
+	@Override
+	public void setRobots(final Collection<Robot> robots) {
+		if (this.mRobots != null) {
+			return;
+		}
+		this.mRobots = robots.toArray(new Robot[robots.size()]);
+		// Daemon workers do not prevent the virtual machine from exiting if an
+		// exploration is never finished
+		this.mExecutor = Executors.newFixedThreadPool(Math.max(1, Math.min(this.mAmountOfWorkers, robots.size())),
+				runnable -> {
+					final Thread worker = new Thread(runnable);
+					worker.setDaemon(true);
+					return worker;
+				});
+		if (this.mIsAborted) {
+			this.mExecutor.shutdownNow();
+		}
+	}
+
+	/**
+	 * Pulses the given range of robots one after another.
+	 * 
+	 * @param robots
+	 *            The robots to pulse
+	 * @param from
+	 *            The index of the first robot to pulse, inclusive
+	 * @param to
+	 *            The index of the last robot to pulse, exclusive
+	 * @return <tt>True</tt> if all robots of the range have stopped or the
+	 *         execution was aborted, <tt>false</tt> otherwise
+	 */
+	private boolean pulseRobots(final Robot[] robots, final int from, final int to) {
+		boolean haveAllRobotsStopped = true;
+		for (int i = from; i < to; i++) {
+			// Skip the remaining robots if the execution was aborted
+			if (this.mIsAborted) {
+				return true;
+			}
+			try {
+				final long startTime;
+				if (this.mTracer != null) {
+					startTime = this.mTracer.now();
+				} else {
+					startTime = 0L;
+				}
+				if (!robots[i].pulse()) {
+					haveAllRobotsStopped = false;
+				}
+				if (this.mTracer != null) {
+					this.mTracer.recordRobotPulse(robots[i].getId(), startTime, this.mTracer.now());
+				}
+			} catch (final Throwable e) {
+				// The robot already reported the exception to its listeners
+				return true;
+			}
+		}
+		return haveAllRobotsStopped;
+	}
+}
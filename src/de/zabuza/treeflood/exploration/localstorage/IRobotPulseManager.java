@@ -10,12 +10,22 @@ import java.util.Collection;
  *
  */
 public interface IRobotPulseManager {
+	/**
+	 * Aborts the execution, for example because a robot encountered an
+	 * exception. Robots that did not start the current pulse yet skip it, a
+	 * running call of {@link #pulse()} returns as soon as possible and all
+	 * threads used by the manager are stopped. The method may be called from
+	 * any thread, the manager must not be used anymore afterwards.
+	 */
+	public void abort();
+
 	/**
 	 * Pulses all robots distributedly. This demands the robots to execute one
 	 * single step.
 	 * 
 	 * @return <tt>True</tt> if all robots have stopped because they finished
-	 *         the algorithm, <tt>false</tt> otherwise
+	 *         the algorithm or the execution was aborted, <tt>false</tt>
+	 *         otherwise
 	 */
 	public boolean pulse();
 
@@ -10,20 +10,27 @@ import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import de.zabuza.treeflood.exploration.localstorage.jfr.KnowledgeConstructionEvent;
 import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
 import de.zabuza.treeflood.tree.ITreeNode;
-import de.zabuza.treeflood.util.NestedMap2;
 
 /**
  * Manages the knowledge of nodes for a given {@link Robot}. It offers method to
  * construct knowledge for a given round out of all information available at the
  * {@link ILocalStorage} of a node. It uses caching to speed up the process when
- * visiting a node again.
+ * visiting a node again. Each construction emits a
+ * {@link KnowledgeConstructionEvent} for the Java Flight Recorder.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class KnowledgeManager {
+	/**
+	 * Round that indicates that no knowledge is cached for a node.
+	 */
+	public static final int NO_ROUND = -1;
+
 	/**
 	 * Determines the action the given robot will perform based on the
 	 * underlying knowledge at the given node.
@@ -142,44 +149,43 @@ public final class KnowledgeManager {
 	 *         robot.
 	 */
 	private static Knowledge constructInitialKnowledge(final int round, final ITreeNode node,
-			final NestedMap2<Integer, Integer, Information> localStorage) {
-		final Map<Integer, Information> initialRoundData;
+			final InformationTable localStorage) {
+		final int initialStep;
 		final int initialRound;
 
 		// Retrieve the initial data to use
-		final Map<Integer, Information> initialRoundDataCandidate = localStorage.get(Integer.valueOf(1));
-		if (initialRoundDataCandidate != null) {
+		if (localStorage.containsStep(1)) {
 			// The node is a starting node for some robots which is handled as
 			// special case
-			initialRoundData = initialRoundDataCandidate;
+			initialStep = 1;
 			initialRound = 1;
 		} else {
 			// Search for the first entries in the storage of the node
 			int startingRound = -1;
-			Map<Integer, Information> startingRoundData = null;
 			for (int pastRound = 1; pastRound <= round; pastRound++) {
 				final int pastStep = 3 * pastRound;
-				startingRoundData = localStorage.get(Integer.valueOf(pastStep));
 				// Found some initial data
-				if (startingRoundData != null) {
+				if (localStorage.containsStep(pastStep)) {
 					startingRound = pastRound;
 					break;
 				}
 			}
 
 			// There must be some entry
-			if (startingRoundData == null || startingRound == -1) {
+			if (startingRound == -1) {
 				throw new AssertionError();
 			}
 
-			initialRoundData = startingRoundData;
+			initialStep = 3 * startingRound;
 			initialRound = startingRound;
 		}
+		final int initialRoundDataStart = localStorage.getFirstIndexOfStep(initialStep);
+		final int initialRoundDataEnd = localStorage.getEndIndexOfStep(initialStep);
 
 		// Build the initial knowledge out of the initial round data
 		// All entries must have the same port, namely the port they used to
 		// discover the node in the first place which is also the parent port
-		final int parentPort = initialRoundData.values().iterator().next().getPort();
+		final int parentPort = localStorage.getPort(initialRoundDataStart);
 		// The algorithm can maintain this set ordered without a sorted set
 		// structure
 		final LinkedHashSet<Integer> unfinishedChildrenPorts = new LinkedHashSet<>();
@@ -201,9 +207,9 @@ public final class KnowledgeManager {
 		final SortedSet<Integer> finishedAndNotInhabitedChildrenPorts = new TreeSet<>();
 		final SortedSet<Integer> robotsAtLocation = new TreeSet<>();
 
-		for (final Integer robotId : initialRoundData.keySet()) {
+		for (int i = initialRoundDataStart; i < initialRoundDataEnd; i++) {
 			// All robots that have written to the node in step 1 are in it
-			robotsAtLocation.add(robotId);
+			robotsAtLocation.add(Integer.valueOf(localStorage.getRobotId(i)));
 		}
 
 		final Knowledge initialKnowledge = new Knowledge(initialRound, node, parentPort, unfinishedChildrenPorts,
@@ -240,13 +246,16 @@ public final class KnowledgeManager {
 	 *            given node
 	 * @return The knowledge of the given node for the given round
 	 */
-	public Knowledge constructKnowledge(final int round, final ITreeNode node,
-			final NestedMap2<Integer, Integer, Information> localStorage) {
+	public Knowledge constructKnowledge(final int round, final ITreeNode node, final InformationTable localStorage) {
+		final KnowledgeConstructionEvent event = new KnowledgeConstructionEvent();
+		event.begin();
+
 		// We build knowledge iteratively beginning from either a cached version
 		// or the round it was first discovered
 		final Knowledge startingKnowledge;
-		if (this.mNodeToKnowledgeCache.containsKey(node)) {
-			startingKnowledge = this.mNodeToKnowledgeCache.get(node);
+		final Knowledge cachedKnowledge = this.mNodeToKnowledgeCache.get(node);
+		if (cachedKnowledge != null) {
+			startingKnowledge = cachedKnowledge;
 		} else {
 			startingKnowledge = constructInitialKnowledge(round, node, localStorage);
 		}
@@ -260,14 +269,11 @@ public final class KnowledgeManager {
 			// knowledge for round 'round'.
 			final int pastStep = 3 * pastRound;
 			final int pastUpdateStep = pastStep + 1;
-			Map<Integer, Information> pastRegularEntries = localStorage.get(Integer.valueOf(pastStep));
-			Map<Integer, Information> pastUpdateEntries = localStorage.get(Integer.valueOf(pastUpdateStep));
-			if (pastRegularEntries == null) {
-				pastRegularEntries = Collections.emptyMap();
-			}
-			if (pastUpdateEntries == null) {
-				pastUpdateEntries = Collections.emptyMap();
-			}
+			// The entries of a step form a contiguous range in the storage
+			final int pastRegularEntriesStart = localStorage.getFirstIndexOfStep(pastStep);
+			final int pastRegularEntriesEnd = localStorage.getEndIndexOfStep(pastStep);
+			final int pastUpdateEntriesStart = localStorage.getFirstIndexOfStep(pastUpdateStep);
+			final int pastUpdateEntriesEnd = localStorage.getEndIndexOfStep(pastUpdateStep);
 
 			// The parent port remains unchanged
 			final int parentPort = pastKnowledge.getParentPort();
@@ -286,8 +292,9 @@ public final class KnowledgeManager {
 			}
 			robotsAtLocation.removeAll(robotsLeft);
 			// Determine which robots entered the node
-			final Set<Integer> robotsEntered = pastRegularEntries.keySet();
-			robotsAtLocation.addAll(robotsEntered);
+			for (int i = pastRegularEntriesStart; i < pastRegularEntriesEnd; i++) {
+				robotsAtLocation.add(Integer.valueOf(localStorage.getRobotId(i)));
+			}
 
 			// All children from where a robot entered in the UPDATE step are
 			// confirmed to have finished.
@@ -302,9 +309,9 @@ public final class KnowledgeManager {
 					.getFinishedAndNotInhabitedChildrenPorts();
 			final Set<Integer> beforeRoundAdvantagedChildrenPortsStart = pastKnowledge
 					.getAfterRoundAdvantagedChildrenPorts();
-			for (final Information info : pastUpdateEntries.values()) {
+			for (int i = pastUpdateEntriesStart; i < pastUpdateEntriesEnd; i++) {
 				// The child of that port is now finished
-				final Integer port = Integer.valueOf(info.getPort());
+				final Integer port = Integer.valueOf(localStorage.getPort(i));
 				unfinishedChildrenPorts.remove(port);
 				beforeRoundAdvantagedChildrenPortsStart.remove(port);
 
@@ -314,13 +321,12 @@ public final class KnowledgeManager {
 			// Check which finished but inhabited children are now not inhabited
 			// anymore
 			// This is the case if a robot entered from that child in this round
-			for (final Integer robotEntered : robotsEntered) {
-				final Information info = pastRegularEntries.get(robotEntered);
-				if (info.wasEnteredFromParent()) {
+			for (int i = pastRegularEntriesStart; i < pastRegularEntriesEnd; i++) {
+				if (localStorage.wasEnteredFromParent(i)) {
 					// The robot did not enter from the child
 					continue;
 				}
-				final Integer portOfChild = Integer.valueOf(info.getPort());
+				final Integer portOfChild = Integer.valueOf(localStorage.getPort(i));
 				if (finishedButInhabitedChildrenPorts.contains(portOfChild)) {
 					// The robot entered from an inhabited child, it is now not
 					// inhabited anymore
@@ -382,9 +388,78 @@ public final class KnowledgeManager {
 		// Put the knowledge into the cache
 		this.mNodeToKnowledgeCache.put(node, currentKnowledge);
 
+		event.end();
+		if (event.shouldCommit()) {
+			event.setNodeId(node.getId());
+			event.setNodeDegree(node.getAmountOfChildren());
+			event.setRound(round);
+			event.setRoundsReplayed(round - startingRound);
+			event.setCached(cachedKnowledge != null);
+			event.commit();
+		}
+
 		return currentKnowledge;
 	}
 
+	/**
+	 * Gets the round of the knowledge cached for the given node. The knowledge
+	 * of later rounds is constructed only out of the entries of the storage of
+	 * the node that were written in this round or later.
+	 * 
+	 * @param node
+	 *            The node in question
+	 * @return The round of the knowledge cached for the given node or
+	 *         {@link #NO_ROUND} if there is none
+	 */
+	public int getCachedRound(final ITreeNode node) {
+		final Knowledge cachedKnowledge = this.mNodeToKnowledgeCache.get(node);
+		if (cachedKnowledge == null) {
+			return NO_ROUND;
+		}
+		return cachedKnowledge.getRound();
+	}
+
+	/**
+	 * Gets an unmodifiable view of the nodes knowledge is cached for.
+	 * 
+	 * @return An unmodifiable view of the nodes knowledge is cached for
+	 */
+	public Set<ITreeNode> getNodesWithCachedKnowledge() {
+		return Collections.unmodifiableSet(this.mNodeToKnowledgeCache.keySet());
+	}
+
+	/**
+	 * Reads the entries of the {@link ILocalStorage} of the given node that are
+	 * needed to construct its knowledge for the given round, see
+	 * {@link #constructKnowledge(int, ITreeNode, InformationTable)}. If
+	 * knowledge of the node is cached only the entries since the round of the
+	 * cached knowledge are read. Else all entries up to the given round are
+	 * read, as the initial knowledge is searched for.
+	 * 
+	 * @param round
+	 *            The round to construct the knowledge for
+	 * @param node
+	 *            The node to construct the knowledge of
+	 * @param localStorage
+	 *            The local storage to read from
+	 * @param target
+	 *            The table whose entries are replaced by the entries read
+	 */
+	public void readEntriesForKnowledge(final int round, final ITreeNode node, final ILocalStorage localStorage,
+			final InformationTable target) {
+		final int cachedRound = getCachedRound(node);
+		if (cachedRound == NO_ROUND) {
+			// The node may have been discovered in the regular step of the
+			// given round
+			localStorage.readSteps(node, 1, 3 * round, target);
+			return;
+		}
+
+		// The knowledge is replayed using the regular and update steps of
+		// the rounds since the cached one
+		localStorage.readSteps(node, 3 * cachedRound, 3 * round - 2, target);
+	}
+
 	/**
 	 * Forgets cached knowledge for the given node, if there is one. This method
 	 * can be used to optimize the space consumption. Note that once the node is
@@ -1,11 +1,20 @@
 package de.zabuza.treeflood.exploration.localstorage;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
+import de.zabuza.treeflood.exploration.localstorage.jfr.PulseEvent;
+import de.zabuza.treeflood.exploration.localstorage.jfr.StepEvent;
+import de.zabuza.treeflood.exploration.localstorage.listener.INodeDiscoveredListener;
 import de.zabuza.treeflood.exploration.localstorage.listener.IRobotEncounteredExceptionListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
 import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.RobotMove;
+import de.zabuza.treeflood.exploration.localstorage.metrics.ExplorationMetrics;
+import de.zabuza.treeflood.exploration.localstorage.statistics.ExplorationStatisticsCollector;
+import de.zabuza.treeflood.exploration.localstorage.statistics.IExplorationStatisticsSink;
 import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
 import de.zabuza.treeflood.exploration.localstorage.storage.NodeStorageManager;
 import de.zabuza.treeflood.tree.ITreeNode;
@@ -19,20 +28,66 @@ import de.zabuza.treeflood.tree.ITreeNode;
  * <br>
  * The algorithm was developed by <tt>Fraigniaud Pierre et al.</tt> in their
  * research <a href="http://dx.doi.org/10.1007/978-3-540-24698-5_18">Collective
- * Tree Exploration</a>.
+ * Tree Exploration</a>.<br>
+ * <br>
+ * Pulses and steps emit events for the Java Flight Recorder, see
+ * {@link PulseEvent} and {@link StepEvent}.<br>
+ * <br>
+ * A round of the algorithm consists of the steps <tt>3r</tt> to
+ * <tt>3r + 2</tt>, where the first round starts with step <tt>1</tt>. After
+ * each round statistics of the exploration are sent to the given
+ * {@link IExplorationStatisticsSink}s.<br>
+ * <br>
+ * Optionally the local storage is pruned after every few rounds, see
+ * {@link ExplorationOptions#setPruningInterval(int)}. The entries of a node
+ * are then discarded once every active robot has cached knowledge of the node
+ * for a later round, which keeps the storage proportional to the rounds still
+ * being replayed.<br>
+ * <br>
+ * Robots write {@link PackedInformation} to the local storage. Thus at most
+ * <tt>{@link PackedInformation#MAX_ROBOT_ID} + 1</tt> robots can explore a
+ * tree for at most {@link PackedInformation#MAX_STEP} steps. The amount of
+ * children of the nodes is checked lazily, a robot that enters a child through
+ * a port greater than {@link PackedInformation#MAX_PORT} fails the
+ * exploration with a {@link RobotFailedException}.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class LocalStorageExploration implements IRobotEncounteredExceptionListener {
+	/**
+	 * The stages the pulses of one step execute, in order.
+	 */
+	private static final EStage[] STAGES_OF_STEP = { EStage.MOVE, EStage.WRITE, EStage.READ };
+
+	/**
+	 * Bit set that contains the ids of all nodes that were discovered by a
+	 * robot so far.
+	 */
+	private final BitSet mDiscoveredNodes;
 	/**
 	 * If not <tt>null</tt> it stores the exception a robot encountered.
 	 */
-	private Throwable mExceptionEncounteredByRobot;
+	private volatile Throwable mExceptionEncounteredByRobot;
 	/**
 	 * The object that provides the local storage for nodes.
 	 */
 	private final ILocalStorage mLocalStorage;
+	/**
+	 * The metrics to record the latencies in or <tt>null</tt> if the
+	 * exploration is not instrumented.
+	 */
+	private final ExplorationMetrics mMetrics;
+	/**
+	 * A list of objects that want to receive events each time a node is
+	 * discovered.
+	 */
+	private final List<INodeDiscoveredListener> mNodeDiscoveredListeners;
+	/**
+	 * The amount of rounds after which the local storage is pruned or
+	 * <tt>0</tt> if it is never pruned.
+	 */
+	private final int mPruningInterval;
 	/**
 	 * The object used to manage pulses for robots.
 	 */
@@ -40,11 +95,25 @@ public final class LocalStorageExploration implements IRobotEncounteredException
 	/**
 	 * If not <tt>null</tt> it stores the robot that encountered an exception.
 	 */
-	private Robot mRobotIdThatEncounteredException;
+	private volatile Robot mRobotIdThatEncounteredException;
+	/**
+	 * A list of objects that want to receive the moves of all robots once per
+	 * pulse.
+	 */
+	private final List<IRobotMovedBatchListener> mRobotMovedBatchListeners;
 	/**
 	 * The list of robots.
 	 */
 	private final ArrayList<Robot> mRobots;
+	/**
+	 * The collector of the statistics that are sent to the sinks after each
+	 * round or <tt>null</tt> if there are no sinks.
+	 */
+	private final ExplorationStatisticsCollector mStatisticsCollector;
+	/**
+	 * The amount of steps executed so far.
+	 */
+	private int mStepCounter;
 
 	/**
 	 * Creates a new instance of a local storage exploration algorithm ready to
@@ -97,15 +166,64 @@ public final class LocalStorageExploration implements IRobotEncounteredException
 	 */
 	public LocalStorageExploration(final ITreeNode root, final int amountOfRobots, final ILocalStorage localStorage,
 			final IRobotPulseManager pulseManager, final List<IRobotMovedListener> robotMovedListeners) {
+		this(root, amountOfRobots, localStorage, pulseManager,
+				new ExplorationOptions().setRobotMovedListeners(robotMovedListeners));
+	}
+
+	/**
+	 * Creates a new instance of a local storage exploration algorithm ready to
+	 * explore the tree starting at the given root.
+	 * 
+	 * @param root
+	 *            The root of the tree to explore
+	 * @param amountOfRobots
+	 *            The amount of robots to use for the distributed exploration
+	 * @param localStorage
+	 *            Object that provides a local storage for nodes
+	 * @param pulseManager
+	 *            The object used to manage the pulses for robots
+	 * @param options
+	 *            The optional settings of the exploration, like its listeners,
+	 *            statistics sinks, metrics and the pruning interval
+	 * @throws IllegalArgumentException
+	 *             If the amount of robots is negative or greater than
+	 *             <tt>{@link PackedInformation#MAX_ROBOT_ID} + 1</tt>
+	 */
+	public LocalStorageExploration(final ITreeNode root, final int amountOfRobots, final ILocalStorage localStorage,
+			final IRobotPulseManager pulseManager, final ExplorationOptions options) throws IllegalArgumentException {
+		// The ids of the robots are packed into the information written to the
+		// local storage
+		if (amountOfRobots < 0 || amountOfRobots > PackedInformation.MAX_ROBOT_ID + 1) {
+			throw new IllegalArgumentException("The amount of robots must be between 0 and "
+					+ (PackedInformation.MAX_ROBOT_ID + 1) + ", was: " + amountOfRobots);
+		}
+
 		this.mExceptionEncounteredByRobot = null;
 		this.mRobotIdThatEncounteredException = null;
 		this.mLocalStorage = localStorage;
+		this.mRobotMovedBatchListeners = options.getRobotMovedBatchListeners();
+		this.mNodeDiscoveredListeners = options.getNodeDiscoveredListeners();
+		this.mDiscoveredNodes = new BitSet();
+		this.mDiscoveredNodes.set(root.getId());
 		this.mRobots = new ArrayList<>(amountOfRobots);
+		this.mMetrics = options.getMetrics();
+		this.mStepCounter = 0;
+		this.mPruningInterval = options.getPruningInterval();
+		final List<IExplorationStatisticsSink> statisticsSinks = options.getStatisticsSinks();
+		if (statisticsSinks.isEmpty()) {
+			this.mStatisticsCollector = null;
+		} else {
+			this.mStatisticsCollector = new ExplorationStatisticsCollector(root, amountOfRobots, statisticsSinks);
+		}
+		if (this.mMetrics != null) {
+			this.mMetrics.setLocalStorage(this.mLocalStorage);
+		}
 
 		// Create robots
+		final List<IRobotMovedListener> robotMovedListeners = options.getRobotMovedListeners();
 		for (int i = 0; i < amountOfRobots; i++) {
-			this.mRobots
-					.add(new Robot(i, root, this.mLocalStorage, robotMovedListeners, Collections.singletonList(this)));
+			this.mRobots.add(new Robot(i, root, this.mLocalStorage, robotMovedListeners,
+					Collections.singletonList(this), this.mMetrics));
 		}
 		this.mPulseManager = pulseManager;
 		this.mPulseManager.setRobots(this.mRobots);
@@ -122,8 +240,12 @@ public final class LocalStorageExploration implements IRobotEncounteredException
 	public synchronized void encounteredException(final Robot robot, final Throwable e) {
 		// Only set it once
 		if (this.mExceptionEncounteredByRobot == null) {
-			this.mExceptionEncounteredByRobot = e;
+			// Set the robot first since the exception signals the failure
 			this.mRobotIdThatEncounteredException = robot;
+			this.mExceptionEncounteredByRobot = e;
+
+			// Fail fast, do not wait for the other robots to finish the pulse
+			this.mPulseManager.abort();
 		}
 	}
 
@@ -142,17 +264,56 @@ public final class LocalStorageExploration implements IRobotEncounteredException
 	 * 
 	 * @return <tt>True</tt> if the algorithm is finished and should not be
 	 *         continued anymore, <tt>false</tt> otherwise
+	 * @throws IllegalStateException
+	 *             If the algorithm already executed
+	 *             {@link PackedInformation#MAX_STEP} steps, as the steps of
+	 *             further information can not be packed
 	 */
-	public boolean exploreOneStep() {
+	public boolean exploreOneStep() throws IllegalStateException {
+		if (this.mStepCounter >= PackedInformation.MAX_STEP) {
+			throw new IllegalStateException(
+					"The exploration exceeds the maximal amount of steps of " + PackedInformation.MAX_STEP);
+		}
+		this.mStepCounter++;
+		final StepEvent event = new StepEvent();
+		event.begin();
+		final boolean isMeasuring = this.mMetrics != null && this.mMetrics.isEnabled();
+		final long startTime;
+		if (isMeasuring) {
+			startTime = System.nanoTime();
+		} else {
+			startTime = 0L;
+		}
+
 		// One step always consists of three pulses that execute the tree stages
 		// MOVE, WRITE, READ
-		for (int i = 0; i < 3; i++) {
+		boolean finished = false;
+		for (int i = 0; i < STAGES_OF_STEP.length && !finished; i++) {
 			// Stop if all robots have finished after a pulse
-			if (pulse()) {
-				return true;
-			}
+			finished = pulse(STAGES_OF_STEP[i], isMeasuring);
+		}
+
+		if (isMeasuring) {
+			this.mMetrics.recordStep(System.nanoTime() - startTime);
+		}
+
+		// The first round only consists of the steps 1 and 2
+		final boolean isRoundFinished = this.mStepCounter % 3 == 2;
+		if (this.mStatisticsCollector != null && (isRoundFinished || finished)) {
+			this.mStatisticsCollector.roundFinished(this.mStepCounter / 3, this.mStepCounter, this.mRobots);
+		}
+		if (this.mPruningInterval > 0 && isRoundFinished && !finished
+				&& (this.mStepCounter / 3) % this.mPruningInterval == 0) {
+			pruneStorage();
 		}
-		return false;
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStep(this.mStepCounter);
+			event.setFinished(finished);
+			event.commit();
+		}
+		return finished;
 	}
 
 	/**
@@ -164,21 +325,172 @@ public final class LocalStorageExploration implements IRobotEncounteredException
 		return Collections.unmodifiableList(this.mRobots);
 	}
 
+	/**
+	 * Detects the nodes robots entered for the first time in the last pulse,
+	 * notifies the node discovered listeners and registers them at the
+	 * statistics collector. Robots are processed in the order of their ids.
+	 */
+	private void notifyNodeDiscoveredListeners() {
+		for (final Robot robot : this.mRobots) {
+			final ITreeNode destination = robot.getLastMoveDestination();
+			if (destination == null) {
+				continue;
+			}
+			final int id = destination.getId();
+			if (this.mDiscoveredNodes.get(id)) {
+				continue;
+			}
+
+			this.mDiscoveredNodes.set(id);
+			if (this.mStatisticsCollector != null) {
+				this.mStatisticsCollector.nodeDiscovered(robot.getLastMoveSource(), destination);
+			}
+			for (final INodeDiscoveredListener listener : this.mNodeDiscoveredListeners) {
+				listener.discoveredNode(robot, robot.getLastMoveSource(), destination);
+			}
+		}
+	}
+
+	/**
+	 * Collects the moves of all robots in the last pulse and sends them to the
+	 * batch listeners. Listeners are not notified if no robot moved.
+	 */
+	private void notifyRobotMovedBatchListeners() {
+		int amountOfMoves = 0;
+		for (final Robot robot : this.mRobots) {
+			if (robot.hasMovedLastPulse()) {
+				amountOfMoves++;
+			}
+		}
+		if (amountOfMoves == 0) {
+			return;
+		}
+
+		final RobotMove[] moves = new RobotMove[amountOfMoves];
+		int i = 0;
+		for (final Robot robot : this.mRobots) {
+			if (robot.hasMovedLastPulse()) {
+				moves[i] = robot.getLastMove();
+				i++;
+			}
+		}
+		for (final IRobotMovedBatchListener listener : this.mRobotMovedBatchListeners) {
+			listener.movedBatch(moves);
+		}
+	}
+
+	/**
+	 * Gets the amount of robots that have not stopped yet.
+	 * 
+	 * @return The amount of robots that have not stopped yet
+	 */
+	private int getAmountOfActiveRobots() {
+		int amountOfActiveRobots = 0;
+		for (final Robot robot : this.mRobots) {
+			if (!robot.hasStopped()) {
+				amountOfActiveRobots++;
+			}
+		}
+		return amountOfActiveRobots;
+	}
+
+	/**
+	 * Prunes the local storage of all nodes that every active robot has cached
+	 * knowledge for. The entries of such a node are discarded up to the
+	 * earliest round a robot has cached, the robots replay the knowledge of
+	 * later rounds only out of entries of that round and later. Stopped robots
+	 * do not read anymore and are thus ignored. Must only be called between
+	 * steps.
+	 */
+	private void pruneStorage() {
+		// Only nodes cached by every active robot can be pruned, thus it
+		// suffices to iterate the nodes cached by the robot with the fewest
+		Robot candidateRobot = null;
+		for (final Robot robot : this.mRobots) {
+			if (robot.hasStopped()) {
+				continue;
+			}
+			if (candidateRobot == null || robot.getNodesWithCachedKnowledge().size() < candidateRobot
+					.getNodesWithCachedKnowledge().size()) {
+				candidateRobot = robot;
+			}
+		}
+		if (candidateRobot == null) {
+			return;
+		}
+
+		for (final ITreeNode node : candidateRobot.getNodesWithCachedKnowledge()) {
+			int floorRound = Integer.MAX_VALUE;
+			for (final Robot robot : this.mRobots) {
+				if (robot.hasStopped()) {
+					continue;
+				}
+				final int cachedRound = robot.getCachedKnowledgeRound(node);
+				if (cachedRound == KnowledgeManager.NO_ROUND) {
+					floorRound = KnowledgeManager.NO_ROUND;
+					break;
+				}
+				floorRound = Math.min(floorRound, cachedRound);
+			}
+
+			// The knowledge of a round is built upon the entries of its first
+			// step and later ones
+			if (floorRound != KnowledgeManager.NO_ROUND) {
+				this.mLocalStorage.prune(node, 3 * floorRound);
+			}
+		}
+	}
+
 	/**
 	 * Pulses all robots distributedly with groups of {@link Thread}s. This
 	 * demands the robots to execute one single step.
 	 * 
+	 * @param stage
+	 *            The stage the robots execute in this pulse
+	 * @param isMeasuring
+	 *            Whether the latency of the pulse is to be recorded in the
+	 *            metrics
 	 * @return <tt>True</tt> if all robots have stopped because they finished
 	 *         the algorithm, <tt>false<tt> otherwise
 	 */
-	private boolean pulse() {
-		final boolean finished = this.mPulseManager.pulse();
+	private boolean pulse(final EStage stage, final boolean isMeasuring) {
+		final PulseEvent event = new PulseEvent();
+		if (event.isEnabled()) {
+			event.setRobots(getAmountOfActiveRobots());
+		}
+		event.begin();
+
+		final boolean finished;
+		if (isMeasuring) {
+			this.mMetrics.startPulse();
+			final long startTime = System.nanoTime();
+			finished = this.mPulseManager.pulse();
+			this.mMetrics.recordPulse(stage, System.nanoTime() - startTime, getAmountOfActiveRobots());
+		} else {
+			finished = this.mPulseManager.pulse();
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.setStage(stage.name());
+			event.commit();
+		}
 
 		// Fail if a robot encounters an exception
 		if (this.mExceptionEncounteredByRobot != null) {
 			throw new RobotFailedException(this.mRobotIdThatEncounteredException, this.mExceptionEncounteredByRobot);
 		}
 
+		if (!this.mRobotMovedBatchListeners.isEmpty()) {
+			notifyRobotMovedBatchListeners();
+		}
+		if (!this.mNodeDiscoveredListeners.isEmpty() || this.mStatisticsCollector != null) {
+			notifyNodeDiscoveredListeners();
+		}
+		if (this.mStatisticsCollector != null) {
+			this.mStatisticsCollector.pulseFinished(this.mRobots);
+		}
+
 		return finished;
 	}
 }
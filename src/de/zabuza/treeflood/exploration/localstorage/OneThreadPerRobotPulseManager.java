@@ -4,6 +4,8 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.List;
 
+import de.zabuza.treeflood.exploration.localstorage.timeline.PulseTracer;
+
 /**
  * Implementation of a robot pulse manager that uses one thread for each robot.
  * 
@@ -17,6 +19,10 @@ public final class OneThreadPerRobotPulseManager implements IRobotPulseManager {
 	 * milliseconds.
 	 */
 	private static final long WAIT_TIME = 0L;
+	/**
+	 * Whether the execution was aborted.
+	 */
+	private volatile boolean mIsAborted;
 	/**
 	 * The list of robot pulse signal forwarders used by the manager.
 	 */
@@ -26,6 +32,54 @@ public final class OneThreadPerRobotPulseManager implements IRobotPulseManager {
 	 * The robots to manage.
 	 */
 	private Collection<Robot> mRobots;
+	/**
+	 * The tracer to record the pulses and waits in or <tt>null</tt> if the
+	 * execution is not traced.
+	 */
+	private final PulseTracer mTracer;
+
+	/**
+	 * Creates a new one thread per robot pulse manager with initially no
+	 * robots. Use {@link #setRobots(Collection)} to set the robots to manage.
+	 */
+	public OneThreadPerRobotPulseManager() {
+		this(null);
+	}
+
+	/**
+	 * Creates a new one thread per robot pulse manager with initially no
+	 * robots which records its execution in the given tracer. Use
+	 * {@link #setRobots(Collection)} to set the robots to manage.
+	 * 
+	 * @param tracer
+	 *            The tracer to record the pulses of the robots and the waits
+	 *            of the manager in or <tt>null</tt> if the execution should
+	 *            not be traced
+	 */
+	public OneThreadPerRobotPulseManager(final PulseTracer tracer) {
+		this.mTracer = tracer;
+		this.mRobots = null;
+		this.mPulseForwarders = null;
+		this.mIsAborted = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#abort()
+	 */
+	@Override
+	public void abort() {
+		this.mIsAborted = true;
+		final List<RobotPulseSignalForwarder> forwarders = this.mPulseForwarders;
+		if (forwarders == null) {
+			return;
+		}
+		for (final RobotPulseSignalForwarder forwarder : forwarders) {
+			forwarder.terminate();
+		}
+	}
 
 	/**
 	 * Initializes the list of pulse forwarder.
@@ -33,7 +87,7 @@ public final class OneThreadPerRobotPulseManager implements IRobotPulseManager {
 	public void initializePulseForwarders() {
 		this.mPulseForwarders = new LinkedList<>();
 		for (final Robot robot : this.mRobots) {
-			final RobotPulseSignalForwarder forwarder = new RobotPulseSignalForwarder(robot);
+			final RobotPulseSignalForwarder forwarder = new RobotPulseSignalForwarder(robot, this.mTracer);
 			this.mPulseForwarders.add(forwarder);
 			forwarder.start();
 		}
@@ -47,12 +101,22 @@ public final class OneThreadPerRobotPulseManager implements IRobotPulseManager {
 	 */
 	@Override
 	public boolean pulse() {
+		if (this.mIsAborted) {
+			return true;
+		}
+
 		// Command a pulse to all forwarders
 		for (final RobotPulseSignalForwarder forwarder : this.mPulseForwarders) {
 			forwarder.pulse();
 		}
 
 		// Wait until all pulses have been executed
+		final long startTime;
+		if (this.mTracer != null) {
+			startTime = this.mTracer.now();
+		} else {
+			startTime = 0L;
+		}
 		while (true) {
 			boolean haveAllPulsesBeenExecuted = true;
 			boolean haveAllRobotsTerminated = true;
@@ -76,8 +140,15 @@ public final class OneThreadPerRobotPulseManager implements IRobotPulseManager {
 
 			// All pulses have been executed
 			if (haveAllPulsesBeenExecuted) {
+				if (this.mTracer != null) {
+					this.mTracer.recordWait(startTime, this.mTracer.now());
+				}
 				return haveAllRobotsTerminated;
 			}
+			// Do not wait for the remaining robots if the execution was aborted
+			if (this.mIsAborted) {
+				return true;
+			}
 
 			try {
 				Thread.sleep(WAIT_TIME);
@@ -0,0 +1,302 @@
+package de.zabuza.treeflood.exploration.localstorage;
+
+/**
+ * Packed representation of an {@link Information} in a single long. Storages
+ * hold packed information in primitive arrays, thus writing an information
+ * neither allocates an object nor needs a reference to one.<br>
+ * <br>
+ * The bits of a packed information are, from the most to the least
+ * significant, an unused sign bit, the step, the robot id, the port and
+ * whether the robot entered from the parent. The step uses 30 bits, the robot
+ * id and the port 16 bits each. The port is stored with the offset
+ * {@link #MIN_PORT}, the smallest special port, such that all of its values
+ * are non-negative. Thus packed information are
+ * ordered by their step, then by their robot id, like their keys given by
+ * {@link #getKey(int, int)}.<br>
+ * <br>
+ * The static methods pack and unpack information, instances of this class are
+ * reusable flyweight views on a packed information for code that needs the
+ * object API, see {@link #wrap(long)}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PackedInformation {
+	/**
+	 * The maximal port that can be packed.
+	 */
+	public static final int MAX_PORT = (1 << 16) - 1 + Information.STAY_PORT;
+	/**
+	 * The maximal robot id that can be packed.
+	 */
+	public static final int MAX_ROBOT_ID = (1 << 16) - 1;
+	/**
+	 * The maximal step that can be packed.
+	 */
+	public static final int MAX_STEP = (1 << 30) - 1;
+	/**
+	 * The minimal port that can be packed, the smallest special port.
+	 */
+	public static final int MIN_PORT = Information.STAY_PORT;
+	/**
+	 * Value that indicates that there is no information. It is negative, thus
+	 * it differs from all packed information.
+	 */
+	public static final long NO_INFORMATION = -1L;
+	/**
+	 * Mask of the bit that is set if the robot entered from the parent.
+	 */
+	private static final long FROM_PARENT_MASK = 1L;
+	/**
+	 * Mask of the bits that do not belong to the key, i.e. the 16 bits of the
+	 * port and the bit of the direction.
+	 */
+	private static final long PAYLOAD_MASK = (1L << 17) - 1;
+	/**
+	 * The position of the least significant bit of the port.
+	 */
+	private static final int PORT_SHIFT = 1;
+	/**
+	 * The position of the least significant bit of the robot id, it uses 16
+	 * bits.
+	 */
+	private static final int ROBOT_ID_SHIFT = 17;
+	/**
+	 * The position of the least significant bit of the step, it uses 30 bits.
+	 */
+	private static final int STEP_SHIFT = 33;
+
+	/**
+	 * Gets the key of the given packed information, i.e. the packed
+	 * information with the same step and robot id which has the smallest
+	 * value.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return The key of the packed information
+	 */
+	public static long getKey(final long information) {
+		return information & ~PAYLOAD_MASK;
+	}
+
+	/**
+	 * Gets the key of packed information with the given step and robot id.
+	 * All packed information with this step and robot id are at least as
+	 * large as the key and smaller than the key of the next robot id.
+	 * 
+	 * @param step
+	 *            The step of the information
+	 * @param robotId
+	 *            The id of the robot of the information
+	 * @return The key of the information
+	 * @throws IllegalArgumentException
+	 *             If the step or the robot id can not be packed
+	 */
+	public static long getKey(final int step, final int robotId) throws IllegalArgumentException {
+		if (step < 0 || step > MAX_STEP) {
+			throw new IllegalArgumentException("The step can not be packed, was: " + step);
+		}
+		if (robotId < 0 || robotId > MAX_ROBOT_ID) {
+			throw new IllegalArgumentException("The robot id can not be packed, was: " + robotId);
+		}
+		return ((long) step << STEP_SHIFT) | ((long) robotId << ROBOT_ID_SHIFT);
+	}
+
+	/**
+	 * Gets the port of the given packed information.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return The number of the port the robot entered the node
+	 */
+	public static int getPort(final long information) {
+		return (int) ((information & PAYLOAD_MASK) >>> PORT_SHIFT) + MIN_PORT;
+	}
+
+	/**
+	 * Gets the robot id of the given packed information.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return The unique id of the robot the information is of
+	 */
+	public static int getRobotId(final long information) {
+		return (int) (information >>> ROBOT_ID_SHIFT) & MAX_ROBOT_ID;
+	}
+
+	/**
+	 * Gets the step of the given packed information.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return The number of the step the information is of
+	 */
+	public static int getStep(final long information) {
+		return (int) (information >>> STEP_SHIFT);
+	}
+
+	/**
+	 * Packs the given information.
+	 * 
+	 * @param information
+	 *            The information to pack
+	 * @return The packed information
+	 * @throws IllegalArgumentException
+	 *             If a value of the information can not be packed
+	 */
+	public static long pack(final Information information) throws IllegalArgumentException {
+		return pack(information.getStep(), information.getRobotId(), information.getPort(),
+				information.wasEnteredFromParent());
+	}
+
+	/**
+	 * Packs the information of a robot that entered a node with the given port
+	 * in the given step.
+	 * 
+	 * @param step
+	 *            The number of the step the information is of, between
+	 *            <tt>0</tt> and {@link #MAX_STEP}
+	 * @param robotId
+	 *            The unique id of the robot the information is of, between
+	 *            <tt>0</tt> and {@link #MAX_ROBOT_ID}
+	 * @param port
+	 *            The number of the port the robot entered the node in the
+	 *            given step, between {@link #MIN_PORT} and {@link #MAX_PORT}
+	 * @param fromParent
+	 *            <tt>True</tt> if the robot entered the node through its
+	 *            parent, <tt>false</tt> if he entered from a child
+	 * @return The packed information
+	 * @throws IllegalArgumentException
+	 *             If a value can not be packed
+	 */
+	public static long pack(final int step, final int robotId, final int port, final boolean fromParent)
+			throws IllegalArgumentException {
+		if (port < MIN_PORT || port > MAX_PORT) {
+			throw new IllegalArgumentException("The port can not be packed, was: " + port);
+		}
+		long information = getKey(step, robotId) | ((long) (port - MIN_PORT) << PORT_SHIFT);
+		if (fromParent) {
+			information |= FROM_PARENT_MASK;
+		}
+		return information;
+	}
+
+	/**
+	 * Unpacks the given packed information into a new information object.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return The unpacked information
+	 */
+	public static Information toInformation(final long information) {
+		return new Information(getStep(information), getRobotId(information), getPort(information),
+				wasEnteredFromParent(information));
+	}
+
+	/**
+	 * Whether the robot of the given packed information entered the node
+	 * through its parent.
+	 * 
+	 * @param information
+	 *            The packed information
+	 * @return <tt>True</tt> if the robot entered the node through its parent,
+	 *         <tt>false</tt> if he entered from a child
+	 */
+	public static boolean wasEnteredFromParent(final long information) {
+		return (information & FROM_PARENT_MASK) != 0;
+	}
+
+	/**
+	 * The packed information the view currently shows.
+	 */
+	private long mInformation;
+
+	/**
+	 * Creates a new flyweight view that shows the packed information of a
+	 * robot with id <tt>0</tt> that was placed at a node in step <tt>0</tt>.
+	 * Use {@link #wrap(long)} to show other information.
+	 */
+	public PackedInformation() {
+		this.mInformation = pack(0, 0, Information.STAR_PORT, true);
+	}
+
+	/**
+	 * Gets the packed information the view currently shows.
+	 * 
+	 * @return The packed information
+	 */
+	public long getPacked() {
+		return this.mInformation;
+	}
+
+	/**
+	 * Gets the number of the port the robot entered the node.
+	 * 
+	 * @return The number of the port the robot entered the node
+	 */
+	public int getPort() {
+		return getPort(this.mInformation);
+	}
+
+	/**
+	 * Gets the unique id of the robot the information is of.
+	 * 
+	 * @return The unique id of the robot the information is of
+	 */
+	public int getRobotId() {
+		return getRobotId(this.mInformation);
+	}
+
+	/**
+	 * Gets the number of the step the information is of.
+	 * 
+	 * @return The number of the step the information is of
+	 */
+	public int getStep() {
+		return getStep(this.mInformation);
+	}
+
+	/**
+	 * Unpacks the information the view currently shows into a new information
+	 * object.
+	 * 
+	 * @return The unpacked information
+	 */
+	public Information toInformation() {
+		return toInformation(this.mInformation);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "PackedInformation [step=" + getStep() + ", robotId=" + getRobotId() + ", port=" + getPort()
+				+ ", fromParent=" + wasEnteredFromParent() + "]";
+	}
+
+	/**
+	 * Whether the robot entered the node through its parent.
+	 * 
+	 * @return <tt>True</tt> if the robot entered the node through its parent,
+	 *         <tt>false</tt> if he entered from a child
+	 */
+	public boolean wasEnteredFromParent() {
+		return wasEnteredFromParent(this.mInformation);
+	}
+
+	/**
+	 * Lets the view show the given packed information. The view is reused, no
+	 * object is allocated.
+	 * 
+	 * @param information
+	 *            The packed information to show
+	 * @return This view
+	 */
+	public PackedInformation wrap(final long information) {
+		this.mInformation = information;
+		return this;
+	}
+}
@@ -1,12 +1,15 @@
 package de.zabuza.treeflood.exploration.localstorage;
 
 import java.util.List;
+import java.util.Set;
 
 import de.zabuza.treeflood.exploration.localstorage.listener.IRobotEncounteredExceptionListener;
 import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.RobotMove;
+import de.zabuza.treeflood.exploration.localstorage.metrics.ExplorationMetrics;
 import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
 import de.zabuza.treeflood.tree.ITreeNode;
-import de.zabuza.treeflood.util.NestedMap2;
 
 /**
  * A robot that can explores a tree. All calls to the robot should be done via
@@ -47,15 +50,45 @@ public final class Robot implements Comparable<Robot> {
 	 * The manager used for constructing knowledge of nodes.
 	 */
 	private final KnowledgeManager mKnowledgeManager;
+	/**
+	 * The node the robot moved to in the last pulse or <tt>null</tt> if it did
+	 * not move in the last pulse.
+	 */
+	private ITreeNode mLastMoveDestination;
+	/**
+	 * The port the robot used in the last pulse, only valid if it moved.
+	 */
+	private int mLastMovePort;
+	/**
+	 * The node the robot moved from in the last pulse, only valid if it moved.
+	 */
+	private ITreeNode mLastMoveSource;
+	/**
+	 * The step in which the robot moved in the last pulse, only valid if it
+	 * moved.
+	 */
+	private int mLastMoveStep;
 	/**
 	 * The object that provides the local storage of nodes.
 	 */
 	private final ILocalStorage mLocalStorage;
 	/**
-	 * The local storage data of the node currently located at retrieved in the
-	 * last READ stage.
+	 * The entries of the local storage of the node currently located at that
+	 * were retrieved in the last READ stage for constructing knowledge. The
+	 * table is reused for all reads.
 	 */
-	private NestedMap2<Integer, Integer, Information> mLocalStorageData;
+	private final InformationTable mLocalStorageData;
+	/**
+	 * The packed information the robot wrote in the last UPDATE step to the
+	 * node currently located at, retrieved in the last READ stage, or
+	 * {@link PackedInformation#NO_INFORMATION} if there is none.
+	 */
+	private long mLastUpdateInformation;
+	/**
+	 * The metrics to record the latency of pulses in or <tt>null</tt> if the
+	 * robot is not instrumented.
+	 */
+	private final ExplorationMetrics mMetrics;
 	/**
 	 * Whether the movement in the last move stage was done from parent to a
 	 * child or from child to its parent.
@@ -98,13 +131,44 @@ public final class Robot implements Comparable<Robot> {
 	public Robot(final int id, final ITreeNode startingNode, final ILocalStorage localStorage,
 			final List<IRobotMovedListener> robotMovedListeners,
 			final List<IRobotEncounteredExceptionListener> exceptionListeners) {
+		this(id, startingNode, localStorage, robotMovedListeners, exceptionListeners, null);
+	}
+
+	/**
+	 * Creates a new robot with a unique id starting at the given node.
+	 * 
+	 * @param id
+	 *            The unique id of the robot
+	 * @param startingNode
+	 *            The node the robot starts in
+	 * @param localStorage
+	 *            The object that provides the local storage of nodes
+	 * @param robotMovedListeners
+	 *            A list of objects that want to receive events each time this
+	 *            robot moves to another node
+	 * @param exceptionListeners
+	 *            A list of objects that want to receive events each time the
+	 *            robot encounters an uncatched exception in {@link #pulse()}.
+	 * @param metrics
+	 *            The metrics to record the latency of pulses in or
+	 *            <tt>null</tt> if the robot should not be instrumented
+	 */
+	public Robot(final int id, final ITreeNode startingNode, final ILocalStorage localStorage,
+			final List<IRobotMovedListener> robotMovedListeners,
+			final List<IRobotEncounteredExceptionListener> exceptionListeners, final ExplorationMetrics metrics) {
 		this.mId = id;
 		this.mCurrentNode = startingNode;
 		this.mLocalStorage = localStorage;
 		this.mRobotMovedListeners = robotMovedListeners;
 		this.mExceptionListeners = exceptionListeners;
-		this.mLocalStorageData = null;
+		this.mLocalStorageData = new InformationTable();
+		this.mLastUpdateInformation = PackedInformation.NO_INFORMATION;
 		this.mKnowledgeManager = new KnowledgeManager();
+		this.mMetrics = metrics;
+		this.mLastMoveDestination = null;
+		this.mLastMoveSource = null;
+		this.mLastMovePort = Information.STAY_PORT;
+		this.mLastMoveStep = 0;
 
 		this.mCurrentStep = EStep.INITIAL;
 		this.mCurrentStage = EStage.MOVE;
@@ -123,6 +187,20 @@ public final class Robot implements Comparable<Robot> {
 		return Integer.compare(this.mId, other.getId());
 	}
 
+	/**
+	 * Gets the round of the knowledge the robot has cached for the given node.
+	 * The robot only needs entries of the storage of the node that were
+	 * written in this round or later, unless it has no knowledge cached.
+	 * 
+	 * @param node
+	 *            The node in question
+	 * @return The round of the knowledge cached for the given node or
+	 *         {@link KnowledgeManager#NO_ROUND} if there is none
+	 */
+	public int getCachedKnowledgeRound(final ITreeNode node) {
+		return this.mKnowledgeManager.getCachedRound(node);
+	}
+
 	/**
 	 * Gets the unique id of this robot.
 	 * 
@@ -141,6 +219,68 @@ public final class Robot implements Comparable<Robot> {
 		return this.mCurrentNode;
 	}
 
+	/**
+	 * Gets the move the robot did in the last pulse. The move is created on
+	 * each call, robots only remember its values such that moving does not
+	 * allocate. Use {@link #hasMovedLastPulse()},
+	 * {@link #getLastMoveSource()} and {@link #getLastMoveDestination()} if
+	 * the object is not needed.
+	 * 
+	 * @return The move the robot did in the last pulse or <tt>null</tt> if it
+	 *         did not move in the last pulse
+	 */
+	public RobotMove getLastMove() {
+		if (this.mLastMoveDestination == null) {
+			return null;
+		}
+		return new RobotMove(this.mLastMoveStep, this, this.mLastMoveSource, this.mLastMovePort,
+				this.mLastMoveDestination);
+	}
+
+	/**
+	 * Gets the node the robot moved to in the last pulse.
+	 * 
+	 * @return The node the robot moved to in the last pulse or <tt>null</tt>
+	 *         if it did not move in the last pulse
+	 */
+	public ITreeNode getLastMoveDestination() {
+		return this.mLastMoveDestination;
+	}
+
+	/**
+	 * Gets the node the robot moved from in the last pulse.
+	 * 
+	 * @return The node the robot moved from in the last pulse or
+	 *         <tt>null</tt> if it did not move in the last pulse
+	 */
+	public ITreeNode getLastMoveSource() {
+		if (this.mLastMoveDestination == null) {
+			return null;
+		}
+		return this.mLastMoveSource;
+	}
+
+	/**
+	 * Gets an unmodifiable view of the nodes the robot has cached knowledge
+	 * for.
+	 * 
+	 * @return An unmodifiable view of the nodes the robot has cached knowledge
+	 *         for
+	 */
+	public Set<ITreeNode> getNodesWithCachedKnowledge() {
+		return this.mKnowledgeManager.getNodesWithCachedKnowledge();
+	}
+
+	/**
+	 * Whether the robot moved to another node in the last pulse.
+	 * 
+	 * @return <tt>True</tt> if the robot moved in the last pulse,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean hasMovedLastPulse() {
+		return this.mLastMoveDestination != null;
+	}
+
 	/**
 	 * Whether the robot has stopped, i.e. finished the algorithm.
 	 * 
@@ -157,7 +297,28 @@ public final class Robot implements Comparable<Robot> {
 	 *         algorithm, <tt>false</tt> otherwise
 	 */
 	public boolean pulse() {
+		if (this.mMetrics == null || !this.mMetrics.isEnabled()) {
+			return executePulse();
+		}
+
+		final long startTime = System.nanoTime();
+		try {
+			return executePulse();
+		} finally {
+			this.mMetrics.recordRobotPulse(System.nanoTime() - startTime);
+		}
+	}
+
+	/**
+	 * Executes one step of the algorithm.
+	 * 
+	 * @return <tt>True</tt> if the robot has stopped because he finished the
+	 *         algorithm, <tt>false</tt> otherwise
+	 */
+	private boolean executePulse() {
 		try {
+			this.mLastMoveDestination = null;
+
 			// Directly return if already stopped
 			if (hasStopped()) {
 				return true;
@@ -283,11 +444,7 @@ public final class Robot implements Comparable<Robot> {
 				// Undo the temporary move of the UPDATE stage. If we executed
 				// such a move then we wrote a message in the last stage at the
 				// current node.
-				final int stepCounterOfLastUpdateStage = this.mStepCounter - 1;
-				final Information info = this.mLocalStorageData.get(Integer.valueOf(stepCounterOfLastUpdateStage),
-						Integer.valueOf(this.mId));
-
-				if (info == null) {
+				if (this.mLastUpdateInformation == PackedInformation.NO_INFORMATION) {
 					// We did not execute such a temporary move so we do not
 					// undo anything
 					stayAtNode();
@@ -295,7 +452,7 @@ public final class Robot implements Comparable<Robot> {
 				}
 
 				// Undo the temporary move of the last stage
-				final int portOfChild = info.getPort();
+				final int portOfChild = PackedInformation.getPort(this.mLastUpdateInformation);
 				moveAlongEdge(this.mCurrentNode, portOfChild, this.mCurrentNode.getChild(portOfChild), true);
 				return;
 			}
@@ -322,6 +479,11 @@ public final class Robot implements Comparable<Robot> {
 		this.mPortUsedLastMoveStage = port;
 		this.mMovedFromParentToChildLastMoveStage = fromParent;
 		this.mCurrentNode = destination;
+		// Remember the move without allocating, it is only created on demand
+		this.mLastMoveSource = source;
+		this.mLastMovePort = port;
+		this.mLastMoveStep = this.mStepCounter;
+		this.mLastMoveDestination = destination;
 
 		// Notify listeners
 		for (final IRobotMovedListener listener : this.mRobotMovedListeners) {
@@ -330,12 +492,29 @@ public final class Robot implements Comparable<Robot> {
 	}
 
 	/**
-	 * Reads all information from the current node and updates the personal
-	 * knownledge.
+	 * Reads the information from the current node that is needed in the MOVE
+	 * stage of the next step. Only the entries of the relevant steps are read.
 	 */
 	private void readAction() {
-		// Update the current local storage data
-		this.mLocalStorageData = this.mLocalStorage.read(this.mCurrentNode);
+		if (this.mCurrentStep == EStep.UPDATE) {
+			// The RETURN step only needs the entry this robot wrote in the
+			// current UPDATE step
+			this.mLastUpdateInformation = this.mLocalStorage.readInformation(this.mCurrentNode, this.mStepCounter,
+					this.mId);
+			return;
+		}
+
+		// The REGULAR and UPDATE steps construct knowledge, the REGULAR step
+		// starts the next round. The NOP step does not read, thus the INITIAL
+		// step reads for the first REGULAR step.
+		final int round;
+		if (this.mCurrentStep == EStep.REGULAR) {
+			round = this.mRoundCounter;
+		} else {
+			round = this.mRoundCounter + 1;
+		}
+		this.mKnowledgeManager.readEntriesForKnowledge(round, this.mCurrentNode, this.mLocalStorage,
+				this.mLocalStorageData);
 	}
 
 	/**
@@ -406,8 +585,9 @@ public final class Robot implements Comparable<Robot> {
 
 		// Write (step, id, port) to current node. This means that the robot
 		// specified by the given id moved in the given step to the current node
-		// by using the given port.
-		final Information info = new Information(this.mStepCounter, this.mId, this.mPortUsedLastMoveStage,
+		// by using the given port. The information is packed, thus writing
+		// does not allocate.
+		final long info = PackedInformation.pack(this.mStepCounter, this.mId, this.mPortUsedLastMoveStage,
 				this.mMovedFromParentToChildLastMoveStage);
 		this.mLocalStorage.write(info, this.mCurrentNode);
 	}
@@ -45,7 +45,11 @@ public final class RobotPulse implements Runnable {
 	 */
 	@Override
 	public void run() {
-		this.mHasRobotStopped = this.mRobot.pulse();
+		try {
+			this.mHasRobotStopped = this.mRobot.pulse();
+		} catch (final Throwable e) {
+			// The robot already reported the exception to its listeners
+		}
 	}
 
 }
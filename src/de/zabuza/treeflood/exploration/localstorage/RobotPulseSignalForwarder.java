@@ -1,5 +1,7 @@
 package de.zabuza.treeflood.exploration.localstorage;
 
+import de.zabuza.treeflood.exploration.localstorage.timeline.PulseTracer;
+
 /**
  * A forwarder that forwards pulse commands to a given robot. Use
  * {@link #pulse()} to demand a pulse and {@link #hasFinishedLastPulse()} to
@@ -16,7 +18,7 @@ public final class RobotPulseSignalForwarder extends Thread {
 	/**
 	 * Whether the pulse forwarder should forward a pulse to its robot.
 	 */
-	private boolean mDoPulse;
+	private volatile boolean mDoPulse;
 	/**
 	 * The robot to forward pulses to
 	 */
@@ -24,7 +26,12 @@ public final class RobotPulseSignalForwarder extends Thread {
 	/**
 	 * Whether the pulse forwarder should stop.
 	 */
-	private boolean mShouldStop;
+	private volatile boolean mShouldStop;
+	/**
+	 * The tracer to record the pulses in or <tt>null</tt> if the pulses are
+	 * not traced.
+	 */
+	private final PulseTracer mTracer;
 
 	/**
 	 * Creates a new robot pulse signal forwarder that forwards pulse commands
@@ -35,7 +42,24 @@ public final class RobotPulseSignalForwarder extends Thread {
 	 *            The robot to forward pulses to
 	 */
 	public RobotPulseSignalForwarder(final Robot robot) {
+		this(robot, null);
+	}
+
+	/**
+	 * Creates a new robot pulse signal forwarder that forwards pulse commands
+	 * to the given robot and records them in the given tracer. Use
+	 * {@link #pulse()} to demand a pulse and {@link #hasFinishedLastPulse()}
+	 * to check the state.
+	 * 
+	 * @param robot
+	 *            The robot to forward pulses to
+	 * @param tracer
+	 *            The tracer to record the pulses in or <tt>null</tt> if the
+	 *            pulses should not be traced
+	 */
+	public RobotPulseSignalForwarder(final Robot robot, final PulseTracer tracer) {
 		this.mRobot = robot;
+		this.mTracer = tracer;
 		this.mShouldStop = false;
 		this.mDoPulse = false;
 	}
@@ -82,8 +106,23 @@ public final class RobotPulseSignalForwarder extends Thread {
 	public void run() {
 		while (!this.mShouldStop) {
 			if (this.mDoPulse) {
-				final boolean isFinished = this.mRobot.pulse();
-				if (isFinished) {
+				try {
+					final long startTime;
+					if (this.mTracer != null) {
+						startTime = this.mTracer.now();
+					} else {
+						startTime = 0L;
+					}
+					final boolean isFinished = this.mRobot.pulse();
+					if (this.mTracer != null) {
+						this.mTracer.recordRobotPulse(this.mRobot.getId(), startTime, this.mTracer.now());
+					}
+					if (isFinished) {
+						this.mShouldStop = true;
+					}
+				} catch (final Throwable e) {
+					// The robot already reported the exception to its
+					// listeners, the forwarder can not continue
 					this.mShouldStop = true;
 				}
 				this.mDoPulse = false;
@@ -97,4 +136,12 @@ public final class RobotPulseSignalForwarder extends Thread {
 		}
 	}
 
+	/**
+	 * Stops the forwarder. A pulse that was commanded but not started yet is
+	 * skipped, a running pulse is finished first. Afterwards the thread of the
+	 * forwarder terminates.
+	 */
+	public void terminate() {
+		this.mShouldStop = true;
+	}
 }
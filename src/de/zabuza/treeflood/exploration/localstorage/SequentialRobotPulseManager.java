@@ -0,0 +1,85 @@
+package de.zabuza.treeflood.exploration.localstorage;
+
+import java.util.Collection;
+
+/**
+ * Implementation of a robot pulse manager that pulses all robots one after
+ * another in the calling thread. As all robots execute the same stage in a
+ * pulse and only communicate over the local storage in different stages, the
+ * result equals the one of a distributed execution. The manager does not use
+ * any additional threads, thus many explorations can run concurrently without
+ * influencing each other.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class SequentialRobotPulseManager implements IRobotPulseManager {
+	/**
+	 * Whether the execution was aborted.
+	 */
+	private volatile boolean mIsAborted;
+	/**
+	 * The robots to manage.
+	 */
+	private Collection<Robot> mRobots;
+
+	/**
+	 * Creates a new sequential robot pulse manager with initially no robots.
+	 * Use {@link #setRobots(Collection)} to set the robots to manage.
+	 */
+	public SequentialRobotPulseManager() {
+		this.mRobots = null;
+		this.mIsAborted = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#abort()
+	 */
+	@Override
+	public void abort() {
+		this.mIsAborted = true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#pulse()
+	 */
+	@Override
+	public boolean pulse() {
+		boolean haveAllRobotsStopped = true;
+		for (final Robot robot : this.mRobots) {
+			// Skip the remaining robots if the execution was aborted
+			if (this.mIsAborted) {
+				return true;
+			}
+			try {
+				if (!robot.pulse()) {
+					haveAllRobotsStopped = false;
+				}
+			} catch (final Throwable e) {
+				// The robot already reported the exception to its listeners
+				return true;
+			}
+		}
+		return haveAllRobotsStopped;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#setRobots
+	 * (java.util.Collection)
+	 */
+	@Override
+	public void setRobots(final Collection<Robot> robots) {
+		if (this.mRobots == null) {
+			this.mRobots = robots;
+		}
+	}
+}
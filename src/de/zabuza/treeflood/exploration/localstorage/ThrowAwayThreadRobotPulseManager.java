@@ -4,6 +4,7 @@ import java.util.Collection;
 import java.util.LinkedList;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
  * Implementation of a robot pulse manager that uses throw-away threads for each
@@ -14,6 +15,14 @@ import java.util.concurrent.Executors;
  */
 public final class ThrowAwayThreadRobotPulseManager implements IRobotPulseManager {
 
+	/**
+	 * The executor of the current pulse or <tt>null</tt> if there is none.
+	 */
+	private volatile ExecutorService mExecutor;
+	/**
+	 * Whether the execution was aborted.
+	 */
+	private volatile boolean mIsAborted;
 	/**
 	 * The robots to manage.
 	 */
@@ -25,6 +34,23 @@ public final class ThrowAwayThreadRobotPulseManager implements IRobotPulseManage
 	 */
 	public ThrowAwayThreadRobotPulseManager() {
 		this.mRobots = null;
+		this.mExecutor = null;
+		this.mIsAborted = false;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.IRobotPulseManager#abort()
+	 */
+	@Override
+	public void abort() {
+		this.mIsAborted = true;
+		final ExecutorService executor = this.mExecutor;
+		if (executor != null) {
+			executor.shutdownNow();
+		}
 	}
 
 	/*
@@ -35,18 +61,34 @@ public final class ThrowAwayThreadRobotPulseManager implements IRobotPulseManage
 	 */
 	@Override
 	public boolean pulse() {
+		if (this.mIsAborted) {
+			return true;
+		}
+
 		final ExecutorService executor = Executors.newFixedThreadPool(this.mRobots.size());
+		this.mExecutor = executor;
 		final LinkedList<RobotPulse> pulses = new LinkedList<>();
 
 		for (final Robot robot : this.mRobots) {
 			final RobotPulse pulse = new RobotPulse(robot);
 			pulses.add(pulse);
-			executor.execute(pulse);
+			try {
+				executor.execute(pulse);
+			} catch (final RejectedExecutionException e) {
+				// The execution was aborted concurrently, skip the remaining
+				// robots
+				return true;
+			}
 		}
 
 		executor.shutdown();
 		// Wait until all threads have finished
 		while (!executor.isTerminated()) {
+			// Do not wait for the remaining robots if the execution was aborted
+			if (this.mIsAborted) {
+				executor.shutdownNow();
+				return true;
+			}
 			try {
 				Thread.sleep(5);
 			} catch (final InterruptedException e) {
@@ -0,0 +1,111 @@
+package de.zabuza.treeflood.exploration.localstorage.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for the construction of the knowledge of a node by a
+ * {@link de.zabuza.treeflood.exploration.localstorage.KnowledgeManager
+ * KnowledgeManager}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@Name(KnowledgeConstructionEvent.NAME)
+@Label("Knowledge Construction")
+@Description("A robot constructing the knowledge of a node out of its local storage")
+@Category({ "TreeFlood", "Exploration" })
+@StackTrace(false)
+public final class KnowledgeConstructionEvent extends Event {
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "de.zabuza.treeflood.KnowledgeConstruction";
+
+	/**
+	 * Whether the construction started from cached knowledge.
+	 */
+	@Name("cached")
+	@Label("Cached")
+	private boolean mCached;
+	/**
+	 * The amount of children of the node.
+	 */
+	@Name("nodeDegree")
+	@Label("Node Degree")
+	private int mNodeDegree;
+	/**
+	 * The id of the node.
+	 */
+	@Name("nodeId")
+	@Label("Node Id")
+	private int mNodeId;
+	/**
+	 * The round the knowledge was constructed for.
+	 */
+	@Name("round")
+	@Label("Round")
+	private int mRound;
+	/**
+	 * The amount of rounds that were replayed to construct the knowledge.
+	 */
+	@Name("roundsReplayed")
+	@Label("Rounds Replayed")
+	private int mRoundsReplayed;
+
+	/**
+	 * Sets whether the construction started from cached knowledge.
+	 * 
+	 * @param cached
+	 *            <tt>True</tt> if the construction started from cached
+	 *            knowledge, <tt>false</tt> otherwise
+	 */
+	public void setCached(final boolean cached) {
+		this.mCached = cached;
+	}
+
+	/**
+	 * Sets the amount of children of the node.
+	 * 
+	 * @param nodeDegree
+	 *            The amount of children of the node
+	 */
+	public void setNodeDegree(final int nodeDegree) {
+		this.mNodeDegree = nodeDegree;
+	}
+
+	/**
+	 * Sets the id of the node.
+	 * 
+	 * @param nodeId
+	 *            The id of the node
+	 */
+	public void setNodeId(final int nodeId) {
+		this.mNodeId = nodeId;
+	}
+
+	/**
+	 * Sets the round the knowledge was constructed for.
+	 * 
+	 * @param round
+	 *            The round the knowledge was constructed for
+	 */
+	public void setRound(final int round) {
+		this.mRound = round;
+	}
+
+	/**
+	 * Sets the amount of rounds that were replayed to construct the
+	 * knowledge.
+	 * 
+	 * @param roundsReplayed
+	 *            The amount of replayed rounds
+	 */
+	public void setRoundsReplayed(final int roundsReplayed) {
+		this.mRoundsReplayed = roundsReplayed;
+	}
+}
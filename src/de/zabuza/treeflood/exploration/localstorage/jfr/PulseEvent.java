@@ -0,0 +1,62 @@
+package de.zabuza.treeflood.exploration.localstorage.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a pulse of a local storage exploration, i.e. all
+ * robots executing one stage.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@Name(PulseEvent.NAME)
+@Label("Pulse")
+@Description("All robots of an exploration executing one stage")
+@Category({ "TreeFlood", "Exploration" })
+@StackTrace(false)
+public final class PulseEvent extends Event {
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "de.zabuza.treeflood.Pulse";
+
+	/**
+	 * The amount of robots that had not stopped before the pulse and thus
+	 * were processed.
+	 */
+	@Name("robots")
+	@Label("Robots Processed")
+	private int mRobots;
+	/**
+	 * The name of the stage the robots executed.
+	 */
+	@Name("stage")
+	@Label("Stage")
+	private String mStage;
+
+	/**
+	 * Sets the amount of robots that had not stopped before the pulse and
+	 * thus were processed.
+	 * 
+	 * @param robots
+	 *            The amount of processed robots
+	 */
+	public void setRobots(final int robots) {
+		this.mRobots = robots;
+	}
+
+	/**
+	 * Sets the name of the stage the robots executed.
+	 * 
+	 * @param stage
+	 *            The name of the stage
+	 */
+	public void setStage(final String stage) {
+		this.mStage = stage;
+	}
+}
@@ -0,0 +1,61 @@
+package de.zabuza.treeflood.exploration.localstorage.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a step of a local storage exploration, i.e. the
+ * three pulses that execute the stages MOVE, WRITE and READ.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@Name(StepEvent.NAME)
+@Label("Step")
+@Description("All robots of an exploration executing the stages of one step")
+@Category({ "TreeFlood", "Exploration" })
+@StackTrace(false)
+public final class StepEvent extends Event {
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "de.zabuza.treeflood.Step";
+
+	/**
+	 * Whether all robots had stopped after the step.
+	 */
+	@Name("finished")
+	@Label("Finished")
+	private boolean mFinished;
+	/**
+	 * The number of the step, starting with <tt>1</tt>.
+	 */
+	@Name("step")
+	@Label("Step")
+	private int mStep;
+
+	/**
+	 * Sets whether all robots had stopped after the step.
+	 * 
+	 * @param finished
+	 *            <tt>True</tt> if all robots had stopped, <tt>false</tt>
+	 *            otherwise
+	 */
+	public void setFinished(final boolean finished) {
+		this.mFinished = finished;
+	}
+
+	/**
+	 * Sets the number of the step.
+	 * 
+	 * @param step
+	 *            The number of the step, starting with <tt>1</tt>
+	 */
+	public void setStep(final int step) {
+		this.mStep = step;
+	}
+}
@@ -0,0 +1,59 @@
+package de.zabuza.treeflood.exploration.localstorage.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a robot reading from the local storage of a node.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@Name(StorageReadEvent.NAME)
+@Label("Storage Read")
+@Description("A robot reading from the local storage of a node")
+@Category({ "TreeFlood", "Storage" })
+@StackTrace(false)
+public final class StorageReadEvent extends Event {
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "de.zabuza.treeflood.StorageRead";
+
+	/**
+	 * The amount of entries read from the storage of the node.
+	 */
+	@Name("entries")
+	@Label("Entries")
+	private int mEntries;
+	/**
+	 * The id of the node.
+	 */
+	@Name("nodeId")
+	@Label("Node Id")
+	private int mNodeId;
+
+	/**
+	 * Sets the amount of entries read from the storage of the node.
+	 * 
+	 * @param entries
+	 *            The amount of entries
+	 */
+	public void setEntries(final int entries) {
+		this.mEntries = entries;
+	}
+
+	/**
+	 * Sets the id of the node.
+	 * 
+	 * @param nodeId
+	 *            The id of the node
+	 */
+	public void setNodeId(final int nodeId) {
+		this.mNodeId = nodeId;
+	}
+}
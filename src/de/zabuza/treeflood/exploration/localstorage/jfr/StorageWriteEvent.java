@@ -0,0 +1,59 @@
+package de.zabuza.treeflood.exploration.localstorage.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight recorder event for a robot writing to the local storage of a node.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+@Name(StorageWriteEvent.NAME)
+@Label("Storage Write")
+@Description("A robot writing to the local storage of a node")
+@Category({ "TreeFlood", "Storage" })
+@StackTrace(false)
+public final class StorageWriteEvent extends Event {
+	/**
+	 * The name of the event.
+	 */
+	public static final String NAME = "de.zabuza.treeflood.StorageWrite";
+
+	/**
+	 * The amount of entries in the storage of the node after the write.
+	 */
+	@Name("entries")
+	@Label("Entries")
+	private int mEntries;
+	/**
+	 * The id of the node.
+	 */
+	@Name("nodeId")
+	@Label("Node Id")
+	private int mNodeId;
+
+	/**
+	 * Sets the amount of entries in the storage of the node after the write.
+	 * 
+	 * @param entries
+	 *            The amount of entries
+	 */
+	public void setEntries(final int entries) {
+		this.mEntries = entries;
+	}
+
+	/**
+	 * Sets the id of the node.
+	 * 
+	 * @param nodeId
+	 *            The id of the node
+	 */
+	public void setNodeId(final int nodeId) {
+		this.mNodeId = nodeId;
+	}
+}
@@ -0,0 +1,7 @@
+/**
+ * This package contains events for the Java Flight Recorder that are emitted
+ * by local storage exploration algorithms. They attribute the time of a
+ * recording to pulses, steps, the construction of knowledge and accesses to
+ * the local storage.
+ */
+package de.zabuza.treeflood.exploration.localstorage.jfr;
@@ -0,0 +1,183 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.ITreeNode;
+import de.zabuza.treeflood.tree.Tree;
+
+/**
+ * Builds an exploration tree on demand, like {@link ExplorationTreeBuilder},
+ * but tracks the explored edges in a bitmap. Each edge is uniquely identified
+ * by its child, thus the bitmap contains one bit per node of the original tree,
+ * indexed by the id of the node. The tree is not backed to the original nodes
+ * of the tree that is being explored.<br>
+ * <br>
+ * Moves along already explored edges, which are the vast majority, are
+ * rejected by a single read of the bitmap without locking and without
+ * allocation. Only if a new node is discovered the exploration tree is
+ * extended under a lock.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BitmapExplorationTreeBuilder implements IRobotMovedListener, IRobotMovedBatchListener {
+	/**
+	 * The binary logarithm of the amount of bits per word of the bitmap.
+	 */
+	private static final int BITS_PER_WORD_SHIFT = 6;
+
+	/**
+	 * Bitmap that contains one bit per node of the original tree, indexed by
+	 * the id of the node. A bit is set if the node was discovered, i.e. the
+	 * edge to its parent was explored.
+	 */
+	private final AtomicLongArray mDiscoveredNodes;
+	/**
+	 * The exploration tree. It is not backed to the original nodes of the tree
+	 * that is being explored.
+	 */
+	private final ITree mExploredTree;
+	/**
+	 * Array that maps the id of original nodes to the nodes of the exploration
+	 * tree. Guarded by the lock of this object.
+	 */
+	private final ITreeNode[] mOriginalToExploredNode;
+	/**
+	 * The original tree that is being explored.
+	 */
+	private final ITree mOriginalTree;
+
+	/**
+	 * Creates a new bitmap exploration tree builder for the given tree where
+	 * only the root is explored initially.
+	 * 
+	 * @param tree
+	 *            The tree that is being explored
+	 */
+	public BitmapExplorationTreeBuilder(final ITree tree) {
+		final int size = tree.getSize();
+		this.mOriginalTree = tree;
+		this.mExploredTree = new Tree();
+		this.mOriginalToExploredNode = new ITreeNode[size];
+		this.mDiscoveredNodes = new AtomicLongArray(((size - 1) >> BITS_PER_WORD_SHIFT) + 1);
+
+		final ITreeNode root = tree.getRoot();
+		this.mOriginalToExploredNode[root.getId()] = this.mExploredTree.getRoot();
+		markDiscovered(root.getId());
+	}
+
+	/**
+	 * Gets the node of the exploration tree that corresponds to the given
+	 * original node.
+	 * 
+	 * @param original
+	 *            The node of the original tree
+	 * @return The corresponding node of the exploration tree or <tt>null</tt>
+	 *         if the node was not discovered yet
+	 */
+	public synchronized ITreeNode getExploredNode(final ITreeNode original) {
+		return this.mOriginalToExploredNode[original.getId()];
+	}
+
+	/**
+	 * Gets the exploration tree. It is not backed to the original nodes of the
+	 * tree that is being explored.
+	 * 
+	 * @return The exploration tree
+	 */
+	public ITree getExploredTree() {
+		return this.mExploredTree;
+	}
+
+	/**
+	 * Gets an unmodifiable map of the node aliases. It maps the original nodes
+	 * to the alias nodes of the exploration tree. The map is a snapshot that is
+	 * not updated by further explorations.
+	 * 
+	 * @return An unmodifiable map of the node aliases
+	 */
+	public synchronized Map<ITreeNode, ITreeNode> getNodeAlias() {
+		final Map<ITreeNode, ITreeNode> originalToAlias = new HashMap<>();
+		for (int id = 0; id < this.mOriginalToExploredNode.length; id++) {
+			final ITreeNode alias = this.mOriginalToExploredNode[id];
+			if (alias != null) {
+				originalToAlias.put(this.mOriginalTree.getNode(id), alias);
+			}
+		}
+		return Collections.unmodifiableMap(originalToAlias);
+	}
+
+	/**
+	 * Whether the given node of the original tree was discovered, i.e. whether
+	 * the edge to its parent was explored.
+	 * 
+	 * @param original
+	 *            The node of the original tree
+	 * @return <tt>True</tt> if the node was discovered, <tt>false</tt>
+	 *         otherwise
+	 */
+	public boolean isDiscovered(final ITreeNode original) {
+		final int id = original.getId();
+		return (this.mDiscoveredNodes.get(id >> BITS_PER_WORD_SHIFT) & (1L << id)) != 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.listener.
+	 * IRobotMovedBatchListener#movedBatch(de.zabuza.treeflood.exploration.
+	 * localstorage.listener.RobotMove[])
+	 */
+	@Override
+	public void movedBatch(final RobotMove[] moves) {
+		for (final RobotMove move : moves) {
+			movedTo(move.getRobot(), move.getSource(), move.getDestination());
+		}
+	}
+
+	/**
+	 * Explores the edge the robot used if it leads to a node that was not
+	 * discovered before. A robot can only move to the parent of a node it has
+	 * been located at before, thus moves from a child to its parent always
+	 * lead to a discovered node and are rejected.
+	 */
+	@Override
+	public void movedTo(final Robot robot, final ITreeNode source, final ITreeNode destination) {
+		if (!markDiscovered(destination.getId())) {
+			return;
+		}
+
+		// The destination is a new child of the source
+		synchronized (this) {
+			final ITreeNode exploredParent = this.mOriginalToExploredNode[source.getId()];
+			this.mOriginalToExploredNode[destination.getId()] = this.mExploredTree.addNode(exploredParent);
+		}
+	}
+
+	/**
+	 * Sets the bit of the node with the given id if it is not set already.
+	 * 
+	 * @param id
+	 *            The id of the node to mark as discovered
+	 * @return <tt>True</tt> if the bit was set by this call, <tt>false</tt> if
+	 *         it was already set
+	 */
+	private boolean markDiscovered(final int id) {
+		final int wordIndex = id >> BITS_PER_WORD_SHIFT;
+		final long bit = 1L << id;
+		while (true) {
+			final long word = this.mDiscoveredNodes.get(wordIndex);
+			if ((word & bit) != 0) {
+				return false;
+			}
+			if (this.mDiscoveredNodes.compareAndSet(wordIndex, word, word | bit)) {
+				return true;
+			}
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+/**
+ * Policies that determine how an event publisher reacts if the buffer of a
+ * {@link RobotMovedEventBus} is full because the consumers are slower than the
+ * publishers.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public enum EBackpressurePolicy {
+	/**
+	 * The publisher waits until the slowest consumer has freed a slot. No event
+	 * gets lost but slow consumers slow down the publishers.
+	 */
+	BLOCK,
+	/**
+	 * The event is dropped if the buffer is full. Publishers never wait.
+	 */
+	DROP,
+	/**
+	 * Once the buffer is filled to at least one half only every
+	 * {@link RobotMovedEventBus#SAMPLE_INTERVAL}-th event is published, the
+	 * others are dropped. The event is also dropped if the buffer is full.
+	 * Publishers never wait.
+	 */
+	SAMPLE
+}
@@ -19,7 +19,8 @@ import de.zabuza.treeflood.util.Pair;
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
-public final class ExplorationTreeBuilder implements IRobotMovedListener {
+public final class ExplorationTreeBuilder
+		implements IRobotMovedListener, IRobotMovedBatchListener, INodeDiscoveredListener {
 	/**
 	 * The exploration tree. It is not backed to the original nodes of the tree
 	 * that is being explored.
@@ -69,6 +70,22 @@ public final class ExplorationTreeBuilder implements IRobotMovedListener {
 		this.mOriginalToExploredNode.put(child, exploredChild);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.listener.
+	 * INodeDiscoveredListener#discoveredNode(de.zabuza.treeflood.exploration.
+	 * localstorage.Robot, de.zabuza.treeflood.tree.ITreeNode,
+	 * de.zabuza.treeflood.tree.ITreeNode)
+	 */
+	@Override
+	public synchronized void discoveredNode(final Robot robot, final ITreeNode parent, final ITreeNode node) {
+		// The edge may also have been added as move already
+		if (this.mOriginalEdgesExplored.add(new Pair<>(parent, node))) {
+			addEdge(parent, node);
+		}
+	}
+
 	/**
 	 * Gets the exploration tree. It is not backed to the original nodes of the
 	 * tree that is being explored.
@@ -89,6 +106,20 @@ public final class ExplorationTreeBuilder implements IRobotMovedListener {
 		return Collections.unmodifiableMap(this.mOriginalToExploredNode);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.listener.
+	 * IRobotMovedBatchListener#movedBatch(de.zabuza.treeflood.exploration.
+	 * localstorage.listener.RobotMove[])
+	 */
+	@Override
+	public synchronized void movedBatch(final RobotMove[] moves) {
+		for (final RobotMove move : moves) {
+			movedTo(move.getRobot(), move.getSource(), move.getDestination());
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,31 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Interface for objects that want to listen to events of type node discovered.
+ * In contrast to {@link IRobotMovedListener} the event is only sent once per
+ * node, when a robot enters it for the first time. As each edge is uniquely
+ * identified by its child, this is also the first traversal of the edge that
+ * leads to the node.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface INodeDiscoveredListener {
+	/**
+	 * Event listener callback for node discovered events. The method is called
+	 * from a single thread after all robots have finished the pulse in which
+	 * the node was discovered. A node is always discovered after its parent.
+	 * 
+	 * @param robot
+	 *            The robot that discovered the node, if multiple robots entered
+	 *            the node in the same pulse it is the one with the lowest id
+	 * @param parent
+	 *            The parent of the discovered node, the robot moved from there
+	 * @param node
+	 *            The discovered node
+	 */
+	public void discoveredNode(Robot robot, ITreeNode parent, ITreeNode node);
+}
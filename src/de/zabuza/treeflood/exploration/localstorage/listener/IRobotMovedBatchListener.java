@@ -0,0 +1,24 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+/**
+ * Interface for objects that want to listen to all robot moved events of one
+ * pulse at once. In contrast to {@link IRobotMovedListener} the events are not
+ * sent by the robots themselves while they move but collected and sent after
+ * all robots have finished the pulse.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface IRobotMovedBatchListener {
+	/**
+	 * Event listener callback for all robot movement events of one pulse. The
+	 * method is called from a single thread after all robots have finished the
+	 * pulse, it is not called for pulses where no robot moved.
+	 * 
+	 * @param moves
+	 *            The moves of the pulse, ordered ascending by the id of the
+	 *            robots. The array must not be modified as it is shared with
+	 *            other listeners.
+	 */
+	public void movedBatch(RobotMove[] moves);
+}
@@ -0,0 +1,117 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Immutable description of a single movement of a robot along an edge.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RobotMove {
+	/**
+	 * The destination the robot moved to.
+	 */
+	private final ITreeNode mDestination;
+	/**
+	 * The port that identifies the edge the robot used. It is the port of the
+	 * child endpoint of the edge as seen from its parent, independent of the
+	 * direction of the movement.
+	 */
+	private final int mPort;
+	/**
+	 * The robot that moved.
+	 */
+	private final Robot mRobot;
+	/**
+	 * The source the robot moved from.
+	 */
+	private final ITreeNode mSource;
+	/**
+	 * The number of the step in which the robot moved.
+	 */
+	private final int mStep;
+
+	/**
+	 * Creates a new robot move.
+	 * 
+	 * @param step
+	 *            The number of the step in which the robot moved
+	 * @param robot
+	 *            The robot that moved
+	 * @param source
+	 *            The source the robot moved from
+	 * @param port
+	 *            The port that identifies the edge the robot used, i.e. the
+	 *            port of the child endpoint of the edge as seen from its parent
+	 * @param destination
+	 *            The destination the robot moved to
+	 */
+	public RobotMove(final int step, final Robot robot, final ITreeNode source, final int port,
+			final ITreeNode destination) {
+		this.mStep = step;
+		this.mRobot = robot;
+		this.mSource = source;
+		this.mPort = port;
+		this.mDestination = destination;
+	}
+
+	/**
+	 * Gets the destination the robot moved to.
+	 * 
+	 * @return The destination the robot moved to
+	 */
+	public ITreeNode getDestination() {
+		return this.mDestination;
+	}
+
+	/**
+	 * Gets the port that identifies the edge the robot used. It is the port of
+	 * the child endpoint of the edge as seen from its parent, independent of
+	 * the direction of the movement.
+	 * 
+	 * @return The port of the edge
+	 */
+	public int getPort() {
+		return this.mPort;
+	}
+
+	/**
+	 * Gets the robot that moved.
+	 * 
+	 * @return The robot that moved
+	 */
+	public Robot getRobot() {
+		return this.mRobot;
+	}
+
+	/**
+	 * Gets the source the robot moved from.
+	 * 
+	 * @return The source the robot moved from
+	 */
+	public ITreeNode getSource() {
+		return this.mSource;
+	}
+
+	/**
+	 * Gets the number of the step in which the robot moved.
+	 * 
+	 * @return The number of the step in which the robot moved
+	 */
+	public int getStep() {
+		return this.mStep;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "RobotMove [step=" + this.mStep + ", robot=" + this.mRobot.getId() + ", source=" + this.mSource
+				+ ", port=" + this.mPort + ", destination=" + this.mDestination + "]";
+	}
+}
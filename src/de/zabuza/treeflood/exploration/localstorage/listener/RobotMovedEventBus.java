@@ -0,0 +1,456 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Event bus that decouples robot moved listeners from the robots. Robots
+ * publish their moves into a bounded ring buffer and return immediately, the
+ * events are then delivered to the listeners asynchronously by consumer
+ * threads. Each listener gets its own consumer thread, thus a slow listener
+ * does not delay the others.<br>
+ * <br>
+ * All slots of the buffer are allocated at construction, publishing an event
+ * only copies references into a slot and does not allocate. If the buffer is
+ * full the given {@link EBackpressurePolicy} decides whether publishers wait or
+ * drop events.<br>
+ * <br>
+ * Idle consumers do not spin, they park and are unparked by the first
+ * publisher that sees them parked. Publishing thus stays free of locks.
+ * Publishers that wait for a free slot wait on a condition that is only
+ * signalled if somebody waits. The last consumer that delivered an event
+ * clears its slot, thus the buffer does not keep robots or nodes alive.<br>
+ * <br>
+ * Use the bus by registering it as {@link IRobotMovedListener} at the robots.
+ * Call {@link #start()} before the first event is published and
+ * {@link #shutdown()} after the last one.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RobotMovedEventBus implements IRobotMovedListener {
+	/**
+	 * Only every event with this interval is published if the buffer is filled
+	 * to at least one half and the policy {@link EBackpressurePolicy#SAMPLE} is
+	 * used.
+	 */
+	public static final int SAMPLE_INTERVAL = 8;
+	/**
+	 * Sequence that indicates that no slot could be claimed.
+	 */
+	private static final long NO_SEQUENCE = -1L;
+	/**
+	 * The amount of slots of the buffer, a power of two.
+	 */
+	private final int mCapacity;
+	/**
+	 * The next sequence that is to be claimed by a publisher.
+	 */
+	private final AtomicLong mClaimSequence;
+	/**
+	 * The consumers of the bus, one for each listener.
+	 */
+	private final RobotMovedEventConsumer[] mConsumers;
+	/**
+	 * Slots that hold the destination of each move.
+	 */
+	private final ITreeNode[] mDestinations;
+	/**
+	 * The amount of events that were dropped due to the backpressure policy.
+	 */
+	private final AtomicLong mDroppedEvents;
+	/**
+	 * Condition publishers wait on until a consumer freed slots.
+	 */
+	private final Condition mEventsConsumed;
+	/**
+	 * The minimal sequence of all consumers as seen by the last publisher that
+	 * computed it. It is used to avoid reading the sequences of all consumers
+	 * on each publication.
+	 */
+	private volatile long mGatingSequenceCache;
+	/**
+	 * Whether the bus was shut down.
+	 */
+	private volatile boolean mIsShutdown;
+	/**
+	 * Lock of the condition waiting publishers use.
+	 */
+	private final ReentrantLock mLock;
+	/**
+	 * Mask used to compute the slot of a sequence, i.e. the capacity minus 1.
+	 */
+	private final int mMask;
+	/**
+	 * Contains for each slot the amount of consumers that have not yet
+	 * delivered the event in it. The consumer that delivers it last clears the
+	 * slot.
+	 */
+	private final AtomicIntegerArray mPendingDeliveries;
+	/**
+	 * The policy used if the buffer is full.
+	 */
+	private final EBackpressurePolicy mPolicy;
+	/**
+	 * Contains for each slot the sequence of the event that was last published
+	 * into it. A consumer may only read a slot once it contains the expected
+	 * sequence.
+	 */
+	private final AtomicLongArray mPublishedSequences;
+	/**
+	 * Slots that hold the robot of each move.
+	 */
+	private final Robot[] mRobots;
+	/**
+	 * Counter of all events that were subject to sampling, used by the policy
+	 * {@link EBackpressurePolicy#SAMPLE}.
+	 */
+	private final AtomicLong mSampleCounter;
+	/**
+	 * Slots that hold the source of each move.
+	 */
+	private final ITreeNode[] mSources;
+	/**
+	 * The amount of publishers that wait for a free slot.
+	 */
+	private final AtomicInteger mWaitingPublishers;
+
+	/**
+	 * Creates a new robot moved event bus with a buffer of the given capacity
+	 * which delivers to the given listeners. The consumer threads are not
+	 * started until {@link #start()} is called.
+	 * 
+	 * @param capacity
+	 *            The amount of events the buffer can hold, must be a power of
+	 *            two
+	 * @param policy
+	 *            The policy to use if the buffer is full
+	 * @param listeners
+	 *            The listeners to deliver the events to, each gets its own
+	 *            consumer thread
+	 * @throws IllegalArgumentException
+	 *             If the capacity is no power of two or no listener is given
+	 */
+	public RobotMovedEventBus(final int capacity, final EBackpressurePolicy policy,
+			final List<IRobotMovedListener> listeners) throws IllegalArgumentException {
+		if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+			throw new IllegalArgumentException("The capacity must be a power of two, was: " + capacity);
+		}
+		if (listeners.isEmpty()) {
+			throw new IllegalArgumentException("At least one listener is required");
+		}
+		this.mCapacity = capacity;
+		this.mMask = capacity - 1;
+		this.mPolicy = policy;
+
+		this.mRobots = new Robot[capacity];
+		this.mSources = new ITreeNode[capacity];
+		this.mDestinations = new ITreeNode[capacity];
+		this.mPublishedSequences = new AtomicLongArray(capacity);
+		for (int i = 0; i < capacity; i++) {
+			this.mPublishedSequences.set(i, NO_SEQUENCE);
+		}
+		this.mPendingDeliveries = new AtomicIntegerArray(capacity);
+
+		this.mClaimSequence = new AtomicLong(0L);
+		this.mGatingSequenceCache = 0L;
+		this.mDroppedEvents = new AtomicLong(0L);
+		this.mSampleCounter = new AtomicLong(0L);
+		this.mIsShutdown = false;
+		this.mLock = new ReentrantLock();
+		this.mEventsConsumed = this.mLock.newCondition();
+		this.mWaitingPublishers = new AtomicInteger(0);
+
+		this.mConsumers = new RobotMovedEventConsumer[listeners.size()];
+		int i = 0;
+		for (final IRobotMovedListener listener : listeners) {
+			this.mConsumers[i] = new RobotMovedEventConsumer(this, listener);
+			i++;
+		}
+	}
+
+	/**
+	 * Gets the amount of events the buffer can hold.
+	 * 
+	 * @return The capacity of the buffer
+	 */
+	public int getCapacity() {
+		return this.mCapacity;
+	}
+
+	/**
+	 * Gets the amount of events that were dropped so far due to the
+	 * backpressure policy.
+	 * 
+	 * @return The amount of dropped events
+	 */
+	public long getDroppedEvents() {
+		return this.mDroppedEvents.get();
+	}
+
+	/**
+	 * Gets the first exception a listener threw while an event was delivered
+	 * to it. A listener that threw an exception does not receive further
+	 * events.
+	 * 
+	 * @return The first exception thrown by a listener if present
+	 */
+	public Optional<Throwable> getEncounteredException() {
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			final Throwable exception = consumer.getEncounteredException();
+			if (exception != null) {
+				return Optional.of(exception);
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * Publishes the event into the buffer. The method does not block unless
+	 * the buffer is full and the policy {@link EBackpressurePolicy#BLOCK} is
+	 * used.
+	 */
+	@Override
+	public void movedTo(final Robot robot, final ITreeNode source, final ITreeNode destination) {
+		final long sequence = claim();
+		if (sequence == NO_SEQUENCE) {
+			this.mDroppedEvents.incrementAndGet();
+			return;
+		}
+
+		final int slot = (int) (sequence & this.mMask);
+		this.mRobots[slot] = robot;
+		this.mSources[slot] = source;
+		this.mDestinations[slot] = destination;
+		this.mPendingDeliveries.set(slot, this.mConsumers.length);
+		// Publish the slot, the write makes the content visible to consumers
+		this.mPublishedSequences.set(slot, sequence);
+
+		// The flags of the consumers are read after publishing, a consumer
+		// sets its flag before checking for events again, thus no wake-up
+		// gets lost
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			consumer.unparkIfParked();
+		}
+	}
+
+	/**
+	 * Waits until all events that were published so far have been delivered
+	 * to the listeners, then stops the consumer threads. No events must be
+	 * published after this method was called.
+	 */
+	public void shutdown() {
+		this.mIsShutdown = true;
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			consumer.unpark();
+		}
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			while (consumer.isAlive()) {
+				try {
+					consumer.join();
+				} catch (final InterruptedException e) {
+					// Simply ignore the interrupt and continue
+				}
+			}
+		}
+	}
+
+	/**
+	 * Starts the consumer threads. The threads are daemon threads, they do not
+	 * prevent the virtual machine from exiting.
+	 */
+	public void start() {
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			consumer.setDaemon(true);
+			consumer.start();
+		}
+	}
+
+	/**
+	 * Waits until the slot of the given sequence can be written. The
+	 * publisher is woken up by a consumer that freed slots.
+	 * 
+	 * @param sequence
+	 *            The sequence to wait for
+	 */
+	private void awaitCapacity(final long sequence) {
+		this.mLock.lock();
+		try {
+			this.mWaitingPublishers.incrementAndGet();
+			while (!hasCapacity(sequence)) {
+				this.mEventsConsumed.awaitUninterruptibly();
+			}
+		} finally {
+			this.mWaitingPublishers.decrementAndGet();
+			this.mLock.unlock();
+		}
+	}
+
+	/**
+	 * Claims the sequence of the next free slot according to the backpressure
+	 * policy.
+	 * 
+	 * @return The claimed sequence or {@link #NO_SEQUENCE} if the event is to
+	 *         be dropped
+	 */
+	private long claim() {
+		if (this.mPolicy == EBackpressurePolicy.BLOCK) {
+			final long sequence = this.mClaimSequence.getAndIncrement();
+			if (!hasCapacity(sequence)) {
+				awaitCapacity(sequence);
+			}
+			return sequence;
+		}
+
+		boolean wasSampled = false;
+		while (true) {
+			final long sequence = this.mClaimSequence.get();
+			if (!hasCapacity(sequence)) {
+				return NO_SEQUENCE;
+			}
+			if (this.mPolicy == EBackpressurePolicy.SAMPLE && !wasSampled
+					&& !hasCapacity(sequence + this.mCapacity / 2)) {
+				if (this.mSampleCounter.getAndIncrement() % SAMPLE_INTERVAL != 0) {
+					return NO_SEQUENCE;
+				}
+				wasSampled = true;
+			}
+			if (this.mClaimSequence.compareAndSet(sequence, sequence + 1)) {
+				return sequence;
+			}
+		}
+	}
+
+	/**
+	 * Whether the slot of the given sequence can be written, i.e. whether all
+	 * consumers have read the event that was previously contained in it.
+	 * 
+	 * @param sequence
+	 *            The sequence in question
+	 * @return <tt>True</tt> if the slot can be written, <tt>false</tt>
+	 *         otherwise
+	 */
+	private boolean hasCapacity(final long sequence) {
+		final long wrapSequence = sequence - this.mCapacity;
+		if (wrapSequence < this.mGatingSequenceCache) {
+			return true;
+		}
+
+		long minimalSequence = Long.MAX_VALUE;
+		for (final RobotMovedEventConsumer consumer : this.mConsumers) {
+			minimalSequence = Math.min(minimalSequence, consumer.getSequence());
+		}
+		this.mGatingSequenceCache = minimalSequence;
+		return wrapSequence < minimalSequence;
+	}
+
+	/**
+	 * Marks the event with the given sequence as delivered by one consumer.
+	 * The consumer that delivers it last clears its slot, such that the
+	 * buffer does not keep references to it. The slot is only reused after
+	 * all consumers advanced their sequence beyond it.
+	 * 
+	 * @param sequence
+	 *            The sequence of the delivered event
+	 */
+	void delivered(final long sequence) {
+		final int slot = (int) (sequence & this.mMask);
+		if (this.mPendingDeliveries.decrementAndGet(slot) == 0) {
+			this.mRobots[slot] = null;
+			this.mSources[slot] = null;
+			this.mDestinations[slot] = null;
+		}
+	}
+
+	/**
+	 * Notifies waiting publishers that a consumer advanced its sequence and
+	 * thus may have freed slots. Must be called after the sequence of the
+	 * consumer was updated.
+	 */
+	void eventsConsumed() {
+		// The counter is read after the sequence was updated, a publisher
+		// increments it before checking for capacity again, thus no signal
+		// gets lost
+		if (this.mWaitingPublishers.get() > 0) {
+			this.mLock.lock();
+			try {
+				this.mEventsConsumed.signalAll();
+			} finally {
+				this.mLock.unlock();
+			}
+		}
+	}
+
+	/**
+	 * Gets the destination of the event with the given sequence.
+	 * 
+	 * @param sequence
+	 *            The sequence of a published event
+	 * @return The destination of the event
+	 */
+	ITreeNode getDestination(final long sequence) {
+		return this.mDestinations[(int) (sequence & this.mMask)];
+	}
+
+	/**
+	 * Gets the highest sequence of all events that were published
+	 * consecutively starting from the given sequence.
+	 * 
+	 * @param sequence
+	 *            The sequence to start from
+	 * @return The highest sequence of the consecutively published events or
+	 *         <tt>sequence - 1</tt> if the event with the given sequence was
+	 *         not published yet
+	 */
+	long getHighestPublishedSequence(final long sequence) {
+		long current = sequence;
+		final long limit = sequence + this.mCapacity;
+		while (current < limit && this.mPublishedSequences.get((int) (current & this.mMask)) == current) {
+			current++;
+		}
+		return current - 1;
+	}
+
+	/**
+	 * Gets the robot of the event with the given sequence.
+	 * 
+	 * @param sequence
+	 *            The sequence of a published event
+	 * @return The robot of the event
+	 */
+	Robot getRobot(final long sequence) {
+		return this.mRobots[(int) (sequence & this.mMask)];
+	}
+
+	/**
+	 * Gets the source of the event with the given sequence.
+	 * 
+	 * @param sequence
+	 *            The sequence of a published event
+	 * @return The source of the event
+	 */
+	ITreeNode getSource(final long sequence) {
+		return this.mSources[(int) (sequence & this.mMask)];
+	}
+
+	/**
+	 * Whether the bus was shut down and all claimed events were delivered up to
+	 * the given sequence.
+	 * 
+	 * @param sequence
+	 *            The next sequence a consumer wants to read
+	 * @return <tt>True</tt> if the consumer can stop, <tt>false</tt> otherwise
+	 */
+	boolean isDrained(final long sequence) {
+		return this.mIsShutdown && this.mClaimSequence.get() <= sequence;
+	}
+}
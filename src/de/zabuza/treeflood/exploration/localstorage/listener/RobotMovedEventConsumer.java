@@ -0,0 +1,165 @@
+package de.zabuza.treeflood.exploration.localstorage.listener;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Consumer thread of a {@link RobotMovedEventBus} that delivers all events of
+ * the bus, in the order they were published, to a single listener. While no
+ * event is available the thread parks instead of spinning, publishers unpark
+ * it without taking a lock.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class RobotMovedEventConsumer extends Thread {
+	/**
+	 * The bus to consume events from.
+	 */
+	private final RobotMovedEventBus mBus;
+	/**
+	 * The first exception the listener threw or <tt>null</tt> if there was
+	 * none.
+	 */
+	private volatile Throwable mEncounteredException;
+	/**
+	 * Whether the thread is parked or about to park. It is cleared by the
+	 * thread that unparks it, thus only one publisher unparks it per park.
+	 */
+	private final AtomicBoolean mIsParked;
+	/**
+	 * The listener to deliver events to.
+	 */
+	private final IRobotMovedListener mListener;
+	/**
+	 * The sequence of the next event to consume. All events with a lower
+	 * sequence were delivered already, their slots can be reused.
+	 */
+	private volatile long mSequence;
+
+	/**
+	 * Creates a new consumer that delivers the events of the given bus to the
+	 * given listener.
+	 * 
+	 * @param bus
+	 *            The bus to consume events from
+	 * @param listener
+	 *            The listener to deliver events to
+	 */
+	public RobotMovedEventConsumer(final RobotMovedEventBus bus, final IRobotMovedListener listener) {
+		this.mBus = bus;
+		this.mListener = listener;
+		this.mSequence = 0L;
+		this.mEncounteredException = null;
+		this.mIsParked = new AtomicBoolean(false);
+	}
+
+	/**
+	 * Gets the first exception the listener threw.
+	 * 
+	 * @return The first exception the listener threw or <tt>null</tt> if there
+	 *         was none
+	 */
+	public Throwable getEncounteredException() {
+		return this.mEncounteredException;
+	}
+
+	/**
+	 * Gets the sequence of the next event to consume. All events with a lower
+	 * sequence were delivered already.
+	 * 
+	 * @return The sequence of the next event to consume
+	 */
+	public long getSequence() {
+		return this.mSequence;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Thread#run()
+	 */
+	@Override
+	public void run() {
+		long nextSequence = this.mSequence;
+		while (true) {
+			final long highestSequence = this.mBus.getHighestPublishedSequence(nextSequence);
+			if (highestSequence < nextSequence) {
+				if (this.mBus.isDrained(nextSequence)) {
+					return;
+				}
+				awaitPublication(nextSequence);
+				continue;
+			}
+
+			// Deliver all available events and free their slots at once
+			for (long sequence = nextSequence; sequence <= highestSequence; sequence++) {
+				deliver(sequence);
+				this.mBus.delivered(sequence);
+			}
+			nextSequence = highestSequence + 1;
+			this.mSequence = nextSequence;
+			this.mBus.eventsConsumed();
+		}
+	}
+
+	/**
+	 * Parks the thread until the event with the given sequence was published
+	 * or the bus is drained. The thread is unparked by a publisher or by
+	 * {@link RobotMovedEventBus#shutdown()}.
+	 * 
+	 * @param sequence
+	 *            The sequence of the next event to consume
+	 */
+	private void awaitPublication(final long sequence) {
+		while (true) {
+			// The flag is set before checking for events, a publisher reads it
+			// after publishing, thus no wake-up gets lost
+			this.mIsParked.set(true);
+			if (this.mBus.getHighestPublishedSequence(sequence) >= sequence || this.mBus.isDrained(sequence)) {
+				this.mIsParked.set(false);
+				return;
+			}
+			LockSupport.park(this);
+		}
+	}
+
+	/**
+	 * Delivers the event with the given sequence to the listener unless the
+	 * listener threw an exception before.
+	 * 
+	 * @param sequence
+	 *            The sequence of the event to deliver
+	 */
+	private void deliver(final long sequence) {
+		if (this.mEncounteredException != null) {
+			return;
+		}
+		try {
+			this.mListener.movedTo(this.mBus.getRobot(sequence), this.mBus.getSource(sequence),
+					this.mBus.getDestination(sequence));
+		} catch (final Throwable e) {
+			this.mEncounteredException = e;
+		}
+	}
+
+	/**
+	 * Unparks the thread regardless of whether it is parked, used when the bus
+	 * is shut down.
+	 */
+	void unpark() {
+		this.mIsParked.set(false);
+		LockSupport.unpark(this);
+	}
+
+	/**
+	 * Unparks the thread if it is parked waiting for an event. Only the first
+	 * caller after the thread parked unparks it, thus publishers do not
+	 * contend on a lock.
+	 */
+	void unparkIfParked() {
+		if (this.mIsParked.get() && this.mIsParked.compareAndSet(true, false)) {
+			LockSupport.unpark(this);
+		}
+	}
+}
@@ -17,7 +17,8 @@ import de.zabuza.treeflood.tree.util.ITreeNodeStringifier;
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
-public final class RobotNodeStringifier implements ITreeNodeStringifier, IRobotMovedListener {
+public final class RobotNodeStringifier
+		implements ITreeNodeStringifier, IRobotMovedListener, IRobotMovedBatchListener {
 	/**
 	 * Data-structure that maps nodes to the robots currently located in them.
 	 */
@@ -29,9 +30,10 @@ public final class RobotNodeStringifier implements ITreeNodeStringifier, IRobotM
 
 	/**
 	 * Creates a new robot node stringifier. For a node it returns a text
-	 * containing all robots currently located in that node. Therefore robots
-	 * need to call {@link #movedTo(Robot, ITreeNode, ITreeNode)} when they
-	 * move. For their initial position use
+	 * containing all robots currently located in that node. Therefore it needs
+	 * to receive the movements of robots, either by
+	 * {@link #movedTo(Robot, ITreeNode, ITreeNode)} or by
+	 * {@link #movedBatch(RobotMove[])}. For their initial position use
 	 * {@link #setInitialLocation(Iterable)}.
 	 */
 	public RobotNodeStringifier() {
@@ -39,6 +41,20 @@ public final class RobotNodeStringifier implements ITreeNodeStringifier, IRobotM
 		this.mOriginalToAlias = null;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.listener.
+	 * IRobotMovedBatchListener#movedBatch(de.zabuza.treeflood.exploration.
+	 * localstorage.listener.RobotMove[])
+	 */
+	@Override
+	public synchronized void movedBatch(final RobotMove[] moves) {
+		for (final RobotMove move : moves) {
+			movedTo(move.getRobot(), move.getSource(), move.getDestination());
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,390 @@
+package de.zabuza.treeflood.exploration.localstorage.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import de.zabuza.treeflood.exploration.localstorage.EStage;
+import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
+
+/**
+ * Metrics of local storage explorations that record the latency of each
+ * stage, step and robot pulse, the coordination overhead of the pulse manager,
+ * the amount of active robots and the size of the local storage.<br>
+ * <br>
+ * Metrics are given to a
+ * {@link de.zabuza.treeflood.exploration.localstorage.LocalStorageExploration
+ * LocalStorageExploration} at construction and can be shared by multiple
+ * explorations that run one after another. They can be exposed via JMX by
+ * using {@link #register(String)}. Explorations without metrics are not
+ * instrumented at all, disabled metrics only cost a check per pulse. Robot
+ * pulses are recorded concurrently by the robot threads into contention free
+ * adders and accumulators, thus enabled metrics do not serialize the robots.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationMetrics implements IExplorationMetricsMXBean {
+	/**
+	 * The domain of the object names metrics are registered with.
+	 */
+	public static final String DOMAIN = "de.zabuza.treeflood";
+	/**
+	 * The amount of nanoseconds per second.
+	 */
+	private static final double NANOS_PER_SECOND = 1_000_000_000.0;
+
+	/**
+	 * The amount of robots that had not stopped after the last pulse.
+	 */
+	private volatile int mActiveRobots;
+	/**
+	 * Histogram of the coordination overhead of pulses.
+	 */
+	private final LatencyHistogram mCoordinationHistogram;
+	/**
+	 * The latency of the slowest robot in the current pulse.
+	 */
+	private final LongAccumulator mCriticalPathOfPulse;
+	/**
+	 * Whether metrics are recorded.
+	 */
+	private volatile boolean mIsEnabled;
+	/**
+	 * The local storage of the last exploration that used these metrics or
+	 * <tt>null</tt> if there is none.
+	 */
+	private volatile ILocalStorage mLocalStorage;
+	/**
+	 * Histogram of the latency of move pulses.
+	 */
+	private final LatencyHistogram mMoveStageHistogram;
+	/**
+	 * The name these metrics are registered with or <tt>null</tt> if they are
+	 * not registered.
+	 */
+	private ObjectName mObjectName;
+	/**
+	 * The amount of pulses.
+	 */
+	private final AtomicLong mPulses;
+	/**
+	 * Histogram of the latency of read pulses.
+	 */
+	private final LatencyHistogram mReadStageHistogram;
+	/**
+	 * Histogram of the latency of robot pulses.
+	 */
+	private final LatencyHistogram mRobotPulseHistogram;
+	/**
+	 * Histogram of the latency of steps.
+	 */
+	private final LatencyHistogram mStepHistogram;
+	/**
+	 * The sum of the latencies of all pulses.
+	 */
+	private final AtomicLong mTotalPulseTime;
+	/**
+	 * Histogram of the latency of write pulses.
+	 */
+	private final LatencyHistogram mWriteStageHistogram;
+
+	/**
+	 * Creates new enabled metrics.
+	 */
+	public ExplorationMetrics() {
+		this.mMoveStageHistogram = new LatencyHistogram();
+		this.mWriteStageHistogram = new LatencyHistogram();
+		this.mReadStageHistogram = new LatencyHistogram();
+		this.mStepHistogram = new LatencyHistogram();
+		this.mRobotPulseHistogram = new LatencyHistogram();
+		this.mCoordinationHistogram = new LatencyHistogram();
+		this.mCriticalPathOfPulse = new LongAccumulator(Math::max, 0L);
+		this.mPulses = new AtomicLong(0L);
+		this.mTotalPulseTime = new AtomicLong(0L);
+		this.mActiveRobots = 0;
+		this.mLocalStorage = null;
+		this.mObjectName = null;
+		this.mIsEnabled = true;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getActiveRobots()
+	 */
+	@Override
+	public int getActiveRobots() {
+		return this.mActiveRobots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getCoordinationLatency()
+	 */
+	@Override
+	public LatencyStatistics getCoordinationLatency() {
+		return this.mCoordinationHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getMoveStageLatency()
+	 */
+	@Override
+	public LatencyStatistics getMoveStageLatency() {
+		return this.mMoveStageHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getPulses()
+	 */
+	@Override
+	public long getPulses() {
+		return this.mPulses.get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getPulsesPerSecond()
+	 */
+	@Override
+	public double getPulsesPerSecond() {
+		final long totalPulseTime = this.mTotalPulseTime.get();
+		if (totalPulseTime == 0L) {
+			return 0.0;
+		}
+		return this.mPulses.get() * NANOS_PER_SECOND / totalPulseTime;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getReadStageLatency()
+	 */
+	@Override
+	public LatencyStatistics getReadStageLatency() {
+		return this.mReadStageHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getRobotPulseLatency()
+	 */
+	@Override
+	public LatencyStatistics getRobotPulseLatency() {
+		return this.mRobotPulseHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getStepLatency()
+	 */
+	@Override
+	public LatencyStatistics getStepLatency() {
+		return this.mStepHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getSteps()
+	 */
+	@Override
+	public long getSteps() {
+		return this.mStepHistogram.getCount();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getStorageEntries()
+	 */
+	@Override
+	public long getStorageEntries() {
+		final ILocalStorage localStorage = this.mLocalStorage;
+		if (localStorage == null) {
+			return 0L;
+		}
+		return localStorage.getAmountOfEntries();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#getWriteStageLatency()
+	 */
+	@Override
+	public LatencyStatistics getWriteStageLatency() {
+		return this.mWriteStageHistogram.getStatistics();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#isEnabled()
+	 */
+	@Override
+	public boolean isEnabled() {
+		return this.mIsEnabled;
+	}
+
+	/**
+	 * Records the end of a pulse. Must be called by the thread that executes
+	 * the exploration.
+	 * 
+	 * @param stage
+	 *            The stage the robots executed in the pulse
+	 * @param latency
+	 *            The latency of the pulse in nanoseconds
+	 * @param activeRobots
+	 *            The amount of robots that had not stopped after the pulse
+	 */
+	public void recordPulse(final EStage stage, final long latency, final int activeRobots) {
+		switch (stage) {
+		case MOVE:
+			this.mMoveStageHistogram.record(latency);
+			break;
+		case WRITE:
+			this.mWriteStageHistogram.record(latency);
+			break;
+		case READ:
+			this.mReadStageHistogram.record(latency);
+			break;
+		default:
+			throw new AssertionError();
+		}
+		this.mCoordinationHistogram.record(latency - this.mCriticalPathOfPulse.get());
+		this.mPulses.incrementAndGet();
+		this.mTotalPulseTime.addAndGet(latency);
+		this.mActiveRobots = activeRobots;
+	}
+
+	/**
+	 * Records the latency of a robot executing a pulse. May be called by
+	 * multiple threads at the same time.
+	 * 
+	 * @param latency
+	 *            The latency of the robot pulse in nanoseconds
+	 */
+	public void recordRobotPulse(final long latency) {
+		this.mRobotPulseHistogram.record(latency);
+		this.mCriticalPathOfPulse.accumulate(latency);
+	}
+
+	/**
+	 * Records the latency of a step. Must be called by the thread that executes
+	 * the exploration.
+	 * 
+	 * @param latency
+	 *            The latency of the step in nanoseconds
+	 */
+	public void recordStep(final long latency) {
+		this.mStepHistogram.record(latency);
+	}
+
+	/**
+	 * Registers these metrics at the platform MBean server such that they are
+	 * exposed via JMX.
+	 * 
+	 * @param name
+	 *            The name to register the metrics with, it distinguishes
+	 *            multiple registered metrics
+	 * @return The object name the metrics were registered with
+	 * @throws JMException
+	 *             If the metrics could not be registered, for example because
+	 *             the name is already in use
+	 */
+	public synchronized ObjectName register(final String name) throws JMException {
+		final ObjectName objectName = new ObjectName(
+				DOMAIN + ":type=" + ExplorationMetrics.class.getSimpleName() + ",name=" + ObjectName.quote(name));
+		ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+		this.mObjectName = objectName;
+		return objectName;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#reset()
+	 */
+	@Override
+	public void reset() {
+		this.mMoveStageHistogram.reset();
+		this.mWriteStageHistogram.reset();
+		this.mReadStageHistogram.reset();
+		this.mStepHistogram.reset();
+		this.mRobotPulseHistogram.reset();
+		this.mCoordinationHistogram.reset();
+		this.mPulses.set(0L);
+		this.mTotalPulseTime.set(0L);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.metrics.
+	 * IExplorationMetricsMXBean#setEnabled(boolean)
+	 */
+	@Override
+	public void setEnabled(final boolean enabled) {
+		this.mIsEnabled = enabled;
+	}
+
+	/**
+	 * Sets the local storage of the exploration that uses these metrics. Its
+	 * size is reported by {@link #getStorageEntries()}.
+	 * 
+	 * @param localStorage
+	 *            The local storage of the exploration
+	 */
+	public void setLocalStorage(final ILocalStorage localStorage) {
+		this.mLocalStorage = localStorage;
+	}
+
+	/**
+	 * Records the start of a pulse. Must be called by the thread that executes
+	 * the exploration before the robots are pulsed.
+	 */
+	public void startPulse() {
+		this.mCriticalPathOfPulse.reset();
+	}
+
+	/**
+	 * Unregisters these metrics from the platform MBean server if they are
+	 * registered.
+	 * 
+	 * @throws JMException
+	 *             If the metrics could not be unregistered
+	 */
+	public synchronized void unregister() throws JMException {
+		if (this.mObjectName == null) {
+			return;
+		}
+		ManagementFactory.getPlatformMBeanServer().unregisterMBean(this.mObjectName);
+		this.mObjectName = null;
+	}
+}
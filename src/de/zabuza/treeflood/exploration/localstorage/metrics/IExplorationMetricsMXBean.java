@@ -0,0 +1,120 @@
+package de.zabuza.treeflood.exploration.localstorage.metrics;
+
+/**
+ * Management interface of {@link ExplorationMetrics}, exposed via JMX. All
+ * latencies are given in nanoseconds.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface IExplorationMetricsMXBean {
+	/**
+	 * Gets the amount of robots that had not stopped after the last pulse.
+	 * 
+	 * @return The amount of active robots
+	 */
+	public int getActiveRobots();
+
+	/**
+	 * Gets the statistics of the coordination overhead of pulses, i.e. the
+	 * latency of a pulse minus the latency of the slowest robot in the pulse.
+	 * It is the time the pulse manager spent to dispatch the robots and to
+	 * wait for them beyond the critical path.
+	 * 
+	 * @return The statistics of the coordination overhead of pulses
+	 */
+	public LatencyStatistics getCoordinationLatency();
+
+	/**
+	 * Gets the statistics of the latency of pulses that execute the stage
+	 * {@link de.zabuza.treeflood.exploration.localstorage.EStage#MOVE MOVE},
+	 * which includes the construction of the knowledge.
+	 * 
+	 * @return The statistics of the latency of move pulses
+	 */
+	public LatencyStatistics getMoveStageLatency();
+
+	/**
+	 * Gets the amount of pulses executed since the last reset.
+	 * 
+	 * @return The amount of pulses
+	 */
+	public long getPulses();
+
+	/**
+	 * Gets the amount of pulses per second, measured over the time spent in
+	 * pulses since the last reset.
+	 * 
+	 * @return The amount of pulses per second
+	 */
+	public double getPulsesPerSecond();
+
+	/**
+	 * Gets the statistics of the latency of pulses that execute the stage
+	 * {@link de.zabuza.treeflood.exploration.localstorage.EStage#READ READ}.
+	 * 
+	 * @return The statistics of the latency of read pulses
+	 */
+	public LatencyStatistics getReadStageLatency();
+
+	/**
+	 * Gets the statistics of the latency of single robots executing a pulse.
+	 * 
+	 * @return The statistics of the latency of robot pulses
+	 */
+	public LatencyStatistics getRobotPulseLatency();
+
+	/**
+	 * Gets the statistics of the latency of steps, each consisting of three
+	 * pulses.
+	 * 
+	 * @return The statistics of the latency of steps
+	 */
+	public LatencyStatistics getStepLatency();
+
+	/**
+	 * Gets the amount of steps executed since the last reset.
+	 * 
+	 * @return The amount of steps
+	 */
+	public long getSteps();
+
+	/**
+	 * Gets the amount of entries in the local storage of the last exploration
+	 * that used these metrics.
+	 * 
+	 * @return The amount of entries in the local storage or <tt>0</tt> if no
+	 *         exploration used these metrics yet
+	 */
+	public long getStorageEntries();
+
+	/**
+	 * Gets the statistics of the latency of pulses that execute the stage
+	 * {@link de.zabuza.treeflood.exploration.localstorage.EStage#WRITE WRITE}.
+	 * 
+	 * @return The statistics of the latency of write pulses
+	 */
+	public LatencyStatistics getWriteStageLatency();
+
+	/**
+	 * Whether metrics are recorded.
+	 * 
+	 * @return <tt>True</tt> if metrics are recorded, <tt>false</tt> otherwise
+	 */
+	public boolean isEnabled();
+
+	/**
+	 * Removes all recorded metrics.
+	 */
+	public void reset();
+
+	/**
+	 * Sets whether metrics are recorded. Disabled metrics cost only a check
+	 * per pulse.
+	 * 
+	 * @param enabled
+	 *            <tt>True</tt> if metrics should be recorded, <tt>false</tt>
+	 *            otherwise
+	 */
+	public void setEnabled(boolean enabled);
+}
@@ -0,0 +1,134 @@
+package de.zabuza.treeflood.exploration.localstorage.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with buckets of exponentially growing width. The
+ * bucket with index <tt>i</tt> counts latencies whose binary representation
+ * has exactly <tt>i</tt> significant bits, i.e. latencies from
+ * <tt>2^(i-1)</tt> to <tt>2^i - 1</tt>. Percentiles are thus accurate up to a
+ * factor of two.<br>
+ * <br>
+ * The histogram is thread safe. All values are kept in {@link LongAdder}s and
+ * a {@link LongAccumulator}, which spread concurrent updates over multiple
+ * cells. Thus threads recording at the same time do not contend for the same
+ * cache line, reading the statistics sums up the cells.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class LatencyHistogram {
+	/**
+	 * The amount of buckets, one for zero and one for each amount of
+	 * significant bits of a non-negative long.
+	 */
+	private static final int BUCKETS = Long.SIZE;
+
+	/**
+	 * The amount of recorded latencies in each bucket.
+	 */
+	private final LongAdder[] mBuckets;
+	/**
+	 * The amount of recorded latencies.
+	 */
+	private final LongAdder mCount;
+	/**
+	 * The maximal recorded latency.
+	 */
+	private final LongAccumulator mMax;
+	/**
+	 * The sum of all recorded latencies.
+	 */
+	private final LongAdder mSum;
+
+	/**
+	 * Creates a new empty latency histogram.
+	 */
+	public LatencyHistogram() {
+		this.mBuckets = new LongAdder[BUCKETS];
+		for (int i = 0; i < BUCKETS; i++) {
+			this.mBuckets[i] = new LongAdder();
+		}
+		this.mCount = new LongAdder();
+		this.mSum = new LongAdder();
+		this.mMax = new LongAccumulator(Math::max, 0L);
+	}
+
+	/**
+	 * Gets the amount of latencies recorded so far.
+	 * 
+	 * @return The amount of recorded latencies
+	 */
+	public long getCount() {
+		return this.mCount.sum();
+	}
+
+	/**
+	 * Gets the statistics of the latencies recorded so far. Latencies that are
+	 * recorded concurrently may only be partially reflected.
+	 * 
+	 * @return The statistics of the recorded latencies
+	 */
+	public LatencyStatistics getStatistics() {
+		final long count = this.mCount.sum();
+		if (count == 0L) {
+			return new LatencyStatistics(0L, 0.0, 0L, 0L, 0L, 0L);
+		}
+		final long max = this.mMax.get();
+		return new LatencyStatistics(count, (double) this.mSum.sum() / count, getPercentile(50, count, max),
+				getPercentile(90, count, max), getPercentile(99, count, max), max);
+	}
+
+	/**
+	 * Records the given latency.
+	 * 
+	 * @param latency
+	 *            The latency to record, negative values are treated as zero
+	 */
+	public void record(final long latency) {
+		final long latencyToRecord = Math.max(0L, latency);
+		this.mBuckets[Long.SIZE - Long.numberOfLeadingZeros(latencyToRecord)].increment();
+		this.mCount.increment();
+		this.mSum.add(latencyToRecord);
+		this.mMax.accumulate(latencyToRecord);
+	}
+
+	/**
+	 * Removes all recorded latencies.
+	 */
+	public void reset() {
+		for (final LongAdder bucket : this.mBuckets) {
+			bucket.reset();
+		}
+		this.mCount.reset();
+		this.mSum.reset();
+		this.mMax.reset();
+	}
+
+	/**
+	 * Gets an upper bound of the given percentile of the recorded latencies.
+	 * 
+	 * @param percentile
+	 *            The percentile to get, between <tt>0</tt> and <tt>100</tt>
+	 * @param count
+	 *            The amount of recorded latencies
+	 * @param max
+	 *            The maximal recorded latency
+	 * @return The upper bound of the bucket that contains the percentile,
+	 *         limited by the maximal recorded latency
+	 */
+	private long getPercentile(final double percentile, final long count, final long max) {
+		// Nearest rank method
+		final long rank = Math.max(1L, (long) Math.ceil(percentile / 100 * count));
+		long cumulativeCount = 0L;
+		for (int i = 0; i < BUCKETS; i++) {
+			cumulativeCount += this.mBuckets[i].sum();
+			if (cumulativeCount >= rank) {
+				final long upperBound = (1L << i) - 1;
+				return Math.min(upperBound, max);
+			}
+		}
+		return max;
+	}
+}
@@ -0,0 +1,127 @@
+package de.zabuza.treeflood.exploration.localstorage.metrics;
+
+/**
+ * Immutable statistics of latencies recorded by a {@link LatencyHistogram}.
+ * All latencies are given in nanoseconds. Percentiles are upper bounds that
+ * are accurate up to a factor of two.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class LatencyStatistics {
+	/**
+	 * The amount of recorded latencies.
+	 */
+	private final long mCount;
+	/**
+	 * The maximal latency.
+	 */
+	private final long mMax;
+	/**
+	 * The mean latency.
+	 */
+	private final double mMean;
+	/**
+	 * The median latency.
+	 */
+	private final long mMedian;
+	/**
+	 * The 90th percentile of the latencies.
+	 */
+	private final long mP90;
+	/**
+	 * The 99th percentile of the latencies.
+	 */
+	private final long mP99;
+
+	/**
+	 * Creates new latency statistics.
+	 * 
+	 * @param count
+	 *            The amount of recorded latencies
+	 * @param mean
+	 *            The mean latency
+	 * @param median
+	 *            The median latency
+	 * @param p90
+	 *            The 90th percentile of the latencies
+	 * @param p99
+	 *            The 99th percentile of the latencies
+	 * @param max
+	 *            The maximal latency
+	 */
+	public LatencyStatistics(final long count, final double mean, final long median, final long p90,
+			final long p99, final long max) {
+		this.mCount = count;
+		this.mMean = mean;
+		this.mMedian = median;
+		this.mP90 = p90;
+		this.mP99 = p99;
+		this.mMax = max;
+	}
+
+	/**
+	 * Gets the amount of recorded latencies.
+	 * 
+	 * @return The amount of recorded latencies
+	 */
+	public long getCount() {
+		return this.mCount;
+	}
+
+	/**
+	 * Gets the maximal latency.
+	 * 
+	 * @return The maximal latency in nanoseconds
+	 */
+	public long getMax() {
+		return this.mMax;
+	}
+
+	/**
+	 * Gets the mean latency.
+	 * 
+	 * @return The mean latency in nanoseconds
+	 */
+	public double getMean() {
+		return this.mMean;
+	}
+
+	/**
+	 * Gets the median latency.
+	 * 
+	 * @return The median latency in nanoseconds
+	 */
+	public long getMedian() {
+		return this.mMedian;
+	}
+
+	/**
+	 * Gets the 90th percentile of the latencies.
+	 * 
+	 * @return The 90th percentile of the latencies in nanoseconds
+	 */
+	public long getP90() {
+		return this.mP90;
+	}
+
+	/**
+	 * Gets the 99th percentile of the latencies.
+	 * 
+	 * @return The 99th percentile of the latencies in nanoseconds
+	 */
+	public long getP99() {
+		return this.mP99;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "LatencyStatistics [count=" + this.mCount + ", mean=" + this.mMean + ", median=" + this.mMedian
+				+ ", p90=" + this.mP90 + ", p99=" + this.mP99 + ", max=" + this.mMax + "]";
+	}
+}
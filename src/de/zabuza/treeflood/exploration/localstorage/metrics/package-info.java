@@ -0,0 +1,5 @@
+/**
+ * This package contains metrics that give insight into the running time of
+ * local storage exploration algorithms and expose it via JMX.
+ */
+package de.zabuza.treeflood.exploration.localstorage.metrics;
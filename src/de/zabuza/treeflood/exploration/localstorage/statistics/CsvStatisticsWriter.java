@@ -0,0 +1,124 @@
+package de.zabuza.treeflood.exploration.localstorage.statistics;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Statistics sink that streams the statistics as comma separated values to a
+ * writer, one line per round after a header line. The output is buffered and
+ * flushed every {@link #FLUSH_INTERVAL} rounds, such that long explorations
+ * can be followed while they run without keeping the statistics in memory.
+ * Lines are assembled in a reused buffer, writing a round does not allocate
+ * besides formatting the decimal values.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CsvStatisticsWriter implements IExplorationStatisticsSink, Closeable {
+	/**
+	 * The amount of rounds after which the output is flushed.
+	 */
+	public static final int FLUSH_INTERVAL = 64;
+	/**
+	 * The header line of the output.
+	 */
+	public static final String HEADER = "ROUND,STEP,DISCOVERED_NODES,FRONTIER_SIZE,MOVING_ROBOTS,STAYING_ROBOTS,"
+			+ "STOPPED_ROBOTS,OCCUPIED_NODES,ROBOTS_PER_OCCUPIED_NODE";
+	/**
+	 * The separator of values in a line.
+	 */
+	private static final char SEPARATOR = ',';
+
+	/**
+	 * Buffer used to copy the assembled line to the writer.
+	 */
+	private char[] mCharBuffer;
+	/**
+	 * Buffer used to assemble a line.
+	 */
+	private final StringBuilder mLine;
+	/**
+	 * The line separator to use.
+	 */
+	private final String mLineSeparator;
+	/**
+	 * The amount of rounds written since the last flush.
+	 */
+	private int mRoundsSinceFlush;
+	/**
+	 * The writer to write to.
+	 */
+	private final Writer mWriter;
+
+	/**
+	 * Creates a new writer that streams statistics to the given writer and
+	 * writes the header line.
+	 * 
+	 * @param writer
+	 *            The writer to write to, it is buffered by this object and
+	 *            closed when this object is closed
+	 * @throws IOException
+	 *             If an I/O-Exception occurred while writing the header
+	 */
+	public CsvStatisticsWriter(final Writer writer) throws IOException {
+		this.mWriter = new BufferedWriter(writer);
+		this.mLineSeparator = System.lineSeparator();
+		this.mLine = new StringBuilder();
+		this.mCharBuffer = new char[HEADER.length() + this.mLineSeparator.length()];
+		this.mRoundsSinceFlush = 0;
+
+		this.mWriter.write(HEADER);
+		this.mWriter.write(this.mLineSeparator);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.io.Closeable#close()
+	 */
+	@Override
+	public void close() throws IOException {
+		this.mWriter.close();
+	}
+
+	/**
+	 * Writes the statistics as line.
+	 * 
+	 * @throws UncheckedIOException
+	 *             If an I/O-Exception occurred while writing
+	 */
+	@Override
+	public void roundFinished(final ExplorationStatistics statistics) throws UncheckedIOException {
+		final StringBuilder line = this.mLine;
+		line.setLength(0);
+		line.append(statistics.getRound()).append(SEPARATOR);
+		line.append(statistics.getStep()).append(SEPARATOR);
+		line.append(statistics.getDiscoveredNodes()).append(SEPARATOR);
+		line.append(statistics.getFrontierSize()).append(SEPARATOR);
+		line.append(statistics.getMovingRobots()).append(SEPARATOR);
+		line.append(statistics.getStayingRobots()).append(SEPARATOR);
+		line.append(statistics.getStoppedRobots()).append(SEPARATOR);
+		line.append(statistics.getOccupiedNodes()).append(SEPARATOR);
+		line.append(statistics.getRobotsPerOccupiedNode());
+		line.append(this.mLineSeparator);
+
+		final int length = line.length();
+		if (this.mCharBuffer.length < length) {
+			this.mCharBuffer = new char[length];
+		}
+		line.getChars(0, length, this.mCharBuffer, 0);
+		try {
+			this.mWriter.write(this.mCharBuffer, 0, length);
+			this.mRoundsSinceFlush++;
+			if (this.mRoundsSinceFlush >= FLUSH_INTERVAL) {
+				this.mWriter.flush();
+				this.mRoundsSinceFlush = 0;
+			}
+		} catch (final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package de.zabuza.treeflood.exploration.localstorage.statistics;
+
+/**
+ * Statistics of an exploration aggregated over one round. Objects are reused
+ * for all rounds of an exploration to avoid allocation, see
+ * {@link IExplorationStatisticsSink}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationStatistics {
+	/**
+	 * The amount of nodes discovered so far, including the root.
+	 */
+	private int mDiscoveredNodes;
+	/**
+	 * The amount of discovered nodes that have at least one undiscovered
+	 * child.
+	 */
+	private int mFrontierSize;
+	/**
+	 * The amount of robots that have not stopped and moved at least once in
+	 * the round.
+	 */
+	private int mMovingRobots;
+	/**
+	 * The amount of distinct nodes robots are located at after the round.
+	 */
+	private int mOccupiedNodes;
+	/**
+	 * The number of the round, starting with <tt>0</tt> for the initial
+	 * steps.
+	 */
+	private int mRound;
+	/**
+	 * The amount of robots that have not stopped and did not move in the
+	 * round.
+	 */
+	private int mStayingRobots;
+	/**
+	 * The number of the last step of the round.
+	 */
+	private int mStep;
+	/**
+	 * The amount of robots that have stopped.
+	 */
+	private int mStoppedRobots;
+
+	/**
+	 * Creates new empty statistics.
+	 */
+	ExplorationStatistics() {
+		set(0, 0, 0, 0, 0, 0, 0, 0);
+	}
+
+	/**
+	 * Gets the amount of nodes discovered so far, including the root.
+	 * 
+	 * @return The amount of discovered nodes
+	 */
+	public int getDiscoveredNodes() {
+		return this.mDiscoveredNodes;
+	}
+
+	/**
+	 * Gets the amount of discovered nodes that have at least one undiscovered
+	 * child.
+	 * 
+	 * @return The size of the frontier
+	 */
+	public int getFrontierSize() {
+		return this.mFrontierSize;
+	}
+
+	/**
+	 * Gets the amount of robots that have not stopped and moved at least once
+	 * in the round.
+	 * 
+	 * @return The amount of moving robots
+	 */
+	public int getMovingRobots() {
+		return this.mMovingRobots;
+	}
+
+	/**
+	 * Gets the amount of distinct nodes robots are located at after the round.
+	 * 
+	 * @return The amount of occupied nodes
+	 */
+	public int getOccupiedNodes() {
+		return this.mOccupiedNodes;
+	}
+
+	/**
+	 * Gets the mean amount of robots per occupied node after the round.
+	 * 
+	 * @return The mean amount of robots per occupied node
+	 */
+	public double getRobotsPerOccupiedNode() {
+		if (this.mOccupiedNodes == 0) {
+			return 0.0;
+		}
+		return (double) (this.mMovingRobots + this.mStayingRobots + this.mStoppedRobots) / this.mOccupiedNodes;
+	}
+
+	/**
+	 * Gets the number of the round.
+	 * 
+	 * @return The number of the round, starting with <tt>0</tt> for the
+	 *         initial steps
+	 */
+	public int getRound() {
+		return this.mRound;
+	}
+
+	/**
+	 * Gets the amount of robots that have not stopped and did not move in the
+	 * round.
+	 * 
+	 * @return The amount of staying robots
+	 */
+	public int getStayingRobots() {
+		return this.mStayingRobots;
+	}
+
+	/**
+	 * Gets the number of the last step of the round.
+	 * 
+	 * @return The number of the last step of the round
+	 */
+	public int getStep() {
+		return this.mStep;
+	}
+
+	/**
+	 * Gets the amount of robots that have stopped.
+	 * 
+	 * @return The amount of stopped robots
+	 */
+	public int getStoppedRobots() {
+		return this.mStoppedRobots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "ExplorationStatistics [round=" + this.mRound + ", step=" + this.mStep + ", discoveredNodes="
+				+ this.mDiscoveredNodes + ", frontierSize=" + this.mFrontierSize + ", movingRobots="
+				+ this.mMovingRobots + ", stayingRobots=" + this.mStayingRobots + ", stoppedRobots="
+				+ this.mStoppedRobots + ", occupiedNodes=" + this.mOccupiedNodes + "]";
+	}
+
+	/**
+	 * Sets the values of the statistics.
+	 * 
+	 * @param round
+	 *            The number of the round
+	 * @param step
+	 *            The number of the last step of the round
+	 * @param discoveredNodes
+	 *            The amount of nodes discovered so far
+	 * @param frontierSize
+	 *            The amount of discovered nodes that have at least one
+	 *            undiscovered child
+	 * @param movingRobots
+	 *            The amount of robots that have not stopped and moved in the
+	 *            round
+	 * @param stayingRobots
+	 *            The amount of robots that have not stopped and did not move
+	 *            in the round
+	 * @param stoppedRobots
+	 *            The amount of robots that have stopped
+	 * @param occupiedNodes
+	 *            The amount of distinct nodes robots are located at
+	 */
+	void set(final int round, final int step, final int discoveredNodes, final int frontierSize,
+			final int movingRobots, final int stayingRobots, final int stoppedRobots, final int occupiedNodes) {
+		this.mRound = round;
+		this.mStep = step;
+		this.mDiscoveredNodes = discoveredNodes;
+		this.mFrontierSize = frontierSize;
+		this.mMovingRobots = movingRobots;
+		this.mStayingRobots = stayingRobots;
+		this.mStoppedRobots = stoppedRobots;
+		this.mOccupiedNodes = occupiedNodes;
+	}
+}
@@ -0,0 +1,176 @@
+package de.zabuza.treeflood.exploration.localstorage.statistics;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Collects the statistics of an exploration and sends them to sinks once per
+ * round. All data-structures are allocated at construction or grow amortized,
+ * collecting statistics for a round does not allocate otherwise.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationStatisticsCollector {
+	/**
+	 * Array that contains for the id of each discovered node the amount of its
+	 * children that were discovered. It grows on demand.
+	 */
+	private int[] mDiscoveredChildren;
+	/**
+	 * The amount of nodes discovered so far.
+	 */
+	private int mDiscoveredNodes;
+	/**
+	 * The amount of discovered nodes that have at least one undiscovered
+	 * child.
+	 */
+	private int mFrontierSize;
+	/**
+	 * Contains for the id of each robot whether it moved in the current
+	 * round.
+	 */
+	private final boolean[] mHasMovedInRound;
+	/**
+	 * Bit set used to count the distinct nodes robots are located at, it is
+	 * cleared for each round.
+	 */
+	private final BitSet mOccupiedNodes;
+	/**
+	 * The sinks to send the statistics to.
+	 */
+	private final List<IExplorationStatisticsSink> mSinks;
+	/**
+	 * The statistics object that is reused for all rounds.
+	 */
+	private final ExplorationStatistics mStatistics;
+
+	/**
+	 * Creates a new collector for an exploration that starts at the given root
+	 * with the given amount of robots. The root is discovered initially.
+	 * 
+	 * @param root
+	 *            The root of the tree that is explored
+	 * @param amountOfRobots
+	 *            The amount of robots of the exploration
+	 * @param sinks
+	 *            The sinks to send the statistics to
+	 */
+	public ExplorationStatisticsCollector(final ITreeNode root, final int amountOfRobots,
+			final List<IExplorationStatisticsSink> sinks) {
+		this.mSinks = sinks;
+		this.mStatistics = new ExplorationStatistics();
+		this.mHasMovedInRound = new boolean[amountOfRobots];
+		this.mOccupiedNodes = new BitSet();
+		this.mDiscoveredChildren = new int[Math.max(1, root.getId() + 1)];
+		this.mDiscoveredNodes = 0;
+		this.mFrontierSize = 0;
+
+		discovered(root);
+	}
+
+	/**
+	 * Registers that the given node was discovered by a robot coming from its
+	 * parent. Must be called exactly once for each node that is discovered
+	 * after the root.
+	 * 
+	 * @param parent
+	 *            The parent of the discovered node
+	 * @param node
+	 *            The discovered node
+	 */
+	public void nodeDiscovered(final ITreeNode parent, final ITreeNode node) {
+		discovered(node);
+
+		final int parentId = parent.getId();
+		ensureCapacity(parentId);
+		this.mDiscoveredChildren[parentId]++;
+		if (this.mDiscoveredChildren[parentId] == parent.getAmountOfChildren()) {
+			// All children of the parent are discovered
+			this.mFrontierSize--;
+		}
+	}
+
+	/**
+	 * Registers the moves of the robots in the last pulse. Must be called
+	 * after each pulse.
+	 * 
+	 * @param robots
+	 *            The robots of the exploration
+	 */
+	public void pulseFinished(final List<Robot> robots) {
+		for (final Robot robot : robots) {
+			if (robot.hasMovedLastPulse()) {
+				this.mHasMovedInRound[robot.getId()] = true;
+			}
+		}
+	}
+
+	/**
+	 * Computes the statistics of the round that just finished and sends them
+	 * to the sinks.
+	 * 
+	 * @param round
+	 *            The number of the round that just finished
+	 * @param step
+	 *            The number of the last step of the round
+	 * @param robots
+	 *            The robots of the exploration
+	 */
+	public void roundFinished(final int round, final int step, final List<Robot> robots) {
+		int movingRobots = 0;
+		int stayingRobots = 0;
+		int stoppedRobots = 0;
+		this.mOccupiedNodes.clear();
+		for (final Robot robot : robots) {
+			this.mOccupiedNodes.set(robot.getLocation().getId());
+			if (robot.hasStopped()) {
+				stoppedRobots++;
+			} else if (this.mHasMovedInRound[robot.getId()]) {
+				movingRobots++;
+			} else {
+				stayingRobots++;
+			}
+		}
+		Arrays.fill(this.mHasMovedInRound, false);
+
+		this.mStatistics.set(round, step, this.mDiscoveredNodes, this.mFrontierSize, movingRobots, stayingRobots,
+				stoppedRobots, this.mOccupiedNodes.cardinality());
+		for (final IExplorationStatisticsSink sink : this.mSinks) {
+			sink.roundFinished(this.mStatistics);
+		}
+	}
+
+	/**
+	 * Registers the given node as discovered.
+	 * 
+	 * @param node
+	 *            The discovered node
+	 */
+	private void discovered(final ITreeNode node) {
+		this.mDiscoveredNodes++;
+		if (node.getAmountOfChildren() > 0) {
+			// The node has undiscovered children
+			this.mFrontierSize++;
+		}
+	}
+
+	/**
+	 * Ensures that the array of discovered children can hold the node with
+	 * the given id.
+	 * 
+	 * @param id
+	 *            The id of the node
+	 */
+	private void ensureCapacity(final int id) {
+		if (id < this.mDiscoveredChildren.length) {
+			return;
+		}
+		this.mDiscoveredChildren = Arrays.copyOf(this.mDiscoveredChildren,
+				Math.max(id + 1, 2 * this.mDiscoveredChildren.length));
+	}
+}
@@ -0,0 +1,23 @@
+package de.zabuza.treeflood.exploration.localstorage.statistics;
+
+/**
+ * Interface for objects that want to receive the statistics of an exploration
+ * once per round.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface IExplorationStatisticsSink {
+	/**
+	 * Event callback for the statistics of a finished round. The method is
+	 * called from the thread that executes the exploration after the last
+	 * step of the round, or after the last step of the exploration if it
+	 * finishes within a round.
+	 * 
+	 * @param statistics
+	 *            The statistics of the round. The object is reused for all
+	 *            rounds and shared with other sinks, it must not be modified
+	 *            and must not be kept after the method returns.
+	 */
+	public void roundFinished(ExplorationStatistics statistics);
+}
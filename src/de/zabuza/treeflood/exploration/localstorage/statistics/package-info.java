@@ -0,0 +1,5 @@
+/**
+ * This package contains statistics about the progress of local storage
+ * exploration algorithms, aggregated per round, and sinks that consume them.
+ */
+package de.zabuza.treeflood.exploration.localstorage.statistics;
@@ -1,8 +1,7 @@
 package de.zabuza.treeflood.exploration.localstorage.storage;
 
-import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
 import de.zabuza.treeflood.tree.ITreeNode;
-import de.zabuza.treeflood.util.NestedMap2;
 
 /**
  * Interface for objects that provide a local storage for nodes.
@@ -12,27 +11,109 @@ import de.zabuza.treeflood.util.NestedMap2;
  */
 public interface ILocalStorage {
 	/**
-	 * Reads the storage from a given node. The content is unmodifiable. The
-	 * first key is the step of entries, the second key the robot id. An
-	 * implementation should note that this method will be called from multiple
-	 * threads at the same time. It may be necessary to implement the method
-	 * thread safe.
+	 * Gets the amount of entries in the storages of all nodes. An
+	 * implementation should note that this method may be called from other
+	 * threads while the storage is written.
+	 * 
+	 * @return The amount of entries in the storages of all nodes
+	 */
+	public long getAmountOfEntries();
+
+	/**
+	 * Discards all entries of the storage of the given node whose step is
+	 * smaller than the given step. The caller guarantees that no robot needs
+	 * these entries anymore. The method is not called concurrently to reads
+	 * or writes.
+	 *
+	 * @param node
+	 *            The node whose storage to prune
+	 * @param step
+	 *            The smallest step to retain
+	 */
+	public void prune(final ITreeNode node, final int step);
+
+	/**
+	 * Reads the storage from a given node. The returned table is a snapshot
+	 * that is not backed by the storage, thus it copies all entries of the
+	 * node. Robots use the step scoped methods instead, see
+	 * {@link #readSteps(ITreeNode, int, int, InformationTable)}. Entries are
+	 * identified by their step and the id of their robot. An implementation
+	 * should note that this method will be called from multiple threads at
+	 * the same time. It may be necessary to implement the method thread safe.
+	 * 
+	 * @param node
+	 *            The node to read from
+	 * @return A snapshot of the storage of the given node
+	 */
+	public InformationTable read(final ITreeNode node);
+
+	/**
+	 * Reads the entry of the given robot for the given step from the storage
+	 * of the given node. An implementation should note that this method will
+	 * be called from multiple threads at the same time. It may be necessary to
+	 * implement the method thread safe.
+	 * 
+	 * @param node
+	 *            The node to read from
+	 * @param step
+	 *            The step of the entry
+	 * @param robotId
+	 *            The id of the robot of the entry
+	 * @return The packed information of the entry, see
+	 *         {@link PackedInformation}, or
+	 *         {@link PackedInformation#NO_INFORMATION} if there is no such
+	 *         entry
+	 */
+	public long readInformation(final ITreeNode node, final int step, final int robotId);
+
+	/**
+	 * Reads the entries of the given step from the storage of the given node.
+	 * An implementation should note that this method will be called from
+	 * multiple threads at the same time. It may be necessary to implement the
+	 * method thread safe.
+	 * 
+	 * @param node
+	 *            The node to read from
+	 * @param step
+	 *            The step to read the entries of
+	 * @param target
+	 *            The table whose entries are replaced by the entries read
+	 */
+	public void readStep(final ITreeNode node, final int step, final InformationTable target);
+
+	/**
+	 * Reads the entries of the given range of steps from the storage of the
+	 * given node. Robots use it to read only the entries written since their
+	 * last visit of the node. The cost is proportional to the amount of
+	 * entries read, not to the size of the storage. An implementation should
+	 * note that this method will be called from multiple threads at the same
+	 * time. It may be necessary to implement the method thread safe.
 	 * 
 	 * @param node
 	 *            The node to read from
-	 * @return The storage of the given node as unmodifiable map
+	 * @param fromStep
+	 *            The first step to read, inclusive
+	 * @param toStep
+	 *            The last step to read, inclusive
+	 * @param target
+	 *            The table whose entries are replaced by the entries read
 	 */
-	public NestedMap2<Integer, Integer, Information> read(final ITreeNode node);
+	public void readSteps(final ITreeNode node, final int fromStep, final int toStep, final InformationTable target);
 
 	/**
-	 * Writes to the storage of the given node. An implementation should note
-	 * that this method will be called from multiple threads at the same time.
-	 * It may be necessary to implement the method thread safe.
+	 * Writes to the storage of the given node. The information is packed into
+	 * a single long, thus writing does not need to allocate. Hence the step is
+	 * at most {@link PackedInformation#MAX_STEP}, the id of the robot at most
+	 * {@link PackedInformation#MAX_ROBOT_ID} and the port at most
+	 * {@link PackedInformation#MAX_PORT}. An implementation should note that
+	 * this method will be called from multiple threads at the same time. It
+	 * may be necessary to implement the method thread safe.
 	 * 
 	 * @param information
-	 *            The information to write
+	 *            The packed information to write, see
+	 *            {@link PackedInformation}
 	 * @param node
 	 *            The node to write to
 	 */
-	public void write(final Information information, final ITreeNode node);
+	public void write(final long information, final ITreeNode node);
 }
@@ -0,0 +1,340 @@
+package de.zabuza.treeflood.exploration.localstorage.storage;
+
+import java.util.Arrays;
+
+import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+
+/**
+ * Table that holds the information of the local storage of a single node. It
+ * is specialized for primitive keys, entries are identified by their step and
+ * the id of their robot without boxing them.<br>
+ * <br>
+ * Each entry is a {@link PackedInformation} in a single long, the entries are
+ * kept in one array sorted ascending by their step and then by the id of their
+ * robot. Thus all entries of a step form a contiguous range of indices, see
+ * {@link #getFirstIndexOfStep(int)} and {@link #getEndIndexOfStep(int)}, and
+ * single entries are found by a binary search over the array. Robots write
+ * with increasing steps, so new entries are typically appended. Use a
+ * {@link PackedInformation} view to access entries with the object API.<br>
+ * <br>
+ * The table is not thread safe.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class InformationTable {
+	/**
+	 * Index that indicates that the table contains no such entry.
+	 */
+	public static final int NO_INDEX = -1;
+	/**
+	 * The default capacity of a new table.
+	 */
+	private static final int DEFAULT_CAPACITY = 4;
+
+	/**
+	 * The packed information of the entries, sorted ascending.
+	 */
+	private long[] mEntries;
+	/**
+	 * The amount of entries in the table.
+	 */
+	private int mSize;
+
+	/**
+	 * Creates a new empty table.
+	 */
+	public InformationTable() {
+		this.mEntries = new long[DEFAULT_CAPACITY];
+		this.mSize = 0;
+	}
+
+	/**
+	 * Removes all entries from the table. The capacity is kept, thus the
+	 * table can be reused without allocating.
+	 */
+	public void clear() {
+		this.mSize = 0;
+	}
+
+	/**
+	 * Whether the table contains entries for the given step.
+	 * 
+	 * @param step
+	 *            The step in question
+	 * @return <tt>True</tt> if the table contains entries for the given step,
+	 *         <tt>false</tt> otherwise
+	 */
+	public boolean containsStep(final int step) {
+		return getFirstIndexOfStep(step) != getEndIndexOfStep(step);
+	}
+
+	/**
+	 * Replaces the entries of the given table by copies of the entries of this
+	 * table whose step is in the given range. Only the entries of the range are
+	 * visited.
+	 * 
+	 * @param fromStep
+	 *            The first step to copy, inclusive
+	 * @param toStep
+	 *            The last step to copy, inclusive
+	 * @param target
+	 *            The table to copy to, it must not be this table
+	 */
+	public void copyStepsTo(final int fromStep, final int toStep, final InformationTable target) {
+		target.clear();
+		if (fromStep > toStep) {
+			return;
+		}
+		final int start = getFirstIndexOfStep(Math.max(fromStep, 0));
+		final int end = getEndIndexOfStep(toStep);
+		final int amount = end - start;
+		if (amount > target.mEntries.length) {
+			target.mEntries = new long[Math.max(amount, 2 * target.mEntries.length)];
+		}
+		System.arraycopy(this.mEntries, start, target.mEntries, 0, amount);
+		target.mSize = amount;
+	}
+
+	/**
+	 * Gets the index after the last entry of the given step. All entries
+	 * with a greater step are at this index or after it.
+	 * 
+	 * @param step
+	 *            The step in question
+	 * @return The index after the last entry of the given step
+	 */
+	public int getEndIndexOfStep(final int step) {
+		if (step >= PackedInformation.MAX_STEP) {
+			return this.mSize;
+		}
+		return lowerBound(PackedInformation.getKey(step + 1, 0));
+	}
+
+	/**
+	 * Gets the index of the first entry of the given step. All entries with a
+	 * smaller step are before this index. The entries of the step range from
+	 * this index, inclusive, to {@link #getEndIndexOfStep(int)}, exclusive.
+	 * 
+	 * @param step
+	 *            The step in question
+	 * @return The index of the first entry of the given step or the index
+	 *         where such an entry would be inserted if there is none
+	 */
+	public int getFirstIndexOfStep(final int step) {
+		return lowerBound(PackedInformation.getKey(step, 0));
+	}
+
+	/**
+	 * Gets the packed information of the entry at the given index.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return The packed information of the entry, see
+	 *         {@link PackedInformation}
+	 */
+	public long get(final int index) {
+		return this.mEntries[index];
+	}
+
+	/**
+	 * Creates an information object for the entry at the given index. The
+	 * object is not backed by the table.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return The information of the entry
+	 */
+	public Information getInformation(final int index) {
+		return PackedInformation.toInformation(this.mEntries[index]);
+	}
+
+	/**
+	 * Gets the port of the entry at the given index.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return The port the robot used to enter the node
+	 */
+	public int getPort(final int index) {
+		return PackedInformation.getPort(this.mEntries[index]);
+	}
+
+	/**
+	 * Gets the id of the robot of the entry at the given index.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return The id of the robot that wrote the entry
+	 */
+	public int getRobotId(final int index) {
+		return PackedInformation.getRobotId(this.mEntries[index]);
+	}
+
+	/**
+	 * Gets the step of the entry at the given index.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return The step the entry was written in
+	 */
+	public int getStep(final int index) {
+		return PackedInformation.getStep(this.mEntries[index]);
+	}
+
+	/**
+	 * Gets the index of the entry with the given step and robot id.
+	 * 
+	 * @param step
+	 *            The step of the entry
+	 * @param robotId
+	 *            The id of the robot of the entry
+	 * @return The index of the entry or {@link #NO_INDEX} if there is no such
+	 *         entry
+	 */
+	public int indexOf(final int step, final int robotId) {
+		if (step < 0 || step > PackedInformation.MAX_STEP || robotId < 0 || robotId > PackedInformation.MAX_ROBOT_ID) {
+			return NO_INDEX;
+		}
+		final long key = PackedInformation.getKey(step, robotId);
+		final int index = lowerBound(key);
+		if (index < this.mSize && PackedInformation.getKey(this.mEntries[index]) == key) {
+			return index;
+		}
+		return NO_INDEX;
+	}
+
+	/**
+	 * Puts the given information into the table. An existing entry with the
+	 * same step and robot id is replaced.
+	 * 
+	 * @param information
+	 *            The information to put
+	 * @throws IllegalArgumentException
+	 *             If a value of the information can not be packed
+	 */
+	public void put(final Information information) throws IllegalArgumentException {
+		put(PackedInformation.pack(information));
+	}
+
+	/**
+	 * Puts the given packed information into the table. An existing entry with
+	 * the same step and robot id is replaced.
+	 * 
+	 * @param information
+	 *            The packed information to put, see {@link PackedInformation}
+	 */
+	public void put(final long information) {
+		final long key = PackedInformation.getKey(information);
+
+		// Robots write with increasing steps, thus the entry is typically
+		// appended
+		final int index;
+		if (this.mSize == 0 || key > PackedInformation.getKey(this.mEntries[this.mSize - 1])) {
+			index = this.mSize;
+		} else {
+			index = lowerBound(key);
+			if (PackedInformation.getKey(this.mEntries[index]) == key) {
+				this.mEntries[index] = information;
+				return;
+			}
+		}
+
+		if (this.mSize == this.mEntries.length) {
+			this.mEntries = Arrays.copyOf(this.mEntries, 2 * this.mEntries.length);
+		}
+		System.arraycopy(this.mEntries, index, this.mEntries, index + 1, this.mSize - index);
+		this.mEntries[index] = information;
+		this.mSize++;
+	}
+
+	/**
+	 * Removes all entries whose step is smaller than the given step. The
+	 * capacity of the table shrinks if most of it is unused afterwards.
+	 * 
+	 * @param step
+	 *            The smallest step to retain
+	 */
+	public void removeStepsBefore(final int step) {
+		final int amountToRemove = getFirstIndexOfStep(step);
+		if (amountToRemove == 0) {
+			return;
+		}
+
+		this.mSize -= amountToRemove;
+		if (4 * this.mSize < this.mEntries.length && this.mEntries.length > DEFAULT_CAPACITY) {
+			final long[] entries = new long[Math.max(DEFAULT_CAPACITY, 2 * this.mSize)];
+			System.arraycopy(this.mEntries, amountToRemove, entries, 0, this.mSize);
+			this.mEntries = entries;
+		} else {
+			System.arraycopy(this.mEntries, amountToRemove, this.mEntries, 0, this.mSize);
+		}
+	}
+
+	/**
+	 * Gets the amount of entries in the table.
+	 * 
+	 * @return The amount of entries
+	 */
+	public int size() {
+		return this.mSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		sb.append('[');
+		for (int i = 0; i < this.mSize; i++) {
+			if (i != 0) {
+				sb.append(", ");
+			}
+			sb.append(getInformation(i));
+		}
+		sb.append(']');
+		return sb.toString();
+	}
+
+	/**
+	 * Whether the robot of the entry at the given index entered the node from
+	 * its parent.
+	 * 
+	 * @param index
+	 *            The index of the entry
+	 * @return <tt>True</tt> if the robot entered the node from its parent,
+	 *         <tt>false</tt> if it came from a child
+	 */
+	public boolean wasEnteredFromParent(final int index) {
+		return PackedInformation.wasEnteredFromParent(this.mEntries[index]);
+	}
+
+	/**
+	 * Gets the index of the first entry that is not smaller than the given
+	 * key. As keys are the smallest packed information of their step and robot
+	 * id, this is the first entry whose key is not smaller than the given key.
+	 * 
+	 * @param key
+	 *            The key to search for, see
+	 *            {@link PackedInformation#getKey(int, int)}
+	 * @return The index of the first entry that is not smaller than the given
+	 *         key or the size of the table if there is none
+	 */
+	private int lowerBound(final long key) {
+		int low = 0;
+		int high = this.mSize;
+		while (low < high) {
+			final int middle = (low + high) >>> 1;
+			if (this.mEntries[middle] < key) {
+				low = middle + 1;
+			} else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+}
@@ -1,29 +1,73 @@
 package de.zabuza.treeflood.exploration.localstorage.storage;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Arrays;
 
-import de.zabuza.treeflood.exploration.localstorage.Information;
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+import de.zabuza.treeflood.exploration.localstorage.jfr.StorageReadEvent;
+import de.zabuza.treeflood.exploration.localstorage.jfr.StorageWriteEvent;
 import de.zabuza.treeflood.tree.ITreeNode;
-import de.zabuza.treeflood.util.NestedMap2;
 
 /**
- * Provides a local storage for tree nodes. The storage is thread safe.
+ * Provides a local storage for tree nodes. Each node stores its entries in an
+ * {@link InformationTable} which is looked up by the id of the node, thus
+ * neither nodes are hashed nor steps or robot ids are boxed on the storage
+ * path. Reads copy only the requested entries, the tables of the nodes are
+ * never exposed. The storage is thread safe. Reads and writes emit events for
+ * the Java Flight Recorder, see {@link StorageReadEvent} and
+ * {@link StorageWriteEvent}.
  * 
  * @author Zabuza {@literal <zabuza.dev@gmail.com>}
  *
  */
 public final class NodeStorageManager implements ILocalStorage {
 	/**
-	 * Data-structure that maps nodes to their local storage.
+	 * The default capacity of the array of storages.
 	 */
-	private final Map<ITreeNode, NestedMap2<Integer, Integer, Information>> mNodeToStorage;
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * Array that maps the id of nodes to their local storage or to
+	 * <tt>null</tt> if the node has no storage yet. It grows on demand.
+	 */
+	private InformationTable[] mNodeToStorage;
 
 	/**
 	 * Creates a new empty local storage.
 	 */
 	public NodeStorageManager() {
-		this.mNodeToStorage = new HashMap<>();
+		this.mNodeToStorage = new InformationTable[DEFAULT_CAPACITY];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * getAmountOfEntries()
+	 */
+	@Override
+	public synchronized long getAmountOfEntries() {
+		long amountOfEntries = 0L;
+		for (final InformationTable storage : this.mNodeToStorage) {
+			if (storage != null) {
+				amountOfEntries += storage.size();
+			}
+		}
+		return amountOfEntries;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#prune(
+	 * de.zabuza.treeflood.tree.ITreeNode, int)
+	 */
+	@Override
+	public synchronized void prune(final ITreeNode node, final int step) {
+		final InformationTable storage = getStorage(node);
+		if (storage != null) {
+			storage.removeStepsBefore(step);
+		}
 	}
 
 	/*
@@ -34,8 +78,81 @@ public final class NodeStorageManager implements ILocalStorage {
 	 * de.zabuza.treeflood.tree.ITreeNode)
 	 */
 	@Override
-	public synchronized NestedMap2<Integer, Integer, Information> read(final ITreeNode node) {
-		return getWithCreateOnInexistent(node);
+	public synchronized InformationTable read(final ITreeNode node) {
+		final InformationTable snapshot = new InformationTable();
+		readSteps(node, 0, PackedInformation.MAX_STEP, snapshot);
+		return snapshot;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readInformation(de.zabuza.treeflood.tree.ITreeNode, int, int)
+	 */
+	@Override
+	public synchronized long readInformation(final ITreeNode node, final int step, final int robotId) {
+		final StorageReadEvent event = new StorageReadEvent();
+		event.begin();
+		final InformationTable storage = getStorage(node);
+		long information = PackedInformation.NO_INFORMATION;
+		if (storage != null) {
+			final int index = storage.indexOf(step, robotId);
+			if (index != InformationTable.NO_INDEX) {
+				information = storage.get(index);
+			}
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.setNodeId(node.getId());
+			if (information == PackedInformation.NO_INFORMATION) {
+				event.setEntries(0);
+			} else {
+				event.setEntries(1);
+			}
+			event.commit();
+		}
+		return information;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readStep(de.zabuza.treeflood.tree.ITreeNode, int,
+	 * de.zabuza.treeflood.exploration.localstorage.storage.InformationTable)
+	 */
+	@Override
+	public void readStep(final ITreeNode node, final int step, final InformationTable target) {
+		readSteps(node, step, step, target);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readSteps(de.zabuza.treeflood.tree.ITreeNode, int, int,
+	 * de.zabuza.treeflood.exploration.localstorage.storage.InformationTable)
+	 */
+	@Override
+	public synchronized void readSteps(final ITreeNode node, final int fromStep, final int toStep,
+			final InformationTable target) {
+		final StorageReadEvent event = new StorageReadEvent();
+		event.begin();
+		final InformationTable storage = getStorage(node);
+		if (storage == null) {
+			target.clear();
+		} else {
+			storage.copyStepsTo(fromStep, toStep, target);
+		}
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.setNodeId(node.getId());
+			event.setEntries(target.size());
+			event.commit();
+		}
 	}
 
 	/*
@@ -43,13 +160,37 @@ public final class NodeStorageManager implements ILocalStorage {
 	 * 
 	 * @see
 	 * de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#write(
-	 * de.zabuza.treeflood.exploration.localstorage.Information,
-	 * de.zabuza.treeflood.tree.ITreeNode)
+	 * long, de.zabuza.treeflood.tree.ITreeNode)
 	 */
 	@Override
-	public synchronized void write(final Information information, final ITreeNode node) {
-		final NestedMap2<Integer, Integer, Information> storage = getWithCreateOnInexistent(node);
-		storage.put(Integer.valueOf(information.getStep()), Integer.valueOf(information.getRobotId()), information);
+	public synchronized void write(final long information, final ITreeNode node) {
+		final StorageWriteEvent event = new StorageWriteEvent();
+		event.begin();
+		final InformationTable storage = getWithCreateOnInexistent(node);
+		storage.put(information);
+
+		event.end();
+		if (event.shouldCommit()) {
+			event.setNodeId(node.getId());
+			event.setEntries(storage.size());
+			event.commit();
+		}
+	}
+
+	/**
+	 * Gets the storage of the given node.
+	 * 
+	 * @param node
+	 *            The node to get the storage from
+	 * @return The storage of the given node or <tt>null</tt> if the node has
+	 *         no storage yet. The returned object is backed with the storage.
+	 */
+	private InformationTable getStorage(final ITreeNode node) {
+		final int id = node.getId();
+		if (id >= this.mNodeToStorage.length) {
+			return null;
+		}
+		return this.mNodeToStorage[id];
 	}
 
 	/**
@@ -61,13 +202,17 @@ public final class NodeStorageManager implements ILocalStorage {
 	 * @return The storage of the given node. The returned object is backed with
 	 *         the storage.
 	 */
-	private synchronized NestedMap2<Integer, Integer, Information> getWithCreateOnInexistent(final ITreeNode node) {
-		final NestedMap2<Integer, Integer, Information> storage;
+	private synchronized InformationTable getWithCreateOnInexistent(final ITreeNode node) {
+		final int id = node.getId();
+		if (id >= this.mNodeToStorage.length) {
+			this.mNodeToStorage = Arrays.copyOf(this.mNodeToStorage, Math.max(id + 1, 2 * this.mNodeToStorage.length));
+		}
+		final InformationTable storage;
 
-		final NestedMap2<Integer, Integer, Information> currentStorage = this.mNodeToStorage.get(node);
+		final InformationTable currentStorage = this.mNodeToStorage[id];
 		if (currentStorage == null) {
-			final NestedMap2<Integer, Integer, Information> nextStorage = new NestedMap2<>();
-			this.mNodeToStorage.put(node, nextStorage);
+			final InformationTable nextStorage = new InformationTable();
+			this.mNodeToStorage[id] = nextStorage;
 			storage = nextStorage;
 		} else {
 			storage = currentStorage;
@@ -0,0 +1,216 @@
+package de.zabuza.treeflood.exploration.localstorage.timeline;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Tracer that records the timeline of an exploration executed by a
+ * multi-threaded pulse manager. Each thread records the begin and end of the
+ * robot pulses it executes and the time the coordinating thread waits for the
+ * pulses to finish.<br>
+ * <br>
+ * Events are recorded into a buffer that is local to the recording thread, the
+ * threads thus do not synchronize with each other while tracing. The buffers
+ * are only read by {@link #write(Writer)} which exports the timeline in the
+ * trace event format of Chrome and Perfetto, it must only be called after the
+ * traced exploration has finished.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class PulseTracer {
+	/**
+	 * Robot id of events that do not belong to a robot, like waits of the
+	 * coordinating thread.
+	 */
+	public static final int NO_ROBOT = -1;
+	/**
+	 * The amount of nanoseconds per microsecond, the time unit of the trace
+	 * event format.
+	 */
+	private static final int NANOS_PER_MICRO = 1_000;
+	/**
+	 * The id of the process all events are assigned to.
+	 */
+	private static final int PROCESS_ID = 1;
+
+	/**
+	 * Appends the given amount of nanoseconds as microseconds with three
+	 * decimal places, the precision of the trace event format.
+	 * 
+	 * @param sb
+	 *            The builder to append to
+	 * @param nanos
+	 *            The amount of nanoseconds
+	 */
+	private static void appendMicros(final StringBuilder sb, final long nanos) {
+		if (nanos < 0) {
+			sb.append('-');
+		}
+		final long absoluteNanos = Math.abs(nanos);
+		final long fraction = absoluteNanos % NANOS_PER_MICRO;
+		sb.append(absoluteNanos / NANOS_PER_MICRO).append('.');
+		if (fraction < 100) {
+			sb.append('0');
+		}
+		if (fraction < 10) {
+			sb.append('0');
+		}
+		sb.append(fraction);
+	}
+
+	/**
+	 * Escapes the given text such that it can be used as string in JSON.
+	 * 
+	 * @param text
+	 *            The text to escape
+	 * @return The escaped text, without surrounding quotes
+	 */
+	private static String escapeJson(final String text) {
+		final StringBuilder sb = new StringBuilder(text.length());
+		for (int i = 0; i < text.length(); i++) {
+			final char c = text.charAt(i);
+			if (c == '"' || c == '\\') {
+				sb.append('\\').append(c);
+			} else if (c < ' ') {
+				sb.append(String.format("\\u%04x", Integer.valueOf(c)));
+			} else {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * The buffers of all threads that recorded events so far.
+	 */
+	private final Queue<TraceBuffer> mBuffers;
+	/**
+	 * The buffer of the current thread, created on its first event.
+	 */
+	private final ThreadLocal<TraceBuffer> mLocalBuffer;
+	/**
+	 * The timestamp in nanoseconds the tracer was created at. All timestamps
+	 * of the trace are relative to it.
+	 */
+	private final long mOrigin;
+
+	/**
+	 * Creates a new tracer without events. Timestamps of the trace are
+	 * relative to the creation of the tracer.
+	 */
+	public PulseTracer() {
+		this.mOrigin = System.nanoTime();
+		this.mBuffers = new ConcurrentLinkedQueue<>();
+		this.mLocalBuffer = ThreadLocal.withInitial(() -> {
+			final TraceBuffer buffer = new TraceBuffer(Thread.currentThread());
+			this.mBuffers.add(buffer);
+			return buffer;
+		});
+	}
+
+	/**
+	 * Gets the amount of events recorded so far by all threads. Must only be
+	 * called after the traced exploration has finished.
+	 * 
+	 * @return The amount of recorded events
+	 */
+	public int getAmountOfEvents() {
+		int amountOfEvents = 0;
+		for (final TraceBuffer buffer : this.mBuffers) {
+			amountOfEvents += buffer.getAmountOfEvents();
+		}
+		return amountOfEvents;
+	}
+
+	/**
+	 * Gets the current timestamp to use as begin or end of an event.
+	 * 
+	 * @return The current timestamp in nanoseconds
+	 */
+	public long now() {
+		return System.nanoTime();
+	}
+
+	/**
+	 * Records a pulse of the given robot that was executed by the current
+	 * thread.
+	 * 
+	 * @param robotId
+	 *            The id of the pulsed robot
+	 * @param start
+	 *            The timestamp the pulse began at, as given by {@link #now()}
+	 * @param end
+	 *            The timestamp the pulse ended at, as given by {@link #now()}
+	 */
+	public void recordRobotPulse(final int robotId, final long start, final long end) {
+		this.mLocalBuffer.get().add(robotId, start, end);
+	}
+
+	/**
+	 * Records that the current thread waited for the robots to finish their
+	 * pulses.
+	 * 
+	 * @param start
+	 *            The timestamp the wait began at, as given by {@link #now()}
+	 * @param end
+	 *            The timestamp the wait ended at, as given by {@link #now()}
+	 */
+	public void recordWait(final long start, final long end) {
+		this.mLocalBuffer.get().add(NO_ROBOT, start, end);
+	}
+
+	/**
+	 * Writes all recorded events in the JSON trace event format of Chrome and
+	 * Perfetto. Each thread is named after the thread that recorded the events.
+	 * Must only be called after the traced exploration has finished.
+	 * 
+	 * @param writer
+	 *            The writer to write to, it is not closed
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	public void write(final Writer writer) throws IOException {
+		final StringBuilder line = new StringBuilder();
+		writer.write("{\"displayTimeUnit\":\"ns\",\"traceEvents\":[");
+		boolean isFirstEvent = true;
+		for (final TraceBuffer buffer : this.mBuffers) {
+			final long threadId = buffer.getThreadId();
+			line.setLength(0);
+			if (!isFirstEvent) {
+				line.append(',');
+			}
+			isFirstEvent = false;
+			line.append(System.lineSeparator());
+			line.append("{\"name\":\"thread_name\",\"ph\":\"M\",\"pid\":").append(PROCESS_ID).append(",\"tid\":")
+					.append(threadId).append(",\"args\":{\"name\":\"").append(escapeJson(buffer.getThreadName()))
+					.append("\"}}");
+			writer.write(line.toString());
+
+			for (int i = 0; i < buffer.getAmountOfEvents(); i++) {
+				final int robotId = buffer.getRobotId(i);
+				line.setLength(0);
+				line.append(',').append(System.lineSeparator());
+				if (robotId == NO_ROBOT) {
+					line.append("{\"name\":\"Wait\",\"cat\":\"wait\"");
+				} else {
+					line.append("{\"name\":\"Robot ").append(robotId).append("\",\"cat\":\"pulse\"");
+				}
+				line.append(",\"ph\":\"X\",\"pid\":").append(PROCESS_ID).append(",\"tid\":").append(threadId)
+						.append(",\"ts\":");
+				appendMicros(line, buffer.getStart(i) - this.mOrigin);
+				line.append(",\"dur\":");
+				appendMicros(line, buffer.getEnd(i) - buffer.getStart(i));
+				if (robotId != NO_ROBOT) {
+					line.append(",\"args\":{\"robot\":").append(robotId).append('}');
+				}
+				line.append('}');
+				writer.write(line.toString());
+			}
+		}
+		writer.write(System.lineSeparator() + "]}" + System.lineSeparator());
+		writer.flush();
+	}
+}
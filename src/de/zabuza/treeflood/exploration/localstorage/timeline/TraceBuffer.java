@@ -0,0 +1,144 @@
+package de.zabuza.treeflood.exploration.localstorage.timeline;
+
+import java.util.Arrays;
+
+/**
+ * Buffer that holds the events a single thread recorded for a
+ * {@link PulseTracer}. The buffer is confined to its thread, recording an
+ * event does not synchronize and only allocates if the buffer needs to grow.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class TraceBuffer {
+	/**
+	 * The initial amount of events the buffer can hold.
+	 */
+	private static final int INITIAL_CAPACITY = 256;
+
+	/**
+	 * The amount of events recorded so far.
+	 */
+	private int mAmountOfEvents;
+	/**
+	 * The end timestamps of the events in nanoseconds.
+	 */
+	private long[] mEnds;
+	/**
+	 * The ids of the robots of the events or {@link PulseTracer#NO_ROBOT} for
+	 * events that do not belong to a robot.
+	 */
+	private int[] mRobotIds;
+	/**
+	 * The begin timestamps of the events in nanoseconds.
+	 */
+	private long[] mStarts;
+	/**
+	 * The id of the thread that owns the buffer.
+	 */
+	private final long mThreadId;
+	/**
+	 * The name of the thread that owns the buffer.
+	 */
+	private final String mThreadName;
+
+	/**
+	 * Creates a new empty buffer for the given thread.
+	 * 
+	 * @param thread
+	 *            The thread that owns the buffer
+	 */
+	public TraceBuffer(final Thread thread) {
+		this.mThreadId = thread.getId();
+		this.mThreadName = thread.getName();
+		this.mStarts = new long[INITIAL_CAPACITY];
+		this.mEnds = new long[INITIAL_CAPACITY];
+		this.mRobotIds = new int[INITIAL_CAPACITY];
+		this.mAmountOfEvents = 0;
+	}
+
+	/**
+	 * Appends the given event to the buffer.
+	 * 
+	 * @param robotId
+	 *            The id of the robot of the event or
+	 *            {@link PulseTracer#NO_ROBOT}
+	 * @param start
+	 *            The begin timestamp of the event in nanoseconds
+	 * @param end
+	 *            The end timestamp of the event in nanoseconds
+	 */
+	public void add(final int robotId, final long start, final long end) {
+		if (this.mAmountOfEvents == this.mStarts.length) {
+			final int capacity = 2 * this.mStarts.length;
+			this.mStarts = Arrays.copyOf(this.mStarts, capacity);
+			this.mEnds = Arrays.copyOf(this.mEnds, capacity);
+			this.mRobotIds = Arrays.copyOf(this.mRobotIds, capacity);
+		}
+		this.mStarts[this.mAmountOfEvents] = start;
+		this.mEnds[this.mAmountOfEvents] = end;
+		this.mRobotIds[this.mAmountOfEvents] = robotId;
+		this.mAmountOfEvents++;
+	}
+
+	/**
+	 * Gets the amount of events recorded so far.
+	 * 
+	 * @return The amount of recorded events
+	 */
+	public int getAmountOfEvents() {
+		return this.mAmountOfEvents;
+	}
+
+	/**
+	 * Gets the end timestamp of the event with the given index.
+	 * 
+	 * @param index
+	 *            The index of the event
+	 * @return The end timestamp of the event in nanoseconds
+	 */
+	public long getEnd(final int index) {
+		return this.mEnds[index];
+	}
+
+	/**
+	 * Gets the id of the robot of the event with the given index.
+	 * 
+	 * @param index
+	 *            The index of the event
+	 * @return The id of the robot or {@link PulseTracer#NO_ROBOT} if the event
+	 *         does not belong to a robot
+	 */
+	public int getRobotId(final int index) {
+		return this.mRobotIds[index];
+	}
+
+	/**
+	 * Gets the begin timestamp of the event with the given index.
+	 * 
+	 * @param index
+	 *            The index of the event
+	 * @return The begin timestamp of the event in nanoseconds
+	 */
+	public long getStart(final int index) {
+		return this.mStarts[index];
+	}
+
+	/**
+	 * Gets the id of the thread that owns the buffer.
+	 * 
+	 * @return The id of the thread
+	 */
+	public long getThreadId() {
+		return this.mThreadId;
+	}
+
+	/**
+	 * Gets the name of the thread that owns the buffer.
+	 * 
+	 * @return The name of the thread
+	 */
+	public String getThreadName() {
+		return this.mThreadName;
+	}
+}
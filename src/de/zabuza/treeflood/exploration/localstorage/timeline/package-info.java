@@ -0,0 +1,6 @@
+/**
+ * This package contains tracers that record the timeline of pulses executed by
+ * multi-threaded pulse managers and export it in the trace event format of
+ * Chrome and Perfetto.
+ */
+package de.zabuza.treeflood.exploration.localstorage.timeline;
@@ -0,0 +1,67 @@
+package de.zabuza.treeflood.exploration.localstorage.trace;
+
+import java.nio.ByteOrder;
+
+/**
+ * Constants describing the binary exploration trace format used by
+ * {@link ExplorationTraceRecorder} and {@link ExplorationTraceReplayer}. A file
+ * consists of a header followed by records of fixed width, all values are
+ * stored as integers in big-endian byte order:
+ * <ol>
+ * <li>Header: the magic number, the format version, the amount of nodes of the
+ * explored tree and the amount of robots</li>
+ * <li>Records: the type, the step, the robot id, the id of the source node, the
+ * id of the destination node and the port</li>
+ * </ol>
+ * Move records are of type {@link #MOVE} and store the port of the child
+ * endpoint of the edge. Write records store the node that was written to as
+ * source and destination and the port of the written information, they are of
+ * type {@link #WRITE_FROM_PARENT} or {@link #WRITE_FROM_CHILD}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ExplorationTraceFormat {
+	/**
+	 * The byte order used for all values.
+	 */
+	static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+	/**
+	 * The size of the header in bytes.
+	 */
+	static final int HEADER_SIZE = 4 * Integer.BYTES;
+	/**
+	 * The magic number that starts every file, the ASCII characters
+	 * <tt>TFTC</tt>.
+	 */
+	static final int MAGIC_NUMBER = 0x54465443;
+	/**
+	 * Record type of a robot that moved along an edge.
+	 */
+	static final int MOVE = 0;
+	/**
+	 * The size of a record in bytes.
+	 */
+	static final int RECORD_SIZE = 6 * Integer.BYTES;
+	/**
+	 * The version of the format.
+	 */
+	static final int VERSION = 1;
+	/**
+	 * Record type of a robot that wrote information about entering the node
+	 * from a child.
+	 */
+	static final int WRITE_FROM_CHILD = 2;
+	/**
+	 * Record type of a robot that wrote information about entering the node
+	 * through its parent.
+	 */
+	static final int WRITE_FROM_PARENT = 1;
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private ExplorationTraceFormat() {
+
+	}
+}
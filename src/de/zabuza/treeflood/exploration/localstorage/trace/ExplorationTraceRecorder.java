@@ -0,0 +1,189 @@
+package de.zabuza.treeflood.exploration.localstorage.trace;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.RobotMove;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Records the moves of robots and their writes to local storages into a file
+ * using the binary exploration trace format, which can be replayed by
+ * {@link ExplorationTraceReplayer}. Nodes are recorded by their id.<br>
+ * <br>
+ * Register the recorder as {@link IRobotMovedBatchListener} to record moves and
+ * wrap the local storage used by the algorithm in a
+ * {@link RecordingLocalStorage} to record writes. Records are collected in a
+ * buffer and written to the file once it is full, the recorder must be closed
+ * after the exploration to write the remaining records.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationTraceRecorder implements IRobotMovedBatchListener, Closeable {
+	/**
+	 * The size of the buffer used for writing in bytes.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * The amount of records written so far.
+	 */
+	private long mAmountOfRecords;
+	/**
+	 * The buffer that collects records before they are written, in writing
+	 * mode.
+	 */
+	private final ByteBuffer mBuffer;
+	/**
+	 * The channel of the file to write to.
+	 */
+	private final FileChannel mChannel;
+
+	/**
+	 * Creates a new recorder that writes to the file at the given path. An
+	 * existing file gets overwritten.
+	 * 
+	 * @param path
+	 *            The path of the file to write to
+	 * @param tree
+	 *            The tree that is being explored
+	 * @param amountOfRobots
+	 *            The amount of robots that explore the tree
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	public ExplorationTraceRecorder(final Path path, final ITree tree, final int amountOfRobots)
+			throws IOException {
+		this.mChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+		this.mBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ExplorationTraceFormat.BYTE_ORDER);
+		this.mAmountOfRecords = 0L;
+
+		this.mBuffer.putInt(ExplorationTraceFormat.MAGIC_NUMBER);
+		this.mBuffer.putInt(ExplorationTraceFormat.VERSION);
+		this.mBuffer.putInt(tree.getSize());
+		this.mBuffer.putInt(amountOfRobots);
+	}
+
+	/**
+	 * Writes all remaining records to the file and closes it.
+	 */
+	@Override
+	public synchronized void close() throws IOException {
+		if (!this.mChannel.isOpen()) {
+			return;
+		}
+		try {
+			flush();
+		} finally {
+			this.mChannel.close();
+		}
+	}
+
+	/**
+	 * Gets the amount of records recorded so far.
+	 * 
+	 * @return The amount of records recorded so far
+	 */
+	public synchronized long getAmountOfRecords() {
+		return this.mAmountOfRecords;
+	}
+
+	/**
+	 * Records all given moves.
+	 * 
+	 * @throws UncheckedIOException
+	 *             If an I/O-Exception occurs while writing to the file
+	 */
+	@Override
+	public synchronized void movedBatch(final RobotMove[] moves) throws UncheckedIOException {
+		for (final RobotMove move : moves) {
+			append(ExplorationTraceFormat.MOVE, move.getStep(), move.getRobot().getId(), move.getSource().getId(),
+					move.getDestination().getId(), move.getPort());
+		}
+	}
+
+	/**
+	 * Records that the given information was written to the local storage of
+	 * the given node.
+	 * 
+	 * @param information
+	 *            The packed information that was written, see
+	 *            {@link PackedInformation}
+	 * @param node
+	 *            The node that was written to
+	 * @throws UncheckedIOException
+	 *             If an I/O-Exception occurs while writing to the file
+	 */
+	public synchronized void recordWrite(final long information, final ITreeNode node)
+			throws UncheckedIOException {
+		final int type;
+		if (PackedInformation.wasEnteredFromParent(information)) {
+			type = ExplorationTraceFormat.WRITE_FROM_PARENT;
+		} else {
+			type = ExplorationTraceFormat.WRITE_FROM_CHILD;
+		}
+		final int nodeId = node.getId();
+		append(type, PackedInformation.getStep(information), PackedInformation.getRobotId(information), nodeId,
+				nodeId, PackedInformation.getPort(information));
+	}
+
+	/**
+	 * Appends a record with the given values.
+	 * 
+	 * @param type
+	 *            The type of the record
+	 * @param step
+	 *            The step of the record
+	 * @param robotId
+	 *            The id of the robot
+	 * @param sourceId
+	 *            The id of the source node
+	 * @param destinationId
+	 *            The id of the destination node
+	 * @param port
+	 *            The port of the record
+	 * @throws UncheckedIOException
+	 *             If an I/O-Exception occurs while writing to the file
+	 */
+	private void append(final int type, final int step, final int robotId, final int sourceId,
+			final int destinationId, final int port) throws UncheckedIOException {
+		if (this.mBuffer.remaining() < ExplorationTraceFormat.RECORD_SIZE) {
+			try {
+				flush();
+			} catch (final IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		this.mBuffer.putInt(type);
+		this.mBuffer.putInt(step);
+		this.mBuffer.putInt(robotId);
+		this.mBuffer.putInt(sourceId);
+		this.mBuffer.putInt(destinationId);
+		this.mBuffer.putInt(port);
+		this.mAmountOfRecords++;
+	}
+
+	/**
+	 * Writes the content of the buffer to the file and clears the buffer.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private void flush() throws IOException {
+		this.mBuffer.flip();
+		while (this.mBuffer.hasRemaining()) {
+			this.mChannel.write(this.mBuffer);
+		}
+		this.mBuffer.clear();
+	}
+}
@@ -0,0 +1,247 @@
+package de.zabuza.treeflood.exploration.localstorage.trace;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import de.zabuza.treeflood.exploration.localstorage.PackedInformation;
+import de.zabuza.treeflood.exploration.localstorage.Robot;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedBatchListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.IRobotMovedListener;
+import de.zabuza.treeflood.exploration.localstorage.listener.RobotMove;
+import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Replays traces written by {@link ExplorationTraceRecorder}. The recorded
+ * events are sent to listeners and local storages just like during the
+ * original exploration, but without executing the algorithm. The file is read
+ * sequentially, thus replaying is only limited by the speed of the disk and the
+ * listeners.<br>
+ * <br>
+ * Events refer to robots that are represented by stand-in robots which are
+ * created by the replayer, see {@link #getRobots()}. They are never pulsed,
+ * thus their state does not change during the replay.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ExplorationTraceReplayer {
+	/**
+	 * The size of the buffer used for reading in bytes.
+	 */
+	private static final int BUFFER_SIZE = ExplorationTraceFormat.RECORD_SIZE * (1 << 12);
+
+	/**
+	 * Sends the given moves as batch to the given listeners and clears the
+	 * batch afterwards.
+	 * 
+	 * @param batch
+	 *            The moves to send
+	 * @param listeners
+	 *            The listeners to send to
+	 */
+	private static void sendBatch(final List<RobotMove> batch, final List<IRobotMovedBatchListener> listeners) {
+		final RobotMove[] moves = batch.toArray(new RobotMove[batch.size()]);
+		for (final IRobotMovedBatchListener listener : listeners) {
+			listener.movedBatch(moves);
+		}
+		batch.clear();
+	}
+
+	/**
+	 * The path of the file to replay.
+	 */
+	private final Path mPath;
+	/**
+	 * The stand-in robots, indexed by their id.
+	 */
+	private final List<Robot> mRobots;
+	/**
+	 * The tree that was explored.
+	 */
+	private final ITree mTree;
+
+	/**
+	 * Creates a new replayer for the trace stored in the file at the given
+	 * path. Only the header of the file is validated.
+	 * 
+	 * @param path
+	 *            The path of the file to replay
+	 * @param tree
+	 *            The tree that was explored, the recorded node ids refer to
+	 *            its nodes
+	 * @throws IOException
+	 *             If an I/O-Exception occurs or the file is not in the binary
+	 *             exploration trace format or does not belong to the given tree
+	 */
+	public ExplorationTraceReplayer(final Path path, final ITree tree) throws IOException {
+		this.mPath = path;
+		this.mTree = tree;
+
+		final int amountOfRobots;
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final ByteBuffer header = ByteBuffer.allocate(ExplorationTraceFormat.HEADER_SIZE)
+					.order(ExplorationTraceFormat.BYTE_ORDER);
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0) {
+					throw new IOException("The file is too short to contain a header: " + path);
+				}
+			}
+			header.flip();
+
+			if (header.getInt() != ExplorationTraceFormat.MAGIC_NUMBER) {
+				throw new IOException("The file is not in the binary exploration trace format: " + path);
+			}
+			final int version = header.getInt();
+			if (version != ExplorationTraceFormat.VERSION) {
+				throw new IOException(
+						"Unsupported version " + version + " of the binary exploration trace format: " + path);
+			}
+			final int treeSize = header.getInt();
+			if (treeSize != tree.getSize()) {
+				throw new IOException("The trace was recorded for a tree of size " + treeSize
+						+ " but the given tree has size " + tree.getSize() + ": " + path);
+			}
+			amountOfRobots = header.getInt();
+			if (amountOfRobots < 0) {
+				throw new IOException("The file contains an invalid amount of robots " + amountOfRobots + ": " + path);
+			}
+			if ((channel.size() - ExplorationTraceFormat.HEADER_SIZE) % ExplorationTraceFormat.RECORD_SIZE != 0) {
+				throw new IOException("The file does not end with a complete record: " + path);
+			}
+		}
+
+		final List<Robot> robots = new ArrayList<>(amountOfRobots);
+		for (int i = 0; i < amountOfRobots; i++) {
+			robots.add(new Robot(i, tree.getRoot(), null, Collections.emptyList(), Collections.emptyList()));
+		}
+		this.mRobots = Collections.unmodifiableList(robots);
+	}
+
+	/**
+	 * Gets an unmodifiable list of the stand-in robots that are used for the
+	 * events, indexed by their id. All robots are located at the root.
+	 * 
+	 * @return An unmodifiable list of the stand-in robots
+	 */
+	public List<Robot> getRobots() {
+		return this.mRobots;
+	}
+
+	/**
+	 * Replays the trace. Moves are sent to the given listeners, consecutive
+	 * moves of the same step are sent as one batch to the batch listeners.
+	 * Writes are forwarded to the given storage. All events are sent from the
+	 * current thread in the order they were recorded.
+	 * 
+	 * @param robotMovedListeners
+	 *            A list of objects that want to receive each move
+	 * @param robotMovedBatchListeners
+	 *            A list of objects that want to receive the moves of all robots
+	 *            at once per step
+	 * @param localStorage
+	 *            The storage to forward writes to or <tt>null</tt> if writes
+	 *            should be skipped
+	 * @return The amount of replayed records
+	 * @throws IOException
+	 *             If an I/O-Exception occurs or the file contains invalid
+	 *             records
+	 */
+	public long replay(final List<IRobotMovedListener> robotMovedListeners,
+			final List<IRobotMovedBatchListener> robotMovedBatchListeners, final ILocalStorage localStorage)
+			throws IOException {
+		final List<RobotMove> batch = new ArrayList<>();
+		long amountOfRecords = 0L;
+
+		try (final FileChannel channel = FileChannel.open(this.mPath, StandardOpenOption.READ)) {
+			channel.position(ExplorationTraceFormat.HEADER_SIZE);
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ExplorationTraceFormat.BYTE_ORDER);
+			boolean reachedEnd = false;
+			while (!reachedEnd) {
+				reachedEnd = channel.read(buffer) < 0;
+				buffer.flip();
+				while (buffer.remaining() >= ExplorationTraceFormat.RECORD_SIZE) {
+					final int type = buffer.getInt();
+					final int step = buffer.getInt();
+					final Robot robot = getRobot(buffer.getInt());
+					final ITreeNode source = getNode(buffer.getInt());
+					final ITreeNode destination = getNode(buffer.getInt());
+					final int port = buffer.getInt();
+					amountOfRecords++;
+
+					if (type == ExplorationTraceFormat.MOVE) {
+						for (final IRobotMovedListener listener : robotMovedListeners) {
+							listener.movedTo(robot, source, destination);
+						}
+						if (robotMovedBatchListeners.isEmpty()) {
+							continue;
+						}
+						if (!batch.isEmpty() && batch.get(0).getStep() != step) {
+							sendBatch(batch, robotMovedBatchListeners);
+						}
+						batch.add(new RobotMove(step, robot, source, port, destination));
+						continue;
+					}
+
+					if (type != ExplorationTraceFormat.WRITE_FROM_PARENT
+							&& type != ExplorationTraceFormat.WRITE_FROM_CHILD) {
+						throw new IOException("The file contains a record of unknown type " + type + ": " + this.mPath);
+					}
+					// Moves of the step were executed before the write
+					if (!batch.isEmpty()) {
+						sendBatch(batch, robotMovedBatchListeners);
+					}
+					if (localStorage != null) {
+						final boolean fromParent = type == ExplorationTraceFormat.WRITE_FROM_PARENT;
+						localStorage.write(PackedInformation.pack(step, robot.getId(), port, fromParent), destination);
+					}
+				}
+				buffer.compact();
+			}
+		}
+
+		if (!batch.isEmpty()) {
+			sendBatch(batch, robotMovedBatchListeners);
+		}
+		return amountOfRecords;
+	}
+
+	/**
+	 * Gets the node of the explored tree with the given id.
+	 * 
+	 * @param id
+	 *            The id of the node
+	 * @return The node with the given id
+	 * @throws IOException
+	 *             If the tree contains no node with the given id
+	 */
+	private ITreeNode getNode(final int id) throws IOException {
+		if (id < 0 || id >= this.mTree.getSize()) {
+			throw new IOException("The file contains an invalid node id " + id + ": " + this.mPath);
+		}
+		return this.mTree.getNode(id);
+	}
+
+	/**
+	 * Gets the stand-in robot with the given id.
+	 * 
+	 * @param id
+	 *            The id of the robot
+	 * @return The robot with the given id
+	 * @throws IOException
+	 *             If there is no robot with the given id
+	 */
+	private Robot getRobot(final int id) throws IOException {
+		if (id < 0 || id >= this.mRobots.size()) {
+			throw new IOException("The file contains an invalid robot id " + id + ": " + this.mPath);
+		}
+		return this.mRobots.get(id);
+	}
+}
@@ -0,0 +1,123 @@
+package de.zabuza.treeflood.exploration.localstorage.trace;
+
+import de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage;
+import de.zabuza.treeflood.exploration.localstorage.storage.InformationTable;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Local storage that forwards all calls to a given storage and records every
+ * write with an {@link ExplorationTraceRecorder}. The storage is thread safe if
+ * the given storage is.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class RecordingLocalStorage implements ILocalStorage {
+	/**
+	 * The recorder to record writes with.
+	 */
+	private final ExplorationTraceRecorder mRecorder;
+	/**
+	 * The storage to forward calls to.
+	 */
+	private final ILocalStorage mStorage;
+
+	/**
+	 * Creates a new recording local storage that forwards to the given storage.
+	 * 
+	 * @param storage
+	 *            The storage to forward calls to
+	 * @param recorder
+	 *            The recorder to record writes with
+	 */
+	public RecordingLocalStorage(final ILocalStorage storage, final ExplorationTraceRecorder recorder) {
+		this.mStorage = storage;
+		this.mRecorder = recorder;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * getAmountOfEntries()
+	 */
+	@Override
+	public long getAmountOfEntries() {
+		return this.mStorage.getAmountOfEntries();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#prune(
+	 * de.zabuza.treeflood.tree.ITreeNode, int)
+	 */
+	@Override
+	public void prune(final ITreeNode node, final int step) {
+		// Pruning only discards entries no robot reads anymore, it does not
+		// change the exploration and is thus not recorded
+		this.mStorage.prune(node, step);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#read(
+	 * de.zabuza.treeflood.tree.ITreeNode)
+	 */
+	@Override
+	public InformationTable read(final ITreeNode node) {
+		return this.mStorage.read(node);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readInformation(de.zabuza.treeflood.tree.ITreeNode, int, int)
+	 */
+	@Override
+	public long readInformation(final ITreeNode node, final int step, final int robotId) {
+		return this.mStorage.readInformation(node, step, robotId);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readStep(de.zabuza.treeflood.tree.ITreeNode, int,
+	 * de.zabuza.treeflood.exploration.localstorage.storage.InformationTable)
+	 */
+	@Override
+	public void readStep(final ITreeNode node, final int step, final InformationTable target) {
+		this.mStorage.readStep(node, step, target);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#
+	 * readSteps(de.zabuza.treeflood.tree.ITreeNode, int, int,
+	 * de.zabuza.treeflood.exploration.localstorage.storage.InformationTable)
+	 */
+	@Override
+	public void readSteps(final ITreeNode node, final int fromStep, final int toStep,
+			final InformationTable target) {
+		this.mStorage.readSteps(node, fromStep, toStep, target);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.exploration.localstorage.storage.ILocalStorage#write(
+	 * long, de.zabuza.treeflood.tree.ITreeNode)
+	 */
+	@Override
+	public void write(final long information, final ITreeNode node) {
+		this.mStorage.write(information, node);
+		this.mRecorder.recordWrite(information, node);
+	}
+}
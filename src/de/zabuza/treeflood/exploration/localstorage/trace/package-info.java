@@ -0,0 +1,5 @@
+/**
+ * This package contains recorders and replayers for traces of local storage
+ * exploration algorithms.
+ */
+package de.zabuza.treeflood.exploration.localstorage.trace;
\ No newline at end of file
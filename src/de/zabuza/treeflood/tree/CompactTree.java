@@ -0,0 +1,378 @@
+package de.zabuza.treeflood.tree;
+
+import java.nio.IntBuffer;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable implementation of a tree graph that stores its structure in two
+ * plain integer buffers instead of node objects. Nodes are identified by their
+ * index, the root has index 0. The children of a node must have consecutive
+ * indices, ordered by their port, which is for example the case if nodes are
+ * numbered in breadth-first order.<br>
+ * <br>
+ * The buffers may be backed by a heap array or by a memory-mapped file. Node
+ * objects are lightweight views that are created on demand, thus the tree
+ * itself does not hold any per-node objects.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompactTree implements ITree {
+	/**
+	 * The parent index used for the root which has no parent.
+	 */
+	public static final int NO_PARENT = -1;
+
+	/**
+	 * Creates a compact tree out of the given parent array. Children are
+	 * ordered by their index in the array, i.e. a child with a smaller index
+	 * gets a smaller port. The nodes are renumbered in breadth-first order.
+	 * 
+	 * @param parents
+	 *            Array that contains for each node the index of its parent, or
+	 *            {@link #NO_PARENT} for the root
+	 * @param size
+	 *            The amount of nodes, only the first entries of the array are
+	 *            used
+	 * @return The compact tree described by the parent array
+	 * @throws IllegalArgumentException
+	 *             If the parent array does not describe a tree
+	 */
+	public static CompactTree fromParents(final int[] parents, final int size) throws IllegalArgumentException {
+		return fromParents(parents, size, null);
+	}
+
+	/**
+	 * Creates a compact tree out of the given parent array. Children are
+	 * ordered by their occurrence in the given order. The nodes are renumbered
+	 * in breadth-first order.
+	 * 
+	 * @param parents
+	 *            Array that contains for each node the index of its parent, or
+	 *            {@link #NO_PARENT} for the root
+	 * @param size
+	 *            The amount of nodes, only the first entries of the array are
+	 *            used
+	 * @param childOrder
+	 *            The indices of all nodes except the root in the order their
+	 *            ports should be assigned or <tt>null</tt> to order children by
+	 *            their index
+	 * @return The compact tree described by the parent array
+	 * @throws IllegalArgumentException
+	 *             If the parent array does not describe a tree
+	 */
+	public static CompactTree fromParents(final int[] parents, final int size, final int[] childOrder)
+			throws IllegalArgumentException {
+		if (size <= 0) {
+			throw new IllegalArgumentException("A tree must contain at least one node");
+		}
+
+		// Count the children of each node and find the root
+		final int[] childrenOffsets = new int[size + 1];
+		int root = NO_PARENT;
+		for (int i = 0; i < size; i++) {
+			final int parent = parents[i];
+			if (parent == NO_PARENT) {
+				if (root != NO_PARENT) {
+					throw new IllegalArgumentException("The nodes " + root + " and " + i + " both have no parent");
+				}
+				root = i;
+			} else if (parent < 0 || parent >= size) {
+				throw new IllegalArgumentException("The node " + i + " has an invalid parent " + parent);
+			} else {
+				childrenOffsets[parent + 1]++;
+			}
+		}
+		if (root == NO_PARENT) {
+			throw new IllegalArgumentException("There is no node without a parent");
+		}
+		for (int i = 0; i < size; i++) {
+			childrenOffsets[i + 1] += childrenOffsets[i];
+		}
+
+		// Group the children by their parents, preserving the requested order
+		final int[] children = new int[size - 1];
+		final int[] nextChildPosition = Arrays.copyOf(childrenOffsets, size);
+		if (childOrder == null) {
+			for (int i = 0; i < size; i++) {
+				if (i != root) {
+					children[nextChildPosition[parents[i]]++] = i;
+				}
+			}
+		} else {
+			if (childOrder.length < size - 1) {
+				throw new IllegalArgumentException("The child order does not contain all nodes");
+			}
+			for (int i = 0; i < size - 1; i++) {
+				final int child = childOrder[i];
+				if (child < 0 || child >= size || child == root
+						|| nextChildPosition[parents[child]] == childrenOffsets[parents[child] + 1]) {
+					throw new IllegalArgumentException("The child order is no permutation of the non-root nodes");
+				}
+				children[nextChildPosition[parents[child]]++] = child;
+			}
+		}
+
+		// Renumber the nodes in breadth-first order, the array of polled nodes
+		// serves as queue
+		final int[] compactParents = new int[size];
+		final int[] compactFirstChildren = new int[size + 1];
+		final int[] queue = nextChildPosition;
+		queue[0] = root;
+		compactParents[0] = NO_PARENT;
+		int tail = 1;
+		for (int head = 0; head < tail; head++) {
+			final int node = queue[head];
+			compactFirstChildren[head] = tail;
+			for (int i = childrenOffsets[node]; i < childrenOffsets[node + 1]; i++) {
+				queue[tail] = children[i];
+				compactParents[tail] = head;
+				tail++;
+			}
+		}
+		if (tail != size) {
+			throw new IllegalArgumentException("The parent array contains a cycle or unreachable nodes");
+		}
+		compactFirstChildren[size] = size;
+
+		return new CompactTree(IntBuffer.wrap(compactParents), IntBuffer.wrap(compactFirstChildren));
+	}
+
+	/**
+	 * Buffer that contains for each node the index of its first child. It has
+	 * one more entry than the tree has nodes, the children of the node with
+	 * index <tt>i</tt> are given by the indices from <tt>firstChildren[i]</tt>
+	 * (inclusive) to <tt>firstChildren[i + 1]</tt> (exclusive).
+	 */
+	private final IntBuffer mFirstChildren;
+	/**
+	 * Buffer that contains for each node the index of its parent, or
+	 * {@link #NO_PARENT} for the root.
+	 */
+	private final IntBuffer mParents;
+	/**
+	 * The root node of the tree.
+	 */
+	private final CompactTreeNode mRoot;
+	/**
+	 * The amount of nodes of the tree.
+	 */
+	private final int mSize;
+	/**
+	 * The statistics of this tree or <tt>null</tt> if they were not requested
+	 * yet.
+	 */
+	private TreeStatistics mStatistics;
+
+	/**
+	 * Creates a new compact tree which is backed by the given buffers. The
+	 * buffers must not be modified afterwards. Only the sizes of the buffers
+	 * are validated, the content is trusted.
+	 * 
+	 * @param parents
+	 *            Buffer that contains for each node the index of its parent, or
+	 *            {@link #NO_PARENT} for the root which must have index 0
+	 * @param firstChildren
+	 *            Buffer that contains for each node the index of its first
+	 *            child, followed by one additional entry that contains the size
+	 *            of the tree. The children of the node with index <tt>i</tt>
+	 *            are given by the indices from <tt>firstChildren[i]</tt>
+	 *            (inclusive) to <tt>firstChildren[i + 1]</tt> (exclusive).
+	 * @throws IllegalArgumentException
+	 *             If the tree is empty or the sizes of the buffers do not match
+	 */
+	public CompactTree(final IntBuffer parents, final IntBuffer firstChildren) throws IllegalArgumentException {
+		if (parents.limit() <= 0 || firstChildren.limit() != parents.limit() + 1) {
+			throw new IllegalArgumentException("The buffer sizes do not describe a valid tree");
+		}
+		this.mParents = parents;
+		this.mFirstChildren = firstChildren;
+		this.mSize = parents.limit();
+		this.mRoot = new CompactTreeNode(this, 0);
+		this.mStatistics = null;
+	}
+
+	/**
+	 * Unsupported as compact trees are immutable.
+	 * 
+	 * @throws UnsupportedOperationException
+	 *             Always
+	 */
+	@Override
+	public ITreeNode addNode(final ITreeNode parent) throws UnsupportedOperationException {
+		throw new UnsupportedOperationException("Compact trees are immutable");
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see
+	 * de.zabuza.treeflood.tree.ITree#containsNode(de.zabuza.treeflood.tree.
+	 * ITreeNode)
+	 */
+	@Override
+	public boolean containsNode(final ITreeNode node) {
+		if (!(node instanceof CompactTreeNode)) {
+			return false;
+		}
+		return ((CompactTreeNode) node).getTree() == this;
+	}
+
+	/**
+	 * Gets the node with the given index. The index of a node is also its id.
+	 * 
+	 * @param index
+	 *            The index of the node, between 0 (inclusive) and the size of
+	 *            the tree (exclusive)
+	 * @return The node with the given index
+	 * @throws IllegalArgumentException
+	 *             If the index is out of range
+	 */
+	@Override
+	public ITreeNode getNode(final int index) throws IllegalArgumentException {
+		if (index < 0 || index >= this.mSize) {
+			throw new IllegalArgumentException();
+		}
+		if (index == 0) {
+			return this.mRoot;
+		}
+		return new CompactTreeNode(this, index);
+	}
+
+	/**
+	 * Gets an unmodifiable set of all nodes contained in this tree. The set is a
+	 * view that creates node objects on demand while being iterated.
+	 */
+	@Override
+	public Set<ITreeNode> getNodes() {
+		return new AbstractSet<ITreeNode>() {
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#contains(java.lang.Object)
+			 */
+			@Override
+			public boolean contains(final Object o) {
+				return o instanceof ITreeNode && containsNode((ITreeNode) o);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#iterator()
+			 */
+			@Override
+			public Iterator<ITreeNode> iterator() {
+				return new Iterator<ITreeNode>() {
+					private int mNextIndex = 0;
+
+					/*
+					 * (non-Javadoc)
+					 * 
+					 * @see java.util.Iterator#hasNext()
+					 */
+					@Override
+					public boolean hasNext() {
+						return this.mNextIndex < CompactTree.this.mSize;
+					}
+
+					/*
+					 * (non-Javadoc)
+					 * 
+					 * @see java.util.Iterator#next()
+					 */
+					@Override
+					public ITreeNode next() {
+						if (!hasNext()) {
+							throw new NoSuchElementException();
+						}
+						final ITreeNode node = getNode(this.mNextIndex);
+						this.mNextIndex++;
+						return node;
+					}
+				};
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#size()
+			 */
+			@Override
+			public int size() {
+				return CompactTree.this.mSize;
+			}
+		};
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getRoot()
+	 */
+	@Override
+	public ITreeNode getRoot() {
+		return this.mRoot;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getSize()
+	 */
+	@Override
+	public int getSize() {
+		return this.mSize;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getStatistics()
+	 */
+	@Override
+	public TreeStatistics getStatistics() {
+		if (this.mStatistics == null) {
+			this.mStatistics = new TreeStatistics(this);
+		}
+		return this.mStatistics;
+	}
+
+	/**
+	 * Gets the amount of children of the node with the given index.
+	 * 
+	 * @param index
+	 *            The index of the node
+	 * @return The amount of children of the node
+	 */
+	int getAmountOfChildren(final int index) {
+		return this.mFirstChildren.get(index + 1) - this.mFirstChildren.get(index);
+	}
+
+	/**
+	 * Gets the index of the first child of the node with the given index.
+	 * 
+	 * @param index
+	 *            The index of the node
+	 * @return The index of the first child of the node
+	 */
+	int getFirstChild(final int index) {
+		return this.mFirstChildren.get(index);
+	}
+
+	/**
+	 * Gets the index of the parent of the node with the given index.
+	 * 
+	 * @param index
+	 *            The index of the node
+	 * @return The index of the parent or {@link #NO_PARENT} if the node is the
+	 *         root
+	 */
+	int getParent(final int index) {
+		return this.mParents.get(index);
+	}
+}
@@ -0,0 +1,185 @@
+package de.zabuza.treeflood.tree;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * Lightweight view on a node of a {@link CompactTree}. Instances are created on
+ * demand, two views are equal if they refer to the same index of the same tree.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class CompactTreeNode implements ITreeNode {
+	/**
+	 * The index of the node in its tree.
+	 */
+	private final int mIndex;
+	/**
+	 * The tree this node belongs to.
+	 */
+	private final CompactTree mTree;
+
+	/**
+	 * Creates a new view on the node with the given index of the given tree.
+	 * 
+	 * @param tree
+	 *            The tree the node belongs to
+	 * @param index
+	 *            The index of the node in the tree
+	 */
+	CompactTreeNode(final CompactTree tree, final int index) {
+		this.mTree = tree;
+		this.mIndex = index;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof CompactTreeNode)) {
+			return false;
+		}
+		final CompactTreeNode other = (CompactTreeNode) obj;
+		return this.mIndex == other.mIndex && this.mTree == other.mTree;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#getAmountOfChildren()
+	 */
+	@Override
+	public int getAmountOfChildren() {
+		return this.mTree.getAmountOfChildren(this.mIndex);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#getChild(int)
+	 */
+	@Override
+	public ITreeNode getChild(final int port) throws IllegalArgumentException {
+		if (port < 1 || port > getAmountOfChildren()) {
+			throw new IllegalArgumentException();
+		}
+		return new CompactTreeNode(this.mTree, this.mTree.getFirstChild(this.mIndex) + port - 1);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#getChildren()
+	 */
+	@Override
+	public Collection<ITreeNode> getChildren() {
+		final int firstChild = this.mTree.getFirstChild(this.mIndex);
+		final int amountOfChildren = getAmountOfChildren();
+		return new AbstractList<ITreeNode>() {
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractList#get(int)
+			 */
+			@SuppressWarnings("synthetic-access")
+			@Override
+			public ITreeNode get(final int index) {
+				if (index < 0 || index >= amountOfChildren) {
+					throw new IndexOutOfBoundsException();
+				}
+				return new CompactTreeNode(CompactTreeNode.this.mTree, firstChild + index);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#size()
+			 */
+			@Override
+			public int size() {
+				return amountOfChildren;
+			}
+		};
+	}
+
+	/**
+	 * Gets the id of this node which is its index in the tree.
+	 * 
+	 * @return The id of this node
+	 */
+	@Override
+	public int getId() {
+		return this.mIndex;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#getParent()
+	 */
+	@Override
+	public Optional<ITreeNode> getParent() {
+		final int parent = this.mTree.getParent(this.mIndex);
+		if (parent == CompactTree.NO_PARENT) {
+			return Optional.empty();
+		}
+		return Optional.of(this.mTree.getNode(parent));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return this.mIndex;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#isLeaf()
+	 */
+	@Override
+	public boolean isLeaf() {
+		return getAmountOfChildren() == 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#isRoot()
+	 */
+	@Override
+	public boolean isRoot() {
+		return this.mIndex == 0;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "CompactTreeNode [index=" + this.mIndex + "]";
+	}
+
+	/**
+	 * Gets the tree this node belongs to.
+	 * 
+	 * @return The tree this node belongs to
+	 */
+	CompactTree getTree() {
+		return this.mTree;
+	}
+}
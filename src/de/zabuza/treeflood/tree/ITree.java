@@ -30,6 +30,19 @@ public interface ITree {
 	 */
 	public boolean containsNode(final ITreeNode node);
 
+	/**
+	 * Gets the node with the given id.
+	 * 
+	 * @param id
+	 *            The id of the node, between 0 (inclusive) and the size of the
+	 *            tree (exclusive)
+	 * @return The node with the given id
+	 * @throws IllegalArgumentException
+	 *             If the id is out of range
+	 * @see ITreeNode#getId()
+	 */
+	public ITreeNode getNode(final int id) throws IllegalArgumentException;
+
 	/**
 	 * Gets an unmodifiable set of all nodes contained in this tree.
 	 * 
@@ -44,6 +57,15 @@ public interface ITree {
 	 */
 	public ITreeNode getRoot();
 
+	/**
+	 * Gets the structural statistics of this tree, like the depth and subtree
+	 * size of each node. The statistics are computed on the first call and
+	 * cached until the tree is modified.
+	 * 
+	 * @return The statistics of this tree
+	 */
+	public TreeStatistics getStatistics();
+
 	/**
 	 * Gets the size of the tree which is the amount of nodes.
 	 * 
@@ -38,6 +38,16 @@ public interface ITreeNode {
 	 */
 	public Collection<ITreeNode> getChildren();
 
+	/**
+	 * Gets the id of this node. Ids are unique within the tree of the node and
+	 * numbered consecutively from 0 to the size of the tree (exclusive), the
+	 * root has id 0. They can thus be used as index for per-node data in
+	 * arrays.
+	 * 
+	 * @return The id of this node
+	 */
+	public int getId();
+
 	/**
 	 * Gets the parent node if the current node is not the root.
 	 * 
@@ -1,7 +1,10 @@
 package de.zabuza.treeflood.tree;
 
+import java.util.AbstractSet;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -12,22 +15,28 @@ import java.util.Set;
  */
 public final class Tree implements ITree {
 	/**
-	 * Set containing all nodes of this tree.
+	 * List containing all nodes of this tree, indexed by their id.
 	 */
-	private final Set<TreeNode> mNodes;
+	private final ArrayList<TreeNode> mNodes;
 	/**
 	 * The root node of the tree.
 	 */
 	private final TreeNode mRoot;
+	/**
+	 * The cached statistics of this tree or <tt>null</tt> if they need to be
+	 * computed again since the tree was modified.
+	 */
+	private TreeStatistics mStatistics;
 
 	/**
 	 * Creates a new tree of size 1 with a root node that is accessible by
 	 * {@link #getRoot()}.
 	 */
 	public Tree() {
-		this.mNodes = new HashSet<>();
+		this.mNodes = new ArrayList<>();
 		this.mRoot = new TreeNode();
 		this.mNodes.add(this.mRoot);
+		this.mStatistics = null;
 	}
 
 	/*
@@ -41,8 +50,9 @@ public final class Tree implements ITree {
 		if (!containsNode(parent)) {
 			throw new IllegalArgumentException();
 		}
-		final TreeNode child = new TreeNode(parent);
+		final TreeNode child = new TreeNode(parent, this.mNodes.size());
 		this.mNodes.add(child);
+		this.mStatistics = null;
 
 		// Cast is possible since it is contained in the tree
 		final TreeNode parentAsTreeNode = (TreeNode) parent;
@@ -60,17 +70,64 @@ public final class Tree implements ITree {
 	 */
 	@Override
 	public boolean containsNode(final ITreeNode node) {
-		return this.mNodes.contains(node);
+		if (!(node instanceof TreeNode)) {
+			return false;
+		}
+		final int id = node.getId();
+		return id >= 0 && id < this.mNodes.size() && this.mNodes.get(id) == node;
 	}
 
 	/*
 	 * (non-Javadoc)
 	 * 
-	 * @see de.zabuza.treeflood.tree.ITree#getNodes()
+	 * @see de.zabuza.treeflood.tree.ITree#getNode(int)
+	 */
+	@Override
+	public ITreeNode getNode(final int id) throws IllegalArgumentException {
+		if (id < 0 || id >= this.mNodes.size()) {
+			throw new IllegalArgumentException();
+		}
+		return this.mNodes.get(id);
+	}
+
+	/**
+	 * Gets an unmodifiable set of all nodes contained in this tree. The set is a
+	 * view that iterates the nodes in the order of their ids.
 	 */
 	@Override
 	public Set<ITreeNode> getNodes() {
-		return Collections.unmodifiableSet(this.mNodes);
+		final List<ITreeNode> nodes = Collections.unmodifiableList(this.mNodes);
+		return new AbstractSet<ITreeNode>() {
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#contains(java.lang.Object)
+			 */
+			@Override
+			public boolean contains(final Object o) {
+				return o instanceof ITreeNode && containsNode((ITreeNode) o);
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#iterator()
+			 */
+			@Override
+			public Iterator<ITreeNode> iterator() {
+				return nodes.iterator();
+			}
+
+			/*
+			 * (non-Javadoc)
+			 * 
+			 * @see java.util.AbstractCollection#size()
+			 */
+			@Override
+			public int size() {
+				return nodes.size();
+			}
+		};
 	}
 
 	/*
@@ -92,4 +149,17 @@ public final class Tree implements ITree {
 	public int getSize() {
 		return this.mNodes.size();
 	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITree#getStatistics()
+	 */
+	@Override
+	public TreeStatistics getStatistics() {
+		if (this.mStatistics == null) {
+			this.mStatistics = new TreeStatistics(this);
+		}
+		return this.mStatistics;
+	}
 }
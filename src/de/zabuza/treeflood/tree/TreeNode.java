@@ -17,16 +17,20 @@ public final class TreeNode implements ITreeNode {
 	 * A list with fast random access containing all children of this node.
 	 */
 	private final ArrayList<ITreeNode> mChildren;
+	/**
+	 * The unique id of this node in its tree.
+	 */
+	private final int mId;
 	/**
 	 * The parent of this node or <tt>null</tt> if it is the root.
 	 */
 	private final ITreeNode mParent;
 
 	/**
-	 * Creates a new root node with no children initially.
+	 * Creates a new root node with id 0 and no children initially.
 	 */
 	public TreeNode() {
-		this(null);
+		this(null, 0);
 	}
 
 	/**
@@ -35,9 +39,13 @@ public final class TreeNode implements ITreeNode {
 	 * @param parent
 	 *            The parent of this node, <tt>null</tt> if the node is the root
 	 *            node
+	 * @param id
+	 *            The unique id of this node in its tree, ids are numbered
+	 *            consecutively from 0 to the size of the tree (exclusive)
 	 */
-	public TreeNode(final ITreeNode parent) {
+	public TreeNode(final ITreeNode parent, final int id) {
 		this.mParent = parent;
+		this.mId = id;
 		this.mChildren = new ArrayList<>();
 	}
 
@@ -74,6 +82,16 @@ public final class TreeNode implements ITreeNode {
 		return Collections.unmodifiableCollection(this.mChildren);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.ITreeNode#getId()
+	 */
+	@Override
+	public int getId() {
+		return this.mId;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -0,0 +1,203 @@
+package de.zabuza.treeflood.tree;
+
+/**
+ * Immutable index of structural statistics of a tree, like the depth and the
+ * subtree size of each node. All values are computed at construction in a
+ * single iterative breadth-first traversal followed by one sweep in reverse
+ * order. Per-node values are stored in plain arrays that are indexed by the
+ * id of the node, see {@link ITreeNode#getId()}.<br>
+ * <br>
+ * Instances are usually obtained by {@link ITree#getStatistics()} which caches
+ * them.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class TreeStatistics {
+	/**
+	 * Gets the id of the given node and ensures that it is in range.
+	 * 
+	 * @param node
+	 *            The node in question
+	 * @param size
+	 *            The size of the tree
+	 * @return The id of the node
+	 * @throws IllegalArgumentException
+	 *             If the id of the node is out of range
+	 */
+	private static int getValidId(final ITreeNode node, final int size) throws IllegalArgumentException {
+		final int id = node.getId();
+		if (id < 0 || id >= size) {
+			throw new IllegalArgumentException("The node " + node + " has an invalid id " + id);
+		}
+		return id;
+	}
+
+	/**
+	 * Array that contains for each node id the depth of the node. The root has
+	 * depth 0.
+	 */
+	private final int[] mDepths;
+	/**
+	 * The height of the tree which is the maximal depth of all nodes.
+	 */
+	private final int mHeight;
+	/**
+	 * The amount of leaves of the tree.
+	 */
+	private final int mLeafCount;
+	/**
+	 * The maximal amount of children of all nodes in the tree.
+	 */
+	private final int mMaxDegree;
+	/**
+	 * Array that contains for each node id the amount of nodes in the subtree
+	 * rooted at the node, including the node itself.
+	 */
+	private final int[] mSubtreeSizes;
+
+	/**
+	 * Computes the statistics of the given tree. The tree must not be modified
+	 * during the computation.
+	 * 
+	 * @param tree
+	 *            The tree to compute the statistics of
+	 * @throws IllegalArgumentException
+	 *             If the ids of the nodes are not consecutively numbered from 0
+	 *             to the size of the tree (exclusive)
+	 */
+	public TreeStatistics(final ITree tree) throws IllegalArgumentException {
+		final int size = tree.getSize();
+		this.mDepths = new int[size];
+		this.mSubtreeSizes = new int[size];
+		final int[] parents = new int[size];
+
+		// Traverse the tree in breadth-first order, the array of polled nodes
+		// serves as queue
+		final ITreeNode[] queue = new ITreeNode[size];
+		final ITreeNode root = tree.getRoot();
+		queue[0] = root;
+		parents[getValidId(root, size)] = -1;
+		int tail = 1;
+		int height = 0;
+		int leafCount = 0;
+		int maxDegree = 0;
+		for (int head = 0; head < tail; head++) {
+			final ITreeNode node = queue[head];
+			final int id = node.getId();
+			final int depth = this.mDepths[id];
+			if (depth > height) {
+				height = depth;
+			}
+
+			final int amountOfChildren = node.getAmountOfChildren();
+			if (amountOfChildren == 0) {
+				leafCount++;
+				continue;
+			}
+			if (amountOfChildren > maxDegree) {
+				maxDegree = amountOfChildren;
+			}
+			if (amountOfChildren > size - tail) {
+				throw new IllegalArgumentException("The tree contains more nodes than its size indicates");
+			}
+			for (final ITreeNode child : node.getChildren()) {
+				final int childId = getValidId(child, size);
+				this.mDepths[childId] = depth + 1;
+				parents[childId] = id;
+				queue[tail] = child;
+				tail++;
+			}
+		}
+		if (tail != size) {
+			throw new IllegalArgumentException("The tree contains less nodes than its size indicates");
+		}
+
+		// Accumulate the subtree sizes bottom-up by sweeping the traversal in
+		// reverse order, children are always visited before their parents
+		for (int i = size - 1; i >= 0; i--) {
+			final int id = queue[i].getId();
+			this.mSubtreeSizes[id]++;
+			if (i > 0) {
+				this.mSubtreeSizes[parents[id]] += this.mSubtreeSizes[id];
+			}
+		}
+
+		this.mHeight = height;
+		this.mLeafCount = leafCount;
+		this.mMaxDegree = maxDegree;
+	}
+
+	/**
+	 * Gets the depth of the given node, the root has depth 0.
+	 * 
+	 * @param node
+	 *            The node in question, must be contained in the tree of these
+	 *            statistics
+	 * @return The depth of the given node
+	 */
+	public int getDepth(final ITreeNode node) {
+		return this.mDepths[node.getId()];
+	}
+
+	/**
+	 * Gets the height of the tree which is the maximal depth of all its nodes.
+	 * A tree consisting only of the root has height 0.
+	 * 
+	 * @return The height of the tree
+	 */
+	public int getHeight() {
+		return this.mHeight;
+	}
+
+	/**
+	 * Gets the amount of leaves of the tree.
+	 * 
+	 * @return The amount of leaves of the tree
+	 */
+	public int getLeafCount() {
+		return this.mLeafCount;
+	}
+
+	/**
+	 * Gets the maximal amount of children of all nodes in the tree.
+	 * 
+	 * @return The maximal degree of the tree
+	 */
+	public int getMaxDegree() {
+		return this.mMaxDegree;
+	}
+
+	/**
+	 * Gets the size of the tree the statistics belong to.
+	 * 
+	 * @return The size of the tree
+	 */
+	public int getSize() {
+		return this.mDepths.length;
+	}
+
+	/**
+	 * Gets the amount of nodes in the subtree rooted at the given node,
+	 * including the node itself.
+	 * 
+	 * @param node
+	 *            The node in question, must be contained in the tree of these
+	 *            statistics
+	 * @return The size of the subtree rooted at the given node
+	 */
+	public int getSubtreeSize(final ITreeNode node) {
+		return this.mSubtreeSizes[node.getId()];
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return "TreeStatistics [size=" + getSize() + ", height=" + this.mHeight + ", leafCount=" + this.mLeafCount
+				+ ", maxDegree=" + this.mMaxDegree + "]";
+	}
+}
@@ -0,0 +1,49 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.nio.ByteOrder;
+
+/**
+ * Constants describing the binary tree file format used by
+ * {@link BinaryTreeWriter} and {@link BinaryTreeReader}. A file consists of a
+ * header followed by two integer arrays, all values are stored in big-endian
+ * byte order:
+ * <ol>
+ * <li>Header: the magic number, the format version, the amount of nodes
+ * <tt>n</tt> and a reserved field</li>
+ * <li>Parents: <tt>n</tt> integers, the index of the parent of each node or
+ * <tt>-1</tt> for the root</li>
+ * <li>First children: <tt>n + 1</tt> integers, the index of the first child of
+ * each node followed by <tt>n</tt></li>
+ * </ol>
+ * Nodes are numbered in breadth-first order starting with the root at index 0,
+ * thus the children of a node have consecutive indices.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class BinaryTreeFormat {
+	/**
+	 * The byte order used for all values.
+	 */
+	static final ByteOrder BYTE_ORDER = ByteOrder.BIG_ENDIAN;
+	/**
+	 * The size of the header in bytes.
+	 */
+	static final int HEADER_SIZE = 4 * Integer.BYTES;
+	/**
+	 * The magic number that starts every file, the ASCII characters
+	 * <tt>TFTR</tt>.
+	 */
+	static final int MAGIC_NUMBER = 0x54465452;
+	/**
+	 * The version of the format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BinaryTreeFormat() {
+
+	}
+}
@@ -0,0 +1,97 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import de.zabuza.treeflood.tree.CompactTree;
+
+/**
+ * Loads trees from files written by {@link BinaryTreeWriter}. The file is
+ * memory-mapped, thus loading is independent of the size of the tree and the
+ * structure is not copied onto the heap.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BinaryTreeReader {
+	/**
+	 * Loads the tree stored in the file at the given path by memory-mapping it.
+	 * Only the header of the file is validated. The returned tree stays backed
+	 * by the file, it must not be modified while the tree is in use.
+	 * 
+	 * @param path
+	 *            The path of the file to load
+	 * @return The tree stored in the file
+	 * @throws IOException
+	 *             If an I/O-Exception occurs or the file is not in the binary
+	 *             tree format
+	 */
+	public static CompactTree read(final Path path) throws IOException {
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			final ByteBuffer header = ByteBuffer.allocate(BinaryTreeFormat.HEADER_SIZE)
+					.order(BinaryTreeFormat.BYTE_ORDER);
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0) {
+					throw new IOException("The file is too short to contain a header: " + path);
+				}
+			}
+			header.flip();
+
+			if (header.getInt() != BinaryTreeFormat.MAGIC_NUMBER) {
+				throw new IOException("The file is not in the binary tree format: " + path);
+			}
+			final int version = header.getInt();
+			if (version != BinaryTreeFormat.VERSION) {
+				throw new IOException("Unsupported version " + version + " of the binary tree format: " + path);
+			}
+			final int size = header.getInt();
+			if (size <= 0) {
+				throw new IOException("The file contains an invalid tree size of " + size + ": " + path);
+			}
+
+			final long parentsSize = (long) size * Integer.BYTES;
+			final long firstChildrenSize = (size + 1L) * Integer.BYTES;
+			final long expectedFileSize = BinaryTreeFormat.HEADER_SIZE + parentsSize + firstChildrenSize;
+			if (channel.size() != expectedFileSize) {
+				throw new IOException("Expected a file size of " + expectedFileSize + " bytes but the file has "
+						+ channel.size() + " bytes: " + path);
+			}
+
+			// The mappings stay valid after the channel is closed
+			final IntBuffer parents = map(channel, BinaryTreeFormat.HEADER_SIZE, parentsSize);
+			final IntBuffer firstChildren = map(channel, BinaryTreeFormat.HEADER_SIZE + parentsSize,
+					firstChildrenSize);
+			return new CompactTree(parents, firstChildren);
+		}
+	}
+
+	/**
+	 * Maps the given region of the given channel read-only into memory.
+	 * 
+	 * @param channel
+	 *            The channel to map
+	 * @param position
+	 *            The position of the region in bytes
+	 * @param size
+	 *            The size of the region in bytes
+	 * @return An integer view of the mapped region
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static IntBuffer map(final FileChannel channel, final long position, final long size)
+			throws IOException {
+		return channel.map(MapMode.READ_ONLY, position, size).order(BinaryTreeFormat.BYTE_ORDER).asIntBuffer();
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BinaryTreeReader() {
+
+	}
+}
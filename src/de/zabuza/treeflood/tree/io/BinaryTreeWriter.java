@@ -0,0 +1,124 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import de.zabuza.treeflood.tree.CompactTree;
+import de.zabuza.treeflood.tree.ITree;
+import de.zabuza.treeflood.tree.ITreeNode;
+
+/**
+ * Writes trees to files using the binary tree format which can be loaded by
+ * {@link BinaryTreeReader}.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class BinaryTreeWriter {
+	/**
+	 * The size of the buffer used for writing in bytes.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Writes the given tree to the file at the given path. An existing file
+	 * gets overwritten. Nodes are numbered in breadth-first order, the order of
+	 * children is preserved.
+	 * 
+	 * @param tree
+	 *            The tree to write
+	 * @param path
+	 *            The path of the file to write to
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	public static void write(final ITree tree, final Path path) throws IOException {
+		final int size = tree.getSize();
+		final int[] parents = new int[size];
+		final int[] firstChildren = new int[size + 1];
+
+		// Number nodes in breadth-first order, the node polled as i-th element
+		// gets index i and its children get the next free indices
+		final Queue<ITreeNode> queue = new ArrayDeque<>();
+		queue.add(tree.getRoot());
+		parents[0] = CompactTree.NO_PARENT;
+		int nextFreeIndex = 1;
+		int index = 0;
+		while (!queue.isEmpty()) {
+			final ITreeNode node = queue.poll();
+			firstChildren[index] = nextFreeIndex;
+			for (int port = 1; port <= node.getAmountOfChildren(); port++) {
+				parents[nextFreeIndex] = index;
+				nextFreeIndex++;
+				queue.add(node.getChild(port));
+			}
+			index++;
+		}
+		firstChildren[size] = size;
+
+		try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(BinaryTreeFormat.BYTE_ORDER);
+			buffer.putInt(BinaryTreeFormat.MAGIC_NUMBER);
+			buffer.putInt(BinaryTreeFormat.VERSION);
+			buffer.putInt(size);
+			buffer.putInt(0);
+			writeInts(channel, buffer, parents);
+			writeInts(channel, buffer, firstChildren);
+			flush(channel, buffer);
+		}
+	}
+
+	/**
+	 * Writes the remaining content of the given buffer to the given channel and
+	 * clears the buffer.
+	 * 
+	 * @param channel
+	 *            The channel to write to
+	 * @param buffer
+	 *            The buffer to write, in writing mode
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void flush(final FileChannel channel, final ByteBuffer buffer) throws IOException {
+		buffer.flip();
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	/**
+	 * Writes the given values to the given channel by using the given buffer.
+	 * 
+	 * @param channel
+	 *            The channel to write to
+	 * @param buffer
+	 *            The buffer to use, in writing mode
+	 * @param values
+	 *            The values to write
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void writeInts(final FileChannel channel, final ByteBuffer buffer, final int[] values)
+			throws IOException {
+		for (final int value : values) {
+			if (buffer.remaining() < Integer.BYTES) {
+				flush(channel, buffer);
+			}
+			buffer.putInt(value);
+		}
+	}
+
+	/**
+	 * Utility class. No implementation.
+	 */
+	private BinaryTreeWriter() {
+
+	}
+}
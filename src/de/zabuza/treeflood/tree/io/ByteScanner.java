@@ -0,0 +1,211 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Scanner that reads single bytes and integers from an input stream. It uses
+ * its own buffer and works directly on the bytes, thus it avoids the decoding
+ * of characters and the creation of strings.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+final class ByteScanner {
+	/**
+	 * Value that indicates the end of the stream.
+	 */
+	static final int END_OF_STREAM = -1;
+	/**
+	 * The size of the buffer in bytes.
+	 */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Whether the given byte is a whitespace.
+	 * 
+	 * @param value
+	 *            The byte in question
+	 * @return <tt>True</tt> if the byte is a whitespace, <tt>false</tt>
+	 *         otherwise
+	 */
+	static boolean isWhitespace(final int value) {
+		return value == ' ' || value == '\n' || value == '\r' || value == '\t' || value == '\f';
+	}
+
+	/**
+	 * The buffer holding the bytes read from the stream.
+	 */
+	private final byte[] mBuffer;
+	/**
+	 * The amount of valid bytes in the buffer.
+	 */
+	private int mBufferLimit;
+	/**
+	 * The position of the next byte to read in the buffer.
+	 */
+	private int mBufferPosition;
+	/**
+	 * The stream to read from.
+	 */
+	private final InputStream mInput;
+	/**
+	 * The amount of bytes consumed before the current buffer content.
+	 */
+	private long mOffset;
+
+	/**
+	 * Creates a new scanner that reads from the given stream.
+	 * 
+	 * @param input
+	 *            The stream to read from
+	 */
+	ByteScanner(final InputStream input) {
+		this.mInput = input;
+		this.mBuffer = new byte[BUFFER_SIZE];
+		this.mBufferLimit = 0;
+		this.mBufferPosition = 0;
+		this.mOffset = 0L;
+	}
+
+	/**
+	 * Gets the position of the next byte to read, i.e. the amount of bytes
+	 * consumed so far.
+	 * 
+	 * @return The position of the next byte to read
+	 */
+	long getPosition() {
+		return this.mOffset + this.mBufferPosition;
+	}
+
+	/**
+	 * Gets the next byte without consuming it.
+	 * 
+	 * @return The next byte or {@link #END_OF_STREAM}
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	int peek() throws IOException {
+		if (this.mBufferPosition == this.mBufferLimit && !fill()) {
+			return END_OF_STREAM;
+		}
+		return this.mBuffer[this.mBufferPosition] & 0xFF;
+	}
+
+	/**
+	 * Consumes the next byte.
+	 * 
+	 * @return The consumed byte or {@link #END_OF_STREAM}
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	int read() throws IOException {
+		final int value = peek();
+		if (value != END_OF_STREAM) {
+			this.mBufferPosition++;
+		}
+		return value;
+	}
+
+	/**
+	 * Consumes an integer which consists of an optional minus sign followed by
+	 * decimal digits.
+	 * 
+	 * @return The consumed integer
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 * @throws IllegalArgumentException
+	 *             If the next bytes do not form an integer
+	 */
+	int readInt() throws IOException, IllegalArgumentException {
+		final long start = getPosition();
+		boolean isNegative = false;
+		if (peek() == '-') {
+			isNegative = true;
+			read();
+		}
+
+		long value = 0L;
+		int amountOfDigits = 0;
+		int next = peek();
+		while (next >= '0' && next <= '9') {
+			value = value * 10 + (next - '0');
+			if (value > Integer.MAX_VALUE + 1L) {
+				throw new IllegalArgumentException("Integer out of range at position " + start);
+			}
+			amountOfDigits++;
+			read();
+			next = peek();
+		}
+
+		if (amountOfDigits == 0) {
+			throw new IllegalArgumentException("Expected an integer at position " + start);
+		}
+		if (isNegative) {
+			value = -value;
+		}
+		if (value > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException("Integer out of range at position " + start);
+		}
+		return (int) value;
+	}
+
+	/**
+	 * Consumes all bytes up to and including the next line break.
+	 * 
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	void skipLine() throws IOException {
+		int next = read();
+		while (next != '\n' && next != END_OF_STREAM) {
+			next = read();
+		}
+	}
+
+	/**
+	 * Consumes whitespaces and lines that start with the given comment symbol.
+	 * 
+	 * @param commentSymbol
+	 *            The symbol that starts a comment which lasts until the end of
+	 *            the line
+	 * @return The next byte, which is not consumed, or {@link #END_OF_STREAM}
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	int skipWhitespacesAndComments(final int commentSymbol) throws IOException {
+		int next = peek();
+		while (isWhitespace(next) || next == commentSymbol) {
+			if (next == commentSymbol) {
+				skipLine();
+			} else {
+				read();
+			}
+			next = peek();
+		}
+		return next;
+	}
+
+	/**
+	 * Refills the buffer from the stream.
+	 * 
+	 * @return <tt>True</tt> if at least one byte was read, <tt>false</tt> if
+	 *         the end of the stream was reached
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private boolean fill() throws IOException {
+		this.mOffset += this.mBufferLimit;
+		this.mBufferPosition = 0;
+		this.mBufferLimit = 0;
+		int amountRead = 0;
+		while (amountRead == 0) {
+			amountRead = this.mInput.read(this.mBuffer, 0, this.mBuffer.length);
+		}
+		if (amountRead < 0) {
+			return false;
+		}
+		this.mBufferLimit = amountRead;
+		return true;
+	}
+}
@@ -0,0 +1,76 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import de.zabuza.treeflood.tree.CompactTree;
+import de.zabuza.treeflood.util.IntArrayList;
+
+/**
+ * Parser for trees given as edge list. The input consists of pairs of
+ * non-negative integers separated by whitespaces, typically one pair per line.
+ * Each pair is an edge given by the index of the parent followed by the index
+ * of the child. The indices must cover all numbers from 0 to the highest index.
+ * Children are ordered by the occurrence of their edges. Lines starting with
+ * <tt>#</tt> are ignored.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class EdgeListTreeParser implements ITreeParser {
+	/**
+	 * The symbol that starts a comment line.
+	 */
+	private static final int COMMENT_SYMBOL = '#';
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.io.ITreeParser#parse(java.io.InputStream)
+	 */
+	@Override
+	public CompactTree parse(final InputStream input) throws IOException, IllegalArgumentException {
+		final ByteScanner scanner = new ByteScanner(input);
+		int[] parents = new int[0];
+		int size = 0;
+		final IntArrayList childOrder = new IntArrayList();
+
+		while (scanner.skipWhitespacesAndComments(COMMENT_SYMBOL) != ByteScanner.END_OF_STREAM) {
+			final long position = scanner.getPosition();
+			final int parent = scanner.readInt();
+			if (scanner.skipWhitespacesAndComments(COMMENT_SYMBOL) == ByteScanner.END_OF_STREAM) {
+				throw new IllegalArgumentException("Incomplete edge at position " + position);
+			}
+			final int child = scanner.readInt();
+			if (parent < 0 || child < 0) {
+				throw new IllegalArgumentException("Negative node index at position " + position);
+			}
+
+			// Grow the parent array such that it covers both nodes
+			final int requiredSize = Math.max(parent, child) + 1;
+			if (requiredSize > parents.length) {
+				final int previousLength = parents.length;
+				parents = Arrays.copyOf(parents, Math.max(requiredSize, previousLength + (previousLength >> 1) + 1));
+				Arrays.fill(parents, previousLength, parents.length, CompactTree.NO_PARENT);
+			}
+			size = Math.max(size, requiredSize);
+
+			if (parents[child] != CompactTree.NO_PARENT) {
+				throw new IllegalArgumentException(
+						"The node " + child + " has more than one parent, at position " + position);
+			}
+			parents[child] = parent;
+			childOrder.add(child);
+		}
+
+		if (size == 0) {
+			throw new IllegalArgumentException("The input does not contain any edge");
+		}
+		if (childOrder.size() != size - 1) {
+			throw new IllegalArgumentException(
+					"Expected " + (size - 1) + " edges for " + size + " nodes but got " + childOrder.size());
+		}
+		return CompactTree.fromParents(parents, size, childOrder.getArray());
+	}
+}
@@ -0,0 +1,28 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.zabuza.treeflood.tree.CompactTree;
+
+/**
+ * Interface for parsers that build trees out of a textual representation.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public interface ITreeParser {
+	/**
+	 * Parses the tree given by the content of the input stream. The stream is
+	 * read sequentially and not closed by this method.
+	 * 
+	 * @param input
+	 *            The stream to read the tree from
+	 * @return The parsed tree
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 * @throws IllegalArgumentException
+	 *             If the content is malformed or does not describe a tree
+	 */
+	public CompactTree parse(final InputStream input) throws IOException, IllegalArgumentException;
+}
@@ -0,0 +1,207 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.zabuza.treeflood.tree.CompactTree;
+import de.zabuza.treeflood.util.IntArrayList;
+
+/**
+ * Parser for trees given in the Newick format, for example
+ * <tt>((A,B)C,(D)E)F;</tt>. Only the structure of the tree is parsed, labels,
+ * branch lengths and comments in square brackets are skipped. Labels can be
+ * quoted with single quotes. Parsing stops at the first semicolon. The parser
+ * works iteratively, thus the depth of the tree is not limited by the stack
+ * size.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class NewickTreeParser implements ITreeParser {
+	/**
+	 * Adds a new node as child of the innermost open node, or as root if there
+	 * is no open node.
+	 * 
+	 * @param parents
+	 *            The parent array to add the node to
+	 * @param openNodes
+	 *            The stack of currently open inner nodes
+	 * @param position
+	 *            The position of the node in the input, used for error
+	 *            messages
+	 * @return The index of the added node
+	 */
+	private static int addNode(final IntArrayList parents, final IntArrayList openNodes, final long position) {
+		final int parent;
+		if (openNodes.isEmpty()) {
+			if (!parents.isEmpty()) {
+				throw new IllegalArgumentException("Unexpected second root at position " + position);
+			}
+			parent = CompactTree.NO_PARENT;
+		} else {
+			parent = openNodes.get(openNodes.size() - 1);
+		}
+		parents.add(parent);
+		return parents.size() - 1;
+	}
+
+	/**
+	 * Whether the given byte terminates an unquoted label or a branch length.
+	 * 
+	 * @param value
+	 *            The byte in question
+	 * @return <tt>True</tt> if the byte terminates a label, <tt>false</tt>
+	 *         otherwise
+	 */
+	private static boolean isDelimiter(final int value) {
+		return value == '(' || value == ')' || value == ',' || value == ':' || value == ';' || value == '['
+				|| value == '\'' || value == ByteScanner.END_OF_STREAM || ByteScanner.isWhitespace(value);
+	}
+
+	/**
+	 * Consumes a comment, starting at its opening bracket.
+	 * 
+	 * @param scanner
+	 *            The scanner to consume from
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void skipComment(final ByteScanner scanner) throws IOException {
+		final long start = scanner.getPosition();
+		scanner.read();
+		int next = scanner.read();
+		while (next != ']') {
+			if (next == ByteScanner.END_OF_STREAM) {
+				throw new IllegalArgumentException("Unterminated comment at position " + start);
+			}
+			next = scanner.read();
+		}
+	}
+
+	/**
+	 * Consumes a quoted label, starting at its opening quote. Two consecutive
+	 * quotes inside the label represent an escaped quote.
+	 * 
+	 * @param scanner
+	 *            The scanner to consume from
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void skipQuotedLabel(final ByteScanner scanner) throws IOException {
+		final long start = scanner.getPosition();
+		scanner.read();
+		while (true) {
+			final int next = scanner.read();
+			if (next == ByteScanner.END_OF_STREAM) {
+				throw new IllegalArgumentException("Unterminated quoted label at position " + start);
+			}
+			if (next == '\'') {
+				if (scanner.peek() != '\'') {
+					return;
+				}
+				scanner.read();
+			}
+		}
+	}
+
+	/**
+	 * Consumes an unquoted label or a branch length up to the next delimiter.
+	 * 
+	 * @param scanner
+	 *            The scanner to consume from
+	 * @throws IOException
+	 *             If an I/O-Exception occurs
+	 */
+	private static void skipUnquotedLabel(final ByteScanner scanner) throws IOException {
+		while (!isDelimiter(scanner.peek())) {
+			scanner.read();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.io.ITreeParser#parse(java.io.InputStream)
+	 */
+	@Override
+	public CompactTree parse(final InputStream input) throws IOException, IllegalArgumentException {
+		final ByteScanner scanner = new ByteScanner(input);
+		// Nodes are created in pre-order, thus siblings are ordered by index
+		final IntArrayList parents = new IntArrayList();
+		// Stack of the inner nodes whose children are currently parsed
+		final IntArrayList openNodes = new IntArrayList();
+		// Whether a node is expected at the current position. If a delimiter
+		// follows instead, the node is an unlabeled leaf.
+		boolean isNodeExpected = true;
+
+		while (true) {
+			final int next = scanner.peek();
+			final long position = scanner.getPosition();
+
+			if (ByteScanner.isWhitespace(next)) {
+				scanner.read();
+				continue;
+			}
+			if (next == '[') {
+				skipComment(scanner);
+				continue;
+			}
+			if (next == ByteScanner.END_OF_STREAM) {
+				throw new IllegalArgumentException("Missing terminating semicolon at position " + position);
+			}
+
+			if (next == '(') {
+				if (!isNodeExpected) {
+					throw new IllegalArgumentException("Unexpected opening parenthesis at position " + position);
+				}
+				openNodes.add(addNode(parents, openNodes, position));
+				scanner.read();
+				continue;
+			}
+
+			if (next == ',' || next == ')' || next == ';') {
+				if (isNodeExpected) {
+					// Unlabeled leaf
+					addNode(parents, openNodes, position);
+				}
+				scanner.read();
+				if (next == ';') {
+					break;
+				}
+				if (openNodes.isEmpty()) {
+					throw new IllegalArgumentException("Unexpected '" + (char) next + "' at position " + position);
+				}
+				if (next == ',') {
+					isNodeExpected = true;
+				} else {
+					openNodes.removeLast();
+					isNodeExpected = false;
+				}
+				continue;
+			}
+
+			if (next == ':') {
+				// Branch length of the last node
+				scanner.read();
+				skipUnquotedLabel(scanner);
+				continue;
+			}
+
+			// Label of a leaf or of a just closed inner node
+			if (next == '\'') {
+				skipQuotedLabel(scanner);
+			} else {
+				skipUnquotedLabel(scanner);
+			}
+			if (isNodeExpected) {
+				addNode(parents, openNodes, position);
+				isNodeExpected = false;
+			}
+		}
+
+		if (!openNodes.isEmpty()) {
+			throw new IllegalArgumentException("Unbalanced parentheses, " + openNodes.size() + " are not closed");
+		}
+		return CompactTree.fromParents(parents.getArray(), parents.size());
+	}
+}
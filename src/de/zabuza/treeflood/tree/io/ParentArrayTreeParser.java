@@ -0,0 +1,41 @@
+package de.zabuza.treeflood.tree.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import de.zabuza.treeflood.tree.CompactTree;
+import de.zabuza.treeflood.util.IntArrayList;
+
+/**
+ * Parser for trees given as parent array. The input consists of integers
+ * separated by whitespaces, the <tt>i</tt>-th integer is the index of the
+ * parent of the node with index <tt>i</tt>, or <tt>-1</tt> for the root.
+ * Children are ordered by their index. Lines starting with <tt>#</tt> are
+ * ignored.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class ParentArrayTreeParser implements ITreeParser {
+	/**
+	 * The symbol that starts a comment line.
+	 */
+	private static final int COMMENT_SYMBOL = '#';
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see de.zabuza.treeflood.tree.io.ITreeParser#parse(java.io.InputStream)
+	 */
+	@Override
+	public CompactTree parse(final InputStream input) throws IOException, IllegalArgumentException {
+		final ByteScanner scanner = new ByteScanner(input);
+		final IntArrayList parents = new IntArrayList();
+
+		while (scanner.skipWhitespacesAndComments(COMMENT_SYMBOL) != ByteScanner.END_OF_STREAM) {
+			parents.add(scanner.readInt());
+		}
+
+		return CompactTree.fromParents(parents.getArray(), parents.size());
+	}
+}
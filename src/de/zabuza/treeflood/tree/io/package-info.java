@@ -0,0 +1,4 @@
+/**
+ * This package contains readers and writers for persisting tree graph models.
+ */
+package de.zabuza.treeflood.tree.io;
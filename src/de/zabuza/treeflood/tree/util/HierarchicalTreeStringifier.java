@@ -1,7 +1,15 @@
 package de.zabuza.treeflood.tree.util;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
 import de.zabuza.treeflood.tree.ITree;
 import de.zabuza.treeflood.tree.ITreeNode;
+import de.zabuza.treeflood.util.IntArrayList;
 
 /**
  * An implementation of a tree stringifier that returns builds a hierarchical
@@ -11,6 +19,24 @@ import de.zabuza.treeflood.tree.ITreeNode;
  *
  */
 public final class HierarchicalTreeStringifier implements ITreeStringifier {
+	/**
+	 * The length of the indentation added per level of the tree.
+	 */
+	private static final int INDENTATION_LENGTH = 4;
+	/**
+	 * Indentation used for subtrees of nodes that are not the tail of their
+	 * parent.
+	 */
+	private static final String INNER_INDENTATION = "|   ";
+	/**
+	 * Symbol that precedes each node.
+	 */
+	private static final String NODE_MARKER = "|__";
+	/**
+	 * Indentation used for subtrees of nodes that are the tail of their
+	 * parent.
+	 */
+	private static final String TAIL_INDENTATION = "    ";
 
 	/**
 	 * Stringifier to use for tree nodes.
@@ -36,6 +62,75 @@ public final class HierarchicalTreeStringifier implements ITreeStringifier {
 		this.mNodeStringifier = nodeStringifier;
 	}
 
+	/**
+	 * Appends a hierarchical text representation of the given tree to the
+	 * given output. The tree is traversed iteratively and the indentation is
+	 * maintained in a single shared buffer. Thus the depth of the tree is not
+	 * limited by the stack size and the time needed is linear in the size of
+	 * the produced text.
+	 * 
+	 * @param tree
+	 *            The tree to stringify
+	 * @param output
+	 *            The output to append the text to, for example a {@link Writer}
+	 * @throws IOException
+	 *             If an I/O-Exception occurs while appending to the output
+	 */
+	public void appendTree(final ITree tree, final Appendable output) throws IOException {
+		final String lineSeparator = System.lineSeparator();
+		// The prefix of the current line, only the first prefixLength chars are
+		// valid
+		char[] prefix = new char[INDENTATION_LENGTH * 16];
+		int prefixLength = 0;
+		final Deque<ITreeNode> nodes = new ArrayDeque<>();
+		// The port of the next child to visit for each node on the stack
+		final IntArrayList nextPorts = new IntArrayList();
+
+		final ITreeNode root = tree.getRoot();
+		appendLine(output, prefix, prefixLength, root, lineSeparator);
+		// The root is the tail of the tree
+		nodes.push(root);
+		nextPorts.add(1);
+		TAIL_INDENTATION.getChars(0, INDENTATION_LENGTH, prefix, prefixLength);
+		prefixLength += INDENTATION_LENGTH;
+
+		while (!nodes.isEmpty()) {
+			final ITreeNode node = nodes.peek();
+			final int port = nextPorts.get(nextPorts.size() - 1);
+
+			// All children visited, go back to the parent
+			if (port > node.getAmountOfChildren()) {
+				nodes.pop();
+				nextPorts.removeLast();
+				prefixLength -= INDENTATION_LENGTH;
+				continue;
+			}
+			nextPorts.set(nextPorts.size() - 1, port + 1);
+
+			final ITreeNode child = node.getChild(port);
+			appendLine(output, prefix, prefixLength, child, lineSeparator);
+			if (child.isLeaf()) {
+				continue;
+			}
+
+			// Child is tail if it is the last children to iterate
+			final boolean isChildTail = port == node.getAmountOfChildren();
+			nodes.push(child);
+			nextPorts.add(1);
+			if (prefixLength + INDENTATION_LENGTH > prefix.length) {
+				prefix = Arrays.copyOf(prefix, 2 * prefix.length);
+			}
+			final String indentation;
+			if (isChildTail) {
+				indentation = TAIL_INDENTATION;
+			} else {
+				indentation = INNER_INDENTATION;
+			}
+			indentation.getChars(0, INDENTATION_LENGTH, prefix, prefixLength);
+			prefixLength += INDENTATION_LENGTH;
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -46,47 +141,44 @@ public final class HierarchicalTreeStringifier implements ITreeStringifier {
 	@Override
 	public String treeToString(final ITree tree) {
 		final StringBuilder result = new StringBuilder();
-		buildSubTreeString(result, tree.getRoot(), true, "", System.lineSeparator());
+		try {
+			appendTree(tree, result);
+		} catch (final IOException e) {
+			// A string builder does not throw I/O-Exceptions
+			throw new AssertionError(e);
+		}
 		return result.toString();
 	}
 
 	/**
-	 * Recursively builds the subtree rooted at the given node in a human
-	 * readable text representation.
+	 * Appends the line representing the given node.
 	 * 
-	 * @param builder
-	 *            The builder to append the text to
-	 * @param node
-	 *            The node where the subtree to build is rooted at
-	 * @param isTail
-	 *            If the subtree is the tail of another tree
+	 * @param output
+	 *            The output to append to
 	 * @param prefix
-	 *            The prefix line for this subtree to create an indentation
+	 *            Buffer containing the prefix of the line to create an
+	 *            indentation
+	 * @param prefixLength
+	 *            The amount of valid characters in the prefix buffer
+	 * @param node
+	 *            The node to append
 	 * @param lineSeparator
 	 *            Symbol used to separate lines
+	 * @throws IOException
+	 *             If an I/O-Exception occurs while appending to the output
 	 */
-	private void buildSubTreeString(final StringBuilder builder, final ITreeNode node, final boolean isTail,
-			final String prefix, final String lineSeparator) {
-		builder.append(prefix);
-		builder.append("|__");
-		builder.append(this.mNodeStringifier.nodeToString(node));
-		builder.append(lineSeparator);
-
-		// Recursively iterate all children
-		for (int port = 1; port <= node.getAmountOfChildren(); port++) {
-			final ITreeNode child = node.getChild(port);
-			String prefixForChild = prefix;
-
-			if (isTail) {
-				prefixForChild += "    ";
-			} else {
-				prefixForChild += "|   ";
-			}
-
-			// Child is tail if it is the last children to iterate
-			final boolean isChildTail = port == node.getAmountOfChildren();
-			buildSubTreeString(builder, child, isChildTail, prefixForChild, lineSeparator);
+	private void appendLine(final Appendable output, final char[] prefix, final int prefixLength,
+			final ITreeNode node, final String lineSeparator) throws IOException {
+		// Append the prefix without copying it into an intermediate string
+		if (output instanceof Writer) {
+			((Writer) output).write(prefix, 0, prefixLength);
+		} else if (output instanceof StringBuilder) {
+			((StringBuilder) output).append(prefix, 0, prefixLength);
+		} else {
+			output.append(CharBuffer.wrap(prefix, 0, prefixLength));
 		}
+		output.append(NODE_MARKER);
+		output.append(this.mNodeStringifier.nodeToString(node));
+		output.append(lineSeparator);
 	}
-
 }
@@ -0,0 +1,183 @@
+package de.zabuza.treeflood.util;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of primitive integers. In contrast to a list of boxed
+ * {@link Integer}s it neither allocates objects per element nor needs
+ * additional references.
+ * 
+ * @author Zabuza {@literal <zabuza.dev@gmail.com>}
+ *
+ */
+public final class IntArrayList {
+	/**
+	 * The default capacity of a new list.
+	 */
+	private static final int DEFAULT_CAPACITY = 16;
+
+	/**
+	 * The array holding the elements, only the first {@link #mSize} entries are
+	 * valid.
+	 */
+	private int[] mElements;
+	/**
+	 * The amount of elements in this list.
+	 */
+	private int mSize;
+
+	/**
+	 * Creates a new empty list with a default capacity.
+	 */
+	public IntArrayList() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * Creates a new empty list with the given initial capacity.
+	 * 
+	 * @param initialCapacity
+	 *            The initial capacity of the list
+	 * @throws IllegalArgumentException
+	 *             If the given capacity is negative
+	 */
+	public IntArrayList(final int initialCapacity) throws IllegalArgumentException {
+		if (initialCapacity < 0) {
+			throw new IllegalArgumentException();
+		}
+		this.mElements = new int[initialCapacity];
+		this.mSize = 0;
+	}
+
+	/**
+	 * Appends the given value to the end of this list.
+	 * 
+	 * @param value
+	 *            The value to append
+	 */
+	public void add(final int value) {
+		ensureCapacity(this.mSize + 1);
+		this.mElements[this.mSize] = value;
+		this.mSize++;
+	}
+
+	/**
+	 * Removes all elements from this list. The capacity is kept.
+	 */
+	public void clear() {
+		this.mSize = 0;
+	}
+
+	/**
+	 * Ensures that the list can hold at least the given amount of elements
+	 * without growing again.
+	 * 
+	 * @param capacity
+	 *            The minimal capacity
+	 */
+	public void ensureCapacity(final int capacity) {
+		if (capacity <= this.mElements.length) {
+			return;
+		}
+		final int grownCapacity = Math.max(capacity, this.mElements.length + (this.mElements.length >> 1) + 1);
+		this.mElements = Arrays.copyOf(this.mElements, grownCapacity);
+	}
+
+	/**
+	 * Gets the element at the given index.
+	 * 
+	 * @param index
+	 *            The index of the element
+	 * @return The element at the given index
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not between 0 (inclusive) and the size of the
+	 *             list (exclusive)
+	 */
+	public int get(final int index) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= this.mSize) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.mSize);
+		}
+		return this.mElements[index];
+	}
+
+	/**
+	 * Gets the internal array of this list. Only the first {@link #size()}
+	 * entries are valid. The array is backed with the list until it grows.
+	 * 
+	 * @return The internal array of this list
+	 */
+	public int[] getArray() {
+		return this.mElements;
+	}
+
+	/**
+	 * Whether the list is empty, i.e. contains no element.
+	 * 
+	 * @return <tt>True</tt> if the list is empty, <tt>false</tt> otherwise
+	 */
+	public boolean isEmpty() {
+		return this.mSize == 0;
+	}
+
+	/**
+	 * Removes the last element of this list and returns it.
+	 * 
+	 * @return The removed element
+	 * @throws IndexOutOfBoundsException
+	 *             If the list is empty
+	 */
+	public int removeLast() throws IndexOutOfBoundsException {
+		if (this.mSize == 0) {
+			throw new IndexOutOfBoundsException("The list is empty");
+		}
+		this.mSize--;
+		return this.mElements[this.mSize];
+	}
+
+	/**
+	 * Replaces the element at the given index.
+	 * 
+	 * @param index
+	 *            The index of the element
+	 * @param value
+	 *            The value to set
+	 * @throws IndexOutOfBoundsException
+	 *             If the index is not between 0 (inclusive) and the size of the
+	 *             list (exclusive)
+	 */
+	public void set(final int index, final int value) throws IndexOutOfBoundsException {
+		if (index < 0 || index >= this.mSize) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.mSize);
+		}
+		this.mElements[index] = value;
+	}
+
+	/**
+	 * Returns the number of elements in this list.
+	 * 
+	 * @return The number of elements in this list
+	 */
+	public int size() {
+		return this.mSize;
+	}
+
+	/**
+	 * Returns an array containing exactly the elements of this list.
+	 * 
+	 * @return An array containing the elements of this list. It is not backed
+	 *         with the list.
+	 */
+	public int[] toArray() {
+		return Arrays.copyOf(this.mElements, this.mSize);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * 
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return Arrays.toString(toArray());
+	}
+}